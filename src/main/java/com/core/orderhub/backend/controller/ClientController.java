@@ -1,7 +1,11 @@
 package com.core.orderhub.backend.controller;
 
 import com.core.orderhub.backend.dto.ClientDto;
+import com.core.orderhub.backend.dto.ClientOrderStatsCheckDto;
+import com.core.orderhub.backend.dto.ClientOrderStatsDto;
 import com.core.orderhub.backend.dto.ClientStatusDto;
+import com.core.orderhub.backend.service.ClientOrderStatsChecker;
+import com.core.orderhub.backend.service.ClientOrderStatsService;
 import com.core.orderhub.backend.service.ClientService;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Positive;
@@ -19,6 +23,12 @@ public class ClientController {
     @Autowired
     private ClientService clientService;
 
+    @Autowired
+    private ClientOrderStatsService clientOrderStatsService;
+
+    @Autowired
+    private ClientOrderStatsChecker clientOrderStatsChecker;
+
     @PostMapping
     public ResponseEntity<ClientDto> save(@RequestBody @Valid ClientDto clientDto) {
         return ResponseEntity.status(HttpStatus.CREATED).body(clientService.createClient(clientDto));
@@ -47,6 +57,16 @@ public class ClientController {
         return ResponseEntity.ok(clientDto);
     }
 
+    @GetMapping("/{id}/stats")
+    public ResponseEntity<ClientOrderStatsDto> findStats(@PathVariable @Positive Long id) {
+        return ResponseEntity.ok(clientOrderStatsService.findByClientId(id));
+    }
+
+    @PostMapping("/stats/check")
+    public ResponseEntity<ClientOrderStatsCheckDto> checkStats() {
+        return ResponseEntity.ok(clientOrderStatsChecker.check());
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteById(@PathVariable @Positive Long id) {
         clientService.deleteById(id);
@@ -0,0 +1,22 @@
+package com.core.orderhub.backend.controller;
+
+import com.core.orderhub.backend.dto.SalesDashboardDto;
+import com.core.orderhub.backend.service.dashboard.SalesDashboard;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/dashboard")
+public class DashboardController {
+
+    @Autowired
+    private SalesDashboard salesDashboard;
+
+    @GetMapping("/sales")
+    public ResponseEntity<SalesDashboardDto> sales() {
+        return ResponseEntity.ok(salesDashboard.snapshot());
+    }
+}
@@ -1,17 +1,41 @@
 package com.core.orderhub.backend.controller;
 
+import com.core.orderhub.backend.domain.enums.OrderStatus;
 import com.core.orderhub.backend.dto.AddOrderItemDto;
+import com.core.orderhub.backend.dto.BulkOrderStatusDto;
+import com.core.orderhub.backend.dto.BulkOrderStatusResultDto;
+import com.core.orderhub.backend.dto.CheckoutDto;
 import com.core.orderhub.backend.dto.OrderDto;
+import com.core.orderhub.backend.dto.OrderPageDto;
+import com.core.orderhub.backend.dto.OrderSearchCriteria;
 import com.core.orderhub.backend.dto.UpdateOrderStatusDto;
+import com.core.orderhub.backend.service.BulkOrderStatusService;
+import com.core.orderhub.backend.service.OrderExportService;
+import com.core.orderhub.backend.service.OrderQueryService;
 import com.core.orderhub.backend.service.OrderService;
+import com.core.orderhub.backend.service.coalescing.OrderItemCoalescer;
+import com.core.orderhub.backend.service.idempotency.IdempotencyService;
+import com.core.orderhub.backend.service.readmodel.OrderSummaryProjector;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/order")
@@ -20,17 +44,58 @@ public class OrderController {
     @Autowired
     private OrderService orderService;
 
+    @Autowired
+    private OrderExportService orderExportService;
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private BulkOrderStatusService bulkOrderStatusService;
+
+    @Autowired
+    private OrderQueryService orderQueryService;
+
+    @Autowired
+    private OrderSummaryProjector orderSummaryProjector;
+
+    @Autowired(required = false)
+    private OrderItemCoalescer orderItemCoalescer;
+
+    @Value("${orderhub.orders.export.timeout:PT1H}")
+    private Duration exportTimeout;
+
     @PostMapping("/client/{clientId}")
-    public ResponseEntity<OrderDto> save(@Positive @PathVariable Long clientId) {
-        return ResponseEntity.status(HttpStatus.CREATED).body(orderService.createOrder(clientId));
+    public ResponseEntity<OrderDto> save(
+            @Positive @PathVariable Long clientId,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey
+    ) {
+        return idempotencyService.execute(idempotencyKey, "POST /order/client/" + clientId,
+                HttpStatus.CREATED, OrderDto.class,
+                () -> orderService.createOrder(clientId));
+    }
+
+    @PostMapping("/checkout")
+    public ResponseEntity<OrderDto> checkout(
+            @RequestBody @Valid CheckoutDto dto,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey
+    ) {
+        return idempotencyService.execute(idempotencyKey, "POST /order/checkout " + dto,
+                HttpStatus.CREATED, OrderDto.class,
+                () -> orderService.checkout(dto.getClientId(), dto.getItems()));
     }
 
     @PostMapping("/{id}/items")
     public ResponseEntity<OrderDto> addOrderItem(
             @Positive @PathVariable Long id,
-            @RequestBody @Valid AddOrderItemDto dto
+            @RequestBody @Valid AddOrderItemDto dto,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey
     ) {
-        return ResponseEntity.ok(orderService.addOrderItem(id, dto.getProductId(), dto.getQuantity()));
+        return idempotencyService.execute(idempotencyKey, "POST /order/" + id + "/items " + dto,
+                HttpStatus.OK, OrderDto.class,
+                () -> orderItemCoalescer != null
+                        ? orderItemCoalescer.addOrderItem(id, dto.getProductId(), dto.getQuantity())
+                        : orderService.addOrderItem(id, dto.getProductId(), dto.getQuantity()));
     }
 
     @DeleteMapping("/{id}/items/{productId}")
@@ -51,20 +116,72 @@ public class OrderController {
         return ResponseEntity.noContent().build();
     }
 
+    @PatchMapping("/status")
+    public ResponseEntity<BulkOrderStatusResultDto> updateOrderStatuses(@RequestBody @Valid BulkOrderStatusDto dto) {
+        return ResponseEntity.ok(bulkOrderStatusService.updateStatus(dto));
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteById(@Positive @PathVariable Long id) {
         orderService.deleteById(id);
         return ResponseEntity.noContent().build();
     }
 
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> export(HttpServletRequest request) {
+        // only the export outlives the default async timeout
+        WebAsyncUtils.getAsyncManager(request).getAsyncWebRequest().setTimeout(exportTimeout.toMillis());
+        StreamingResponseBody body = outputStream -> orderExportService.exportOrders(outputStream);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<OrderDto> findById(@Positive @PathVariable Long id) {
-        return ResponseEntity.ok().body(orderService.findById(id));
+    public ResponseEntity<byte[]> findById(@Positive @PathVariable Long id, WebRequest request) {
+        Optional<Long> version = orderQueryService.findVersion(id);
+        if (version.isPresent() && request.checkNotModified(OrderETags.of(version.get()))) {
+            return null;
+        }
+
+        OrderQueryService.OrderResponse response = orderQueryService.findResponse(id);
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON);
+        if (response.version() != null) {
+            builder.eTag(OrderETags.of(response.version()));
+        }
+        return builder.body(response.body());
     }
 
     @GetMapping()
-    public ResponseEntity<List<OrderDto>> findAll() {
-        return ResponseEntity.ok((orderService.findAll()));
+    public ResponseEntity<OrderPageDto> findAll(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size
+    ) {
+        OrderPageDto page = orderQueryService.findPage(cursor, size);
+        return ResponseEntity.ok().eTag(OrderETags.of(page)).body(page);
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<OrderPageDto> search(
+            @Positive @RequestParam(required = false) Long clientId,
+            @RequestParam(required = false) Set<OrderStatus> status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdTo,
+            @PositiveOrZero @RequestParam(required = false) BigDecimal minTotal,
+            @PositiveOrZero @RequestParam(required = false) BigDecimal maxTotal,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size
+    ) {
+        OrderSearchCriteria criteria = new OrderSearchCriteria(clientId, status, createdFrom, createdTo,
+                minTotal, maxTotal);
+        OrderPageDto page = orderService.search(criteria, cursor, size);
+        return ResponseEntity.ok().eTag(OrderETags.of(page)).body(page);
+    }
+
+    @PostMapping("/summaries/rebuild")
+    public ResponseEntity<Void> rebuildSummaries() {
+        orderSummaryProjector.rebuild();
+        return ResponseEntity.accepted().build();
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,30 @@
+package com.core.orderhub.backend.controller;
+
+import com.core.orderhub.backend.dto.OrderDto;
+import com.core.orderhub.backend.dto.OrderPageDto;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Entity tags of order responses, derived from the order version column so
+ * they can be checked without rendering the order.
+ */
+final class OrderETags {
+
+    private OrderETags() {
+    }
+
+    static String of(long version) {
+        return "\"" + version + "\"";
+    }
+
+    static String of(OrderPageDto page) {
+        StringBuilder versions = new StringBuilder();
+        for (OrderDto order : page.items()) {
+            versions.append(order.getId()).append(':').append(order.getVersion()).append(',');
+        }
+        versions.append(page.nextCursor());
+        return "\"" + DigestUtils.md5DigestAsHex(versions.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+}
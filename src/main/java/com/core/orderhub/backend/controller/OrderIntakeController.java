@@ -0,0 +1,60 @@
+package com.core.orderhub.backend.controller;
+
+import com.core.orderhub.backend.dto.AddOrderItemDto;
+import com.core.orderhub.backend.dto.OrderCommandStatusDto;
+import com.core.orderhub.backend.service.idempotency.IdempotencyService;
+import com.core.orderhub.backend.service.intake.OrderIntake;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Positive;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+
+@RestController
+@RequestMapping("/order/intake")
+public class OrderIntakeController {
+
+    @Autowired
+    private OrderIntake orderIntake;
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @PostMapping("/client/{clientId}")
+    public ResponseEntity<OrderCommandStatusDto> createOrder(
+            @Positive @PathVariable Long clientId,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey
+    ) {
+        return accepted(idempotencyService.execute(idempotencyKey, "POST /order/intake/client/" + clientId,
+                HttpStatus.ACCEPTED, OrderCommandStatusDto.class,
+                () -> orderIntake.submitCreateOrder(clientId)));
+    }
+
+    @PostMapping("/{id}/items")
+    public ResponseEntity<OrderCommandStatusDto> addOrderItem(
+            @Positive @PathVariable Long id,
+            @RequestBody @Valid AddOrderItemDto dto,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey
+    ) {
+        return accepted(idempotencyService.execute(idempotencyKey, "POST /order/intake/" + id + "/items " + dto,
+                HttpStatus.ACCEPTED, OrderCommandStatusDto.class,
+                () -> orderIntake.submitAddOrderItem(id, dto.getProductId(), dto.getQuantity())));
+    }
+
+    @GetMapping("/{commandId}")
+    public ResponseEntity<OrderCommandStatusDto> findStatus(@PathVariable String commandId) {
+        return ResponseEntity.ok(orderIntake.findStatus(commandId));
+    }
+
+    // a replayed submission points at the command the original request queued
+    private static ResponseEntity<OrderCommandStatusDto> accepted(ResponseEntity<OrderCommandStatusDto> response) {
+        OrderCommandStatusDto status = response.getBody();
+        return ResponseEntity.status(response.getStatusCode())
+                .headers(response.getHeaders())
+                .location(URI.create("/order/intake/" + status.commandId()))
+                .body(status);
+    }
+}
@@ -1,10 +1,16 @@
 package com.core.orderhub.backend.controller;
 
+import com.core.orderhub.backend.dto.BestSellersDto;
 import com.core.orderhub.backend.dto.ProductDto;
+import com.core.orderhub.backend.dto.ProductSearchDto;
 import com.core.orderhub.backend.dto.ProductStatusDto;
+import com.core.orderhub.backend.dto.ProductStockShardsDto;
 import com.core.orderhub.backend.service.ProductService;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -42,6 +48,31 @@ public class ProductController {
         return ResponseEntity.noContent().build();
     }
 
+    @PatchMapping("/{id}/stock-shards")
+    public ResponseEntity<Void> updateStockShards(
+            @PathVariable @Positive Long id,
+            @Valid @RequestBody ProductStockShardsDto dto
+    ) {
+        productService.changeStockShards(id, dto.getShards());
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/best-sellers")
+    public ResponseEntity<BestSellersDto> bestSellers(
+            @RequestParam(defaultValue = "PT1H") String window,
+            @RequestParam(defaultValue = "10") @Positive @Max(100) Integer limit
+    ) {
+        return ResponseEntity.ok(productService.findBestSellers(window, limit));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<ProductSearchDto> search(
+            @RequestParam @NotBlank @Size(max = 100) String q,
+            @RequestParam(defaultValue = "20") @Positive @Max(100) Integer limit
+    ) {
+        return ResponseEntity.ok(productService.search(q, limit));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<ProductDto> findById(@PathVariable @Positive Long id) {
         ProductDto productDto = productService.findById(id);
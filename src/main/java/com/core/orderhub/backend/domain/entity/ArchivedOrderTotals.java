@@ -0,0 +1,56 @@
+package com.core.orderhub.backend.domain.entity;
+
+import com.core.orderhub.backend.domain.enums.OrderStatus;
+import com.core.orderhub.backend.domain.valueobject.Money;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Count and value of the orders of one client and status that were moved to
+ * the order archive, so totals recomputed from the orders table still cover them.
+ */
+@Getter
+@NoArgsConstructor
+@Entity
+@Table(name = "archived_order_totals",
+        uniqueConstraints = @UniqueConstraint(name = "uk_archived_order_totals_client_status", columnNames = {"client_id", "status"}))
+public class ArchivedOrderTotals {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "client_id", nullable = false)
+    private Long clientId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private OrderStatus status;
+
+    @Column(name = "orders", nullable = false)
+    private long orders;
+
+    @Column(name = "total", nullable = false, precision = 14, scale = 2)
+    private Money total;
+
+    @Column(name = "last_order_at")
+    private LocalDateTime lastOrderAt;
+
+    public ArchivedOrderTotals(Long clientId, OrderStatus status) {
+        this.clientId = clientId;
+        this.status = status;
+        this.total = Money.ZERO;
+    }
+
+    public void include(Money total, LocalDateTime orderedAt) {
+        this.orders++;
+        this.total = this.total.plus(total);
+        if (orderedAt != null && (this.lastOrderAt == null || orderedAt.isAfter(this.lastOrderAt))) {
+            this.lastOrderAt = orderedAt;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.core.orderhub.backend.domain.entity;
+
+import com.core.orderhub.backend.domain.enums.OrderStatus;
+import com.core.orderhub.backend.domain.valueobject.Money;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Running order totals for one client. Open value is the total of orders still
+ * CREATED; lifetime value is the total of PAID and FINISHED orders. The last
+ * order time is when the client last placed an order and is not moved back
+ * when that order is deleted.
+ */
+@Getter
+@NoArgsConstructor
+@Entity
+@Table(name = "client_order_stats")
+public class ClientOrderStats {
+
+    @Id
+    @Column(name = "client_id")
+    private Long clientId;
+
+    @Column(name = "created_orders", nullable = false)
+    private long createdOrders;
+
+    @Column(name = "paid_orders", nullable = false)
+    private long paidOrders;
+
+    @Column(name = "finished_orders", nullable = false)
+    private long finishedOrders;
+
+    @Column(name = "canceled_orders", nullable = false)
+    private long canceledOrders;
+
+    @Column(name = "open_value", nullable = false, precision = 14, scale = 2)
+    private Money openValue;
+
+    @Column(name = "lifetime_value", nullable = false, precision = 14, scale = 2)
+    private Money lifetimeValue;
+
+    @Column(name = "last_order_at")
+    private LocalDateTime lastOrderAt;
+
+    public ClientOrderStats(Long clientId) {
+        this.clientId = clientId;
+        this.openValue = Money.ZERO;
+        this.lifetimeValue = Money.ZERO;
+    }
+
+    public void orderCreated(Money total, LocalDateTime createdAt) {
+        include(OrderStatus.CREATED, 1, total, createdAt);
+    }
+
+    public void openValueChanged(Money delta) {
+        this.openValue = this.openValue.plus(delta);
+    }
+
+    public void statusChanged(OrderStatus from, OrderStatus to, Money total) {
+        include(from, -1, Money.ZERO.minus(total), null);
+        include(to, 1, total, null);
+    }
+
+    public void orderDeleted(OrderStatus status, Money total) {
+        include(status, -1, Money.ZERO.minus(total), null);
+    }
+
+    public void include(OrderStatus status, long orders, Money value, LocalDateTime orderedAt) {
+        switch (status) {
+            case CREATED -> {
+                this.createdOrders += orders;
+                this.openValue = this.openValue.plus(value);
+            }
+            case PAID -> {
+                this.paidOrders += orders;
+                this.lifetimeValue = this.lifetimeValue.plus(value);
+            }
+            case FINISHED -> {
+                this.finishedOrders += orders;
+                this.lifetimeValue = this.lifetimeValue.plus(value);
+            }
+            case CANCELED -> this.canceledOrders += orders;
+        }
+        if (orderedAt != null && (this.lastOrderAt == null || orderedAt.isAfter(this.lastOrderAt))) {
+            this.lastOrderAt = orderedAt;
+        }
+    }
+
+    public long orders(OrderStatus status) {
+        return switch (status) {
+            case CREATED -> createdOrders;
+            case PAID -> paidOrders;
+            case FINISHED -> finishedOrders;
+            case CANCELED -> canceledOrders;
+        };
+    }
+
+    public boolean sameTotalsAs(ClientOrderStats other) {
+        return createdOrders == other.createdOrders
+                && paidOrders == other.paidOrders
+                && finishedOrders == other.finishedOrders
+                && canceledOrders == other.canceledOrders
+                && openValue.equals(other.openValue)
+                && lifetimeValue.equals(other.lifetimeValue);
+    }
+}
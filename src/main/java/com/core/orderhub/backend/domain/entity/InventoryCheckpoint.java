@@ -0,0 +1,31 @@
+package com.core.orderhub.backend.domain.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+@Entity
+@Table(name = "inventory_checkpoints")
+public class InventoryCheckpoint {
+
+    @Id
+    @Column(name = "name")
+    private String name;
+
+    @Column(name = "last_segment", nullable = false)
+    private Long lastSegment;
+
+    public InventoryCheckpoint(String name) {
+        this.name = name;
+        this.lastSegment = 0L;
+    }
+
+    public void advanceTo(long segment) {
+        this.lastSegment = Math.max(this.lastSegment, segment);
+    }
+}
@@ -1,19 +1,29 @@
 package com.core.orderhub.backend.domain.entity;
 
 import com.core.orderhub.backend.domain.enums.OrderStatus;
+import com.core.orderhub.backend.domain.valueobject.Money;
 import com.core.orderhub.backend.exception.BusinessException;
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Entity
 @Getter
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+        @Index(name = "idx_orders_created_at_id", columnList = "created_at, id"),
+        @Index(name = "idx_orders_status_id", columnList = "status, id"),
+        @Index(name = "idx_orders_client_created_at", columnList = "client_id, created_at, id"),
+        @Index(name = "idx_orders_status_created_at", columnList = "status, created_at, id"),
+        @Index(name = "idx_orders_paid_at", columnList = "paid_at")
+})
 @NoArgsConstructor
 public class Order {
 
@@ -22,62 +32,82 @@ public class Order {
     @Column(name = "id")
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "client_id")
     private Client client;
 
-    private BigDecimal total;
+    private Money total;
 
     private LocalDateTime createdAt;
 
+    private LocalDateTime paidAt;
+
+    private LocalDateTime lastModifiedAt;
+
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<OrderItem> orderItemList;
 
     @Enumerated(EnumType.STRING)
     private OrderStatus status;
 
+    // position of each product's line in orderItemList
+    @Transient
+    @Getter(AccessLevel.NONE)
+    private Map<Long, Integer> itemIndex;
+
     public Order(Client client) {
         this.client = client;
         this.status = OrderStatus.CREATED;
-        this.total = BigDecimal.ZERO;
+        this.total = Money.ZERO;
         this.createdAt = LocalDateTime.now();
+        this.lastModifiedAt = this.createdAt;
         this.orderItemList = new ArrayList<>();
+        this.itemIndex = new HashMap<>();
     }
 
     public void addItem(Product product, Integer quantity) {
         validateOrderIsCreated();
 
-        if (quantity == null || quantity <= 0) {
-            throw new BusinessException("Quantity must be greater than zero");
-        }
-
-        OrderItem orderItem = new OrderItem();
-        orderItem.setProduct(product);
-        orderItem.setQuantity(quantity);
-        orderItem.setUnitPrice(product.getPrice());
-        orderItem.setOrder(this);
+        appendItem(product, quantity);
+        touch();
+    }
 
-        product.decreaseStock(orderItem.getQuantity());
+    public void addItems(Map<Product, Integer> items) {
+        validateOrderIsCreated();
 
-        this.orderItemList.add(orderItem);
-        this.recalculateTotal();
+        items.forEach(this::appendItem);
+        touch();
     }
 
-    public void removeItem(Product product) {
+    public OrderItem removeItem(Long productId) {
 
         validateOrderIsCreated();
 
-        OrderItem itemToRemove = this.orderItemList.stream()
-                .filter(item -> item.getProduct().getId().equals(product.getId()))
-                .findFirst()
-                .orElseThrow(() ->
-                        new BusinessException("Product not found in order")
-                );
+        Integer position = itemIndex().remove(productId);
+
+        if (position == null) {
+            throw new BusinessException("Product not found in order");
+        }
 
-        product.increaseStock(itemToRemove.getQuantity());
+        // removing by position keeps the other lines in the order they were added;
+        // only the lines after the removed one move, so only they are re-indexed
+        OrderItem itemToRemove = this.orderItemList.remove((int) position);
+        for (int shifted = position; shifted < this.orderItemList.size(); shifted++) {
+            this.itemIndex.put(this.orderItemList.get(shifted).getProductId(), shifted);
+        }
+        this.total = this.total.minus(itemToRemove.getSubtotal());
+        touch();
+        return itemToRemove;
+    }
 
-        this.orderItemList.remove(itemToRemove);
-        this.recalculateTotal();
+    public int quantityOf(Long productId) {
+        OrderItem item = findItem(productId);
+        return item == null ? 0 : item.getQuantity();
     }
 
     public boolean isCreated() {
@@ -91,6 +121,18 @@ public class Order {
             );
         }
         this.status = newStatus;
+        touch();
+        if (newStatus == OrderStatus.PAID) {
+            this.paidAt = this.lastModifiedAt;
+        }
+    }
+
+    public LocalDateTime lastActivityAt() {
+        return this.lastModifiedAt != null ? this.lastModifiedAt : this.createdAt;
+    }
+
+    private void touch() {
+        this.lastModifiedAt = LocalDateTime.now();
     }
 
     private void validateOrderIsCreated() {
@@ -99,9 +141,37 @@ public class Order {
         }
     }
 
-    private void recalculateTotal() {
-        this.total = orderItemList.stream()
-                .map(OrderItem::getSubtotal)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    private void appendItem(Product product, Integer quantity) {
+        if (quantity == null || quantity <= 0) {
+            throw new BusinessException("Quantity must be greater than zero");
+        }
+
+        OrderItem existingItem = findItem(product.getId());
+
+        if (existingItem != null) {
+            this.total = this.total.plus(existingItem.increaseQuantity(quantity));
+            return;
+        }
+
+        OrderItem orderItem = new OrderItem(this, product, quantity);
+
+        itemIndex().put(orderItem.getProductId(), this.orderItemList.size());
+        this.orderItemList.add(orderItem);
+        this.total = this.total.plus(orderItem.getSubtotal());
+    }
+
+    private OrderItem findItem(Long productId) {
+        Integer position = itemIndex().get(productId);
+        return position == null ? null : this.orderItemList.get(position);
+    }
+
+    private Map<Long, Integer> itemIndex() {
+        if (this.itemIndex == null) {
+            this.itemIndex = new HashMap<>();
+            for (int position = 0; position < this.orderItemList.size(); position++) {
+                this.itemIndex.put(this.orderItemList.get(position).getProductId(), position);
+            }
+        }
+        return this.itemIndex;
     }
 }
@@ -1,14 +1,16 @@
 package com.core.orderhub.backend.domain.entity;
 
+import com.core.orderhub.backend.domain.valueobject.Money;
 import jakarta.persistence.*;
 import lombok.Getter;
-import lombok.Setter;
-
-import java.math.BigDecimal;
+import lombok.NoArgsConstructor;
 
 @Getter
-@Setter
+@NoArgsConstructor
 @Entity
+@Table(name = "order_item", indexes = {
+        @Index(name = "idx_order_item_order_id", columnList = "order_id")
+})
 public class OrderItem {
 
     @Id
@@ -16,21 +18,43 @@ public class OrderItem {
     @Column(name = "id")
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "order_id")
     private Order order;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "product_id")
     private Product product;
 
+    @Column(name = "product_id", insertable = false, updatable = false)
+    private Long productId;
+
     private Integer quantity;
 
-    private BigDecimal unitPrice;
+    private Money unitPrice;
+
+    private Money subtotal;
 
-    private BigDecimal subtotal;
+    public OrderItem(Order order, Product product, Integer quantity) {
+        this.order = order;
+        this.product = product;
+        this.productId = product.getId();
+        this.quantity = quantity;
+        this.unitPrice = product.getPrice();
+        this.subtotal = this.unitPrice.times(quantity);
+    }
+
+    public Money increaseQuantity(Integer quantity) {
+        Money delta = this.unitPrice.times(quantity);
+        this.quantity += quantity;
+        this.subtotal = this.subtotal.plus(delta);
+        return delta;
+    }
 
-    public BigDecimal getSubtotal() {
-        return unitPrice.multiply(BigDecimal.valueOf(quantity));
+    @PostLoad
+    private void fillMissingSubtotal() {
+        if (this.subtotal == null) {
+            this.subtotal = this.unitPrice.times(this.quantity);
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,61 @@
+package com.core.orderhub.backend.domain.entity;
+
+import com.core.orderhub.backend.domain.enums.OrderStatus;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+/**
+ * Denormalized, read-only copy of an order as served by the query side. The
+ * document column holds the rendered order, so a read is a single row lookup
+ * without joins to clients, items or products.
+ */
+@Getter
+@NoArgsConstructor
+@Entity
+@Table(name = "order_summaries", indexes = {
+        @Index(name = "idx_order_summaries_created_at_order_id", columnList = "created_at, order_id")
+})
+public class OrderSummary {
+
+    @Id
+    @Column(name = "order_id")
+    private Long orderId;
+
+    @Column(name = "client_id", nullable = false)
+    private Long clientId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private OrderStatus status;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "document", nullable = false, columnDefinition = "text")
+    private String document;
+
+    @Column(name = "projected_at", nullable = false)
+    private Instant projectedAt;
+
+    // version of the order the document was rendered from
+    @Column(name = "order_version", nullable = false)
+    private Long orderVersion;
+
+    public OrderSummary(Long orderId) {
+        this.orderId = orderId;
+    }
+
+    public void refresh(Long clientId, OrderStatus status, LocalDateTime createdAt, Long orderVersion,
+                        String document, Instant projectedAt) {
+        this.clientId = clientId;
+        this.orderVersion = orderVersion;
+        this.status = status;
+        this.createdAt = createdAt;
+        this.document = document;
+        this.projectedAt = projectedAt;
+    }
+}
@@ -1,18 +1,16 @@
 package com.core.orderhub.backend.domain.entity;
 
 import com.core.orderhub.backend.domain.enums.ProductStatus;
+import com.core.orderhub.backend.domain.valueobject.Money;
 import com.core.orderhub.backend.dto.ProductDto;
 import com.core.orderhub.backend.exception.BusinessException;
 import jakarta.persistence.*;
-import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
-import java.math.BigDecimal;
 
 @Getter
 @NoArgsConstructor
-@AllArgsConstructor
 @Entity
 @Table(name = "products")
 public class Product {
@@ -26,7 +24,7 @@ public class Product {
     private String name;
 
     @Column(name = "price", nullable = false, precision = 10, scale = 2)
-    private BigDecimal price;
+    private Money price;
 
     @Column(name = "description")
     private String description;
@@ -37,6 +35,24 @@ public class Product {
     @Enumerated(EnumType.STRING)
     private ProductStatus status;
 
+    @Column(name = "stock_shards")
+    private Integer stockShards;
+
+    public Product(Long id, String name, Money price, String description, Integer quantity, ProductStatus status) {
+        this.id = id;
+        this.name = name;
+        this.price = price;
+        this.description = description;
+        this.quantity = quantity;
+        this.status = status;
+    }
+
+    public Product detachedCopy() {
+        Product copy = new Product(this.id, this.name, this.price, this.description, this.quantity, this.status);
+        copy.stockShards = this.stockShards;
+        return copy;
+    }
+
     public void decreaseStock(Integer quantity) {
         if (this.status != ProductStatus.ACTIVE) {
             throw new BusinessException("Product is not active");
@@ -54,7 +70,7 @@ public class Product {
 
     public void update(ProductDto dto) {
         this.name = dto.getName();
-        this.price = dto.getPrice();
+        this.price = Money.of(dto.getPrice());
         this.description = dto.getDescription();
         this.quantity = dto.getQuantity();
     }
@@ -65,4 +81,13 @@ public class Product {
     public boolean isActive() {
         return this.status == ProductStatus.ACTIVE;
     }
+
+    public boolean isStockSharded() {
+        return this.stockShards != null && this.stockShards > 1;
+    }
+
+    public void redistributeStock(Integer quantity, Integer stockShards) {
+        this.quantity = quantity;
+        this.stockShards = stockShards;
+    }
 }
\ No newline at end of file
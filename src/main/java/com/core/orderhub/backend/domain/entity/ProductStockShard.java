@@ -0,0 +1,33 @@
+package com.core.orderhub.backend.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+@Entity
+@Table(name = "product_stock_shards",
+        uniqueConstraints = @UniqueConstraint(name = "uk_product_stock_shards_product_shard", columnNames = {"product_id", "shard"}))
+public class ProductStockShard {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Column(name = "shard", nullable = false)
+    private Integer shard;
+
+    @Column(name = "quantity", nullable = false)
+    private Integer quantity;
+
+    public ProductStockShard(Long productId, Integer shard, Integer quantity) {
+        this.productId = productId;
+        this.shard = shard;
+        this.quantity = quantity;
+    }
+}
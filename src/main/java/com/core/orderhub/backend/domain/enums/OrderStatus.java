@@ -1,5 +1,8 @@
 package com.core.orderhub.backend.domain.enums;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 public enum OrderStatus {
 
     CREATED {
@@ -31,4 +34,14 @@ public enum OrderStatus {
     };
 
     public abstract boolean canTransitionTo(OrderStatus newStatus);
+
+    public static Set<OrderStatus> sourcesOf(OrderStatus target) {
+        Set<OrderStatus> sources = EnumSet.noneOf(OrderStatus.class);
+        for (OrderStatus status : values()) {
+            if (status.canTransitionTo(target)) {
+                sources.add(status);
+            }
+        }
+        return sources;
+    }
 }
\ No newline at end of file
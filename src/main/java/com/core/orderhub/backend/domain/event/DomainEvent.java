@@ -0,0 +1,16 @@
+package com.core.orderhub.backend.domain.event;
+
+import java.time.Instant;
+
+public interface DomainEvent {
+
+    String aggregateType();
+
+    Long aggregateId();
+
+    Instant occurredAt();
+
+    default String eventType() {
+        return getClass().getSimpleName();
+    }
+}
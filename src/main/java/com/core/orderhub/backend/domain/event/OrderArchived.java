@@ -0,0 +1,24 @@
+package com.core.orderhub.backend.domain.event;
+
+import com.core.orderhub.backend.domain.enums.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * The order left the orders table for the cold archive. Unlike
+ * {@link OrderDeleted}, it still counts towards the client's lifetime totals.
+ */
+public record OrderArchived(Long orderId, Long clientId, OrderStatus status, BigDecimal orderTotal, Instant occurredAt)
+        implements DomainEvent {
+
+    @Override
+    public String aggregateType() {
+        return "Order";
+    }
+
+    @Override
+    public Long aggregateId() {
+        return orderId;
+    }
+}
@@ -0,0 +1,20 @@
+package com.core.orderhub.backend.domain.event;
+
+import com.core.orderhub.backend.domain.enums.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+public record OrderDeleted(Long orderId, Long clientId, OrderStatus status, BigDecimal orderTotal, Instant occurredAt)
+        implements DomainEvent {
+
+    @Override
+    public String aggregateType() {
+        return "Order";
+    }
+
+    @Override
+    public Long aggregateId() {
+        return orderId;
+    }
+}
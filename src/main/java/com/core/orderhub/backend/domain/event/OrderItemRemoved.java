@@ -0,0 +1,18 @@
+package com.core.orderhub.backend.domain.event;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+public record OrderItemRemoved(Long orderId, Long clientId, Long productId, int quantity,
+                               BigDecimal totalDelta, BigDecimal orderTotal, Instant occurredAt) implements DomainEvent {
+
+    @Override
+    public String aggregateType() {
+        return "Order";
+    }
+
+    @Override
+    public Long aggregateId() {
+        return orderId;
+    }
+}
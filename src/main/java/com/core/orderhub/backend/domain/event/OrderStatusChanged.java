@@ -0,0 +1,20 @@
+package com.core.orderhub.backend.domain.event;
+
+import com.core.orderhub.backend.domain.enums.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+public record OrderStatusChanged(Long orderId, Long clientId, OrderStatus from, OrderStatus to,
+                                 BigDecimal orderTotal, Instant occurredAt) implements DomainEvent {
+
+    @Override
+    public String aggregateType() {
+        return "Order";
+    }
+
+    @Override
+    public Long aggregateId() {
+        return orderId;
+    }
+}
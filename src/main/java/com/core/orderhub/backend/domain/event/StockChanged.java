@@ -0,0 +1,16 @@
+package com.core.orderhub.backend.domain.event;
+
+import java.time.Instant;
+
+public record StockChanged(Long productId, int delta, Instant occurredAt) implements DomainEvent {
+
+    @Override
+    public String aggregateType() {
+        return "Product";
+    }
+
+    @Override
+    public Long aggregateId() {
+        return productId;
+    }
+}
@@ -0,0 +1,9 @@
+package com.core.orderhub.backend.dto;
+
+import java.time.Duration;
+import java.util.List;
+
+public record BestSellersDto(Duration window, long maxOverestimate, List<Entry> products) {
+
+    public record Entry(Long productId, String name, long estimatedQuantity) {}
+}
@@ -0,0 +1,34 @@
+package com.core.orderhub.backend.dto;
+
+import com.core.orderhub.backend.domain.enums.OrderStatus;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+@Data
+public class BulkOrderStatusDto {
+
+    @NotNull(message = "order status cannot be null.")
+    private OrderStatus status;
+
+    @Size(max = 100000, message = "bulk status update cannot have more than 100000 ids.")
+    private List<@NotNull @Positive Long> ids;
+
+    @Valid
+    private Filter filter;
+
+    @Data
+    public static class Filter {
+
+        private Set<OrderStatus> currentStatuses;
+
+        @NotNull(message = "created before cannot be null.")
+        private LocalDateTime createdBefore;
+    }
+}
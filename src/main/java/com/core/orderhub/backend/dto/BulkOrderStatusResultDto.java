@@ -0,0 +1,10 @@
+package com.core.orderhub.backend.dto;
+
+import com.core.orderhub.backend.domain.enums.OrderStatus;
+
+import java.util.List;
+
+public record BulkOrderStatusResultDto(OrderStatus status, List<Long> accepted, List<Rejection> rejected) {
+
+    public record Rejection(Long id, String reason) {}
+}
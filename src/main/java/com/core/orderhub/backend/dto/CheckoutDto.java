@@ -0,0 +1,20 @@
+package com.core.orderhub.backend.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class CheckoutDto {
+
+    @NotNull(message = "client id cannot be null.")
+    @Positive(message = "client id must be greater than zero.")
+    private Long clientId;
+
+    @NotEmpty(message = "checkout items cannot be null or empty.")
+    private List<@Valid AddOrderItemDto> items;
+}
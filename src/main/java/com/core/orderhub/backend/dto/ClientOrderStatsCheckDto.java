@@ -0,0 +1,5 @@
+package com.core.orderhub.backend.dto;
+
+import java.util.List;
+
+public record ClientOrderStatsCheckDto(long checkedClients, List<Long> driftedClientIds, long elapsedMillis) {}
@@ -0,0 +1,15 @@
+package com.core.orderhub.backend.dto;
+
+import com.core.orderhub.backend.domain.enums.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+public record ClientOrderStatsDto(
+        Long clientId,
+        Map<OrderStatus, Long> ordersByStatus,
+        BigDecimal openValue,
+        BigDecimal lifetimeValue,
+        LocalDateTime lastOrderAt
+) {}
@@ -0,0 +1,21 @@
+package com.core.orderhub.backend.dto;
+
+import java.time.Instant;
+
+public record OrderCommandStatusDto(
+        String commandId,
+        State state,
+        OrderDto result,
+        Integer errorStatus,
+        String error,
+        Instant acceptedAt,
+        Instant completedAt
+) {
+
+    public enum State {
+        QUEUED,
+        RUNNING,
+        SUCCEEDED,
+        FAILED
+    }
+}
@@ -28,4 +28,6 @@ public class OrderDto {
     private List<OrderItemDto> items;
 
     private OrderStatus status;
+
+    private Long version;
 }
\ No newline at end of file
@@ -0,0 +1,25 @@
+package com.core.orderhub.backend.dto;
+
+import com.core.orderhub.backend.domain.enums.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * Filters of {@code GET /order/search}. Every field is optional; ranges are
+ * inclusive on both ends.
+ */
+public record OrderSearchCriteria(
+        Long clientId,
+        Set<OrderStatus> statuses,
+        LocalDateTime createdFrom,
+        LocalDateTime createdTo,
+        BigDecimal minTotal,
+        BigDecimal maxTotal
+) {
+
+    public OrderSearchCriteria {
+        statuses = statuses == null ? Set.of() : Set.copyOf(statuses);
+    }
+}
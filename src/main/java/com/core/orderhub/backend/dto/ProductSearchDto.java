@@ -0,0 +1,8 @@
+package com.core.orderhub.backend.dto;
+
+import java.util.List;
+
+public record ProductSearchDto(String query, List<Entry> products) {
+
+    public record Entry(Long productId, String name, double score) {}
+}
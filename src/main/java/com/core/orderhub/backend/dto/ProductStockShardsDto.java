@@ -0,0 +1,16 @@
+package com.core.orderhub.backend.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Data
+public class ProductStockShardsDto {
+
+    @NotNull(message = "stock shards cannot be null.")
+    @Min(value = 1, message = "stock shards must be at least 1.")
+    @Max(value = 64, message = "stock shards must be at most 64.")
+    private Integer shards;
+
+}
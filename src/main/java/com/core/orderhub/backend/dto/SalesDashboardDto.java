@@ -0,0 +1,21 @@
+package com.core.orderhub.backend.dto;
+
+import com.core.orderhub.backend.domain.enums.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+public record SalesDashboardDto(
+        LocalDateTime generatedAt,
+        Map<OrderStatus, Long> ordersByStatus,
+        BigDecimal revenueToday,
+        BigDecimal revenueThisHour,
+        long paidOrdersToday,
+        long paidOrdersThisHour,
+        List<ProductSales> productSales
+) {
+
+    public record ProductSales(Long productId, long soldLast15Minutes, long soldLastHour, long soldLast24Hours) {}
+}
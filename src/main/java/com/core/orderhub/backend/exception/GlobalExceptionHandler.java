@@ -4,8 +4,10 @@ import com.core.orderhub.backend.dto.ErrorMessageDto;
 import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -58,6 +60,37 @@ public class GlobalExceptionHandler { //intercepta exceções, decide http statu
                 .body(errorMessageDto);
     }
 
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<ErrorMessageDto> handleTooManyRequests(
+            TooManyRequestsException exception,
+            HttpServletRequest request
+    ) {
+        logger.warn("Request rejected: {}", exception.getMessage());
+        ErrorMessageDto errorMessageDto = new ErrorMessageDto(
+                HttpStatus.TOO_MANY_REQUESTS.value(),
+                exception.getMessage(),
+                request.getRequestURI()
+        );
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(errorMessageDto);
+    }
+
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorMessageDto> handleConcurrentUpdate(
+            ObjectOptimisticLockingFailureException exception,
+            HttpServletRequest request
+    ) {
+        logger.warn("Concurrent update of {} {}", exception.getPersistentClassName(), exception.getIdentifier());
+        ErrorMessageDto errorMessageDto = new ErrorMessageDto(
+                HttpStatus.CONFLICT.value(),
+                "Resource was modified concurrently, retry the request",
+                request.getRequestURI()
+        );
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(errorMessageDto);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorMessageDto> handleValidation(
             MethodArgumentNotValidException exception,
@@ -0,0 +1,18 @@
+package com.core.orderhub.backend.mapper;
+
+import com.core.orderhub.backend.domain.valueobject.Money;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+
+@Component
+public class MoneyMapper {
+
+    public BigDecimal toBigDecimal(Money money) {
+        return money == null ? null : money.toBigDecimal();
+    }
+
+    public Money toMoney(BigDecimal amount) {
+        return amount == null ? null : Money.of(amount);
+    }
+}
@@ -5,10 +5,10 @@ import com.core.orderhub.backend.dto.OrderItemDto;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
-@Mapper(componentModel = "spring")
+@Mapper(componentModel = "spring", uses = MoneyMapper.class)
 public interface OrderItemMapper {
 
     @Mapping(source = "product.name", target = "productName")
-    @Mapping(source = "product.id", target = "productId")
+    @Mapping(source = "productId", target = "productId")
     OrderItemDto toDto(OrderItem orderItem);
 }
\ No newline at end of file
@@ -5,13 +5,14 @@ import com.core.orderhub.backend.domain.entity.Order;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
-@Mapper(componentModel = "spring", uses = OrderItemMapper.class)
+@Mapper(componentModel = "spring", uses = {OrderItemMapper.class, MoneyMapper.class})
 public interface OrderMapper {
 
     @Mapping(source = "client.id", target = "clientId")
     @Mapping(source = "orderItemList", target = "items")
     OrderDto toDto(Order order);
 
+    @Mapping(target = "orderItemList", ignore = true)
     Order toEntity(OrderDto orderDto);
 
 }
@@ -4,7 +4,7 @@ import com.core.orderhub.backend.dto.ProductDto;
 import com.core.orderhub.backend.domain.entity.Product;
 import org.mapstruct.Mapper;
 
-@Mapper(componentModel = "spring")
+@Mapper(componentModel = "spring", uses = MoneyMapper.class)
 public interface ProductMapper {
 
     ProductDto toDto(Product product);
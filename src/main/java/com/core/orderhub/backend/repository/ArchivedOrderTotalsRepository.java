@@ -0,0 +1,12 @@
+package com.core.orderhub.backend.repository;
+
+import com.core.orderhub.backend.domain.entity.ArchivedOrderTotals;
+import com.core.orderhub.backend.domain.enums.OrderStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+public interface ArchivedOrderTotalsRepository extends JpaRepository<ArchivedOrderTotals, Long> {
+
+    Optional<ArchivedOrderTotals> findByClientIdAndStatus(Long clientId, OrderStatus status);
+}
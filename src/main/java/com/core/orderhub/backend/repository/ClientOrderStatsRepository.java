@@ -0,0 +1,21 @@
+package com.core.orderhub.backend.repository;
+
+import com.core.orderhub.backend.domain.entity.ClientOrderStats;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface ClientOrderStatsRepository extends JpaRepository<ClientOrderStats, Long> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from ClientOrderStats s where s.clientId = :clientId")
+    Optional<ClientOrderStats> findByIdForUpdate(@Param("clientId") Long clientId);
+
+    @Query("select s from ClientOrderStats s where s.clientId between :fromId and :toId")
+    List<ClientOrderStats> findByClientIdBetween(@Param("fromId") Long fromId, @Param("toId") Long toId);
+}
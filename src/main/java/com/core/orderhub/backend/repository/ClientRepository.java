@@ -1,10 +1,23 @@
 package com.core.orderhub.backend.repository;
 
 import com.core.orderhub.backend.domain.entity.Client;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
 
 public interface ClientRepository extends JpaRepository<Client, Long> {
     boolean existsByCpf(String cpf);
 
     boolean existsByCpfAndIdNot(String cpf, Long id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select c from Client c where c.id = :id")
+    Optional<Client> findByIdForUpdate(@Param("id") Long id);
+
+    @Query("select coalesce(max(c.id), 0) from Client c")
+    long findMaxId();
 }
@@ -0,0 +1,7 @@
+package com.core.orderhub.backend.repository;
+
+import com.core.orderhub.backend.domain.entity.InventoryCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface InventoryCheckpointRepository extends JpaRepository<InventoryCheckpoint, String> {
+}
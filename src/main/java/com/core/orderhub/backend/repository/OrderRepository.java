@@ -1,7 +1,192 @@
 package com.core.orderhub.backend.repository;
 
 import com.core.orderhub.backend.domain.entity.Order;
+import com.core.orderhub.backend.domain.enums.OrderStatus;
+import com.core.orderhub.backend.domain.valueobject.Money;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
-public interface OrderRepository extends JpaRepository<Order, Long> {
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+public interface OrderRepository extends JpaRepository<Order, Long>, OrderSearchRepository {
+
+    @Query("select o.id from Order o order by o.createdAt desc, o.id desc")
+    List<Long> findFirstPageIds(Pageable pageable);
+
+    @Query("""
+            select o.id from Order o
+            where o.createdAt < :createdAt
+               or (o.createdAt = :createdAt and o.id < :id)
+            order by o.createdAt desc, o.id desc
+            """)
+    List<Long> findPageIdsAfter(
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            Pageable pageable
+    );
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select o from Order o order by o.id")
+    Stream<Order> streamAllOrderedById();
+
+    @Query(value = "select id, status, client_id as clientId, total from orders where id in (:ids) order by id for update", nativeQuery = true)
+    List<OrderStatusView> lockStatusesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("""
+            select o.id from Order o
+            where o.id > :afterId
+              and o.status in :statuses
+              and o.createdAt < :createdBefore
+            order by o.id
+            """)
+    List<Long> findIdsByStatusCreatedBefore(
+            @Param("afterId") Long afterId,
+            @Param("statuses") Collection<OrderStatus> statuses,
+            @Param("createdBefore") LocalDateTime createdBefore,
+            Pageable pageable
+    );
+
+    @Modifying
+    @Query("""
+            update Order o set o.status = :target, o.lastModifiedAt = :modifiedAt,
+                               o.version = o.version + 1
+            where o.id in :ids and o.status in :sources
+            """)
+    int updateStatusWhereIn(
+            @Param("ids") Collection<Long> ids,
+            @Param("sources") Collection<OrderStatus> sources,
+            @Param("target") OrderStatus target,
+            @Param("modifiedAt") LocalDateTime modifiedAt
+    );
+
+    @Query("select o.version from Order o where o.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    @Query("select o.id from Order o where o.id > :afterId order by o.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Modifying
+    @Query("""
+            update Order o set o.status = com.core.orderhub.backend.domain.enums.OrderStatus.PAID,
+                               o.paidAt = :paidAt, o.lastModifiedAt = :paidAt,
+                               o.version = o.version + 1
+            where o.id in :ids and o.status in :sources
+            """)
+    int markPaidWhereIn(
+            @Param("ids") Collection<Long> ids,
+            @Param("sources") Collection<OrderStatus> sources,
+            @Param("paidAt") LocalDateTime paidAt
+    );
+
+    @Query("select o.status as status, count(o) as orders from Order o group by o.status")
+    List<StatusCount> countByStatus();
+
+    @Query("""
+            select o.id as orderId, o.createdAt as createdAt, o.paidAt as paidAt, o.total as total,
+                   i.productId as productId, i.quantity as quantity
+            from Order o left join o.orderItemList i
+            where o.id in :ids
+            """)
+    List<SoldLine> findSoldLinesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("""
+            select o.id as orderId, o.createdAt as createdAt, o.paidAt as paidAt, o.total as total,
+                   i.productId as productId, i.quantity as quantity
+            from Order o left join o.orderItemList i
+            where o.paidAt >= :since
+              and o.status in (com.core.orderhub.backend.domain.enums.OrderStatus.PAID,
+                               com.core.orderhub.backend.domain.enums.OrderStatus.FINISHED)
+            """)
+    Stream<SoldLine> streamSoldLinesPaidSince(@Param("since") LocalDateTime since);
+
+    @Query("""
+            select o.id as orderId, o.createdAt as createdAt, o.paidAt as paidAt, o.total as total,
+                   i.productId as productId, i.quantity as quantity
+            from Order o join o.orderItemList i
+            where o.createdAt >= :since
+              and o.status <> com.core.orderhub.backend.domain.enums.OrderStatus.CANCELED
+            """)
+    Stream<SoldLine> streamOrderedLinesCreatedSince(@Param("since") LocalDateTime since);
+
+    @Query("""
+            select o.id as id, o.createdAt as createdAt, o.lastModifiedAt as lastModifiedAt from Order o
+            where o.status = com.core.orderhub.backend.domain.enums.OrderStatus.CREATED
+              and o.id > :afterId
+            order by o.id
+            """)
+    List<OrderActivity> findCreatedActivityAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("select o.id as id, o.createdAt as createdAt, o.lastModifiedAt as lastModifiedAt from Order o where o.id in :ids")
+    List<OrderActivity> findActivityByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select o from Order o where o.id in :ids order by o.id")
+    List<Order> findAllByIdInForUpdate(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("delete from OrderItem i where i.order.id in :orderIds")
+    int deleteItemsByOrderIdIn(@Param("orderIds") Collection<Long> orderIds);
+
+    @Modifying
+    @Query("delete from Order o where o.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+    @EntityGraph(attributePaths = {"client", "orderItemList", "orderItemList.product"})
+    @Query("select o from Order o where o.id in :ids")
+    List<Order> findAllWithItemsByIdIn(@Param("ids") Collection<Long> ids);
+
+    interface OrderActivity {
+        Long getId();
+
+        LocalDateTime getCreatedAt();
+
+        LocalDateTime getLastModifiedAt();
+    }
+
+    interface StatusCount {
+        OrderStatus getStatus();
+
+        long getOrders();
+    }
+
+    interface SoldLine {
+        Long getOrderId();
+
+        LocalDateTime getCreatedAt();
+
+        LocalDateTime getPaidAt();
+
+        Money getTotal();
+
+        Long getProductId();
+
+        Integer getQuantity();
+    }
+
+    interface OrderStatusView {
+        Long getId();
+
+        String getStatus();
+
+        Long getClientId();
+
+        BigDecimal getTotal();
+    }
 }
@@ -0,0 +1,15 @@
+package com.core.orderhub.backend.repository;
+
+import com.core.orderhub.backend.dto.OrderSearchCriteria;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface OrderSearchRepository {
+
+    /**
+     * Ids of the orders matching {@code criteria}, ordered by createdAt desc,
+     * id desc, starting after the given keyset position when it is not null.
+     */
+    List<Long> searchIds(OrderSearchCriteria criteria, LocalDateTime afterCreatedAt, Long afterId, int limit);
+}
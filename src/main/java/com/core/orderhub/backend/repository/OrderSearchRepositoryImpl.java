@@ -0,0 +1,72 @@
+package com.core.orderhub.backend.repository;
+
+import com.core.orderhub.backend.domain.entity.Order;
+import com.core.orderhub.backend.domain.valueobject.Money;
+import com.core.orderhub.backend.dto.OrderSearchCriteria;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds the search as a single id query so each filter combination keeps a
+ * plain conjunctive WHERE clause that the (client_id, created_at, id),
+ * (status, created_at, id) and (created_at, id) indexes can serve, with the
+ * keyset condition on the trailing columns instead of an OFFSET.
+ */
+class OrderSearchRepositoryImpl implements OrderSearchRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Long> searchIds(OrderSearchCriteria criteria, LocalDateTime afterCreatedAt, Long afterId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Order> order = query.from(Order.class);
+        Path<Long> id = order.get("id");
+        Path<LocalDateTime> createdAt = order.get("createdAt");
+        Path<Money> total = order.get("total");
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (criteria.clientId() != null) {
+            predicates.add(cb.equal(order.get("client").get("id"), criteria.clientId()));
+        }
+        if (!criteria.statuses().isEmpty()) {
+            predicates.add(order.get("status").in(criteria.statuses()));
+        }
+        if (criteria.createdFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(createdAt, criteria.createdFrom()));
+        }
+        if (criteria.createdTo() != null) {
+            predicates.add(cb.lessThanOrEqualTo(createdAt, criteria.createdTo()));
+        }
+        if (criteria.minTotal() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(total, Money.of(criteria.minTotal())));
+        }
+        if (criteria.maxTotal() != null) {
+            predicates.add(cb.lessThanOrEqualTo(total, Money.of(criteria.maxTotal())));
+        }
+        if (afterCreatedAt != null) {
+            predicates.add(cb.or(
+                    cb.lessThan(createdAt, afterCreatedAt),
+                    cb.and(cb.equal(createdAt, afterCreatedAt), cb.lessThan(id, afterId))
+            ));
+        }
+
+        query.select(id)
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(cb.desc(createdAt), cb.desc(id));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
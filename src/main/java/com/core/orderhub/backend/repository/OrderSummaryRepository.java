@@ -0,0 +1,42 @@
+package com.core.orderhub.backend.repository;
+
+import com.core.orderhub.backend.domain.entity.OrderSummary;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface OrderSummaryRepository extends JpaRepository<OrderSummary, Long> {
+
+    @Query("select s from OrderSummary s order by s.createdAt desc, s.orderId desc")
+    List<OrderSummary> findFirstPage(Pageable pageable);
+
+    @Query("""
+            select s from OrderSummary s
+            where s.createdAt < :createdAt
+               or (s.createdAt = :createdAt and s.orderId < :orderId)
+            order by s.createdAt desc, s.orderId desc
+            """)
+    List<OrderSummary> findPageAfter(
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("orderId") Long orderId,
+            Pageable pageable
+    );
+
+    @Query("""
+            select o.id from Order o
+            where o.id > :afterId
+              and not exists (select s.orderId from OrderSummary s
+                              where s.orderId = o.id and s.orderVersion = o.version)
+            order by o.id
+            """)
+    List<Long> findUnprojectedOrderIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Modifying
+    @Query("delete from OrderSummary s where not exists (select o.id from Order o where o.id = s.orderId)")
+    int deleteOrphans();
+}
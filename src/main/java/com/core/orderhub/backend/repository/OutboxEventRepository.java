@@ -0,0 +1,37 @@
+package com.core.orderhub.backend.repository;
+
+import com.core.orderhub.backend.domain.entity.OutboxEvent;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // -2 is skip locked, so concurrent relays split the backlog instead of waiting on each other
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select e from OutboxEvent e where e.deliveredAt is null order by e.id")
+    List<OutboxEvent> findUndelivered(Pageable pageable);
+
+    @Modifying
+    @Query("update OutboxEvent e set e.deliveredAt = :deliveredAt where e.id in :ids")
+    int markDelivered(@Param("ids") Collection<Long> ids, @Param("deliveredAt") Instant deliveredAt);
+
+    @Query("select min(e.createdAt) from OutboxEvent e where e.deliveredAt is null")
+    Optional<Instant> findOldestUndeliveredCreatedAt();
+
+    @Modifying
+    @Query("delete from OutboxEvent e where e.deliveredAt < :deliveredBefore")
+    int deleteDeliveredBefore(@Param("deliveredBefore") Instant deliveredBefore);
+}
@@ -1,7 +1,58 @@
 package com.core.orderhub.backend.repository;
 
 import com.core.orderhub.backend.domain.entity.Product;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
 
 public interface ProductRepository extends JpaRepository <Product, Long> {
+
+    @Modifying
+    @Query("""
+            update Product p set p.quantity = p.quantity - :quantity
+            where p.id = :id
+              and p.status = com.core.orderhub.backend.domain.enums.ProductStatus.ACTIVE
+              and p.quantity >= :quantity
+            """)
+    int decreaseStockIfAvailable(@Param("id") Long id, @Param("quantity") Integer quantity);
+
+    @Query("select p.quantity from Product p where p.id = :id")
+    Optional<Integer> findQuantityById(@Param("id") Long id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select p from Product p where p.id = :id")
+    Optional<Product> findByIdForUpdate(@Param("id") Long id);
+
+    @Modifying
+    @Query("""
+            update Product p set p.quantity = p.quantity + :quantity
+            where p.id = :id
+              and (p.stockShards is null or p.stockShards <= 1)
+            """)
+    int increaseStock(@Param("id") Long id, @Param("quantity") Integer quantity);
+
+    @Query("select coalesce(max(p.id), 0) from Product p")
+    long findMaxId();
+
+    @Query("""
+            select p.id as id, p.name as name, p.description as description
+            from Product p
+            where p.id between :fromId and :toId
+            order by p.id
+            """)
+    List<ProductText> findTextByIdBetween(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    interface ProductText {
+        Long getId();
+
+        String getName();
+
+        String getDescription();
+    }
 }
@@ -0,0 +1,64 @@
+package com.core.orderhub.backend.repository;
+
+import com.core.orderhub.backend.domain.entity.ProductStockShard;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface ProductStockShardRepository extends JpaRepository<ProductStockShard, Long> {
+
+    @Modifying
+    @Query("""
+            update ProductStockShard s set s.quantity = s.quantity - :quantity
+            where s.productId = :productId
+              and s.shard = :shard
+              and s.quantity >= :quantity
+            """)
+    int decreaseIfAvailable(@Param("productId") Long productId,
+                            @Param("shard") Integer shard,
+                            @Param("quantity") Integer quantity);
+
+    @Modifying
+    @Query("update ProductStockShard s set s.quantity = s.quantity + :quantity where s.productId = :productId and s.shard = :shard")
+    int increase(@Param("productId") Long productId, @Param("shard") Integer shard, @Param("quantity") Integer quantity);
+
+    @Query("select s.shard as shard, s.quantity as quantity from ProductStockShard s where s.productId = :productId order by s.shard")
+    List<ShardQuantity> findQuantitiesByProductId(@Param("productId") Long productId);
+
+    @Query("select coalesce(sum(s.quantity), 0) from ProductStockShard s where s.productId = :productId")
+    long sumQuantityByProductId(@Param("productId") Long productId);
+
+    @Query("""
+            select s.productId as productId, coalesce(sum(s.quantity), 0) as quantity
+            from ProductStockShard s
+            where s.productId in :productIds
+            group by s.productId
+            """)
+    List<ProductQuantity> sumQuantityByProductIdIn(@Param("productIds") Collection<Long> productIds);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from ProductStockShard s where s.productId = :productId order by s.shard")
+    List<ProductStockShard> findAllByProductIdForUpdate(@Param("productId") Long productId);
+
+    @Modifying
+    @Query("delete from ProductStockShard s where s.productId = :productId")
+    int deleteByProductId(@Param("productId") Long productId);
+
+    interface ShardQuantity {
+        Integer getShard();
+
+        Integer getQuantity();
+    }
+
+    interface ProductQuantity {
+        Long getProductId();
+
+        Long getQuantity();
+    }
+}
@@ -0,0 +1,148 @@
+package com.core.orderhub.backend.service;
+
+import com.core.orderhub.backend.domain.enums.OrderStatus;
+import com.core.orderhub.backend.domain.event.OrderStatusChanged;
+import com.core.orderhub.backend.dto.BulkOrderStatusDto;
+import com.core.orderhub.backend.dto.BulkOrderStatusResultDto;
+import com.core.orderhub.backend.dto.BulkOrderStatusResultDto.Rejection;
+import com.core.orderhub.backend.exception.BusinessException;
+import com.core.orderhub.backend.repository.OrderRepository;
+import com.core.orderhub.backend.repository.OrderRepository.OrderStatusView;
+import com.core.orderhub.backend.service.journal.OrderJournal;
+import com.core.orderhub.backend.service.journal.OrderJournalEvent;
+import com.core.orderhub.backend.service.outbox.OutboxService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Moves many orders to one status with set-based UPDATEs. Each chunk runs in
+ * its own transaction: the rows are locked and read once to decide which ids
+ * are accepted, then a single guarded UPDATE flips the accepted ones.
+ */
+@Service
+public class BulkOrderStatusService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkOrderStatusService.class);
+    private static final int CHUNK_SIZE = 1_000;
+    private static final String ORDER_NOT_FOUND = "Order not found";
+
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private OutboxService outboxService;
+    @Autowired(required = false)
+    private OrderJournal orderJournal;
+
+    public BulkOrderStatusResultDto updateStatus(BulkOrderStatusDto dto) {
+        boolean byIds = dto.getIds() != null && !dto.getIds().isEmpty();
+        if (byIds == (dto.getFilter() != null)) {
+            throw new BusinessException("Provide either order ids or a filter");
+        }
+
+        OrderStatus target = dto.getStatus();
+        Set<OrderStatus> sources = OrderStatus.sourcesOf(target);
+        List<Long> accepted = new ArrayList<>();
+        List<Rejection> rejected = new ArrayList<>();
+
+        if (byIds) {
+            List<Long> ids = dto.getIds().stream().distinct().sorted().toList();
+            for (int from = 0; from < ids.size(); from += CHUNK_SIZE) {
+                List<Long> chunk = ids.subList(from, Math.min(from + CHUNK_SIZE, ids.size()));
+                transitionChunk(chunk, sources, target, accepted, rejected);
+            }
+        } else {
+            transitionMatching(dto.getFilter(), sources, target, accepted, rejected);
+        }
+
+        logger.info("Bulk order status update to {}: {} accepted, {} rejected", target, accepted.size(), rejected.size());
+        return new BulkOrderStatusResultDto(target, accepted, rejected);
+    }
+
+    private void transitionMatching(BulkOrderStatusDto.Filter filter, Set<OrderStatus> sources, OrderStatus target,
+                                    List<Long> accepted, List<Rejection> rejected) {
+        Set<OrderStatus> statuses = EnumSet.noneOf(OrderStatus.class);
+        statuses.addAll(sources);
+        if (filter.getCurrentStatuses() != null && !filter.getCurrentStatuses().isEmpty()) {
+            statuses.retainAll(filter.getCurrentStatuses());
+        }
+        if (statuses.isEmpty()) {
+            return;
+        }
+
+        long afterId = 0L;
+        List<Long> chunk;
+        do {
+            chunk = orderRepository.findIdsByStatusCreatedBefore(afterId, statuses, filter.getCreatedBefore(),
+                    PageRequest.of(0, CHUNK_SIZE));
+            if (chunk.isEmpty()) {
+                return;
+            }
+            transitionChunk(chunk, statuses, target, accepted, rejected);
+            afterId = chunk.get(chunk.size() - 1);
+        } while (chunk.size() == CHUNK_SIZE);
+    }
+
+    private void transitionChunk(List<Long> ids, Set<OrderStatus> sources, OrderStatus target,
+                                 List<Long> accepted, List<Rejection> rejected) {
+        ChunkResult result = transactionTemplate.execute(status -> {
+            Map<Long, OrderStatusView> current = new HashMap<>();
+            for (OrderStatusView view : orderRepository.lockStatusesByIdIn(ids)) {
+                current.put(view.getId(), view);
+            }
+
+            Instant now = Instant.now();
+            List<Long> legal = new ArrayList<>();
+            List<Rejection> illegal = new ArrayList<>();
+            List<OrderStatusChanged> events = new ArrayList<>();
+            for (Long id : ids) {
+                OrderStatusView view = current.get(id);
+                OrderStatus currentStatus = view == null ? null : OrderStatus.valueOf(view.getStatus());
+                if (currentStatus == null) {
+                    illegal.add(new Rejection(id, ORDER_NOT_FOUND));
+                } else if (!sources.contains(currentStatus)) {
+                    illegal.add(new Rejection(id, "Cannot change order status from " + currentStatus + " to " + target));
+                } else {
+                    legal.add(id);
+                    events.add(new OrderStatusChanged(id, view.getClientId(), currentStatus, target, view.getTotal(), now));
+                }
+            }
+
+            if (!legal.isEmpty()) {
+                LocalDateTime modifiedAt = LocalDateTime.now();
+                if (target == OrderStatus.PAID) {
+                    orderRepository.markPaidWhereIn(legal, sources, modifiedAt);
+                } else {
+                    orderRepository.updateStatusWhereIn(legal, sources, target, modifiedAt);
+                }
+                outboxService.appendAll(events);
+                if (orderJournal != null) {
+                    long occurredAt = now.toEpochMilli();
+                    orderJournal.record(legal.stream()
+                            .map(id -> new OrderJournalEvent.StatusChanged(id, occurredAt, target))
+                            .toList());
+                }
+            }
+            return new ChunkResult(legal, illegal);
+        });
+
+        accepted.addAll(result.accepted());
+        rejected.addAll(result.rejected());
+    }
+
+    private record ChunkResult(List<Long> accepted, List<Rejection> rejected) {}
+}
@@ -0,0 +1,172 @@
+package com.core.orderhub.backend.service;
+
+import com.core.orderhub.backend.domain.entity.ClientOrderStats;
+import com.core.orderhub.backend.domain.enums.OrderStatus;
+import com.core.orderhub.backend.domain.valueobject.Money;
+import com.core.orderhub.backend.dto.ClientOrderStatsCheckDto;
+import com.core.orderhub.backend.repository.ClientOrderStatsRepository;
+import com.core.orderhub.backend.repository.ClientRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Recomputes the client order stats from the orders table, plus the totals of
+ * archived orders, and reports clients whose maintained row differs. The client id space is split into ranges that
+ * are checked in parallel; each range reads orders and stats in one
+ * repeatable-read transaction, so concurrent order writes do not show up as drift.
+ */
+@Component
+public class ClientOrderStatsChecker {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClientOrderStatsChecker.class);
+    private static final String RECOMPUTE_SQL = """
+            select client_id, status, sum(orders), sum(total), max(last_order_at)
+            from (
+                select client_id, status, count(*) as orders, coalesce(sum(total), 0) as total,
+                       max(created_at) as last_order_at
+                from orders
+                where client_id between ? and ?
+                group by client_id, status
+                union all
+                select client_id, status, orders, total, last_order_at
+                from archived_order_totals
+                where client_id between ? and ?
+            ) totals
+            group by client_id, status
+            """;
+
+    @Autowired
+    private ClientRepository clientRepository;
+    @Autowired
+    private ClientOrderStatsRepository clientOrderStatsRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${orderhub.clients.stats.check.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${orderhub.clients.stats.check.parallelism:4}")
+    private int parallelism;
+
+    private final AtomicLong driftedClients = new AtomicLong();
+    private TransactionTemplate snapshotTransaction;
+
+    @PostConstruct
+    public void init() {
+        snapshotTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        snapshotTransaction.setReadOnly(true);
+        Gauge.builder("orderhub.clients.stats.drift", driftedClients, AtomicLong::get)
+                .description("Clients whose order stats differed from the orders table in the last check")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${orderhub.clients.stats.check.cron:0 30 3 * * *}")
+    public void scheduledCheck() {
+        try {
+            check();
+        } catch (RuntimeException e) {
+            logger.error("Client order stats check failed", e);
+        }
+    }
+
+    public ClientOrderStatsCheckDto check() {
+        long start = System.nanoTime();
+        long maxId = clientRepository.findMaxId();
+
+        List<CompletableFuture<RangeResult>> ranges = new ArrayList<>();
+        try (ExecutorService pool = Executors.newFixedThreadPool(parallelism)) {
+            for (long fromId = 1; fromId <= maxId; fromId += chunkSize) {
+                long from = fromId;
+                long to = Math.min(fromId + chunkSize - 1, maxId);
+                ranges.add(CompletableFuture.supplyAsync(() -> checkRange(from, to), pool));
+            }
+        }
+
+        long checked = 0;
+        List<Long> drifted = new ArrayList<>();
+        for (CompletableFuture<RangeResult> range : ranges) {
+            RangeResult result = range.join();
+            checked += result.checked();
+            drifted.addAll(result.drifted());
+        }
+
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        driftedClients.set(drifted.size());
+        if (drifted.isEmpty()) {
+            logger.info("Client order stats check: {} clients consistent in {} ms", checked, elapsedMillis);
+        } else {
+            logger.warn("Client order stats check: {} of {} clients drifted in {} ms, first ids {}",
+                    drifted.size(), checked, elapsedMillis, drifted.subList(0, Math.min(drifted.size(), 20)));
+        }
+        return new ClientOrderStatsCheckDto(checked, drifted, elapsedMillis);
+    }
+
+    private RangeResult checkRange(long fromId, long toId) {
+        return snapshotTransaction.execute(status -> {
+            Map<Long, ClientOrderStats> expected = new HashMap<>();
+            jdbcTemplate.query(RECOMPUTE_SQL, row -> {
+                long clientId = row.getLong(1);
+                Timestamp lastOrderAt = row.getTimestamp(5);
+                expected.computeIfAbsent(clientId, ClientOrderStats::new).include(
+                        OrderStatus.valueOf(row.getString(2)),
+                        row.getLong(3),
+                        Money.of(row.getObject(4, BigDecimal.class)),
+                        lastOrderAt == null ? null : lastOrderAt.toLocalDateTime());
+            }, fromId, toId, fromId, toId);
+
+            Map<Long, ClientOrderStats> actual = new HashMap<>();
+            for (ClientOrderStats stats : clientOrderStatsRepository.findByClientIdBetween(fromId, toId)) {
+                actual.put(stats.getClientId(), stats);
+            }
+
+            TreeSet<Long> clientIds = new TreeSet<>(expected.keySet());
+            clientIds.addAll(actual.keySet());
+
+            List<Long> drifted = new ArrayList<>();
+            for (Long clientId : clientIds) {
+                ClientOrderStats recomputed = expected.getOrDefault(clientId, new ClientOrderStats(clientId));
+                ClientOrderStats maintained = actual.getOrDefault(clientId, new ClientOrderStats(clientId));
+                if (!recomputed.sameTotalsAs(maintained) || isBehind(maintained, recomputed)) {
+                    drifted.add(clientId);
+                }
+            }
+            return new RangeResult(clientIds.size(), drifted);
+        });
+    }
+
+    private static boolean isBehind(ClientOrderStats maintained, ClientOrderStats recomputed) {
+        if (recomputed.getLastOrderAt() == null) {
+            return false;
+        }
+        return maintained.getLastOrderAt() == null || maintained.getLastOrderAt().isBefore(recomputed.getLastOrderAt());
+    }
+
+    private record RangeResult(long checked, List<Long> drifted) {}
+}
@@ -0,0 +1,101 @@
+package com.core.orderhub.backend.service;
+
+import com.core.orderhub.backend.domain.entity.ClientOrderStats;
+import com.core.orderhub.backend.domain.enums.OrderStatus;
+import com.core.orderhub.backend.domain.event.OrderCreated;
+import com.core.orderhub.backend.domain.event.OrderDeleted;
+import com.core.orderhub.backend.domain.event.OrderItemAdded;
+import com.core.orderhub.backend.domain.event.OrderItemRemoved;
+import com.core.orderhub.backend.domain.event.OrderStatusChanged;
+import com.core.orderhub.backend.domain.valueobject.Money;
+import com.core.orderhub.backend.dto.ClientOrderStatsDto;
+import com.core.orderhub.backend.exception.ResourceNotFoundException;
+import com.core.orderhub.backend.repository.ClientOrderStatsRepository;
+import com.core.orderhub.backend.repository.ClientRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Maintains {@link ClientOrderStats} from the order events. The listeners run
+ * synchronously inside the transaction that changes the order, so the stats
+ * row is committed or rolled back together with it.
+ */
+@Service
+public class ClientOrderStatsService {
+
+    @Autowired
+    private ClientOrderStatsRepository clientOrderStatsRepository;
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Transactional(readOnly = true)
+    public ClientOrderStatsDto findByClientId(Long clientId) {
+        ClientOrderStats stats = clientOrderStatsRepository.findById(clientId)
+                .orElseGet(() -> {
+                    if (!clientRepository.existsById(clientId)) {
+                        throw new ResourceNotFoundException("Client not found: " + clientId);
+                    }
+                    return new ClientOrderStats(clientId);
+                });
+        return toDto(stats);
+    }
+
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void on(OrderCreated event) {
+        LocalDateTime createdAt = LocalDateTime.ofInstant(event.occurredAt(), ZoneId.systemDefault());
+        statsForUpdate(event.clientId()).orderCreated(Money.of(event.total()), createdAt);
+    }
+
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void on(OrderItemAdded event) {
+        statsForUpdate(event.clientId()).openValueChanged(Money.of(event.totalDelta()));
+    }
+
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void on(OrderItemRemoved event) {
+        statsForUpdate(event.clientId()).openValueChanged(Money.of(event.totalDelta()));
+    }
+
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void on(OrderStatusChanged event) {
+        statsForUpdate(event.clientId()).statusChanged(event.from(), event.to(), Money.of(event.orderTotal()));
+    }
+
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void on(OrderDeleted event) {
+        statsForUpdate(event.clientId()).orderDeleted(event.status(), Money.of(event.orderTotal()));
+    }
+
+    private ClientOrderStats statsForUpdate(Long clientId) {
+        return clientOrderStatsRepository.findByIdForUpdate(clientId)
+                .orElseGet(() -> {
+                    // first order of the client: the client row lock keeps two first orders from both inserting
+                    clientRepository.findByIdForUpdate(clientId)
+                            .orElseThrow(() -> new ResourceNotFoundException("Client not found: " + clientId));
+                    return clientOrderStatsRepository.findByIdForUpdate(clientId)
+                            .orElseGet(() -> clientOrderStatsRepository.save(new ClientOrderStats(clientId)));
+                });
+    }
+
+    static ClientOrderStatsDto toDto(ClientOrderStats stats) {
+        Map<OrderStatus, Long> ordersByStatus = new EnumMap<>(OrderStatus.class);
+        for (OrderStatus status : OrderStatus.values()) {
+            ordersByStatus.put(status, stats.orders(status));
+        }
+        return new ClientOrderStatsDto(stats.getClientId(), ordersByStatus,
+                stats.getOpenValue().toBigDecimal(), stats.getLifetimeValue().toBigDecimal(), stats.getLastOrderAt());
+    }
+}
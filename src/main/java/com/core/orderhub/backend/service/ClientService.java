@@ -7,6 +7,8 @@ import com.core.orderhub.backend.exception.ResourceConflictException;
 import com.core.orderhub.backend.exception.ResourceNotFoundException;
 import com.core.orderhub.backend.mapper.ClientMapper;
 import com.core.orderhub.backend.repository.ClientRepository;
+import com.core.orderhub.backend.service.invalidation.EntityType;
+import com.core.orderhub.backend.service.invalidation.InvalidationBus;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -24,6 +26,8 @@ public class ClientService {
     private ClientRepository clientRepository;
     @Autowired
     private ClientMapper clientMapper;
+    @Autowired
+    private InvalidationBus invalidationBus;
 
     private static final String CLIENT_NOT_FOUND = "Client not found: ";
 
@@ -54,6 +58,7 @@ public class ClientService {
         }
 
         existingClient.update(clientDto);
+        invalidationBus.publishAfterCommit(EntityType.CLIENT, id);
 
         logger.info("Updating client... id={}", existingClient.getId());
 
@@ -68,6 +73,7 @@ public class ClientService {
                 );
         ClientStatus oldStatus = client.getStatus();
         client.changeStatus(newStatus);
+        invalidationBus.publishAfterCommit(EntityType.CLIENT, id);
         logger.info("Client {} status changed from {} to {}", id, oldStatus,newStatus);
     }
 
@@ -90,5 +96,6 @@ public class ClientService {
         Client client = clientRepository.findById(id).orElseThrow(() ->
                 new ResourceNotFoundException(CLIENT_NOT_FOUND + id));
         clientRepository.delete(client);
+        invalidationBus.publishAfterCommit(EntityType.CLIENT, id);
     }
 }
\ No newline at end of file
@@ -0,0 +1,35 @@
+package com.core.orderhub.backend.service;
+
+import com.core.orderhub.backend.exception.BusinessException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor for order listings ordered by createdAt desc, id desc.
+ */
+final class OrderCursor {
+
+    private static final String SEPARATOR = "_";
+
+    record Position(LocalDateTime createdAt, Long id) {}
+
+    private OrderCursor() {
+    }
+
+    static String encode(LocalDateTime createdAt, Long id) {
+        String position = createdAt + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static Position decode(String cursor) {
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = position.split(SEPARATOR);
+            return new Position(LocalDateTime.parse(parts[0]), Long.valueOf(parts[1]));
+        } catch (RuntimeException e) {
+            throw new BusinessException("Invalid cursor: " + cursor);
+        }
+    }
+}
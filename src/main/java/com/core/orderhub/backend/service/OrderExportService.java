@@ -0,0 +1,73 @@
+package com.core.orderhub.backend.service;
+
+import com.core.orderhub.backend.domain.entity.Order;
+import com.core.orderhub.backend.dto.OrderDto;
+import com.core.orderhub.backend.mapper.OrderMapper;
+import com.core.orderhub.backend.repository.OrderRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Service
+public class OrderExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderExportService.class);
+    private static final int CHUNK_SIZE = 500;
+    private static final byte NEW_LINE = '\n';
+
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private OrderMapper orderMapper;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Transactional(readOnly = true)
+    public long exportOrders(OutputStream outputStream) throws IOException {
+
+        ObjectWriter writer = objectMapper.writerFor(OrderDto.class);
+        List<Order> chunk = new ArrayList<>(CHUNK_SIZE);
+        long exported = 0;
+
+        try (Stream<Order> orders = orderRepository.streamAllOrderedById()) {
+            Iterator<Order> iterator = orders.iterator();
+
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+
+                if (chunk.size() == CHUNK_SIZE || !iterator.hasNext()) {
+                    exported += writeChunk(chunk, writer, outputStream);
+                    chunk.clear();
+                    entityManager.clear();
+                }
+            }
+        }
+
+        logger.info("Exported {} orders", exported);
+        return exported;
+    }
+
+    private int writeChunk(List<Order> chunk, ObjectWriter writer, OutputStream outputStream) throws IOException {
+        for (Order order : chunk) {
+            outputStream.write(writer.writeValueAsBytes(orderMapper.toDto(order)));
+            outputStream.write(NEW_LINE);
+        }
+        outputStream.flush();
+        return chunk.size();
+    }
+}
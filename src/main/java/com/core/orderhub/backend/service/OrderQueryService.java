@@ -0,0 +1,147 @@
+package com.core.orderhub.backend.service;
+
+import com.core.orderhub.backend.domain.entity.OrderSummary;
+import com.core.orderhub.backend.domain.enums.OrderStatus;
+import com.core.orderhub.backend.dto.OrderDto;
+import com.core.orderhub.backend.dto.OrderPageDto;
+import com.core.orderhub.backend.repository.OrderRepository;
+import com.core.orderhub.backend.repository.OrderSummaryRepository;
+import com.core.orderhub.backend.service.readmodel.OrderSummaryProjector;
+import com.core.orderhub.backend.service.readmodel.TerminalOrderCache;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Serves order reads from the {@code order_summaries} read model. Summaries are
+ * refreshed asynchronously after commit, so a read may briefly lag the latest
+ * write; an order whose summary does not exist yet is read from the order
+ * tables instead, and so is everything until the projector has caught up after
+ * startup. Finished and canceled orders never change again, so their
+ * serialized responses are kept in the {@link TerminalOrderCache}, which is
+ * checked before a transaction is opened so a hit never borrows a connection.
+ */
+@Service
+public class OrderQueryService {
+
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final Set<OrderStatus> TERMINAL = Set.of(OrderStatus.FINISHED, OrderStatus.CANCELED);
+
+    @Autowired
+    private OrderSummaryRepository orderSummaryRepository;
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private TerminalOrderCache terminalOrderCache;
+    @Autowired
+    private OrderSummaryProjector orderSummaryProjector;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private TransactionTemplate readTransaction;
+
+    /**
+     * A serialized order together with the version it was rendered from.
+     */
+    public record OrderResponse(byte[] body, Long version) {}
+
+    @PostConstruct
+    public void init() {
+        readTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        readTransaction.setReadOnly(true);
+    }
+
+    @Transactional(readOnly = true)
+    public OrderDto findById(Long id) {
+        if (!orderSummaryProjector.isCaughtUp()) {
+            return orderService.findById(id);
+        }
+        return orderSummaryRepository.findById(id)
+                .map(this::read)
+                .orElseGet(() -> orderService.findById(id));
+    }
+
+    /**
+     * Current version of the order without loading it: from the terminal
+     * order cache, else a single-column lookup. Empty when the order is not in
+     * the orders table.
+     */
+    public Optional<Long> findVersion(Long id) {
+        Optional<TerminalOrderCache.Entry> cached = terminalOrderCache.get(id);
+        if (cached.isPresent()) {
+            return Optional.of(cached.get().version());
+        }
+        return orderRepository.findVersionById(id);
+    }
+
+    public OrderResponse findResponse(Long id) {
+        Optional<TerminalOrderCache.Entry> cached = terminalOrderCache.get(id);
+        if (cached.isPresent()) {
+            return new OrderResponse(cached.get().body(), cached.get().version());
+        }
+
+        OrderDto order = readTransaction.execute(status -> findById(id));
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(order);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize order " + id, e);
+        }
+        if (order.getVersion() != null && TERMINAL.contains(order.getStatus())) {
+            terminalOrderCache.put(id, body, order.getVersion());
+        }
+        return new OrderResponse(body, order.getVersion());
+    }
+
+    @Transactional(readOnly = true)
+    public OrderPageDto findPage(String cursor, Integer size) {
+        if (!orderSummaryProjector.isCaughtUp()) {
+            // same ordering and cursor format, so paging can switch over mid-way
+            return orderService.findPage(cursor, size);
+        }
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        Pageable limit = PageRequest.of(0, pageSize);
+
+        List<OrderSummary> summaries;
+        if (cursor == null || cursor.isBlank()) {
+            summaries = orderSummaryRepository.findFirstPage(limit);
+        } else {
+            OrderCursor.Position position = OrderCursor.decode(cursor);
+            summaries = orderSummaryRepository.findPageAfter(position.createdAt(), position.id(), limit);
+        }
+
+        List<OrderDto> items = summaries.stream()
+                .map(this::read)
+                .toList();
+
+        OrderSummary last = summaries.isEmpty() ? null : summaries.get(summaries.size() - 1);
+        String nextCursor = summaries.size() == pageSize
+                ? OrderCursor.encode(last.getCreatedAt(), last.getOrderId())
+                : null;
+
+        return new OrderPageDto(items, nextCursor);
+    }
+
+    private OrderDto read(OrderSummary summary) {
+        try {
+            return objectMapper.readValue(summary.getDocument(), OrderDto.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not read summary of order " + summary.getOrderId(), e);
+        }
+    }
+}
@@ -2,29 +2,56 @@ package com.core.orderhub.backend.service;
 
 import com.core.orderhub.backend.domain.entity.Client;
 import com.core.orderhub.backend.domain.entity.Order;
+import com.core.orderhub.backend.domain.entity.OrderItem;
 import com.core.orderhub.backend.domain.entity.Product;
 import com.core.orderhub.backend.domain.enums.OrderStatus;
+import com.core.orderhub.backend.domain.event.OrderCreated;
+import com.core.orderhub.backend.domain.event.OrderDeleted;
+import com.core.orderhub.backend.domain.event.OrderItemAdded;
+import com.core.orderhub.backend.domain.event.OrderItemRemoved;
+import com.core.orderhub.backend.domain.event.OrderStatusChanged;
+import com.core.orderhub.backend.domain.valueobject.Money;
+import com.core.orderhub.backend.dto.AddOrderItemDto;
 import com.core.orderhub.backend.dto.OrderDto;
+import com.core.orderhub.backend.dto.OrderPageDto;
+import com.core.orderhub.backend.dto.OrderSearchCriteria;
 import com.core.orderhub.backend.exception.BusinessException;
 import com.core.orderhub.backend.exception.ResourceNotFoundException;
 import com.core.orderhub.backend.mapper.OrderMapper;
 import com.core.orderhub.backend.repository.ClientRepository;
 import com.core.orderhub.backend.repository.OrderRepository;
 import com.core.orderhub.backend.repository.ProductRepository;
+import com.core.orderhub.backend.service.archive.OrderArchive;
+import com.core.orderhub.backend.service.catalog.ProductCache;
+import com.core.orderhub.backend.service.journal.OrderJournal;
+import com.core.orderhub.backend.service.journal.OrderJournalEvent;
+import com.core.orderhub.backend.service.outbox.OutboxService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.time.ZoneId;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
 
 @Service
 public class OrderService {
 
     private static final Logger logger = LoggerFactory.getLogger(OrderService.class);
     private static final String ORDER_NOT_FOUND = "Order not found: ";
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
     @Autowired
     private OrderRepository orderRepository;
     @Autowired
@@ -33,6 +60,16 @@ public class OrderService {
     private ClientRepository clientRepository;
     @Autowired
     private ProductRepository productRepository;
+    @Autowired
+    private StockService stockService;
+    @Autowired
+    private OutboxService outboxService;
+    @Autowired(required = false)
+    private OrderJournal orderJournal;
+    @Autowired(required = false)
+    private OrderArchive orderArchive;
+    @Autowired
+    private ProductCache productCache;
 
     @Transactional
     public OrderDto createOrder(Long clientId) {
@@ -42,6 +79,12 @@ public class OrderService {
         Order order = new Order(client);
 
         Order savedOrder = orderRepository.save(order);
+        outboxService.append(new OrderCreated(savedOrder.getId(), clientId,
+                savedOrder.getTotal().toBigDecimal(), 0, createdAt(savedOrder)));
+        if (orderJournal != null) {
+            orderJournal.record(List.of(
+                    new OrderJournalEvent.Created(savedOrder.getId(), System.currentTimeMillis(), clientId)));
+        }
         logger.info("Creating order... id={}", savedOrder.getId());
         return orderMapper.toDto(savedOrder);
     }
@@ -53,26 +96,154 @@ public class OrderService {
 
         Product product = findProduct(productId);
 
+        Money totalBefore = order.getTotal();
         order.addItem(product, quantity);
 
+        stockService.reserve(product, quantity);
+
+        outboxService.append(new OrderItemAdded(order.getId(), order.getClient().getId(), productId, quantity,
+                order.getTotal().minus(totalBefore).toBigDecimal(), order.getTotal().toBigDecimal(), Instant.now()));
+        if (orderJournal != null) {
+            orderJournal.record(List.of(new OrderJournalEvent.ItemAdded(order.getId(), System.currentTimeMillis(),
+                    productId, quantity, product.getPrice().cents())));
+        }
+
         logger.info("Item added to order {} | product={} | qty={}",
                 order.getId(), product.getId(), quantity
         );
         return orderMapper.toDto(order);
     }
 
+    /**
+     * Applies several item additions to one order in a single transaction. The order
+     * is loaded and flushed once and its total is carried forward item by item, while
+     * every addition keeps its own outcome: a missing product, a bad quantity or a
+     * rejected reservation fails that addition only. Problems with the order itself
+     * fail the whole batch.
+     */
+    @Transactional
+    public ItemBatchResult addOrderItems(Long orderId, List<AddOrderItemDto> additions) {
+
+        Order order = findOrder(orderId);
+        if (!order.isCreated()) {
+            throw new BusinessException("Only orders with status CREATED can be modified");
+        }
+
+        Map<Long, Product> productsById = new HashMap<>();
+        List<Long> productIds = additions.stream().map(AddOrderItemDto::getProductId).distinct().toList();
+        productRepository.findAllById(productIds).forEach(product -> productsById.put(product.getId(), product));
+
+        List<RuntimeException> failures = new ArrayList<>(additions.size());
+        List<OrderJournalEvent> events = new ArrayList<>();
+        long now = System.currentTimeMillis();
+        int applied = 0;
+        for (AddOrderItemDto addition : additions) {
+            Product product = productsById.get(addition.getProductId());
+            Integer quantity = addition.getQuantity();
+            RuntimeException failure = null;
+            if (product == null) {
+                failure = new ResourceNotFoundException("Product not found: " + addition.getProductId());
+            } else if (quantity == null || quantity <= 0) {
+                failure = new BusinessException("Quantity must be greater than zero");
+            } else {
+                String rejection = stockService.tryReserve(product, quantity);
+                if (rejection != null) {
+                    failure = new BusinessException(rejection);
+                }
+            }
+            failures.add(failure);
+            if (failure != null) {
+                continue;
+            }
+
+            Money totalBefore = order.getTotal();
+            order.addItem(product, quantity);
+            outboxService.append(new OrderItemAdded(order.getId(), order.getClient().getId(), product.getId(),
+                    quantity, order.getTotal().minus(totalBefore).toBigDecimal(), order.getTotal().toBigDecimal(),
+                    Instant.now()));
+            applied++;
+            if (orderJournal != null) {
+                events.add(new OrderJournalEvent.ItemAdded(order.getId(), now, product.getId(), quantity,
+                        product.getPrice().cents()));
+            }
+        }
+        if (!events.isEmpty()) {
+            orderJournal.record(events);
+        }
+
+        logger.info("Items added to order {} | applied={} | rejected={}",
+                order.getId(), applied, additions.size() - applied
+        );
+        return new ItemBatchResult(orderMapper.toDto(order), failures);
+    }
+
+    @Transactional
+    public OrderDto checkout(Long clientId, List<AddOrderItemDto> items) {
+
+        Client client = findAndValidateClient(clientId);
+
+        Map<Long, Integer> quantities = new TreeMap<>();
+        for (AddOrderItemDto item : items) {
+            quantities.merge(item.getProductId(), item.getQuantity(), Integer::sum);
+        }
+
+        Map<Long, Product> productsById = new HashMap<>();
+        for (Product product : productRepository.findAllById(quantities.keySet())) {
+            productsById.put(product.getId(), product);
+        }
+
+        if (productsById.size() != quantities.size()) {
+            List<Long> missingIds = quantities.keySet().stream()
+                    .filter(id -> !productsById.containsKey(id))
+                    .toList();
+            throw new ResourceNotFoundException("Product not found: " + missingIds);
+        }
+
+        Map<Product, Integer> orderItems = new LinkedHashMap<>();
+        quantities.forEach((productId, quantity) -> orderItems.put(productsById.get(productId), quantity));
+
+        Order order = new Order(client);
+        order.addItems(orderItems);
+
+        orderItems.forEach(stockService::reserve);
+
+        Order savedOrder = orderRepository.save(order);
+        outboxService.append(new OrderCreated(savedOrder.getId(), clientId,
+                savedOrder.getTotal().toBigDecimal(), orderItems.size(), createdAt(savedOrder)));
+        if (orderJournal != null) {
+            long now = System.currentTimeMillis();
+            List<OrderJournalEvent> events = new ArrayList<>();
+            events.add(new OrderJournalEvent.Created(savedOrder.getId(), now, clientId));
+            orderItems.forEach((product, quantity) -> events.add(new OrderJournalEvent.ItemAdded(
+                    savedOrder.getId(), now, product.getId(), quantity, product.getPrice().cents())));
+            orderJournal.record(events);
+        }
+        logger.info("Checkout order {} | client={} | items={}",
+                savedOrder.getId(), clientId, orderItems.size()
+        );
+        return orderMapper.toDto(savedOrder);
+    }
+
     @Transactional
     public void removeOrderItem(Long orderId, Long productId) {
 
         Order order = findOrder(orderId);
 
-        Product product = findProduct(productId);
+        OrderItem removedItem = order.removeItem(productId);
+
+        stockService.release(productId, removedItem.getQuantity());
 
-        order.removeItem(product);
+        outboxService.append(new OrderItemRemoved(order.getId(), order.getClient().getId(), productId,
+                removedItem.getQuantity(), Money.ZERO.minus(removedItem.getSubtotal()).toBigDecimal(),
+                order.getTotal().toBigDecimal(), Instant.now()));
+        if (orderJournal != null) {
+            orderJournal.record(List.of(
+                    new OrderJournalEvent.ItemRemoved(order.getId(), System.currentTimeMillis(), productId)));
+        }
 
         logger.info("Item removed from order {} | product={}",
                 order.getId(),
-                product.getId()
+                productId
         );
     }
 
@@ -85,34 +256,118 @@ public class OrderService {
 
         order.changeStatus(newStatus);
 
+        outboxService.append(new OrderStatusChanged(order.getId(), order.getClient().getId(), currentStatus, newStatus,
+                order.getTotal().toBigDecimal(), Instant.now()));
+        if (orderJournal != null) {
+            orderJournal.record(List.of(
+                    new OrderJournalEvent.StatusChanged(order.getId(), System.currentTimeMillis(), newStatus)));
+        }
+
         logger.info("Updated order {} status from {} to {}",
                 order.getId(), currentStatus, newStatus
         );
     }
 
+    @Transactional(readOnly = true)
     public OrderDto findById(Long id) {
-        Order order = orderRepository.findById(id).orElseThrow(() ->
-                new ResourceNotFoundException(ORDER_NOT_FOUND + id));
-        return orderMapper.toDto(order);
+        Optional<Order> order = orderRepository.findById(id);
+        if (order.isPresent()) {
+            return orderMapper.toDto(order.get());
+        }
+        // finished and canceled orders may have been moved to the archive
+        return Optional.ofNullable(orderArchive)
+                .flatMap(archive -> archive.find(id))
+                .orElseThrow(() -> new ResourceNotFoundException(ORDER_NOT_FOUND + id));
     }
 
-    public List<OrderDto> findAll() {
-        return orderRepository.findAll()
-                .stream()
+    @Transactional(readOnly = true)
+    public OrderPageDto findPage(String cursor, Integer size) {
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        Pageable limit = PageRequest.of(0, pageSize);
+
+        List<Long> ids;
+        if (cursor == null || cursor.isBlank()) {
+            ids = orderRepository.findFirstPageIds(limit);
+        } else {
+            OrderCursor.Position position = OrderCursor.decode(cursor);
+            ids = orderRepository.findPageIdsAfter(position.createdAt(), position.id(), limit);
+        }
+
+        return loadPage(ids, pageSize);
+    }
+
+    @Transactional(readOnly = true)
+    public OrderPageDto search(OrderSearchCriteria criteria, String cursor, Integer size) {
+        if (criteria.createdFrom() != null && criteria.createdTo() != null
+                && criteria.createdFrom().isAfter(criteria.createdTo())) {
+            throw new BusinessException("createdFrom must not be after createdTo");
+        }
+        if (criteria.minTotal() != null && criteria.maxTotal() != null
+                && criteria.minTotal().compareTo(criteria.maxTotal()) > 0) {
+            throw new BusinessException("minTotal must not be greater than maxTotal");
+        }
+
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        List<Long> ids;
+        if (cursor == null || cursor.isBlank()) {
+            ids = orderRepository.searchIds(criteria, null, null, pageSize);
+        } else {
+            OrderCursor.Position position = OrderCursor.decode(cursor);
+            ids = orderRepository.searchIds(criteria, position.createdAt(), position.id(), pageSize);
+        }
+        return loadPage(ids, pageSize);
+    }
+
+    private OrderPageDto loadPage(List<Long> ids, int pageSize) {
+        if (ids.isEmpty()) {
+            return new OrderPageDto(List.of(), null);
+        }
+
+        Map<Long, Order> ordersById = new HashMap<>();
+        for (Order order : orderRepository.findAllWithItemsByIdIn(ids)) {
+            ordersById.put(order.getId(), order);
+        }
+
+        List<OrderDto> items = ids.stream()
+                .map(ordersById::get)
+                .filter(Objects::nonNull)
                 .map(orderMapper::toDto)
                 .toList();
+
+        Order last = ordersById.get(ids.get(ids.size() - 1));
+        String nextCursor = ids.size() == pageSize && last != null
+                ? OrderCursor.encode(last.getCreatedAt(), last.getId())
+                : null;
+
+        return new OrderPageDto(items, nextCursor);
     }
 
+    @Transactional
     public void deleteById(Long id) {
-        if (!orderRepository.existsById(id)) {
-            throw new ResourceNotFoundException(ORDER_NOT_FOUND + id);
+        Order order = findOrder(id);
+
+        orderRepository.delete(order);
+
+        outboxService.append(new OrderDeleted(order.getId(), order.getClient().getId(), order.getStatus(),
+                order.getTotal().toBigDecimal(), Instant.now()));
+        if (orderJournal != null) {
+            orderJournal.record(List.of(new OrderJournalEvent.Deleted(order.getId(), System.currentTimeMillis())));
         }
+    }
+
+    /**
+     * Outcome of {@link #addOrderItems}: the order after the batch and, per addition
+     * in request order, the failure that rejected it or {@code null}.
+     */
+    public record ItemBatchResult(OrderDto order, List<RuntimeException> failures) {
+    }
 
-        orderRepository.deleteById(id);
+    private static Instant createdAt(Order order) {
+        return order.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant();
     }
 
     private Product findProduct(Long productId) {
-        return productRepository.findById(productId)
+        return productCache.findById(productId)
                 .orElseThrow(()
                         -> new ResourceNotFoundException("Product not found: " + productId)
                 );
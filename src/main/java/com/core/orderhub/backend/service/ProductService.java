@@ -2,17 +2,33 @@ package com.core.orderhub.backend.service;
 
 import com.core.orderhub.backend.domain.entity.Product;
 import com.core.orderhub.backend.domain.enums.ProductStatus;
+import com.core.orderhub.backend.domain.event.StockChanged;
+import com.core.orderhub.backend.dto.BestSellersDto;
 import com.core.orderhub.backend.dto.ProductDto;
+import com.core.orderhub.backend.dto.ProductSearchDto;
+import com.core.orderhub.backend.exception.BusinessException;
 import com.core.orderhub.backend.exception.ResourceNotFoundException;
 import com.core.orderhub.backend.mapper.ProductMapper;
 import com.core.orderhub.backend.repository.ProductRepository;
+import com.core.orderhub.backend.service.bestseller.BestSellerTracker;
+import com.core.orderhub.backend.service.catalog.ProductCache;
+import com.core.orderhub.backend.service.invalidation.EntityType;
+import com.core.orderhub.backend.service.invalidation.InvalidationBus;
+import com.core.orderhub.backend.service.inventory.InventoryLedger;
+import com.core.orderhub.backend.service.outbox.OutboxService;
+import com.core.orderhub.backend.service.search.ProductSearchIndex;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 public class ProductService {
@@ -23,6 +39,22 @@ public class ProductService {
     private ProductRepository productRepository;
     @Autowired
     private ProductMapper productMapper;
+    @Autowired
+    private StockService stockService;
+    @Autowired
+    private ShardedStockService shardedStockService;
+    @Autowired
+    private OutboxService outboxService;
+    @Autowired(required = false)
+    private InventoryLedger inventoryLedger;
+    @Autowired
+    private BestSellerTracker bestSellerTracker;
+    @Autowired
+    private ProductCache productCache;
+    @Autowired
+    private InvalidationBus invalidationBus;
+    @Autowired
+    private ProductSearchIndex productSearchIndex;
 
     private static final String PRODUCT_NOT_FOUND = "Product not found: ";
 
@@ -33,19 +65,39 @@ public class ProductService {
         product.changeStatus(ProductStatus.ACTIVE);
 
         Product savedProduct = productRepository.save(product);
+        productCache.evictAfterCommit(savedProduct.getId());
+        productSearchIndex.putAfterCommit(savedProduct.getId(), savedProduct.getName(), savedProduct.getDescription());
         logger.info("Creating product... id={}", product.getId());
         return productMapper.toDto(savedProduct);
     }
 
+    @Transactional
     public ProductDto updateProduct(Long id, ProductDto productDto) { //preciso atualizar os dados parcialmente também
 
+        if (inventoryLedger != null) {
+            inventoryLedger.flush();
+        }
+
         Product existingProduct = productRepository.findById(id)
                 .orElseThrow(() ->
                         new ResourceNotFoundException(PRODUCT_NOT_FOUND + id));
 
+        Integer previousQuantity = stockService.available(existingProduct);
         existingProduct.update(productDto);
+        if (productDto.getQuantity() != null && !productDto.getQuantity().equals(previousQuantity)) {
+            outboxService.append(new StockChanged(id, productDto.getQuantity() - previousQuantity, Instant.now()));
+        }
 
         Product savedProduct = productRepository.save(existingProduct);
+        if (savedProduct.isStockSharded()) {
+            shardedStockService.replaceStock(id, productDto.getQuantity());
+        }
+        if (inventoryLedger != null) {
+            inventoryLedger.evict(id);
+        }
+        productCache.evictAfterCommit(id);
+        invalidationBus.publishAfterCommit(EntityType.PRODUCT, id);
+        productSearchIndex.putAfterCommit(id, savedProduct.getName(), savedProduct.getDescription());
         logger.info("Updating product... id={}", existingProduct.getId());
         return productMapper.toDto(savedProduct);
     }
@@ -58,26 +110,78 @@ public class ProductService {
                 );
         ProductStatus oldStatus = product.getStatus();
         product.changeStatus(newStatus);
+        productCache.evictAfterCommit(id);
+        invalidationBus.publishAfterCommit(EntityType.PRODUCT, id);
         logger.info("Product {} status changed from {} to {}", id, oldStatus, newStatus);
     }
 
+    @Transactional
+    public void changeStockShards(Long id, Integer shards) {
+        if (inventoryLedger != null) {
+            throw new BusinessException("Stock sharding is not available while the inventory ledger is enabled");
+        }
+        shardedStockService.changeShards(id, shards);
+        productCache.evictAfterCommit(id);
+        invalidationBus.publishAfterCommit(EntityType.PRODUCT, id);
+    }
+
     public ProductDto findById(Long id) {
-        Product product = productRepository.findById(id)
+        ProductCache.Stocked stocked = productCache.findWithStock(id)
                 .orElseThrow(() ->
                         new ResourceNotFoundException(PRODUCT_NOT_FOUND + id));
-        return productMapper.toDto(product);
+        return toDto(stocked);
+    }
+
+    public BestSellersDto findBestSellers(String window, int limit) {
+        Duration duration;
+        try {
+            duration = Duration.parse(window);
+        } catch (DateTimeParseException e) {
+            throw new BusinessException("Invalid window: " + window);
+        }
+
+        BestSellerTracker.Ranking ranking = bestSellerTracker.top(duration, limit);
+
+        Map<Long, String> names = new HashMap<>();
+        List<Long> ids = ranking.products().stream().map(BestSellerTracker.BestSeller::productId).toList();
+        productRepository.findAllById(ids).forEach(product -> names.put(product.getId(), product.getName()));
+
+        List<BestSellersDto.Entry> entries = ranking.products().stream()
+                .map(bestSeller -> new BestSellersDto.Entry(bestSeller.productId(),
+                        names.get(bestSeller.productId()), bestSeller.estimatedQuantity()))
+                .toList();
+        return new BestSellersDto(ranking.window(), ranking.maxOverestimate(), entries);
+    }
+
+    public ProductSearchDto search(String query, int limit) {
+        List<ProductSearchDto.Entry> entries = productSearchIndex.search(query, limit).stream()
+                .map(hit -> new ProductSearchDto.Entry(hit.productId(), hit.name(), hit.score()))
+                .toList();
+        return new ProductSearchDto(query, entries);
     }
 
     public List<ProductDto> findAll() {
-        return productRepository.findAll()
+        return productCache.findAll()
                 .stream()
-                .map(productMapper::toDto)
+                .map(this::toDto)
                 .toList();
     }
 
+    private ProductDto toDto(ProductCache.Stocked stocked) {
+        ProductDto productDto = productMapper.toDto(stocked.product());
+        productDto.setQuantity(stocked.available());
+        return productDto;
+    }
+
     public void deleteById(Long id) {
         Product product = productRepository.findById(id).orElseThrow(() ->
                 new ResourceNotFoundException(PRODUCT_NOT_FOUND + id));
         productRepository.delete(product);
+        if (inventoryLedger != null) {
+            inventoryLedger.evict(id);
+        }
+        productCache.evictAfterCommit(id);
+        invalidationBus.publishAfterCommit(EntityType.PRODUCT, id);
+        productSearchIndex.removeAfterCommit(id);
     }
 }
\ No newline at end of file
@@ -0,0 +1,154 @@
+package com.core.orderhub.backend.service;
+
+import com.core.orderhub.backend.domain.entity.Product;
+import com.core.orderhub.backend.domain.entity.ProductStockShard;
+import com.core.orderhub.backend.exception.ResourceNotFoundException;
+import com.core.orderhub.backend.repository.ProductRepository;
+import com.core.orderhub.backend.repository.ProductStockShardRepository;
+import com.core.orderhub.backend.repository.ProductStockShardRepository.ProductQuantity;
+import com.core.orderhub.backend.repository.ProductStockShardRepository.ShardQuantity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Split stock counters for hot products. The stock of a sharded product lives in
+ * K rows of {@code product_stock_shards} instead of {@code products.quantity},
+ * so concurrent buyers mostly lock different rows.
+ */
+@Service
+public class ShardedStockService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShardedStockService.class);
+    private static final int MAX_DRAIN_ATTEMPTS = 3;
+    private static final int RELEASE_SHARD = 0;
+
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private ProductStockShardRepository shardRepository;
+
+    /**
+     * Takes the quantity from one shard, or from several when no single shard
+     * covers it. Returns {@code false} with every shard as it was when the
+     * shards together cannot cover the quantity.
+     */
+    @Transactional
+    public boolean reserve(Product product, int quantity) {
+        int shards = product.getStockShards();
+        int preferred = preferredShard(shards);
+
+        for (int i = 0; i < shards; i++) {
+            int shard = (preferred + i) % shards;
+            if (shardRepository.decreaseIfAvailable(product.getId(), shard, quantity) == 1) {
+                return true;
+            }
+        }
+        return drain(product.getId(), quantity);
+    }
+
+    @Transactional
+    public void release(Long productId, int quantity) {
+        shardRepository.increase(productId, RELEASE_SHARD, quantity);
+    }
+
+    public int available(Long productId) {
+        return Math.toIntExact(shardRepository.sumQuantityByProductId(productId));
+    }
+
+    /**
+     * Stock per product id for the given sharded products, read with one grouped query.
+     */
+    public Map<Long, Integer> available(Collection<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, Integer> available = new HashMap<>();
+        for (ProductQuantity sum : shardRepository.sumQuantityByProductIdIn(productIds)) {
+            available.put(sum.getProductId(), Math.toIntExact(sum.getQuantity()));
+        }
+        return available;
+    }
+
+    @Transactional
+    public void changeShards(Long productId, int shards) {
+        Product product = productRepository.findByIdForUpdate(productId)
+                .orElseThrow(() -> new ResourceNotFoundException("Product not found: " + productId));
+
+        // reservations only lock the shard rows, so the stock is read from them under lock
+        int stock = product.getQuantity() + shardRepository.findAllByProductIdForUpdate(productId).stream()
+                .mapToInt(ProductStockShard::getQuantity)
+                .sum();
+        shardRepository.deleteByProductId(productId);
+        split(product, stock, shards);
+    }
+
+    @Transactional
+    public void replaceStock(Long productId, int stock) {
+        Product product = productRepository.findByIdForUpdate(productId)
+                .orElseThrow(() -> new ResourceNotFoundException("Product not found: " + productId));
+
+        shardRepository.deleteByProductId(productId);
+        split(product, stock, product.getStockShards() == null ? 1 : product.getStockShards());
+    }
+
+    private void split(Product product, int stock, int shards) {
+        Long productId = product.getId();
+
+        if (shards <= 1) {
+            product.redistributeStock(stock, null);
+            logger.info("Product {} stock moved back to a single counter, quantity={}", productId, stock);
+            return;
+        }
+
+        for (int shard = 0; shard < shards; shard++) {
+            int share = stock / shards + (shard < stock % shards ? 1 : 0);
+            shardRepository.save(new ProductStockShard(productId, shard, share));
+        }
+        product.redistributeStock(0, shards);
+        logger.info("Product {} stock split into {} shards, quantity={}", productId, shards, stock);
+    }
+
+    // no single shard could cover the request, so take what each one has in shard order
+    private boolean drain(Long productId, int quantity) {
+        int remaining = quantity;
+        Map<Integer, Integer> taken = new HashMap<>();
+
+        for (int attempt = 0; attempt < MAX_DRAIN_ATTEMPTS && remaining > 0; attempt++) {
+            List<ShardQuantity> shards = shardRepository.findQuantitiesByProductId(productId);
+            int total = shards.stream().mapToInt(ShardQuantity::getQuantity).sum();
+            if (total < remaining) {
+                break;
+            }
+
+            for (ShardQuantity shard : shards) {
+                int take = Math.min(shard.getQuantity(), remaining);
+                if (take > 0 && shardRepository.decreaseIfAvailable(productId, shard.getShard(), take) == 1) {
+                    taken.merge(shard.getShard(), take, Integer::sum);
+                    remaining -= take;
+                }
+                if (remaining == 0) {
+                    break;
+                }
+            }
+        }
+        if (remaining == 0) {
+            return true;
+        }
+
+        // a rejection must leave the stock as it was, since the caller's transaction may still commit
+        taken.forEach((shard, take) -> shardRepository.increase(productId, shard, take));
+        return false;
+    }
+
+    private int preferredShard(int shards) {
+        return Math.floorMod(Long.hashCode(Thread.currentThread().threadId()), shards);
+    }
+}
@@ -0,0 +1,149 @@
+package com.core.orderhub.backend.service;
+
+import com.core.orderhub.backend.domain.entity.Product;
+import com.core.orderhub.backend.domain.event.StockChanged;
+import com.core.orderhub.backend.exception.BusinessException;
+import com.core.orderhub.backend.repository.ProductRepository;
+import com.core.orderhub.backend.service.inventory.InventoryLedger;
+import com.core.orderhub.backend.service.outbox.OutboxService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+public class StockService {
+
+    private static final String PRODUCT_NOT_ACTIVE = "Product is not active";
+    private static final String INSUFFICIENT_STOCK = "Insufficient stock";
+
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private ShardedStockService shardedStockService;
+    @Autowired
+    private OutboxService outboxService;
+    @Autowired(required = false)
+    private InventoryLedger inventoryLedger;
+
+    @Transactional
+    public void reserve(Product product, Integer quantity) {
+        String rejection = tryReserve(product, quantity);
+        if (rejection != null) {
+            throw new BusinessException(rejection);
+        }
+    }
+
+    /**
+     * Reserves like {@link #reserve}, but reports a rejected reservation by returning
+     * its reason instead of throwing. Callers that reserve several items in one
+     * transaction use it so one rejection does not mark the whole transaction
+     * rollback-only. Returns {@code null} when the stock was reserved.
+     * <p>
+     * Because the caller's transaction may still commit, a rejection must leave
+     * no trace: every strategy below either takes the whole quantity or gives
+     * back what it took before it rejects, and the stock event is only
+     * appended for a reservation that went through.
+     */
+    @Transactional
+    public String tryReserve(Product product, Integer quantity) {
+        String rejection;
+        if (inventoryLedger != null) {
+            rejection = reserveFromLedger(product, quantity);
+        } else if (product.isStockSharded()) {
+            rejection = reserveFromShards(product, quantity);
+        } else {
+            rejection = reserveFromProductRow(product, quantity);
+        }
+        if (rejection == null) {
+            outboxService.append(new StockChanged(product.getId(), -quantity, Instant.now()));
+        }
+        return rejection;
+    }
+
+    @Transactional
+    public void release(Long productId, Integer quantity) {
+        if (inventoryLedger != null) {
+            inventoryLedger.release(productId, quantity);
+        } else if (productRepository.increaseStock(productId, quantity) == 0) {
+            shardedStockService.release(productId, quantity);
+        }
+        outboxService.append(new StockChanged(productId, quantity, Instant.now()));
+    }
+
+    public Integer available(Product product) {
+        if (inventoryLedger != null) {
+            return inventoryLedger.available(product.getId());
+        }
+        return product.isStockSharded() ? shardedStockService.available(product.getId()) : product.getQuantity();
+    }
+
+    /**
+     * Stock of the product like {@link #available(Product)}, but read from the
+     * database for a product row, so a cached copy with an outdated quantity can
+     * be passed.
+     */
+    public Integer currentlyAvailable(Product product) {
+        if (inventoryLedger != null) {
+            return inventoryLedger.available(product.getId());
+        }
+        return product.isStockSharded()
+                ? shardedStockService.available(product.getId())
+                : productRepository.findQuantityById(product.getId()).orElse(0);
+    }
+
+    /**
+     * Stock per product id like {@link #available(Product)}, with the shards of all
+     * sharded products summed in one query.
+     */
+    public Map<Long, Integer> available(List<Product> products) {
+        Map<Long, Integer> available = new HashMap<>();
+        List<Long> sharded = new ArrayList<>();
+        for (Product product : products) {
+            if (inventoryLedger != null) {
+                available.put(product.getId(), inventoryLedger.available(product.getId()));
+            } else if (product.isStockSharded()) {
+                sharded.add(product.getId());
+            } else {
+                available.put(product.getId(), product.getQuantity());
+            }
+        }
+        Map<Long, Integer> shardSums = shardedStockService.available(sharded);
+        sharded.forEach(productId -> available.put(productId, shardSums.getOrDefault(productId, 0)));
+        return available;
+    }
+
+    // one conditional UPDATE, so a rejection changed no row
+    private String reserveFromProductRow(Product product, Integer quantity) {
+        int updatedRows = productRepository.decreaseStockIfAvailable(product.getId(), quantity);
+
+        if (updatedRows == 0) {
+            if (!product.isActive()) {
+                return PRODUCT_NOT_ACTIVE;
+            }
+            return INSUFFICIENT_STOCK;
+        }
+        return null;
+    }
+
+    // the ledger rejects before its counter or journal is touched
+    private String reserveFromLedger(Product product, Integer quantity) {
+        if (!product.isActive()) {
+            return PRODUCT_NOT_ACTIVE;
+        }
+        return inventoryLedger.reserve(product.getId(), quantity) ? null : INSUFFICIENT_STOCK;
+    }
+
+    // the shards give back a partial drain before rejecting
+    private String reserveFromShards(Product product, Integer quantity) {
+        if (!product.isActive()) {
+            return PRODUCT_NOT_ACTIVE;
+        }
+        return shardedStockService.reserve(product, quantity) ? null : INSUFFICIENT_STOCK;
+    }
+}
@@ -0,0 +1,81 @@
+package com.core.orderhub.backend.service.archive;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Sparse id index with one entry per archived block, sorted by first id.
+ * Blocks of different archiver runs may cover overlapping id ranges, so next
+ * to each entry it keeps the highest last id up to that entry; a lookup walks
+ * back from the last block starting at or before the id and stops as soon as
+ * no earlier block can reach it.
+ */
+class ArchiveIndex {
+
+    private final List<ArchiveSegments.Block> blocks = new ArrayList<>();
+    private long[] firstIds = new long[0];
+    private long[] reach = new long[0];
+
+    synchronized void addAll(List<ArchiveSegments.Block> added) {
+        blocks.addAll(added);
+        blocks.sort(Comparator.comparingLong(ArchiveSegments.Block::firstId)
+                .thenComparingLong(ArchiveSegments.Block::segment)
+                .thenComparingLong(ArchiveSegments.Block::offset));
+
+        firstIds = new long[blocks.size()];
+        reach = new long[blocks.size()];
+        long maxLastId = Long.MIN_VALUE;
+        for (int i = 0; i < blocks.size(); i++) {
+            ArchiveSegments.Block block = blocks.get(i);
+            maxLastId = Math.max(maxLastId, block.lastId());
+            firstIds[i] = block.firstId();
+            reach[i] = maxLastId;
+        }
+    }
+
+    /**
+     * Blocks whose id range contains the id, newest first.
+     */
+    synchronized List<ArchiveSegments.Block> candidates(long id) {
+        List<ArchiveSegments.Block> candidates = new ArrayList<>(1);
+        for (int i = lastStartingAtOrBefore(id); i >= 0 && reach[i] >= id; i--) {
+            ArchiveSegments.Block block = blocks.get(i);
+            if (block.lastId() >= id) {
+                candidates.add(block);
+            }
+        }
+        candidates.sort(Comparator.comparingLong(ArchiveSegments.Block::segment)
+                .thenComparingLong(ArchiveSegments.Block::offset)
+                .reversed());
+        return candidates;
+    }
+
+    synchronized int size() {
+        return blocks.size();
+    }
+
+    synchronized long rawBytes() {
+        return blocks.stream().mapToLong(ArchiveSegments.Block::rawSize).sum();
+    }
+
+    synchronized long compressedBytes() {
+        return blocks.stream().mapToLong(ArchiveSegments.Block::compressedSize).sum();
+    }
+
+    private int lastStartingAtOrBefore(long id) {
+        int low = 0;
+        int high = firstIds.length - 1;
+        int found = -1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (firstIds[middle] <= id) {
+                found = middle;
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return found;
+    }
+}
@@ -0,0 +1,341 @@
+package com.core.orderhub.backend.service.archive;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SortedMap;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Append-only segment files of deflate-compressed blocks. A block holds the
+ * documents of a run of ids in ascending order behind a fixed header with its
+ * id range, sizes and a CRC32C of the compressed body; the headers alone are
+ * the sparse index, so scanning the archive reads no block bodies except the
+ * newest, whose checksum shows whether the last append was torn. Reads go
+ * through read-only memory maps of the segments.
+ * <p>
+ * The directory may be shared by several instances. Appends take an exclusive
+ * lock on a lock file, pick up blocks other instances wrote, cut off a torn
+ * tail and force the block, and a new segment file's directory entry, before
+ * returning. {@link #refresh} lets readers see blocks written elsewhere.
+ */
+public class ArchiveSegments implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ArchiveSegments.class);
+    static final int HEADER_SIZE = Integer.BYTES * 4 + Long.BYTES * 2;
+    private static final String SEGMENT_PREFIX = "orders-";
+    private static final String SEGMENT_SUFFIX = ".archive";
+    private static final String LOCK_FILE = "writer.lock";
+
+    /**
+     * Where a block lives and which ids it covers.
+     */
+    public record Block(long firstId, long lastId, long segment, long offset, int compressedSize, int rawSize) {}
+
+    private final Path directory;
+    private final long segmentSize;
+    private final Map<Long, MappedByteBuffer> mapped = new HashMap<>();
+
+    // end of the last valid block seen so far
+    private long knownSegment = 1L;
+    private long knownEnd;
+
+    public ArchiveSegments(Path directory, long segmentSize) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Reads the block headers of every segment. A torn block at the end is
+     * left out; the next append cuts it off.
+     */
+    public synchronized List<Block> open() {
+        knownSegment = 1L;
+        knownEnd = 0L;
+        mapped.clear();
+        return scanNewBlocks();
+    }
+
+    /**
+     * Blocks appended since the last scan, typically by another instance.
+     */
+    public synchronized List<Block> refresh() {
+        return scanNewBlocks();
+    }
+
+    /**
+     * Compresses and appends one block. The documents must be keyed by id;
+     * the block is forced to disk before this returns. The result holds the
+     * blocks other instances appended since the last scan, followed by the
+     * new block.
+     */
+    public synchronized List<Block> append(SortedMap<Long, byte[]> documents) {
+        byte[] raw = encode(documents);
+        byte[] compressed = deflate(raw);
+        CRC32C checksum = new CRC32C();
+        checksum.update(compressed);
+
+        ByteBuffer block = ByteBuffer.allocate(HEADER_SIZE + compressed.length)
+                .putInt(compressed.length)
+                .putInt(raw.length)
+                .putInt(documents.size())
+                .putInt((int) checksum.getValue())
+                .putLong(documents.firstKey())
+                .putLong(documents.lastKey())
+                .put(compressed)
+                .flip();
+
+        try (FileChannel lockChannel = FileChannel.open(directory.resolve(LOCK_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+             FileLock ignored = lockChannel.lock()) {
+            List<Block> blocks = new ArrayList<>(scanNewBlocks());
+
+            long segment = knownSegment;
+            long offset = knownEnd;
+            if (offset > 0 && offset + block.remaining() > segmentSize) {
+                segment++;
+                offset = 0;
+            }
+            boolean created = !Files.exists(segmentPath(segment));
+            try (FileChannel channel = FileChannel.open(segmentPath(segment),
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                if (channel.size() > offset) {
+                    logger.warn("Truncating archive segment {} from {} to {} bytes", segment, channel.size(), offset);
+                    mapped.remove(segment);
+                    channel.truncate(offset);
+                }
+                while (block.hasRemaining()) {
+                    channel.write(block, offset + block.position());
+                }
+                channel.force(true);
+            }
+            if (created) {
+                forceDirectory();
+            }
+
+            knownSegment = segment;
+            knownEnd = offset + HEADER_SIZE + compressed.length;
+            blocks.add(new Block(documents.firstKey(), documents.lastKey(), segment, offset,
+                    compressed.length, raw.length));
+            return blocks;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Inflates the block and returns the document stored for the id, if any.
+     */
+    public Optional<byte[]> read(Block block, long id) {
+        ByteBuffer body = map(block).slice((int) (block.offset() + HEADER_SIZE), block.compressedSize());
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(body);
+            ByteBuffer raw = ByteBuffer.allocate(block.rawSize());
+            while (raw.hasRemaining() && !inflater.finished()) {
+                inflater.inflate(raw);
+            }
+            raw.flip();
+            while (raw.hasRemaining()) {
+                long documentId = raw.getLong();
+                int length = raw.getInt();
+                if (documentId == id) {
+                    byte[] document = new byte[length];
+                    raw.get(document);
+                    return Optional.of(document);
+                }
+                if (documentId > id) {
+                    return Optional.empty();
+                }
+                raw.position(raw.position() + length);
+            }
+            return Optional.empty();
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupt archive block at segment " + block.segment()
+                    + " offset " + block.offset(), e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    public synchronized long sizeInBytes() {
+        long size = 0;
+        for (Long segment : segments()) {
+            try {
+                size += Files.size(segmentPath(segment));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return size;
+    }
+
+    @Override
+    public synchronized void close() {
+        mapped.clear();
+    }
+
+    // scans from the end of the last known block, dropping a torn block at the very end
+    private List<Block> scanNewBlocks() {
+        List<Block> blocks = new ArrayList<>();
+        for (Long segment : segments()) {
+            if (segment < knownSegment) {
+                continue;
+            }
+            long from = segment == knownSegment ? knownEnd : 0L;
+            int before = blocks.size();
+            long end = scan(segment, from, blocks);
+            if (end == from && segment != knownSegment) {
+                break;
+            }
+            knownSegment = segment;
+            knownEnd = end;
+            if (blocks.size() > before && !hasNewerSegment(segment)) {
+                Block newest = blocks.get(blocks.size() - 1);
+                if (!intact(newest)) {
+                    blocks.remove(blocks.size() - 1);
+                    knownEnd = newest.offset();
+                }
+            }
+        }
+        return blocks;
+    }
+
+    private boolean hasNewerSegment(long segment) {
+        List<Long> segments = segments();
+        return !segments.isEmpty() && segments.get(segments.size() - 1) > segment;
+    }
+
+    private void forceDirectory() {
+        try (FileChannel directoryChannel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            directoryChannel.force(true);
+        } catch (IOException e) {
+            // not every platform can open a directory; the segment data itself is forced
+            logger.debug("Could not force archive directory {}", directory, e);
+        }
+    }
+
+    // adds the blocks from the offset on whose header and length fit in the segment, returns the offset behind the last one
+    private long scan(long segment, long from, List<Block> blocks) {
+        try (FileChannel readChannel = FileChannel.open(segmentPath(segment), StandardOpenOption.READ)) {
+            long size = readChannel.size();
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            long offset = from;
+            while (offset + HEADER_SIZE <= size) {
+                header.clear();
+                readChannel.read(header, offset);
+                if (header.hasRemaining()) {
+                    break;
+                }
+                header.flip();
+                int compressedSize = header.getInt();
+                int rawSize = header.getInt();
+                header.getInt();
+                header.getInt();
+                long firstId = header.getLong();
+                long lastId = header.getLong();
+                if (compressedSize <= 0 || offset + HEADER_SIZE + compressedSize > size) {
+                    break;
+                }
+                blocks.add(new Block(firstId, lastId, segment, offset, compressedSize, rawSize));
+                offset += HEADER_SIZE + compressedSize;
+            }
+            return offset;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private boolean intact(Block block) {
+        ByteBuffer content = map(block);
+        CRC32C checksum = new CRC32C();
+        checksum.update(content.slice((int) block.offset() + HEADER_SIZE, block.compressedSize()));
+        return (int) checksum.getValue() == content.getInt((int) block.offset() + Integer.BYTES * 3);
+    }
+
+    private synchronized ByteBuffer map(Block block) {
+        long end = block.offset() + HEADER_SIZE + block.compressedSize();
+        MappedByteBuffer buffer = mapped.get(block.segment());
+        if (buffer == null || buffer.capacity() < end) {
+            // the open segment keeps growing, so it is remapped once a block lies past the old mapping
+            try (FileChannel readChannel = FileChannel.open(segmentPath(block.segment()), StandardOpenOption.READ)) {
+                buffer = readChannel.map(FileChannel.MapMode.READ_ONLY, 0, readChannel.size());
+                mapped.put(block.segment(), buffer);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return buffer.duplicate();
+    }
+
+    private List<Long> segments() {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX))
+                    .map(name -> Long.valueOf(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())))
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Path segmentPath(long segment) {
+        return directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, segment, SEGMENT_SUFFIX));
+    }
+
+    private static byte[] encode(SortedMap<Long, byte[]> documents) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            for (Map.Entry<Long, byte[]> document : documents.entrySet()) {
+                output.writeLong(document.getKey());
+                output.writeInt(document.getValue().length);
+                output.write(document.getValue());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static byte[] deflate(byte[] raw) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(Math.max(raw.length / 4, 64));
+            byte[] chunk = new byte[8192];
+            while (!deflater.finished()) {
+                compressed.write(chunk, 0, deflater.deflate(chunk));
+            }
+            return compressed.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.core.orderhub.backend.service.archive;
+
+import com.core.orderhub.backend.dto.OrderDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Read side of the cold order archive: orders in a terminal status that were
+ * moved out of the database by {@link OrderArchiver}, stored as the same
+ * {@link OrderDto} JSON documents the API returns.
+ * <p>
+ * The archive directory has no default: every instance must point at the same
+ * durable, shared storage. A lookup that misses picks up blocks other
+ * instances appended, at most once per refresh interval.
+ */
+@Component
+@ConditionalOnProperty(name = "orderhub.orders.archive.enabled", havingValue = "true")
+public class OrderArchive {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderArchive.class);
+
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${orderhub.orders.archive.dir}")
+    private String archiveDirectory;
+
+    @Value("${orderhub.orders.archive.segment-size-bytes:67108864}")
+    private long segmentSize;
+
+    @Value("${orderhub.orders.archive.refresh-interval:PT1S}")
+    private Duration refreshInterval;
+
+    private final ArchiveIndex index = new ArchiveIndex();
+    private ArchiveSegments segments;
+    private Timer lookups;
+    private final AtomicLong lastRefreshNanos = new AtomicLong(System.nanoTime());
+
+    @PostConstruct
+    public void open() {
+        segments = new ArchiveSegments(Path.of(archiveDirectory), segmentSize);
+        index.addAll(segments.open());
+
+        lookups = Timer.builder("orderhub.orders.archive.lookup")
+                .description("Order lookups that reach the archive")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        Gauge.builder("orderhub.orders.archive.size", segments, ArchiveSegments::sizeInBytes)
+                .description("Bytes of archive segment files")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("orderhub.orders.archive.compression-ratio", this, OrderArchive::compressionRatio)
+                .description("Uncompressed to compressed size of the archived orders")
+                .register(meterRegistry);
+
+        logger.info("Order archive opened with {} blocks in {}", index.size(), archiveDirectory);
+    }
+
+    public Optional<OrderDto> find(Long orderId) {
+        long start = System.nanoTime();
+        try {
+            Optional<OrderDto> order = lookup(orderId);
+            if (order.isEmpty() && refresh(start)) {
+                order = lookup(orderId);
+            }
+            return order;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read archived order " + orderId, e);
+        } finally {
+            lookups.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Writes the orders as one block and makes them visible to {@link #find}.
+     * Returns once the block is on disk.
+     */
+    public void append(List<OrderDto> orders) {
+        if (orders.isEmpty()) {
+            return;
+        }
+        SortedMap<Long, byte[]> documents = new TreeMap<>();
+        try {
+            for (OrderDto order : orders) {
+                documents.put(order.getId(), objectMapper.writeValueAsBytes(order));
+            }
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize orders for the archive", e);
+        }
+        index.addAll(segments.append(documents));
+    }
+
+    private Optional<OrderDto> lookup(Long orderId) throws IOException {
+        for (ArchiveSegments.Block block : index.candidates(orderId)) {
+            Optional<byte[]> document = segments.read(block, orderId);
+            if (document.isPresent()) {
+                return Optional.of(objectMapper.readValue(document.get(), OrderDto.class));
+            }
+        }
+        return Optional.empty();
+    }
+
+    // other instances append to the same directory; returns whether new blocks were found
+    private boolean refresh(long nowNanos) {
+        long last = lastRefreshNanos.get();
+        if (nowNanos - last < refreshInterval.toNanos() || !lastRefreshNanos.compareAndSet(last, nowNanos)) {
+            return false;
+        }
+        List<ArchiveSegments.Block> blocks = segments.refresh();
+        index.addAll(blocks);
+        return !blocks.isEmpty();
+    }
+
+    public double compressionRatio() {
+        long compressed = index.compressedBytes();
+        return compressed == 0 ? 0.0 : (double) index.rawBytes() / compressed;
+    }
+
+    @PreDestroy
+    public void close() {
+        segments.close();
+    }
+}
@@ -0,0 +1,146 @@
+package com.core.orderhub.backend.service.archive;
+
+import com.core.orderhub.backend.domain.entity.ArchivedOrderTotals;
+import com.core.orderhub.backend.domain.entity.Order;
+import com.core.orderhub.backend.domain.enums.OrderStatus;
+import com.core.orderhub.backend.domain.event.OrderArchived;
+import com.core.orderhub.backend.mapper.OrderMapper;
+import com.core.orderhub.backend.repository.ArchivedOrderTotalsRepository;
+import com.core.orderhub.backend.repository.OrderRepository;
+import com.core.orderhub.backend.repository.OrderSummaryRepository;
+import com.core.orderhub.backend.service.outbox.OutboxService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Moves FINISHED and CANCELED orders older than the retention out of the
+ * orders, order item and summary tables into the {@link OrderArchive}. Each
+ * chunk is one transaction: the block is written and forced before the rows
+ * are deleted, so a failed commit leaves the orders in the database and at
+ * worst a duplicate block that the next run supersedes. An
+ * {@link OrderArchived} event per order goes through the outbox with the
+ * deletes, so live counters drop the orders as the rows disappear.
+ */
+@Component
+@ConditionalOnProperty(name = "orderhub.orders.archive.enabled", havingValue = "true")
+public class OrderArchiver {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderArchiver.class);
+    private static final Set<OrderStatus> TERMINAL = Set.of(OrderStatus.FINISHED, OrderStatus.CANCELED);
+
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private OrderSummaryRepository orderSummaryRepository;
+    @Autowired
+    private ArchivedOrderTotalsRepository archivedOrderTotalsRepository;
+    @Autowired
+    private OrderMapper orderMapper;
+    @Autowired
+    private OrderArchive orderArchive;
+    @Autowired
+    private OutboxService outboxService;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${orderhub.orders.archive.retention:P90D}")
+    private Duration retention;
+
+    @Value("${orderhub.orders.archive.chunk-size:200}")
+    private int chunkSize;
+
+    private Clock clock = Clock.systemDefaultZone();
+    private Counter archivedOrders;
+
+    @PostConstruct
+    public void init() {
+        archivedOrders = Counter.builder("orderhub.orders.archived")
+                .description("Orders moved from the database to the archive")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${orderhub.orders.archive.cron:0 0 4 * * *}")
+    public void scheduledArchive() {
+        try {
+            archive();
+        } catch (RuntimeException e) {
+            logger.error("Order archival failed", e);
+        }
+    }
+
+    public long archive() {
+        LocalDateTime cutoff = LocalDateTime.now(clock).minus(retention);
+        long archived = 0;
+        long afterId = 0L;
+        List<Long> chunk;
+        do {
+            chunk = orderRepository.findIdsByStatusCreatedBefore(afterId, TERMINAL, cutoff,
+                    PageRequest.of(0, chunkSize));
+            if (!chunk.isEmpty()) {
+                List<Long> ids = chunk;
+                archived += transactionTemplate.execute(status -> archiveChunk(ids));
+                afterId = chunk.get(chunk.size() - 1);
+            }
+        } while (chunk.size() == chunkSize);
+
+        archivedOrders.increment(archived);
+        logger.info("Archived {} orders created before {}", archived, cutoff);
+        return archived;
+    }
+
+    private int archiveChunk(List<Long> ids) {
+        List<Order> orders = orderRepository.findAllByIdInForUpdate(ids).stream()
+                .filter(order -> TERMINAL.contains(order.getStatus()))
+                .toList();
+        if (orders.isEmpty()) {
+            return 0;
+        }
+
+        orderArchive.append(orders.stream().map(orderMapper::toDto).toList());
+
+        Map<TotalsKey, List<Order>> byClientAndStatus = orders.stream()
+                .collect(Collectors.groupingBy(order -> new TotalsKey(order.getClient().getId(), order.getStatus())));
+        byClientAndStatus.forEach((key, group) -> {
+            ArchivedOrderTotals totals = archivedOrderTotalsRepository
+                    .findByClientIdAndStatus(key.clientId(), key.status())
+                    .orElseGet(() -> archivedOrderTotalsRepository.save(
+                            new ArchivedOrderTotals(key.clientId(), key.status())));
+            group.forEach(order -> totals.include(order.getTotal(), order.getCreatedAt()));
+        });
+
+        List<Long> archivedIds = orders.stream().map(Order::getId).toList();
+        orderSummaryRepository.deleteAllByIdInBatch(archivedIds);
+        orderRepository.deleteItemsByOrderIdIn(archivedIds);
+        orderRepository.deleteByIdIn(archivedIds);
+
+        Instant now = Instant.now(clock);
+        outboxService.appendAll(orders.stream()
+                .map(order -> new OrderArchived(order.getId(), order.getClient().getId(), order.getStatus(),
+                        order.getTotal().toBigDecimal(), now))
+                .toList());
+        return archivedIds.size();
+    }
+
+    private record TotalsKey(Long clientId, OrderStatus status) {}
+}
@@ -0,0 +1,244 @@
+package com.core.orderhub.backend.service.bestseller;
+
+import com.core.orderhub.backend.domain.enums.OrderStatus;
+import com.core.orderhub.backend.domain.event.DomainEvent;
+import com.core.orderhub.backend.domain.event.OrderCreated;
+import com.core.orderhub.backend.domain.event.OrderItemAdded;
+import com.core.orderhub.backend.domain.event.OrderItemRemoved;
+import com.core.orderhub.backend.domain.event.OrderStatusChanged;
+import com.core.orderhub.backend.exception.BusinessException;
+import com.core.orderhub.backend.repository.OrderRepository;
+import com.core.orderhub.backend.repository.OrderRepository.OrderActivity;
+import com.core.orderhub.backend.repository.OrderRepository.SoldLine;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Approximate best sellers over sliding windows. Ordered quantities go into
+ * per-minute slices for the last hour and per-hour slices for the last day;
+ * each slice is a {@link HeavyHitters} sketch, so memory depends only on the
+ * configured sketch size, not on the catalog. Every quantity is counted in
+ * the slice of its order's creation time, as the startup rebuild does, so
+ * removed items and items of canceled orders are subtracted from the same
+ * slice they were added to and a slice never goes below zero.
+ */
+@Component
+public class BestSellerTracker {
+
+    private static final Logger logger = LoggerFactory.getLogger(BestSellerTracker.class);
+    private static final Duration MINUTE = Duration.ofMinutes(1);
+    private static final Duration HOUR = Duration.ofHours(1);
+    private static final Duration MAX_WINDOW = Duration.ofHours(24);
+
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${orderhub.products.best-sellers.sketch-depth:4}")
+    private int depth;
+
+    @Value("${orderhub.products.best-sellers.sketch-width:1024}")
+    private int width;
+
+    @Value("${orderhub.products.best-sellers.candidates:64}")
+    private int candidates;
+
+    private Clock clock = Clock.systemDefaultZone();
+
+    private SliceRing minutes;
+    private SliceRing hours;
+
+    public record BestSeller(Long productId, long estimatedQuantity) {}
+
+    public record Ranking(Duration window, long maxOverestimate, List<BestSeller> products) {}
+
+    @PostConstruct
+    public void rebuild() {
+        minutes = new SliceRing(MINUTE, 60);
+        hours = new SliceRing(HOUR, 24);
+
+        LocalDateTime dayAgo = LocalDateTime.now(clock).minus(MAX_WINDOW);
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<SoldLine> lines = orderRepository.streamOrderedLinesCreatedSince(dayAgo)) {
+                lines.forEach(line -> record(line.getProductId(), line.getQuantity(), epochMillis(line.getCreatedAt())));
+            }
+        });
+        logger.info("Best seller sketches rebuilt | depth={} | width={} | candidates={}", depth, width, candidates);
+    }
+
+    @EventListener
+    public void on(DomainEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        PendingChanges pending = (PendingChanges) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingChanges();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.collect(event);
+    }
+
+    public synchronized void record(Long productId, int quantity, long epochMillis) {
+        minutes.add(productId, quantity, epochMillis);
+        hours.add(productId, quantity, epochMillis);
+    }
+
+    public synchronized Ranking top(Duration window, int limit) {
+        if (window.compareTo(MINUTE) < 0 || window.compareTo(MAX_WINDOW) > 0) {
+            throw new BusinessException("Window must be between " + MINUTE + " and " + MAX_WINDOW);
+        }
+        SliceRing ring = window.compareTo(HOUR) <= 0 ? minutes : hours;
+        long slices = Math.ceilDiv(window.toMillis(), ring.sliceMillis);
+
+        CountMinSketch merged = new CountMinSketch(depth, width);
+        Set<Long> keys = new HashSet<>();
+        ring.collect(clock.millis(), slices, merged, keys);
+
+        List<BestSeller> products = new ArrayList<>(keys.size());
+        for (Long productId : keys) {
+            int estimate = merged.estimate(productId);
+            if (estimate > 0) {
+                products.add(new BestSeller(productId, estimate));
+            }
+        }
+        products.sort(Comparator.comparingLong(BestSeller::estimatedQuantity).reversed()
+                .thenComparing(BestSeller::productId));
+
+        long maxOverestimate = (long) Math.ceil(Math.E / merged.width() * Math.max(merged.total(), 0L));
+        return new Ranking(window, maxOverestimate, products.subList(0, Math.min(limit, products.size())));
+    }
+
+    private long epochMillis(LocalDateTime time) {
+        return time.atZone(clock.getZone()).toInstant().toEpochMilli();
+    }
+
+    private final class SliceRing {
+
+        private final long sliceMillis;
+        private final long[] sliceNumbers;
+        private final HeavyHitters[] slices;
+
+        SliceRing(Duration slice, int size) {
+            this.sliceMillis = slice.toMillis();
+            this.sliceNumbers = new long[size];
+            this.slices = new HeavyHitters[size];
+            for (int i = 0; i < size; i++) {
+                sliceNumbers[i] = Long.MIN_VALUE;
+                slices[i] = new HeavyHitters(depth, width, candidates);
+            }
+        }
+
+        void add(long productId, int quantity, long epochMillis) {
+            long number = epochMillis / sliceMillis;
+            int index = (int) Math.floorMod(number, (long) slices.length);
+            if (sliceNumbers[index] != number) {
+                // nothing was counted in a slice that is gone or not started, so there is nothing to take back
+                if (sliceNumbers[index] > number || quantity < 0) {
+                    return;
+                }
+                sliceNumbers[index] = number;
+                slices[index].clear();
+            }
+            slices[index].add(productId, quantity);
+        }
+
+        void collect(long nowMillis, long count, CountMinSketch merged, Set<Long> keys) {
+            long to = nowMillis / sliceMillis;
+            long from = to - count + 1;
+            for (int index = 0; index < slices.length; index++) {
+                if (sliceNumbers[index] >= from && sliceNumbers[index] <= to) {
+                    merged.addAll(slices[index].sketch());
+                    keys.addAll(slices[index].candidates());
+                }
+            }
+        }
+    }
+
+    /**
+     * Quantity changes of one transaction. Items of checkouts and canceled orders,
+     * and the creation time of orders whose items changed, are read once before
+     * commit; the sketches only change after commit.
+     */
+    private final class PendingChanges implements TransactionSynchronization {
+
+        // {orderId, productId, quantity}
+        private final List<long[]> changes = new ArrayList<>();
+        private final Map<Long, LocalDateTime> createdAt = new HashMap<>();
+        private final Set<Long> checkouts = new HashSet<>();
+        private final Set<Long> canceled = new HashSet<>();
+        private List<SoldLine> lines = List.of();
+
+        void collect(DomainEvent event) {
+            if (event instanceof OrderItemAdded added) {
+                changes.add(new long[]{added.orderId(), added.productId(), added.quantity()});
+            } else if (event instanceof OrderItemRemoved removed) {
+                changes.add(new long[]{removed.orderId(), removed.productId(), -removed.quantity()});
+            } else if (event instanceof OrderCreated created && created.items() > 0) {
+                checkouts.add(created.orderId());
+            } else if (event instanceof OrderStatusChanged changed && changed.to() == OrderStatus.CANCELED) {
+                canceled.add(changed.orderId());
+            }
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            Set<Long> ids = new HashSet<>(checkouts);
+            ids.addAll(canceled);
+            if (!ids.isEmpty()) {
+                lines = orderRepository.findSoldLinesByIdIn(ids);
+            }
+            Set<Long> changed = new HashSet<>();
+            changes.forEach(change -> changed.add(change[0]));
+            if (!changed.isEmpty()) {
+                for (OrderActivity order : orderRepository.findActivityByIdIn(changed)) {
+                    createdAt.put(order.getId(), order.getCreatedAt());
+                }
+            }
+        }
+
+        @Override
+        public void afterCommit() {
+            for (long[] change : changes) {
+                LocalDateTime orderCreatedAt = createdAt.get(change[0]);
+                if (orderCreatedAt != null) {
+                    record(change[1], (int) change[2], epochMillis(orderCreatedAt));
+                }
+            }
+            for (SoldLine line : lines) {
+                if (line.getProductId() == null) {
+                    continue;
+                }
+                int sign = canceled.contains(line.getOrderId()) ? -1 : 1;
+                record(line.getProductId(), sign * line.getQuantity(), epochMillis(line.getCreatedAt()));
+            }
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(BestSellerTracker.this);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.core.orderhub.backend.service.bestseller;
+
+import java.util.Arrays;
+
+/**
+ * Count-Min sketch over long keys. Estimates never undercount while all true
+ * counts are non-negative; the overcount is at most {@code e / width} of the
+ * total with probability {@code 1 - e^-depth}. Not thread-safe.
+ */
+final class CountMinSketch {
+
+    private static final long[] SEEDS = {
+            0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L,
+            0xFF51AFD7ED558CCDL, 0xC4CEB9FE1A85EC53L, 0x85EBCA77C2B2AE63L, 0x27D4EB2F165667C5L
+    };
+
+    private final int depth;
+    private final int mask;
+    private final int[][] counts;
+    private long total;
+
+    CountMinSketch(int depth, int width) {
+        if (depth < 1 || depth > SEEDS.length) {
+            throw new IllegalArgumentException("depth must be between 1 and " + SEEDS.length);
+        }
+        if (width < 1 || Integer.bitCount(width) != 1) {
+            throw new IllegalArgumentException("width must be a power of two");
+        }
+        this.depth = depth;
+        this.mask = width - 1;
+        this.counts = new int[depth][width];
+    }
+
+    void add(long key, int delta) {
+        for (int row = 0; row < depth; row++) {
+            counts[row][slot(key, row)] += delta;
+        }
+        total += delta;
+    }
+
+    int estimate(long key) {
+        int estimate = Integer.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counts[row][slot(key, row)]);
+        }
+        return Math.max(estimate, 0);
+    }
+
+    void addAll(CountMinSketch other) {
+        for (int row = 0; row < depth; row++) {
+            int[] target = counts[row];
+            int[] source = other.counts[row];
+            for (int column = 0; column < target.length; column++) {
+                target[column] += source[column];
+            }
+        }
+        total += other.total;
+    }
+
+    void clear() {
+        for (int[] row : counts) {
+            Arrays.fill(row, 0);
+        }
+        total = 0L;
+    }
+
+    long total() {
+        return total;
+    }
+
+    int width() {
+        return mask + 1;
+    }
+
+    private int slot(long key, int row) {
+        long hash = (key + 1) * SEEDS[row];
+        hash ^= hash >>> 31;
+        hash *= 0xBF58476D1CE4E5B9L;
+        hash ^= hash >>> 29;
+        return (int) hash & mask;
+    }
+}
@@ -0,0 +1,90 @@
+package com.core.orderhub.backend.service.bestseller;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Count-Min sketch plus a bounded set of candidate keys, Space-Saving style:
+ * a key that is not tracked replaces the weakest candidate once its estimate
+ * is larger. Memory is fixed by the sketch size and the candidate capacity.
+ * Not thread-safe.
+ */
+final class HeavyHitters {
+
+    private final CountMinSketch sketch;
+    private final int capacity;
+    private final Map<Long, Integer> candidates;
+    private long weakestKey;
+    private int weakestEstimate = -1;
+
+    HeavyHitters(int depth, int width, int capacity) {
+        this.sketch = new CountMinSketch(depth, width);
+        this.capacity = capacity;
+        this.candidates = new HashMap<>(capacity * 2);
+    }
+
+    /**
+     * Adds {@code delta} to the key. A negative delta takes back at most the
+     * key's current estimate, so no counter drops below zero and the other keys
+     * sharing its counters keep their estimates.
+     */
+    void add(long key, int delta) {
+        if (delta < 0) {
+            delta = -Math.min(-delta, sketch.estimate(key));
+            if (delta == 0) {
+                return;
+            }
+        }
+        sketch.add(key, delta);
+        int estimate = sketch.estimate(key);
+
+        if (candidates.containsKey(key)) {
+            candidates.put(key, estimate);
+            if (key == weakestKey || estimate < weakestEstimate) {
+                findWeakest();
+            }
+            return;
+        }
+        if (delta <= 0) {
+            return;
+        }
+        if (candidates.size() < capacity) {
+            candidates.put(key, estimate);
+            if (weakestEstimate < 0 || estimate < weakestEstimate) {
+                weakestKey = key;
+                weakestEstimate = estimate;
+            }
+            return;
+        }
+        if (estimate > weakestEstimate) {
+            candidates.remove(weakestKey);
+            candidates.put(key, estimate);
+            findWeakest();
+        }
+    }
+
+    Set<Long> candidates() {
+        return candidates.keySet();
+    }
+
+    CountMinSketch sketch() {
+        return sketch;
+    }
+
+    void clear() {
+        sketch.clear();
+        candidates.clear();
+        weakestEstimate = -1;
+    }
+
+    private void findWeakest() {
+        weakestEstimate = -1;
+        for (Map.Entry<Long, Integer> candidate : candidates.entrySet()) {
+            if (weakestEstimate < 0 || candidate.getValue() < weakestEstimate) {
+                weakestKey = candidate.getKey();
+                weakestEstimate = candidate.getValue();
+            }
+        }
+    }
+}
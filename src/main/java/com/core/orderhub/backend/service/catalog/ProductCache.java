@@ -0,0 +1,332 @@
+package com.core.orderhub.backend.service.catalog;
+
+import com.core.orderhub.backend.domain.entity.Product;
+import com.core.orderhub.backend.domain.event.StockChanged;
+import com.core.orderhub.backend.repository.ProductRepository;
+import com.core.orderhub.backend.service.StockService;
+import com.core.orderhub.backend.service.invalidation.EntityInvalidated;
+import com.core.orderhub.backend.service.invalidation.EntityType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Read-through cache of products by id, bounded by entry count and time to
+ * live, evicting the least recently read product first. Entries are detached
+ * copies, so no persistence context ever manages a cached instance; callers
+ * must treat them as read-only and load the product from the repository when
+ * they intend to change it.
+ * <p>
+ * Changes invalidate entries only once their transaction commits, so a rolled
+ * back update never evicts, and a product loaded while an invalidation of that
+ * same product was happening is not cached, so an old row cannot be stored
+ * after its replacement was committed. Changes made on other nodes arrive
+ * through the {@link com.core.orderhub.backend.service.invalidation.InvalidationBus}.
+ * <p>
+ * Products can be cached with their available stock, which for sharded
+ * products is a sum over the shard rows. A committed stock change drops only
+ * the cached stock and keeps the product, whose next read with stock runs a
+ * single stock lookup, so the most reserved products stay cached. The full
+ * catalog listing is cached as well while the catalog fits in the entry
+ * limit: an invalidation marks the product stale in the listing, and the next
+ * read reloads just the stale products, or everything once the listing is
+ * older than the time to live. A larger catalog is read from the database on
+ * every listing.
+ */
+@Component
+public class ProductCache {
+
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private StockService stockService;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${orderhub.products.cache.max-entries:10000}")
+    private int maxEntries;
+
+    @Value("${orderhub.products.cache.ttl:PT5M}")
+    private Duration ttl;
+
+    private Clock clock = Clock.systemUTC();
+
+    /**
+     * A cached product and the stock available when it was cached, or
+     * {@code null} when it was cached without stock.
+     */
+    public record Stocked(Product product, Integer available) {}
+
+    private record Entry(Product product, Integer available, Instant expiresAt) {}
+
+    private final LinkedHashMap<Long, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private final TreeMap<Long, Stocked> listing = new TreeMap<>();
+    private final Set<Long> staleInListing = new HashSet<>();
+    private Instant listingExpiresAt;
+    // sequence number of the last invalidation of each product, kept only while loads are in flight,
+    // so a load stores what it read unless that same product changed after the load started
+    private final Map<Long, Long> invalidatedAt = new HashMap<>();
+    private long invalidations;
+    private int loadsInFlight;
+    private Counter hits;
+    private Counter misses;
+    private Counter evictions;
+    private Counter listingReloads;
+
+    @PostConstruct
+    public void init() {
+        hits = Counter.builder("orderhub.products.cache.hits").register(meterRegistry);
+        misses = Counter.builder("orderhub.products.cache.misses").register(meterRegistry);
+        evictions = Counter.builder("orderhub.products.cache.evictions")
+                .description("Products dropped for size or age")
+                .register(meterRegistry);
+        listingReloads = Counter.builder("orderhub.products.cache.listing.reloads")
+                .description("Products read from the database to refresh the cached listing")
+                .register(meterRegistry);
+        Gauge.builder("orderhub.products.cache.size", this, ProductCache::size)
+                .description("Cached products")
+                .register(meterRegistry);
+    }
+
+    public Optional<Product> findById(Long id) {
+        return find(id, false).map(Stocked::product);
+    }
+
+    public Optional<Stocked> findWithStock(Long id) {
+        return find(id, true);
+    }
+
+    /**
+     * Every product with its available stock, in id order.
+     */
+    public List<Stocked> findAll() {
+        long stamp;
+        boolean reloadAll;
+        Set<Long> stale;
+        synchronized (this) {
+            reloadAll = listingExpiresAt == null || !clock.instant().isBefore(listingExpiresAt);
+            if (!reloadAll && staleInListing.isEmpty()) {
+                hits.increment();
+                return List.copyOf(listing.values());
+            }
+            misses.increment();
+            stamp = startLoad();
+            stale = reloadAll ? Set.of() : Set.copyOf(staleInListing);
+            staleInListing.clear();
+        }
+
+        List<Product> products;
+        Map<Long, Integer> available;
+        try {
+            products = (reloadAll ? productRepository.findAll() : productRepository.findAllById(stale))
+                    .stream()
+                    .map(Product::detachedCopy)
+                    .toList();
+            available = stockService.available(products);
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                staleInListing.addAll(stale);
+                finishLoad();
+            }
+            throw e;
+        }
+        listingReloads.increment(products.size());
+
+        synchronized (this) {
+            Map<Long, Product> loaded = products.stream()
+                    .collect(Collectors.toMap(Product::getId, Function.identity()));
+            Set<Long> requested = new HashSet<>(reloadAll ? listing.keySet() : stale);
+            requested.addAll(loaded.keySet());
+            for (Long id : requested) {
+                if (changedSince(id, stamp)) {
+                    staleInListing.add(id);
+                    continue;
+                }
+                Product product = loaded.get(id);
+                if (product == null) {
+                    listing.remove(id);
+                } else {
+                    listing.put(id, new Stocked(product, available.get(id)));
+                }
+            }
+            List<Stocked> listed = List.copyOf(listing.values());
+            if (listing.size() > maxEntries) {
+                listing.clear();
+                staleInListing.clear();
+                listingExpiresAt = null;
+            } else if (reloadAll) {
+                listingExpiresAt = clock.instant().plus(ttl);
+            }
+            finishLoad();
+            return listed;
+        }
+    }
+
+    /**
+     * Evicts the product once the current transaction commits, or right away
+     * when there is no transaction.
+     */
+    public void evictAfterCommit(Long id) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(id);
+                }
+            });
+            return;
+        }
+        evict(id);
+    }
+
+    public synchronized void evict(Long id) {
+        entries.remove(id);
+        invalidated(id);
+        if (listingExpiresAt != null) {
+            staleInListing.add(id);
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public synchronized void on(StockChanged event) {
+        Long id = event.productId();
+        invalidated(id);
+        Entry entry = entries.get(id);
+        if (entry != null && entry.available() != null) {
+            entries.put(id, new Entry(entry.product(), null, entry.expiresAt()));
+        }
+        if (listingExpiresAt != null) {
+            staleInListing.add(id);
+        }
+    }
+
+    @EventListener
+    public void on(EntityInvalidated event) {
+        if (event.type() == EntityType.PRODUCT) {
+            evict(event.id());
+        }
+    }
+
+    private Optional<Stocked> find(Long id, boolean withStock) {
+        long stamp;
+        Product product = null;
+        synchronized (this) {
+            Entry entry = entries.get(id);
+            if (entry != null && !clock.instant().isBefore(entry.expiresAt())) {
+                entries.remove(id);
+                evictions.increment();
+                entry = null;
+            }
+            if (entry != null && (!withStock || entry.available() != null)) {
+                hits.increment();
+                return Optional.of(new Stocked(entry.product(), entry.available()));
+            }
+            misses.increment();
+            stamp = startLoad();
+            if (entry != null) {
+                product = entry.product();
+            }
+        }
+
+        Integer available = null;
+        try {
+            if (product == null) {
+                Optional<Product> loaded = productRepository.findById(id).map(Product::detachedCopy);
+                if (loaded.isEmpty()) {
+                    synchronized (this) {
+                        finishLoad();
+                    }
+                    return Optional.empty();
+                }
+                product = loaded.get();
+                if (withStock) {
+                    available = stockService.available(product);
+                }
+            } else {
+                // only the stock changed since the product was cached; its quantity field is stale
+                available = stockService.currentlyAvailable(product);
+            }
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                finishLoad();
+            }
+            throw e;
+        }
+        put(id, product, available, stamp);
+        return Optional.of(new Stocked(product, available));
+    }
+
+    private long startLoad() {
+        loadsInFlight++;
+        return invalidations;
+    }
+
+    private void finishLoad() {
+        if (--loadsInFlight == 0) {
+            invalidatedAt.clear();
+        }
+    }
+
+    private void invalidated(Long id) {
+        invalidations++;
+        if (loadsInFlight > 0) {
+            invalidatedAt.put(id, invalidations);
+        }
+    }
+
+    private boolean changedSince(Long id, long stamp) {
+        return invalidatedAt.getOrDefault(id, 0L) > stamp;
+    }
+
+    private synchronized void put(Long id, Product product, Integer available, long stamp) {
+        boolean changed = changedSince(id, stamp);
+        finishLoad();
+        if (changed) {
+            return;
+        }
+        Entry current = entries.get(id);
+        if (current != null && current.product() == product) {
+            entries.put(id, new Entry(product, available, current.expiresAt()));
+            return;
+        }
+        if (available == null && current != null) {
+            return;
+        }
+        entries.put(id, new Entry(product, available, clock.instant().plus(ttl)));
+
+        Iterator<Map.Entry<Long, Entry>> eldest = entries.entrySet().iterator();
+        while (entries.size() > maxEntries && eldest.hasNext()) {
+            eldest.next();
+            eldest.remove();
+            evictions.increment();
+        }
+    }
+}
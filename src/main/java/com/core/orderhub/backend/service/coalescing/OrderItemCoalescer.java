@@ -0,0 +1,193 @@
+package com.core.orderhub.backend.service.coalescing;
+
+import com.core.orderhub.backend.dto.AddOrderItemDto;
+import com.core.orderhub.backend.dto.OrderDto;
+import com.core.orderhub.backend.service.OrderService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Groups concurrent item additions to the same order into one transaction.
+ * The first caller for an order opens a batch and applies every addition
+ * collected so far through {@link OrderService#addOrderItems}. A lone
+ * addition is applied right away; only when another batch of the same order
+ * is already in flight does the caller wait for the window to pass or the
+ * batch to fill. Batches of one order never run concurrently: while one is
+ * being applied the next one keeps collecting, so under a burst the batches
+ * grow instead of queueing on the order row. Every caller still gets its own
+ * result or exception.
+ */
+@Component
+@ConditionalOnProperty(name = "orderhub.orders.coalescing.enabled", havingValue = "true")
+public class OrderItemCoalescer {
+
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${orderhub.orders.coalescing.window:PT0.002S}")
+    private Duration window;
+
+    @Value("${orderhub.orders.coalescing.max-batch-size:64}")
+    private int maxBatchSize;
+
+    private final Map<Long, Batch> openBatches = new ConcurrentHashMap<>();
+    // one lock per order with batches in flight, dropped once nobody holds or awaits it
+    private final Map<Long, OrderLock> orderLocks = new ConcurrentHashMap<>();
+    private DistributionSummary batchSizes;
+
+    @PostConstruct
+    public void init() {
+        batchSizes = DistributionSummary.builder("orderhub.orders.coalescing.batch-size")
+                .description("Item additions applied per order transaction")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    public OrderDto addOrderItem(Long orderId, Long productId, Integer quantity) {
+        AddOrderItemDto addition = new AddOrderItemDto();
+        addition.setProductId(productId);
+        addition.setQuantity(quantity);
+        Pending pending = new Pending(addition);
+
+        Batch batch;
+        int position;
+        while (true) {
+            batch = openBatches.computeIfAbsent(orderId, id -> new Batch());
+            position = batch.add(pending, maxBatchSize);
+            if (position >= 0) {
+                break;
+            }
+            // a full batch is closed just before it leaves the map
+            Thread.onSpinWait();
+        }
+        if (position == maxBatchSize - 1) {
+            openBatches.remove(orderId, batch);
+            batch.full.countDown();
+        }
+
+        if (position == 0) {
+            if (orderLocks.containsKey(orderId)) {
+                awaitFill(batch);
+            }
+            OrderLock lock = acquire(orderId);
+            try {
+                openBatches.remove(orderId, batch);
+                apply(orderId, batch.close());
+            } finally {
+                release(orderId, lock);
+            }
+        }
+        return pending.join();
+    }
+
+    private void awaitFill(Batch batch) {
+        try {
+            batch.full.await(window.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private OrderLock acquire(Long orderId) {
+        OrderLock lock = orderLocks.compute(orderId, (id, current) -> {
+            OrderLock held = current != null ? current : new OrderLock();
+            held.users++;
+            return held;
+        });
+        lock.lock.lock();
+        return lock;
+    }
+
+    private void release(Long orderId, OrderLock lock) {
+        lock.lock.unlock();
+        orderLocks.compute(orderId, (id, current) -> --current.users == 0 ? null : current);
+    }
+
+    private void apply(Long orderId, List<Pending> batch) {
+        try {
+            OrderService.ItemBatchResult result = orderService.addOrderItems(orderId,
+                    batch.stream().map(pending -> pending.addition).toList());
+            for (int i = 0; i < batch.size(); i++) {
+                RuntimeException failure = result.failures().get(i);
+                if (failure != null) {
+                    batch.get(i).result.completeExceptionally(failure);
+                } else {
+                    batch.get(i).result.complete(result.order());
+                }
+            }
+        } catch (RuntimeException e) {
+            batch.forEach(pending -> pending.result.completeExceptionally(e));
+        } finally {
+            batchSizes.record(batch.size());
+        }
+    }
+
+    private static final class OrderLock {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        // guarded by the map's compute on the order id
+        private int users;
+    }
+
+    private static final class Pending {
+
+        private final AddOrderItemDto addition;
+        private final CompletableFuture<OrderDto> result = new CompletableFuture<>();
+
+        private Pending(AddOrderItemDto addition) {
+            this.addition = addition;
+        }
+
+        private OrderDto join() {
+            try {
+                return result.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+    }
+
+    private static final class Batch {
+
+        private final List<Pending> pending = new ArrayList<>();
+        private final CountDownLatch full = new CountDownLatch(1);
+        private boolean closed;
+
+        private synchronized int add(Pending addition, int maxBatchSize) {
+            if (closed) {
+                return -1;
+            }
+            pending.add(addition);
+            if (pending.size() >= maxBatchSize) {
+                closed = true;
+            }
+            return pending.size() - 1;
+        }
+
+        private synchronized List<Pending> close() {
+            closed = true;
+            return List.copyOf(pending);
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package com.core.orderhub.backend.service.dashboard;
+
+import com.core.orderhub.backend.domain.enums.OrderStatus;
+import com.core.orderhub.backend.domain.event.DomainEvent;
+import com.core.orderhub.backend.domain.event.OrderArchived;
+import com.core.orderhub.backend.domain.event.OrderCreated;
+import com.core.orderhub.backend.domain.event.OrderDeleted;
+import com.core.orderhub.backend.domain.event.OrderStatusChanged;
+import com.core.orderhub.backend.domain.valueobject.Money;
+import com.core.orderhub.backend.dto.SalesDashboardDto;
+import com.core.orderhub.backend.repository.OrderRepository;
+import com.core.orderhub.backend.repository.OrderRepository.SoldLine;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Live sales counters kept in memory: current orders per status, plus revenue,
+ * paid orders and units sold per product in per-minute (and per-hour for the
+ * 24h product window) ring buffers. Revenue is booked when an order is paid
+ * and reversed when a paid order is canceled. The counters are rebuilt from
+ * the database at startup and fed by committed order events afterwards, so
+ * reading them never touches the database.
+ */
+@Component
+public class SalesDashboard {
+
+    private static final Logger logger = LoggerFactory.getLogger(SalesDashboard.class);
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Clock clock = Clock.systemDefaultZone();
+
+    private final Map<OrderStatus, AtomicLong> ordersByStatus = new EnumMap<>(OrderStatus.class);
+    private final TimeBucketRing revenueCents = new TimeBucketRing(Duration.ofMinutes(1), MINUTES_PER_DAY);
+    private final TimeBucketRing paidOrders = new TimeBucketRing(Duration.ofMinutes(1), MINUTES_PER_DAY);
+    private final Map<Long, ProductCounters> productSales = new ConcurrentHashMap<>();
+
+    public SalesDashboard() {
+        for (OrderStatus status : OrderStatus.values()) {
+            ordersByStatus.put(status, new AtomicLong());
+        }
+    }
+
+    @PostConstruct
+    public void rebuild() {
+        long since = System.nanoTime();
+        ordersByStatus.values().forEach(count -> count.set(0L));
+        revenueCents.clear();
+        paidOrders.clear();
+        productSales.clear();
+        orderRepository.countByStatus()
+                .forEach(count -> ordersByStatus.get(count.getStatus()).set(count.getOrders()));
+
+        LocalDateTime dayAgo = LocalDateTime.now(clock).minusDays(1);
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<SoldLine> sold = orderRepository.streamSoldLinesPaidSince(dayAgo)) {
+                book(sold::iterator, 1);
+            }
+        });
+        logger.info("Sales dashboard rebuilt in {} ms", (System.nanoTime() - since) / 1_000_000);
+    }
+
+    @EventListener
+    public void on(DomainEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        PendingChanges pending = (PendingChanges) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingChanges();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.collect(event);
+    }
+
+    public SalesDashboardDto snapshot() {
+        ZonedDateTime now = ZonedDateTime.now(clock);
+        long nowMillis = now.toInstant().toEpochMilli();
+        long midnight = now.truncatedTo(ChronoUnit.DAYS).toInstant().toEpochMilli();
+        long hourStart = now.truncatedTo(ChronoUnit.HOURS).toInstant().toEpochMilli();
+
+        Map<OrderStatus, Long> statusCounts = new EnumMap<>(OrderStatus.class);
+        ordersByStatus.forEach((status, count) -> statusCounts.put(status, count.get()));
+
+        List<SalesDashboardDto.ProductSales> products = new ArrayList<>();
+        productSales.forEach((productId, counters) -> {
+            SalesDashboardDto.ProductSales sales = counters.window(productId, nowMillis);
+            if (sales.soldLast24Hours() != 0L) {
+                products.add(sales);
+            }
+        });
+        products.sort(Comparator.comparingLong(SalesDashboardDto.ProductSales::soldLast24Hours).reversed()
+                .thenComparing(SalesDashboardDto.ProductSales::productId));
+
+        return new SalesDashboardDto(
+                now.toLocalDateTime(),
+                statusCounts,
+                Money.ofCents(revenueCents.sum(midnight, nowMillis)).toBigDecimal(),
+                Money.ofCents(revenueCents.sum(hourStart, nowMillis)).toBigDecimal(),
+                paidOrders.sum(midnight, nowMillis),
+                paidOrders.sum(hourStart, nowMillis),
+                products
+        );
+    }
+
+    private void book(Iterable<SoldLine> lines, int sign) {
+        Set<Long> bookedOrders = new HashSet<>();
+        for (SoldLine line : lines) {
+            if (line.getPaidAt() == null) {
+                continue;
+            }
+            long paidAt = line.getPaidAt().atZone(clock.getZone()).toInstant().toEpochMilli();
+            if (bookedOrders.add(line.getOrderId())) {
+                revenueCents.add(paidAt, sign * line.getTotal().cents());
+                paidOrders.add(paidAt, sign);
+            }
+            if (line.getProductId() != null) {
+                productSales.computeIfAbsent(line.getProductId(), id -> new ProductCounters())
+                        .add(paidAt, (long) sign * line.getQuantity());
+            }
+        }
+    }
+
+    private static final class ProductCounters {
+
+        private final TimeBucketRing byMinute = new TimeBucketRing(Duration.ofMinutes(1), 60);
+        private final TimeBucketRing byHour = new TimeBucketRing(Duration.ofHours(1), 24);
+
+        void add(long epochMillis, long quantity) {
+            byMinute.add(epochMillis, quantity);
+            byHour.add(epochMillis, quantity);
+        }
+
+        SalesDashboardDto.ProductSales window(Long productId, long nowMillis) {
+            long minute = byMinute.bucketMillis();
+            long hour = byHour.bucketMillis();
+            return new SalesDashboardDto.ProductSales(productId,
+                    byMinute.sum(nowMillis - 14 * minute, nowMillis),
+                    byMinute.sum(nowMillis - 59 * minute, nowMillis),
+                    byHour.sum(nowMillis - 23 * hour, nowMillis));
+        }
+    }
+
+    /**
+     * Order changes of one transaction. Sold lines of paid or refunded orders are
+     * read once before commit; nothing reaches the counters unless the
+     * transaction commits.
+     */
+    private final class PendingChanges implements TransactionSynchronization {
+
+        private final Map<OrderStatus, Long> statusDeltas = new EnumMap<>(OrderStatus.class);
+        private final Set<Long> paid = new HashSet<>();
+        private final Set<Long> refunded = new HashSet<>();
+        private List<SoldLine> soldLines = List.of();
+
+        void collect(DomainEvent event) {
+            if (event instanceof OrderCreated) {
+                statusDeltas.merge(OrderStatus.CREATED, 1L, Long::sum);
+            } else if (event instanceof OrderStatusChanged changed) {
+                statusDeltas.merge(changed.from(), -1L, Long::sum);
+                statusDeltas.merge(changed.to(), 1L, Long::sum);
+                if (changed.to() == OrderStatus.PAID) {
+                    paid.add(changed.orderId());
+                } else if (changed.from() == OrderStatus.PAID && changed.to() == OrderStatus.CANCELED) {
+                    refunded.add(changed.orderId());
+                }
+            } else if (event instanceof OrderDeleted deleted) {
+                statusDeltas.merge(deleted.status(), -1L, Long::sum);
+            } else if (event instanceof OrderArchived archived) {
+                statusDeltas.merge(archived.status(), -1L, Long::sum);
+            }
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            Set<Long> ids = new HashSet<>(paid);
+            ids.addAll(refunded);
+            if (!ids.isEmpty()) {
+                soldLines = orderRepository.findSoldLinesByIdIn(ids);
+            }
+        }
+
+        @Override
+        public void afterCommit() {
+            statusDeltas.forEach((status, delta) -> ordersByStatus.get(status).addAndGet(delta));
+            book(soldLines.stream().filter(line -> paid.contains(line.getOrderId())).toList(), 1);
+            book(soldLines.stream().filter(line -> refunded.contains(line.getOrderId())).toList(), -1);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(SalesDashboard.this);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.core.orderhub.backend.service.dashboard;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Fixed ring of time buckets. A slot is reused as soon as time moves a full
+ * ring past it, so memory stays constant and values older than the ring span
+ * simply fall off.
+ */
+final class TimeBucketRing {
+
+    private final long bucketMillis;
+    private final long[] bucketNumbers;
+    private final long[] values;
+
+    TimeBucketRing(Duration bucket, int size) {
+        this.bucketMillis = bucket.toMillis();
+        this.bucketNumbers = new long[size];
+        this.values = new long[size];
+        Arrays.fill(bucketNumbers, Long.MIN_VALUE);
+    }
+
+    synchronized void add(long epochMillis, long amount) {
+        long bucket = epochMillis / bucketMillis;
+        int slot = (int) Math.floorMod(bucket, (long) bucketNumbers.length);
+        if (bucketNumbers[slot] != bucket) {
+            if (bucketNumbers[slot] > bucket) {
+                // the slot already holds a newer bucket, so this one is out of range
+                return;
+            }
+            bucketNumbers[slot] = bucket;
+            values[slot] = 0L;
+        }
+        values[slot] += amount;
+    }
+
+    synchronized long sum(long fromEpochMillis, long toEpochMillis) {
+        long from = fromEpochMillis / bucketMillis;
+        long to = toEpochMillis / bucketMillis;
+        long total = 0L;
+        for (int slot = 0; slot < bucketNumbers.length; slot++) {
+            if (bucketNumbers[slot] >= from && bucketNumbers[slot] <= to) {
+                total += values[slot];
+            }
+        }
+        return total;
+    }
+
+    synchronized void clear() {
+        Arrays.fill(bucketNumbers, Long.MIN_VALUE);
+        Arrays.fill(values, 0L);
+    }
+
+    long bucketMillis() {
+        return bucketMillis;
+    }
+}
@@ -0,0 +1,203 @@
+package com.core.orderhub.backend.service.expiry;
+
+import com.core.orderhub.backend.domain.entity.Order;
+import com.core.orderhub.backend.domain.entity.OrderItem;
+import com.core.orderhub.backend.domain.enums.OrderStatus;
+import com.core.orderhub.backend.domain.event.DomainEvent;
+import com.core.orderhub.backend.domain.event.OrderCreated;
+import com.core.orderhub.backend.domain.event.OrderDeleted;
+import com.core.orderhub.backend.domain.event.OrderItemAdded;
+import com.core.orderhub.backend.domain.event.OrderItemRemoved;
+import com.core.orderhub.backend.domain.event.OrderStatusChanged;
+import com.core.orderhub.backend.repository.OrderRepository;
+import com.core.orderhub.backend.repository.OrderRepository.OrderActivity;
+import com.core.orderhub.backend.service.StockService;
+import com.core.orderhub.backend.service.journal.OrderJournal;
+import com.core.orderhub.backend.service.journal.OrderJournalEvent;
+import com.core.orderhub.backend.service.outbox.OutboxService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Cancels CREATED orders that saw no change for the configured time to live
+ * and gives their reserved stock back. Every open order has one timer in a
+ * {@link TimingWheel}, re-armed by each committed change, so finding expired
+ * carts never scans the orders table; the table is only read once at startup
+ * through the (status, id) index.
+ */
+@Component
+@ConditionalOnProperty(name = "orderhub.orders.expiry.enabled", havingValue = "true")
+public class AbandonedOrderExpiry {
+
+    private static final Logger logger = LoggerFactory.getLogger(AbandonedOrderExpiry.class);
+
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private StockService stockService;
+    @Autowired
+    private OutboxService outboxService;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired(required = false)
+    private OrderJournal orderJournal;
+
+    @Value("${orderhub.orders.expiry.ttl:PT30M}")
+    private Duration ttl;
+
+    @Value("${orderhub.orders.expiry.batch-size:500}")
+    private int batchSize;
+
+    private Clock clock = Clock.systemDefaultZone();
+
+    private TimingWheel<Long> wheel;
+    private Counter expiredOrders;
+
+    @PostConstruct
+    public void recover() {
+        // 1s ticks: 256s, ~18h and ~48 days per level
+        wheel = new TimingWheel<>(1_000L, clock.millis(), 256, 256, 64);
+        expiredOrders = Counter.builder("orderhub.orders.expired")
+                .description("CREATED orders canceled after the cart time to live")
+                .register(meterRegistry);
+        Gauge.builder("orderhub.orders.expiry.pending", this, AbandonedOrderExpiry::pendingCount)
+                .description("Open orders with an armed expiry timer")
+                .register(meterRegistry);
+
+        long afterId = 0L;
+        List<OrderActivity> page;
+        do {
+            page = orderRepository.findCreatedActivityAfter(afterId, PageRequest.of(0, batchSize));
+            synchronized (this) {
+                for (OrderActivity order : page) {
+                    LocalDateTime lastActivity = order.getLastModifiedAt() != null
+                            ? order.getLastModifiedAt()
+                            : order.getCreatedAt();
+                    wheel.schedule(order.getId(), deadline(lastActivity));
+                }
+            }
+            if (!page.isEmpty()) {
+                afterId = page.get(page.size() - 1).getId();
+            }
+        } while (page.size() == batchSize);
+        logger.info("Order expiry armed for {} open orders | ttl={}", pendingCount(), ttl);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void on(DomainEvent event) {
+        if (event instanceof OrderCreated || event instanceof OrderItemAdded || event instanceof OrderItemRemoved) {
+            arm(event.aggregateId(), event.occurredAt());
+        } else if (event instanceof OrderStatusChanged changed && changed.to() != OrderStatus.CREATED
+                || event instanceof OrderDeleted) {
+            disarm(event.aggregateId());
+        }
+    }
+
+    public synchronized void arm(Long orderId, Instant lastActivity) {
+        wheel.schedule(orderId, lastActivity.plus(ttl).toEpochMilli());
+    }
+
+    public synchronized void disarm(Long orderId) {
+        wheel.cancel(orderId);
+    }
+
+    public synchronized int pendingCount() {
+        return wheel.size();
+    }
+
+    @Scheduled(fixedDelayString = "${orderhub.orders.expiry.interval-ms:1000}")
+    public void expire() {
+        List<Long> expired;
+        synchronized (this) {
+            expired = wheel.advance(clock.millis());
+        }
+        for (int from = 0; from < expired.size(); from += batchSize) {
+            List<Long> batch = expired.subList(from, Math.min(from + batchSize, expired.size()));
+            try {
+                expireBatch(batch);
+            } catch (RuntimeException e) {
+                // put the batch back so it is retried on a later tick instead of leaking stock
+                long retryAt = clock.millis() + Duration.ofSeconds(30).toMillis();
+                synchronized (this) {
+                    batch.forEach(orderId -> wheel.schedule(orderId, retryAt));
+                }
+                logger.error("Order expiry failed for {} orders, retrying later", batch.size(), e);
+            }
+        }
+    }
+
+    private void expireBatch(List<Long> orderIds) {
+        int canceled = transactionTemplate.execute(status -> {
+            LocalDateTime cutoff = LocalDateTime.now(clock).minus(ttl);
+            Instant now = clock.instant();
+            Map<Long, Integer> released = new TreeMap<>();
+            List<OrderStatusChanged> events = new ArrayList<>();
+            Map<Long, LocalDateTime> rearm = new HashMap<>();
+
+            for (Order order : orderRepository.findAllByIdInForUpdate(orderIds)) {
+                if (!order.isCreated()) {
+                    continue;
+                }
+                if (order.lastActivityAt().isAfter(cutoff)) {
+                    // touched after the timer was read; its own event re-arms it, this is a safety net
+                    rearm.put(order.getId(), order.lastActivityAt());
+                    continue;
+                }
+                for (OrderItem item : order.getOrderItemList()) {
+                    released.merge(item.getProductId(), item.getQuantity(), Integer::sum);
+                }
+                order.changeStatus(OrderStatus.CANCELED);
+                events.add(new OrderStatusChanged(order.getId(), order.getClient().getId(), OrderStatus.CREATED,
+                        OrderStatus.CANCELED, order.getTotal().toBigDecimal(), now));
+            }
+
+            // one stock update per product, in product id order so concurrent batches lock rows alike
+            released.forEach(stockService::release);
+            outboxService.appendAll(events);
+            if (orderJournal != null) {
+                orderJournal.record(events.stream()
+                        .map(event -> new OrderJournalEvent.StatusChanged(event.orderId(), now.toEpochMilli(),
+                                OrderStatus.CANCELED))
+                        .toList());
+            }
+            synchronized (this) {
+                rearm.forEach((orderId, lastActivity) -> wheel.schedule(orderId, deadline(lastActivity)));
+            }
+            return events.size();
+        });
+
+        expiredOrders.increment(canceled);
+        if (canceled > 0) {
+            logger.info("Expired {} abandoned orders", canceled);
+        }
+    }
+
+    private long deadline(LocalDateTime lastActivity) {
+        return lastActivity.atZone(clock.getZone()).toInstant().plus(ttl).toEpochMilli();
+    }
+}
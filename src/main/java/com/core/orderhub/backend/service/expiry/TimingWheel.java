@@ -0,0 +1,161 @@
+package com.core.orderhub.backend.service.expiry;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hierarchical timing wheel. Level 0 has one slot per tick; every higher level
+ * has slots as wide as a full turn of the level below, and its slots are
+ * cascaded down when the lower level wraps. Scheduling and cancelling are O(1);
+ * advancing costs one slot per elapsed tick plus the timers that fire or move.
+ * Not thread-safe.
+ */
+public final class TimingWheel<K> {
+
+    private final long tickMillis;
+    private final int[] slots;
+    private final long[] ticksPerSlot;
+    private final Node<K>[][] heads;
+    private final Map<K, Node<K>> timers = new HashMap<>();
+    private long currentTick;
+
+    @SuppressWarnings("unchecked")
+    public TimingWheel(long tickMillis, long startMillis, int... slotsPerLevel) {
+        this.tickMillis = tickMillis;
+        this.slots = slotsPerLevel.clone();
+        this.ticksPerSlot = new long[slots.length];
+        this.heads = new Node[slots.length][];
+        long span = 1;
+        for (int level = 0; level < slots.length; level++) {
+            ticksPerSlot[level] = span;
+            heads[level] = new Node[slots[level]];
+            span = Math.multiplyExact(span, slots[level]);
+        }
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    public void schedule(K key, long deadlineMillis) {
+        cancel(key);
+        long deadlineTick = Math.max(Math.ceilDiv(deadlineMillis, tickMillis), currentTick + 1);
+        Node<K> node = new Node<>(key, deadlineTick);
+        timers.put(key, node);
+        place(node);
+    }
+
+    public boolean cancel(K key) {
+        Node<K> node = timers.remove(key);
+        if (node == null) {
+            return false;
+        }
+        unlink(node);
+        return true;
+    }
+
+    /**
+     * Moves the wheel to {@code nowMillis} and returns the keys whose deadline
+     * has passed, earliest tick first.
+     */
+    public List<K> advance(long nowMillis) {
+        List<K> expired = new ArrayList<>();
+        long targetTick = nowMillis / tickMillis;
+        while (currentTick < targetTick) {
+            currentTick++;
+            cascade(1);
+            int slot = (int) (currentTick % slots[0]);
+            Node<K> node = heads[0][slot];
+            heads[0][slot] = null;
+            while (node != null) {
+                Node<K> next = node.next;
+                node.level = -1;
+                node.previous = null;
+                node.next = null;
+                timers.remove(node.key);
+                expired.add(node.key);
+                node = next;
+            }
+        }
+        return expired;
+    }
+
+    public int size() {
+        return timers.size();
+    }
+
+    public boolean contains(K key) {
+        return timers.containsKey(key);
+    }
+
+    private void cascade(int level) {
+        if (level >= slots.length || currentTick % ticksPerSlot[level] != 0) {
+            return;
+        }
+        // the level below just wrapped, so higher slots may have to come down first
+        cascade(level + 1);
+        int slot = (int) ((currentTick / ticksPerSlot[level]) % slots[level]);
+        Node<K> node = heads[level][slot];
+        heads[level][slot] = null;
+        while (node != null) {
+            Node<K> next = node.next;
+            node.previous = null;
+            node.next = null;
+            place(node);
+            node = next;
+        }
+    }
+
+    private void place(Node<K> node) {
+        long delta = Math.max(node.deadlineTick - currentTick, 0L);
+        int level = 0;
+        while (level < slots.length - 1 && delta >= ticksPerSlot[level + 1]) {
+            level++;
+        }
+        long slotTick = level == slots.length - 1 && delta >= ticksPerSlot[level] * slots[level]
+                // beyond the wheel: park in the farthest top slot and re-place on cascade
+                ? currentTick + ticksPerSlot[level] * (slots[level] - 1)
+                : node.deadlineTick;
+        int slot = (int) ((slotTick / ticksPerSlot[level]) % slots[level]);
+
+        node.level = level;
+        node.slot = slot;
+        node.previous = null;
+        node.next = heads[level][slot];
+        if (node.next != null) {
+            node.next.previous = node;
+        }
+        heads[level][slot] = node;
+    }
+
+    private void unlink(Node<K> node) {
+        if (node.level < 0) {
+            return;
+        }
+        if (node.previous != null) {
+            node.previous.next = node.next;
+        } else {
+            heads[node.level][node.slot] = node.next;
+        }
+        if (node.next != null) {
+            node.next.previous = node.previous;
+        }
+        node.previous = null;
+        node.next = null;
+        node.level = -1;
+    }
+
+    private static final class Node<K> {
+
+        private final K key;
+        private final long deadlineTick;
+        private int level;
+        private int slot;
+        private Node<K> previous;
+        private Node<K> next;
+
+        private Node(K key, long deadlineTick) {
+            this.key = key;
+            this.deadlineTick = deadlineTick;
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.core.orderhub.backend.service.idempotency;
+
+import com.core.orderhub.backend.exception.BusinessException;
+import com.core.orderhub.backend.exception.ResourceConflictException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Runs a write at most once per {@code Idempotency-Key}. A request claims its
+ * key in the {@link IdempotencyStore} before it runs and stores its response
+ * when it completes, so with the database store a copy that reaches another
+ * node sees the claim. A retry of a finished request gets the stored response
+ * back; a retry that arrives while the original is still running waits for it
+ * instead of executing again, and gets a 409 if it does not finish in time. A
+ * failed request gives its claim up. A claim whose node died while running the
+ * request is kept until the key expires: the outcome is unknown, so the key
+ * is not executed again.
+ */
+@Service
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyService.class);
+    private static final int MAX_KEY_LENGTH = 255;
+
+    @Autowired
+    private IdempotencyStore idempotencyStore;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${orderhub.idempotency.ttl:PT24H}")
+    private Duration ttl;
+
+    @Value("${orderhub.idempotency.in-flight-timeout:PT30S}")
+    private Duration inFlightTimeout;
+
+    @Value("${orderhub.idempotency.poll-interval:PT0.05S}")
+    private Duration pollInterval;
+
+    private final Map<String, CompletableFuture<StoredResponse>> inFlight = new ConcurrentHashMap<>();
+
+    public <T> ResponseEntity<T> execute(String idempotencyKey, String request, HttpStatus status,
+                                         Class<T> bodyType, Supplier<T> action) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return ResponseEntity.status(status).body(action.get());
+        }
+
+        if (idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new BusinessException("Idempotency-Key cannot be longer than " + MAX_KEY_LENGTH + " characters");
+        }
+
+        String key = scopedKey(idempotencyKey);
+        String fingerprint = DigestUtils.md5DigestAsHex(request.getBytes(StandardCharsets.UTF_8));
+
+        Optional<StoredResponse> stored = idempotencyStore.find(key);
+        if (stored.isPresent() && !stored.get().isPending()) {
+            return replay(stored.get(), fingerprint, bodyType);
+        }
+
+        CompletableFuture<StoredResponse> pending = new CompletableFuture<>();
+        CompletableFuture<StoredResponse> original = inFlight.putIfAbsent(key, pending);
+        if (original != null) {
+            return replay(await(original), fingerprint, bodyType);
+        }
+
+        try {
+            // the key may be claimed on another node, or the original here may have finished meanwhile
+            Optional<StoredResponse> completed = claimOrAwait(key, fingerprint);
+            if (completed.isPresent()) {
+                pending.complete(completed.get());
+                return replay(completed.get(), fingerprint, bodyType);
+            }
+
+            T body;
+            try {
+                body = action.get();
+            } catch (RuntimeException e) {
+                idempotencyStore.release(key);
+                throw e;
+            }
+            StoredResponse response = new StoredResponse(fingerprint, status.value(), write(body), Instant.now().plus(ttl));
+            idempotencyStore.save(key, response);
+            pending.complete(response);
+            return ResponseEntity.status(status).body(body);
+        } catch (RuntimeException e) {
+            pending.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, pending);
+        }
+    }
+
+    // empty once this request owns the key, else the response of the request that owned it
+    private Optional<StoredResponse> claimOrAwait(String key, String fingerprint) {
+        Instant deadline = Instant.now().plus(inFlightTimeout);
+        while (true) {
+            if (idempotencyStore.claim(key, StoredResponse.pending(fingerprint, Instant.now().plus(ttl)))) {
+                return Optional.empty();
+            }
+            Optional<StoredResponse> stored = idempotencyStore.find(key);
+            if (stored.isPresent() && !stored.get().isPending()) {
+                return stored;
+            }
+            if (stored.isPresent() && !stored.get().fingerprint().equals(fingerprint)) {
+                throw new ResourceConflictException("Idempotency-Key was already used for a different request");
+            }
+            if (!Instant.now().isBefore(deadline)) {
+                throw new ResourceConflictException("A request with the same Idempotency-Key is still in progress");
+            }
+            try {
+                Thread.sleep(pollInterval.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    private <T> ResponseEntity<T> replay(StoredResponse response, String fingerprint, Class<T> bodyType) {
+        if (!response.fingerprint().equals(fingerprint)) {
+            throw new ResourceConflictException("Idempotency-Key was already used for a different request");
+        }
+        logger.info("Replaying stored response for idempotent request, status={}", response.status());
+        return ResponseEntity.status(response.status())
+                .header(REPLAYED_HEADER, "true")
+                .body(read(response.body(), bodyType));
+    }
+
+    private StoredResponse await(CompletableFuture<StoredResponse> original) {
+        try {
+            return original.get(inFlightTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new ResourceConflictException("A request with the same Idempotency-Key is still in progress");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private String scopedKey(String idempotencyKey) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String owner = authentication == null ? "anonymous" : authentication.getName();
+        return owner + ":" + idempotencyKey;
+    }
+
+    private String write(Object body) {
+        try {
+            return body == null ? null : objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not store idempotent response", e);
+        }
+    }
+
+    private <T> T read(String body, Class<T> bodyType) {
+        try {
+            return body == null ? null : objectMapper.readValue(body, bodyType);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not replay idempotent response", e);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.core.orderhub.backend.service.idempotency;
+
+import java.util.Optional;
+
+/**
+ * Responses keyed by idempotency key. A request first claims its key with a
+ * pending entry, which only one caller can create, and replaces it with the
+ * response once it completes. Implementations drop entries once they expire
+ * and may drop older entries earlier to stay bounded.
+ */
+public interface IdempotencyStore {
+
+    Optional<StoredResponse> find(String key);
+
+    /**
+     * Stores the pending entry unless the key already has a live entry.
+     * Returns whether this caller now owns the key.
+     */
+    boolean claim(String key, StoredResponse pending);
+
+    void save(String key, StoredResponse response);
+
+    /**
+     * Drops the pending entry of a request that failed, so a retry can run.
+     */
+    void release(String key);
+}
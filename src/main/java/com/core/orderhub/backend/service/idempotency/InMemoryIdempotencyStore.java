@@ -0,0 +1,61 @@
+package com.core.orderhub.backend.service.idempotency;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+@Component
+@ConditionalOnProperty(name = "orderhub.idempotency.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    private final Map<String, StoredResponse> responses;
+
+    public InMemoryIdempotencyStore(@Value("${orderhub.idempotency.max-entries:10000}") int maxEntries) {
+        this.responses = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, StoredResponse> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    @Override
+    public synchronized Optional<StoredResponse> find(String key) {
+        StoredResponse response = responses.get(key);
+        if (response == null) {
+            return Optional.empty();
+        }
+        if (response.isExpired(Instant.now())) {
+            responses.remove(key);
+            return Optional.empty();
+        }
+        return Optional.of(response);
+    }
+
+    @Override
+    public synchronized boolean claim(String key, StoredResponse pending) {
+        if (find(key).isPresent()) {
+            return false;
+        }
+        responses.put(key, pending);
+        return true;
+    }
+
+    @Override
+    public synchronized void save(String key, StoredResponse response) {
+        responses.put(key, response);
+    }
+
+    @Override
+    public synchronized void release(String key) {
+        StoredResponse response = responses.get(key);
+        if (response != null && response.isPending()) {
+            responses.remove(key);
+        }
+    }
+}
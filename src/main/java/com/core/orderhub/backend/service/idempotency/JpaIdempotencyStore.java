@@ -0,0 +1,93 @@
+package com.core.orderhub.backend.service.idempotency;
+
+import com.core.orderhub.backend.domain.entity.IdempotencyRecord;
+import com.core.orderhub.backend.repository.IdempotencyRecordRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Optional;
+
+@Component
+@ConditionalOnProperty(name = "orderhub.idempotency.store", havingValue = "database")
+public class JpaIdempotencyStore implements IdempotencyStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(JpaIdempotencyStore.class);
+    private static final String DELETE_EXPIRED_SQL = "delete from idempotency_keys where idempotency_key = ? and expires_at <= ?";
+    private static final String CLAIM_SQL = """
+            insert into idempotency_keys (idempotency_key, fingerprint, status, body, expires_at)
+            values (?, ?, ?, null, ?)
+            """;
+    private static final String RELEASE_SQL = "delete from idempotency_keys where idempotency_key = ? and status = ?";
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private TransactionTemplate claimTransaction;
+
+    @PostConstruct
+    public void init() {
+        claimTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        claimTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public Optional<StoredResponse> find(String key) {
+        return idempotencyRecordRepository.findById(key)
+                .map(record -> new StoredResponse(record.getFingerprint(), record.getStatus(), record.getBody(), record.getExpiresAt()))
+                .filter(response -> !response.isExpired(Instant.now()));
+    }
+
+    /**
+     * Commits the pending row in its own transaction, so other nodes see the
+     * claim before the request runs; the primary key lets only one insert win.
+     */
+    @Override
+    public boolean claim(String key, StoredResponse pending) {
+        try {
+            claimTransaction.executeWithoutResult(status -> {
+                jdbcTemplate.update(DELETE_EXPIRED_SQL, key, Timestamp.from(Instant.now()));
+                jdbcTemplate.update(CLAIM_SQL, key, pending.fingerprint(), pending.status(),
+                        Timestamp.from(pending.expiresAt()));
+            });
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public void release(String key) {
+        jdbcTemplate.update(RELEASE_SQL, key, StoredResponse.PENDING);
+    }
+
+    @Override
+    public void save(String key, StoredResponse response) {
+        idempotencyRecordRepository.save(new IdempotencyRecord(key, response.fingerprint(), response.status(),
+                response.body(), response.expiresAt()));
+    }
+
+    @Transactional
+    @Scheduled(fixedDelayString = "${orderhub.idempotency.purge-interval-ms:60000}")
+    public void purgeExpired() {
+        int purged = idempotencyRecordRepository.deleteExpired(Instant.now());
+        if (purged > 0) {
+            logger.info("Purged {} expired idempotency keys", purged);
+        }
+    }
+}
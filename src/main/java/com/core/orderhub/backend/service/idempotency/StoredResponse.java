@@ -0,0 +1,24 @@
+package com.core.orderhub.backend.service.idempotency;
+
+import java.time.Instant;
+
+/**
+ * Response stored for an idempotency key, or the claim of a request that is
+ * still running, which has no status yet.
+ */
+public record StoredResponse(String fingerprint, int status, String body, Instant expiresAt) {
+
+    static final int PENDING = 0;
+
+    public static StoredResponse pending(String fingerprint, Instant expiresAt) {
+        return new StoredResponse(fingerprint, PENDING, null, expiresAt);
+    }
+
+    public boolean isPending() {
+        return status == PENDING;
+    }
+
+    public boolean isExpired(Instant now) {
+        return !expiresAt.isAfter(now);
+    }
+}
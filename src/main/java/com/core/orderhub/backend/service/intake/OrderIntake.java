@@ -0,0 +1,264 @@
+package com.core.orderhub.backend.service.intake;
+
+import com.core.orderhub.backend.dto.OrderCommandStatusDto;
+import com.core.orderhub.backend.dto.OrderDto;
+import com.core.orderhub.backend.exception.BusinessException;
+import com.core.orderhub.backend.exception.ResourceConflictException;
+import com.core.orderhub.backend.exception.ResourceNotFoundException;
+import com.core.orderhub.backend.exception.TooManyRequestsException;
+import com.core.orderhub.backend.service.OrderService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Asynchronous order intake. Commands are queued into one bounded queue per
+ * partition and executed by one virtual thread per partition, so the request
+ * thread never waits on database locks. Commands for the same order id always
+ * land in the same partition and therefore run in submission order. A full
+ * partition rejects the command instead of blocking the caller.
+ * <p>
+ * On shutdown no new commands are accepted, and the workers finish the
+ * commands already acknowledged before they stop, for up to the shutdown
+ * timeout. Commands still queued after that are marked failed and logged.
+ */
+@Service
+public class OrderIntake {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderIntake.class);
+    private static final long POLL_MILLIS = 200;
+
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${orderhub.orders.intake.partitions:8}")
+    private int partitionCount;
+
+    @Value("${orderhub.orders.intake.queue-capacity:4096}")
+    private int queueCapacity;
+
+    @Value("${orderhub.orders.intake.retention:PT10M}")
+    private Duration retention;
+
+    @Value("${orderhub.orders.intake.shutdown-timeout:PT30S}")
+    private Duration shutdownTimeout;
+
+    private Clock clock = Clock.systemUTC();
+
+    private final Map<String, Command> commands = new ConcurrentHashMap<>();
+    private final AtomicInteger depth = new AtomicInteger();
+    private final List<BlockingQueue<Command>> partitions = new ArrayList<>();
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean accepting = true;
+    private Timer waitTime;
+    private Timer serviceTime;
+    private Counter rejected;
+
+    @PostConstruct
+    public void start() {
+        waitTime = Timer.builder("orderhub.orders.intake.wait")
+                .description("Time an accepted order command waited in its queue")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        serviceTime = Timer.builder("orderhub.orders.intake.service")
+                .description("Time spent executing an order command")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        rejected = Counter.builder("orderhub.orders.intake.rejected")
+                .description("Order commands rejected because their queue was full")
+                .register(meterRegistry);
+        Gauge.builder("orderhub.orders.intake.depth", depth, AtomicInteger::get)
+                .description("Order commands waiting to be executed")
+                .register(meterRegistry);
+
+        int capacityPerPartition = Math.max(queueCapacity / partitionCount, 1);
+        for (int partition = 0; partition < partitionCount; partition++) {
+            BlockingQueue<Command> queue = new ArrayBlockingQueue<>(capacityPerPartition);
+            partitions.add(queue);
+            workers.add(Thread.ofVirtual()
+                    .name("order-intake-" + partition)
+                    .start(() -> drain(queue)));
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        accepting = false;
+        long deadline = System.nanoTime() + shutdownTimeout.toNanos();
+        try {
+            for (Thread worker : workers) {
+                worker.join(Duration.ofNanos(Math.max(deadline - System.nanoTime(), 1)));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        workers.forEach(Thread::interrupt);
+
+        List<Command> abandoned = new ArrayList<>();
+        partitions.forEach(queue -> queue.drainTo(abandoned));
+        if (!abandoned.isEmpty()) {
+            abandoned.forEach(command -> fail(command, HttpStatus.SERVICE_UNAVAILABLE.value(),
+                    "Order intake shut down before the command ran"));
+            logger.error("Order intake stopped with {} accepted commands not executed: {}", abandoned.size(),
+                    abandoned.stream().map(command -> command.id).toList());
+        }
+    }
+
+    public OrderCommandStatusDto submitCreateOrder(Long clientId) {
+        return submit(clientId, () -> orderService.createOrder(clientId));
+    }
+
+    public OrderCommandStatusDto submitAddOrderItem(Long orderId, Long productId, Integer quantity) {
+        return submit(orderId, () -> orderService.addOrderItem(orderId, productId, quantity));
+    }
+
+    public OrderCommandStatusDto findStatus(String commandId) {
+        Command command = commands.get(commandId);
+        if (command == null) {
+            throw new ResourceNotFoundException("Order command not found: " + commandId);
+        }
+        return command.toDto();
+    }
+
+    @Scheduled(fixedDelayString = "${orderhub.orders.intake.purge-interval-ms:60000}")
+    public void purgeCompleted() {
+        Instant cutoff = clock.instant().minus(retention);
+        commands.values().removeIf(command -> command.completedAt != null && command.completedAt.isBefore(cutoff));
+    }
+
+    public int depth() {
+        return depth.get();
+    }
+
+    private OrderCommandStatusDto submit(Long partitionKey, Supplier<OrderDto> operation) {
+        if (!accepting) {
+            throw new TooManyRequestsException("Order intake is shutting down, retry later");
+        }
+        Command command = new Command(UUID.randomUUID().toString(), operation, clock.instant());
+        commands.put(command.id, command);
+
+        BlockingQueue<Command> queue = partitions.get(Math.floorMod(Long.hashCode(partitionKey), partitionCount));
+        if (!queue.offer(command)) {
+            commands.remove(command.id);
+            rejected.increment();
+            throw new TooManyRequestsException("Order intake queue is full, retry later");
+        }
+        depth.incrementAndGet();
+        return command.toDto();
+    }
+
+    // polls rather than blocks, so the worker notices a shutdown once its queue is empty
+    private void drain(BlockingQueue<Command> queue) {
+        while (true) {
+            Command command;
+            try {
+                command = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (command == null) {
+                if (!accepting) {
+                    return;
+                }
+                continue;
+            }
+            depth.decrementAndGet();
+            try {
+                execute(command);
+            } catch (Throwable e) {
+                logger.error("Order intake worker could not record the outcome of command {}", command.id, e);
+            }
+        }
+    }
+
+    private void execute(Command command) {
+        long startedAt = System.nanoTime();
+        waitTime.record(startedAt - command.enqueuedAt, TimeUnit.NANOSECONDS);
+        command.state = OrderCommandStatusDto.State.RUNNING;
+        // the state is written last, so a reader that sees it completed also sees the outcome
+        try {
+            command.result = command.operation.get();
+            command.completedAt = clock.instant();
+            command.state = OrderCommandStatusDto.State.SUCCEEDED;
+        } catch (Throwable e) {
+            // an Error fails only this command; the worker goes on with the rest of its queue
+            fail(command, statusOf(e).value(), e.getMessage());
+            if (command.errorStatus >= 500) {
+                logger.error("Order command {} failed", command.id, e);
+            }
+        } finally {
+            serviceTime.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void fail(Command command, int status, String error) {
+        command.errorStatus = status;
+        command.error = error;
+        command.completedAt = clock.instant();
+        command.state = OrderCommandStatusDto.State.FAILED;
+    }
+
+    // mirrors the status codes the synchronous endpoints answer with
+    private static HttpStatus statusOf(Throwable e) {
+        if (e instanceof BusinessException) {
+            return HttpStatus.BAD_REQUEST;
+        }
+        if (e instanceof ResourceNotFoundException) {
+            return HttpStatus.NOT_FOUND;
+        }
+        if (e instanceof ResourceConflictException || e instanceof ObjectOptimisticLockingFailureException) {
+            return HttpStatus.CONFLICT;
+        }
+        return HttpStatus.INTERNAL_SERVER_ERROR;
+    }
+
+    private static final class Command {
+
+        private final String id;
+        private final Supplier<OrderDto> operation;
+        private final Instant acceptedAt;
+        private final long enqueuedAt = System.nanoTime();
+        private volatile OrderCommandStatusDto.State state = OrderCommandStatusDto.State.QUEUED;
+        private volatile OrderDto result;
+        private volatile Integer errorStatus;
+        private volatile String error;
+        private volatile Instant completedAt;
+
+        private Command(String id, Supplier<OrderDto> operation, Instant acceptedAt) {
+            this.id = id;
+            this.operation = operation;
+            this.acceptedAt = acceptedAt;
+        }
+
+        private OrderCommandStatusDto toDto() {
+            return new OrderCommandStatusDto(id, state, result, errorStatus, error, acceptedAt, completedAt);
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.core.orderhub.backend.service.invalidation;
+
+/**
+ * Published in-process when a peer reports that an entity changed. Local caches
+ * listen for it with an {@code @EventListener} and drop their copy.
+ */
+public record EntityInvalidated(EntityType type, Long id, long version) {
+}
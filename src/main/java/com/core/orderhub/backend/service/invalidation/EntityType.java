@@ -0,0 +1,11 @@
+package com.core.orderhub.backend.service.invalidation;
+
+/**
+ * Entities whose local caches are kept in step across nodes. The ordinal is
+ * part of the wire format, so new types must only be appended.
+ */
+public enum EntityType {
+    PRODUCT,
+    CLIENT,
+    USER
+}
@@ -0,0 +1,9 @@
+package com.core.orderhub.backend.service.invalidation;
+
+/**
+ * One changed entity. {@code version} increases with every invalidation a node
+ * publishes, so of two invalidations of the same entity from one node the
+ * higher version is the later one.
+ */
+public record Invalidation(EntityType type, Long id, long version) {
+}
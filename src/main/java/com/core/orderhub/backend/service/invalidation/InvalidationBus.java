@@ -0,0 +1,182 @@
+package com.core.orderhub.backend.service.invalidation;
+
+import com.core.orderhub.backend.domain.event.StockChanged;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Tells the other nodes which cached entities changed here. Invalidations are
+ * queued once their transaction commits, coalesced per entity while queued and
+ * sent in batches, either when the batch is full or on the next flush. Batches
+ * received from peers are republished in-process as {@link EntityInvalidated}
+ * events; batches from this node are ignored, since local caches invalidate
+ * themselves.
+ * <p>
+ * Propagation lag is measured from the moment the oldest invalidation of a
+ * batch was queued until a peer applied it, so it includes the batching delay
+ * and any clock skew between the two nodes.
+ */
+@Component
+public class InvalidationBus {
+
+    private static final Logger logger = LoggerFactory.getLogger(InvalidationBus.class);
+
+    @Autowired
+    private InvalidationTransport transport;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${orderhub.invalidation.max-batch-size:256}")
+    private int maxBatchSize;
+
+    private Clock clock = Clock.systemUTC();
+
+    private record Key(EntityType type, Long id) {}
+
+    private final UUID nodeId = UUID.randomUUID();
+    private final Consumer<byte[]> receiver = this::receive;
+    private LinkedHashMap<Key, Invalidation> pending = new LinkedHashMap<>();
+    private long pendingSince;
+    private long version;
+    private Timer lag;
+    private Counter sent;
+    private Counter coalesced;
+    private Counter received;
+
+    @PostConstruct
+    public void init() {
+        lag = Timer.builder("orderhub.invalidation.lag")
+                .description("Time from queueing an invalidation to a peer applying it")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        sent = Counter.builder("orderhub.invalidation.sent").register(meterRegistry);
+        coalesced = Counter.builder("orderhub.invalidation.coalesced")
+                .description("Invalidations merged into one already queued for the same entity")
+                .register(meterRegistry);
+        received = Counter.builder("orderhub.invalidation.received").register(meterRegistry);
+        transport.subscribe(receiver);
+    }
+
+    @PreDestroy
+    public void close() {
+        flush();
+        transport.unsubscribe(receiver);
+    }
+
+    /**
+     * Queues the invalidation once the current transaction commits, or right away
+     * when there is no transaction.
+     */
+    public void publishAfterCommit(EntityType type, Long id) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish(type, id);
+                }
+            });
+            return;
+        }
+        publish(type, id);
+    }
+
+    public void publish(EntityType type, Long id) {
+        boolean full;
+        synchronized (this) {
+            if (pending.isEmpty()) {
+                pendingSince = clock.millis();
+            }
+            Invalidation previous = pending.put(new Key(type, id), new Invalidation(type, id, ++version));
+            if (previous != null) {
+                coalesced.increment();
+            }
+            full = pending.size() >= maxBatchSize;
+        }
+        if (full) {
+            flush();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${orderhub.invalidation.flush-interval-ms:50}")
+    public void flush() {
+        List<Invalidation> batch;
+        long queuedAt;
+        synchronized (this) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = new ArrayList<>(pending.values());
+            queuedAt = pendingSince;
+            pending = new LinkedHashMap<>();
+        }
+
+        try {
+            transport.publish(InvalidationCodec.encode(new InvalidationCodec.Batch(nodeId, queuedAt, batch)));
+            sent.increment(batch.size());
+        } catch (RuntimeException e) {
+            logger.warn("Could not send {} invalidations, retrying on next flush", batch.size(), e);
+            requeue(batch, queuedAt);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void on(StockChanged event) {
+        publish(EntityType.PRODUCT, event.productId());
+    }
+
+    private synchronized void requeue(List<Invalidation> batch, long queuedAt) {
+        LinkedHashMap<Key, Invalidation> merged = new LinkedHashMap<>();
+        for (Invalidation invalidation : batch) {
+            merged.put(new Key(invalidation.type(), invalidation.id()), invalidation);
+        }
+        // anything queued meanwhile is newer than the failed batch
+        merged.putAll(pending);
+        pending = merged;
+        pendingSince = queuedAt;
+    }
+
+    private void receive(byte[] message) {
+        InvalidationCodec.Batch batch;
+        try {
+            batch = InvalidationCodec.decode(message);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Dropping invalidation message", e);
+            return;
+        }
+        if (batch.origin().equals(nodeId)) {
+            return;
+        }
+
+        for (Invalidation invalidation : batch.invalidations()) {
+            eventPublisher.publishEvent(new EntityInvalidated(invalidation.type(), invalidation.id(),
+                    invalidation.version()));
+        }
+        received.increment(batch.invalidations().size());
+        lag.record(Math.max(clock.millis() - batch.queuedAtMillis(), 0), TimeUnit.MILLISECONDS);
+    }
+}
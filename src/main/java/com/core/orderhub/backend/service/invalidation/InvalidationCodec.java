@@ -0,0 +1,69 @@
+package com.core.orderhub.backend.service.invalidation;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Binary form of an invalidation batch: a 29 byte header (format, origin node,
+ * time the oldest invalidation was queued, count) followed by 17 bytes per
+ * invalidation (type, id, version).
+ */
+final class InvalidationCodec {
+
+    static final int HEADER_BYTES = 1 + 8 + 8 + 8 + 4;
+    static final int ENTRY_BYTES = 1 + 8 + 8;
+
+    private static final byte FORMAT = 1;
+
+    record Batch(UUID origin, long queuedAtMillis, List<Invalidation> invalidations) {}
+
+    private InvalidationCodec() {
+    }
+
+    static byte[] encode(Batch batch) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(
+                HEADER_BYTES + ENTRY_BYTES * batch.invalidations().size());
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(FORMAT);
+            out.writeLong(batch.origin().getMostSignificantBits());
+            out.writeLong(batch.origin().getLeastSignificantBits());
+            out.writeLong(batch.queuedAtMillis());
+            out.writeInt(batch.invalidations().size());
+            for (Invalidation invalidation : batch.invalidations()) {
+                out.writeByte(invalidation.type().ordinal());
+                out.writeLong(invalidation.id());
+                out.writeLong(invalidation.version());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    static Batch decode(byte[] message) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(message))) {
+            byte format = in.readByte();
+            if (format != FORMAT) {
+                throw new IllegalArgumentException("Unknown invalidation format: " + format);
+            }
+            UUID origin = new UUID(in.readLong(), in.readLong());
+            long queuedAtMillis = in.readLong();
+            int count = in.readInt();
+            List<Invalidation> invalidations = new ArrayList<>(count);
+            EntityType[] types = EntityType.values();
+            for (int i = 0; i < count; i++) {
+                invalidations.add(new Invalidation(types[in.readByte()], in.readLong(), in.readLong()));
+            }
+            return new Batch(origin, queuedAtMillis, invalidations);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Malformed invalidation message", e);
+        }
+    }
+}
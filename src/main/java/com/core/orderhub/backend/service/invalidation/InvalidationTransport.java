@@ -0,0 +1,18 @@
+package com.core.orderhub.backend.service.invalidation;
+
+import java.util.function.Consumer;
+
+/**
+ * Carries encoded invalidation batches between nodes. Delivery is best effort:
+ * a lost message leaves a peer's entry stale until its time to live runs out,
+ * so caches fed by the bus must still expire entries on their own. A transport
+ * may deliver a node's own messages back to it.
+ */
+public interface InvalidationTransport {
+
+    void publish(byte[] message);
+
+    void subscribe(Consumer<byte[]> receiver);
+
+    void unsubscribe(Consumer<byte[]> receiver);
+}
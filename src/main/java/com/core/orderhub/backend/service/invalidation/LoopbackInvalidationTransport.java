@@ -0,0 +1,47 @@
+package com.core.orderhub.backend.service.invalidation;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Delivers messages to every subscriber of the same named channel in this JVM,
+ * including subscribers living in other application contexts. Used for single
+ * node deployments and for tests that run several nodes side by side.
+ */
+@Component
+@ConditionalOnProperty(name = "orderhub.invalidation.transport", havingValue = "loopback", matchIfMissing = true)
+public class LoopbackInvalidationTransport implements InvalidationTransport {
+
+    private static final Map<String, List<Consumer<byte[]>>> CHANNELS = new ConcurrentHashMap<>();
+
+    @Value("${orderhub.invalidation.loopback.channel:orderhub}")
+    private String channel;
+
+    @Override
+    public void publish(byte[] message) {
+        for (Consumer<byte[]> receiver : subscribers()) {
+            receiver.accept(message);
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<byte[]> receiver) {
+        subscribers().add(receiver);
+    }
+
+    @Override
+    public void unsubscribe(Consumer<byte[]> receiver) {
+        subscribers().remove(receiver);
+    }
+
+    private List<Consumer<byte[]>> subscribers() {
+        return CHANNELS.computeIfAbsent(channel, name -> new CopyOnWriteArrayList<>());
+    }
+}
@@ -0,0 +1,209 @@
+package com.core.orderhub.backend.service.inventory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Append-only log of stock deltas that have not been flushed to the products
+ * table yet. Each record is a product id followed by a signed delta; the log is
+ * split into numbered segments so a flushed segment can be dropped as a whole.
+ * With fsync on, an append returns only once its record is forced to disk;
+ * appends that arrive while a force is running share the next one. The
+ * directory is locked for as long as the journal is open, so a second process
+ * pointed at it fails to start instead of mixing its deltas in.
+ */
+public class InventoryJournal implements AutoCloseable {
+
+    private static final int RECORD_SIZE = Long.BYTES + Integer.BYTES;
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".journal";
+    private static final String LOCK_FILE = "journal.lock";
+
+    private final Path directory;
+    private final boolean fsync;
+    private final ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+    private final Object forceLock = new Object();
+    private final AtomicLong durable = new AtomicLong();
+
+    private final FileChannel lockChannel;
+    private FileChannel channel;
+    private long currentSegment;
+    private long appended;
+
+    public InventoryJournal(Path directory, boolean fsync) {
+        this.directory = directory;
+        this.fsync = fsync;
+        try {
+            Files.createDirectories(directory);
+            this.lockChannel = FileChannel.open(directory.resolve(LOCK_FILE),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (!tryLock()) {
+            closeQuietly(lockChannel);
+            throw new IllegalStateException("Inventory journal " + directory + " is in use by another ledger");
+        }
+    }
+
+    public List<Long> segments() {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX))
+                    .map(name -> Long.valueOf(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())))
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public Map<Long, Long> read(long segment) {
+        Map<Long, Long> deltas = new HashMap<>();
+        try {
+            ByteBuffer content = ByteBuffer.wrap(Files.readAllBytes(segmentPath(segment)));
+            // a torn record at the tail was never acknowledged, so it is skipped
+            while (content.remaining() >= RECORD_SIZE) {
+                deltas.merge(content.getLong(), (long) content.getInt(), Long::sum);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return deltas;
+    }
+
+    public synchronized void open(long segment) {
+        try {
+            this.currentSegment = segment;
+            this.channel = FileChannel.open(segmentPath(segment),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void append(long productId, int delta) {
+        long sequence = write(productId, delta);
+        if (fsync) {
+            awaitDurable(sequence);
+        }
+    }
+
+    public synchronized long rotate() {
+        long sealedSegment = currentSegment;
+        closeChannel();
+        open(sealedSegment + 1);
+        return sealedSegment;
+    }
+
+    public synchronized void deleteUpTo(long segment) {
+        for (Long existing : segments()) {
+            if (existing <= segment && existing != currentSegment) {
+                try {
+                    Files.deleteIfExists(segmentPath(existing));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            closeChannel();
+        } finally {
+            closeQuietly(lockChannel);
+        }
+    }
+
+    private boolean tryLock() {
+        try {
+            FileLock lock = lockChannel.tryLock();
+            return lock != null;
+        } catch (OverlappingFileLockException e) {
+            return false;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void closeQuietly(FileChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+            // closing releases the lock either way
+        }
+    }
+
+    // returns the sequence number of the record across all segments
+    private synchronized long write(long productId, int delta) {
+        record.clear();
+        record.putLong(productId).putInt(delta).flip();
+        try {
+            while (record.hasRemaining()) {
+                channel.write(record);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return ++appended;
+    }
+
+    // group commit: whoever gets the lock forces everything written so far
+    private void awaitDurable(long sequence) {
+        synchronized (forceLock) {
+            if (sequence <= durable.get()) {
+                return;
+            }
+            FileChannel target;
+            long written;
+            synchronized (this) {
+                target = channel;
+                written = appended;
+            }
+            try {
+                target.force(false);
+            } catch (ClosedChannelException e) {
+                // rotated or closed meanwhile, which forces the channel before closing it
+                if (sequence > durable.get()) {
+                    throw new UncheckedIOException(e);
+                }
+                return;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            durable.accumulateAndGet(written, Math::max);
+        }
+    }
+
+    private void closeChannel() {
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.force(false);
+            durable.accumulateAndGet(appended, Math::max);
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Path segmentPath(long segment) {
+        return directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, segment, SEGMENT_SUFFIX));
+    }
+}
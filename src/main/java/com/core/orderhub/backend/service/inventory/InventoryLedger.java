@@ -0,0 +1,289 @@
+package com.core.orderhub.backend.service.inventory;
+
+import com.core.orderhub.backend.domain.entity.InventoryCheckpoint;
+import com.core.orderhub.backend.exception.ResourceNotFoundException;
+import com.core.orderhub.backend.repository.InventoryCheckpointRepository;
+import com.core.orderhub.backend.repository.ProductRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Authoritative available-stock counters held in memory. Reservations are a CAS
+ * on a per-product counter; the net delta per product is written back to
+ * {@code products.quantity} in periodic batched UPDATEs, and every delta is
+ * journaled first so unflushed reservations survive a crash. The journal is
+ * forced to disk unless fsync is turned off, and its directory has no default:
+ * it must point at durable storage.
+ * <p>
+ * A reservation made inside a transaction takes the counter right away, so
+ * concurrent buyers cannot oversell, but is journaled only after the
+ * transaction commits; a rollback or a crash before the commit gives the stock
+ * back instead of leaving a phantom reservation in the journal.
+ * <p>
+ * The counters are authoritative only within one process, and the journal
+ * directory is locked while the ledger runs. Enable the ledger on a single
+ * instance; a second one would reserve against its own counters.
+ */
+@Component
+@ConditionalOnProperty(name = "orderhub.inventory.ledger.enabled", havingValue = "true")
+public class InventoryLedger {
+
+    private static final Logger logger = LoggerFactory.getLogger(InventoryLedger.class);
+    private static final String CHECKPOINT_NAME = "inventory-ledger";
+    private static final String FLUSH_SQL = "update products set quantity = quantity + ? where id = ?";
+
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private InventoryCheckpointRepository checkpointRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${orderhub.inventory.ledger.journal-dir}")
+    private String journalDirectory;
+
+    @Value("${orderhub.inventory.ledger.journal-fsync:true}")
+    private boolean journalFsync;
+
+    private final Map<Long, AtomicInteger> available = new ConcurrentHashMap<>();
+    private final Map<Long, AtomicLong> pendingDeltas = new ConcurrentHashMap<>();
+    private final ReentrantReadWriteLock journalLock = new ReentrantReadWriteLock();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private InventoryJournal journal;
+    private TransactionTemplate flushTransaction;
+
+    @PostConstruct
+    public void recover() {
+        journal = new InventoryJournal(Path.of(journalDirectory), journalFsync);
+
+        // flushed deltas are already drained from memory, so they must not ride on a caller's transaction
+        flushTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        flushTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        long checkpoint = checkpointRepository.findById(CHECKPOINT_NAME)
+                .map(InventoryCheckpoint::getLastSegment)
+                .orElse(0L);
+
+        List<Long> segments = journal.segments();
+        Map<Long, Long> unflushed = new HashMap<>();
+        long lastSegment = checkpoint;
+
+        for (Long segment : segments) {
+            lastSegment = Math.max(lastSegment, segment);
+            if (segment > checkpoint) {
+                journal.read(segment).forEach((productId, delta) -> unflushed.merge(productId, delta, Long::sum));
+            }
+        }
+
+        if (lastSegment > checkpoint) {
+            writeDeltas(unflushed, lastSegment);
+            logger.info("Recovered {} unflushed stock deltas from inventory journal up to segment {}",
+                    unflushed.size(), lastSegment);
+        }
+
+        journal.deleteUpTo(lastSegment);
+        journal.open(lastSegment + 1);
+    }
+
+    /**
+     * Takes the quantity from the counter. Returns {@code false}, with neither
+     * the counter nor the journal touched, when there is not enough stock.
+     */
+    public boolean reserve(Long productId, int quantity) {
+        AtomicInteger counter = counter(productId);
+
+        int current;
+        do {
+            current = counter.get();
+            if (current < quantity) {
+                return false;
+            }
+        } while (!counter.compareAndSet(current, current - quantity));
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    record(productId, -quantity, counter);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        counter.addAndGet(quantity);
+                    }
+                }
+            });
+            return true;
+        }
+        record(productId, -quantity, counter);
+        return true;
+    }
+
+    public void release(Long productId, int quantity) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    record(productId, quantity, null);
+                }
+            });
+            return;
+        }
+        record(productId, quantity, null);
+    }
+
+    public int available(Long productId) {
+        return counter(productId).get();
+    }
+
+    public void evict(Long productId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    discard(productId);
+                }
+            });
+        }
+        discard(productId);
+    }
+
+    private void discard(Long productId) {
+        flushLock.lock();
+        try {
+            available.remove(productId);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${orderhub.inventory.ledger.flush-interval-ms:500}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            long sealedSegment;
+            Map<Long, Long> snapshot = new HashMap<>();
+
+            journalLock.writeLock().lock();
+            try {
+                sealedSegment = journal.rotate();
+                pendingDeltas.forEach((productId, delta) -> {
+                    long value = delta.getAndSet(0L);
+                    if (value != 0L) {
+                        snapshot.put(productId, value);
+                    }
+                });
+            } finally {
+                journalLock.writeLock().unlock();
+            }
+
+            try {
+                if (!snapshot.isEmpty()) {
+                    writeDeltas(snapshot, sealedSegment);
+                }
+                journal.deleteUpTo(sealedSegment);
+            } catch (RuntimeException e) {
+                snapshot.forEach((productId, delta) ->
+                        pendingDeltas.computeIfAbsent(productId, id -> new AtomicLong()).addAndGet(delta));
+                logger.error("Inventory ledger flush failed, {} deltas will be retried", snapshot.size(), e);
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+        journal.close();
+    }
+
+    /**
+     * Adds a committed delta to the pending deltas and to the loaded counter,
+     * unless it was already taken from that counter, then journals it. Counters
+     * are loaded under the write lock, so a counter loaded meanwhile counts the
+     * delta exactly once.
+     */
+    private void record(Long productId, int delta, AtomicInteger alreadyApplied) {
+        journalLock.readLock().lock();
+        try {
+            pendingDeltas.computeIfAbsent(productId, id -> new AtomicLong()).addAndGet(delta);
+            AtomicInteger counter = available.get(productId);
+            if (counter != null && counter != alreadyApplied) {
+                counter.addAndGet(delta);
+            }
+            try {
+                journal.append(productId, delta);
+            } catch (RuntimeException e) {
+                // the transaction has committed; the delta is still flushed from memory
+                logger.error("Could not journal stock delta {} of product {}", delta, productId, e);
+            }
+        } finally {
+            journalLock.readLock().unlock();
+        }
+    }
+
+    private AtomicInteger counter(Long productId) {
+        AtomicInteger counter = available.get(productId);
+        if (counter != null) {
+            return counter;
+        }
+
+        flushLock.lock();
+        try {
+            int persisted = productRepository.findQuantityById(productId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Product not found: " + productId));
+            journalLock.writeLock().lock();
+            try {
+                AtomicLong pending = pendingDeltas.get(productId);
+                int unflushed = pending == null ? 0 : Math.toIntExact(pending.get());
+                return available.computeIfAbsent(productId, id -> new AtomicInteger(persisted + unflushed));
+            } finally {
+                journalLock.writeLock().unlock();
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void writeDeltas(Map<Long, Long> deltas, long segment) {
+        List<Object[]> rows = new ArrayList<>(deltas.size());
+        deltas.forEach((productId, delta) -> rows.add(new Object[]{delta, productId}));
+
+        flushTransaction.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(FLUSH_SQL, rows);
+
+            InventoryCheckpoint checkpoint = checkpointRepository.findById(CHECKPOINT_NAME)
+                    .orElseGet(() -> new InventoryCheckpoint(CHECKPOINT_NAME));
+            checkpoint.advanceTo(segment);
+            checkpointRepository.save(checkpoint);
+        });
+    }
+}
@@ -0,0 +1,191 @@
+package com.core.orderhub.backend.service.journal;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only order event log on fixed-size memory-mapped segment files. Each
+ * frame is a length, a CRC32C of the body and the encoded event. The length is
+ * written last, and a zero length marks the end of a segment, so a frame torn
+ * by a crash is either invisible or fails its checksum.
+ */
+public class MappedJournal implements AutoCloseable {
+
+    private static final int FRAME_HEADER = Integer.BYTES + Integer.BYTES;
+    private static final String SEGMENT_PREFIX = "orders-";
+    private static final String SEGMENT_SUFFIX = ".journal";
+
+    private final Path directory;
+    private final int segmentSize;
+    private final CRC32C checksum = new CRC32C();
+
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private long currentSegment;
+
+    public MappedJournal(Path directory, int segmentSize) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public List<Long> segments() {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX))
+                    .map(name -> Long.valueOf(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())))
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Calls the consumer for every valid event at or after the given position,
+     * together with the position right after that event.
+     */
+    public long replay(JournalPosition from, BiConsumer<OrderJournalEvent, JournalPosition> consumer) {
+        long replayed = 0;
+        for (Long segment : segments()) {
+            if (segment < from.segment()) {
+                continue;
+            }
+            try (FileChannel readChannel = FileChannel.open(segmentPath(segment), StandardOpenOption.READ)) {
+                ByteBuffer content = readChannel.map(FileChannel.MapMode.READ_ONLY, 0, readChannel.size());
+                int start = segment == from.segment() ? from.offset() : 0;
+                CRC32C readChecksum = new CRC32C();
+                int offset = start;
+                int next;
+                while ((next = nextFrame(content, offset, readChecksum)) > 0) {
+                    content.position(offset + FRAME_HEADER);
+                    consumer.accept(OrderEventCodec.decode(content), new JournalPosition(segment, next));
+                    offset = next;
+                    replayed++;
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return replayed;
+    }
+
+    /**
+     * Maps the newest segment for writing, positioned after its last valid
+     * frame. Anything behind that frame is a torn write and is zeroed.
+     */
+    public synchronized JournalPosition open() {
+        List<Long> segments = segments();
+        map(segments.isEmpty() ? 1L : segments.get(segments.size() - 1));
+
+        int end = 0;
+        int next;
+        while ((next = nextFrame(buffer, end, checksum)) > 0) {
+            end = next;
+        }
+        for (int i = end; i < buffer.limit(); i++) {
+            buffer.put(i, (byte) 0);
+        }
+        buffer.position(end);
+        return position();
+    }
+
+    public synchronized JournalPosition append(OrderJournalEvent event) {
+        int size = OrderEventCodec.sizeOf(event);
+        if (buffer.remaining() < FRAME_HEADER + size) {
+            roll();
+        }
+
+        int start = buffer.position();
+        ByteBuffer body = buffer.slice(start + FRAME_HEADER, size);
+        OrderEventCodec.encode(event, body);
+
+        checksum.reset();
+        checksum.update(buffer.slice(start + FRAME_HEADER, size));
+        buffer.putInt(start + Integer.BYTES, (int) checksum.getValue());
+        buffer.putInt(start, size);
+        buffer.position(start + FRAME_HEADER + size);
+        return position();
+    }
+
+    public synchronized JournalPosition position() {
+        return new JournalPosition(currentSegment, buffer.position());
+    }
+
+    /**
+     * Flushes the current segment to disk. Appends are not held up while the
+     * flush runs; segments rolled over earlier were flushed when they closed.
+     */
+    public void force() {
+        MappedByteBuffer current;
+        synchronized (this) {
+            current = buffer;
+        }
+        current.force();
+    }
+
+    @Override
+    public synchronized void close() {
+        if (channel == null) {
+            return;
+        }
+        try {
+            buffer.force();
+            channel.close();
+            channel = null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // returns the offset after the frame at offset, or -1 when there is no valid frame there
+    private static int nextFrame(ByteBuffer content, int offset, CRC32C crc) {
+        if (offset + FRAME_HEADER > content.limit()) {
+            return -1;
+        }
+        int length = content.getInt(offset);
+        if (length <= 0 || offset + FRAME_HEADER + length > content.limit()) {
+            return -1;
+        }
+        crc.reset();
+        crc.update(content.slice(offset + FRAME_HEADER, length));
+        if ((int) crc.getValue() != content.getInt(offset + Integer.BYTES)) {
+            return -1;
+        }
+        return offset + FRAME_HEADER + length;
+    }
+
+    private void roll() {
+        close();
+        map(currentSegment + 1);
+    }
+
+    private void map(long segment) {
+        try {
+            channel = FileChannel.open(segmentPath(segment),
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+            currentSegment = segment;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Path segmentPath(long segment) {
+        return directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, segment, SEGMENT_SUFFIX));
+    }
+}
@@ -0,0 +1,75 @@
+package com.core.orderhub.backend.service.journal;
+
+import com.core.orderhub.backend.domain.enums.OrderStatus;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Binary layout of journal events: a type byte, the order id and timestamp,
+ * then the fields of that type.
+ */
+final class OrderEventCodec {
+
+    private static final byte CREATED = 1;
+    private static final byte ITEM_ADDED = 2;
+    private static final byte ITEM_REMOVED = 3;
+    private static final byte STATUS_CHANGED = 4;
+    private static final byte DELETED = 5;
+
+    private static final int HEADER_SIZE = Byte.BYTES + Long.BYTES + Long.BYTES;
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+
+    private OrderEventCodec() {
+    }
+
+    static int sizeOf(OrderJournalEvent event) {
+        return HEADER_SIZE + switch (event) {
+            case OrderJournalEvent.Created created -> Long.BYTES;
+            case OrderJournalEvent.ItemAdded added -> Long.BYTES + Integer.BYTES + Long.BYTES;
+            case OrderJournalEvent.ItemRemoved removed -> Long.BYTES;
+            case OrderJournalEvent.StatusChanged changed -> Byte.BYTES;
+            case OrderJournalEvent.Deleted deleted -> 0;
+        };
+    }
+
+    static void encode(OrderJournalEvent event, ByteBuffer target) {
+        switch (event) {
+            case OrderJournalEvent.Created created -> {
+                header(target, CREATED, event);
+                target.putLong(created.clientId());
+            }
+            case OrderJournalEvent.ItemAdded added -> {
+                header(target, ITEM_ADDED, event);
+                target.putLong(added.productId()).putInt(added.quantity()).putLong(added.unitPriceCents());
+            }
+            case OrderJournalEvent.ItemRemoved removed -> {
+                header(target, ITEM_REMOVED, event);
+                target.putLong(removed.productId());
+            }
+            case OrderJournalEvent.StatusChanged changed -> {
+                header(target, STATUS_CHANGED, event);
+                target.put((byte) changed.status().ordinal());
+            }
+            case OrderJournalEvent.Deleted deleted -> header(target, DELETED, event);
+        }
+    }
+
+    static OrderJournalEvent decode(ByteBuffer source) {
+        byte type = source.get();
+        long orderId = source.getLong();
+        long occurredAt = source.getLong();
+        return switch (type) {
+            case CREATED -> new OrderJournalEvent.Created(orderId, occurredAt, source.getLong());
+            case ITEM_ADDED -> new OrderJournalEvent.ItemAdded(orderId, occurredAt,
+                    source.getLong(), source.getInt(), source.getLong());
+            case ITEM_REMOVED -> new OrderJournalEvent.ItemRemoved(orderId, occurredAt, source.getLong());
+            case STATUS_CHANGED -> new OrderJournalEvent.StatusChanged(orderId, occurredAt, STATUSES[source.get()]);
+            case DELETED -> new OrderJournalEvent.Deleted(orderId, occurredAt);
+            default -> throw new IllegalStateException("Unknown order journal event type " + type);
+        };
+    }
+
+    private static void header(ByteBuffer target, byte type, OrderJournalEvent event) {
+        target.put(type).putLong(event.orderId()).putLong(event.occurredAt());
+    }
+}
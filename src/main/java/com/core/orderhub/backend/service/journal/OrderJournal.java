@@ -0,0 +1,229 @@
+package com.core.orderhub.backend.service.journal;
+
+import com.core.orderhub.backend.domain.enums.OrderStatus;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Event-sourced record of every order state change. Events are appended to a
+ * memory-mapped journal once the surrounding transaction commits, and the
+ * caller returns only after they are forced to disk; concurrent committers
+ * share one force. The aggregates of orders that can still change are kept
+ * rebuilt in memory, while finished, canceled and deleted orders are moved to
+ * a {@link RetiredOrderStore}. On startup the aggregates are restored from the
+ * newest snapshot plus the journal tail behind it.
+ * <p>
+ * The journal is lossy: a crash after the database commit but before the
+ * append, or with events still queued for retry, loses those events while the
+ * orders they describe stay committed. It is an audit trail next to the
+ * orders table, not its source of truth.
+ * <p>
+ * The journal directory has no default: it must point at durable storage.
+ */
+@Component
+@ConditionalOnProperty(name = "orderhub.orders.journal.enabled", havingValue = "true")
+public class OrderJournal {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderJournal.class);
+    private static final Set<OrderStatus> TERMINAL = Set.of(OrderStatus.FINISHED, OrderStatus.CANCELED);
+
+    @Value("${orderhub.orders.journal.dir}")
+    private String journalDirectory;
+
+    @Value("${orderhub.orders.journal.segment-size-bytes:67108864}")
+    private int segmentSize;
+
+    @Value("${orderhub.orders.journal.snapshot-every:100000}")
+    private int snapshotEvery;
+
+    // states are replaced on every change and never mutated, so a snapshot can share them
+    private final Map<Long, OrderState> orders = new HashMap<>();
+    // committed events that could not be appended yet, retried in order
+    private final Deque<OrderJournalEvent> pending = new ArrayDeque<>();
+    private final Object forceLock = new Object();
+
+    private MappedJournal journal;
+    private OrderSnapshotStore snapshotStore;
+    private RetiredOrderStore retiredOrders;
+    private long eventsSinceSnapshot;
+    private JournalPosition durable = JournalPosition.START;
+
+    @PostConstruct
+    public synchronized void recover() {
+        Path directory = Path.of(journalDirectory);
+        journal = new MappedJournal(directory, segmentSize);
+        snapshotStore = new OrderSnapshotStore(directory);
+        retiredOrders = new RetiredOrderStore(directory);
+
+        JournalPosition from = JournalPosition.START;
+        Optional<OrderSnapshotStore.Snapshot> snapshot = snapshotStore.latest();
+        if (snapshot.isPresent()) {
+            orders.putAll(snapshot.get().orders());
+            from = snapshot.get().position();
+        }
+
+        long replayed = journal.replay(from, (event, position) -> apply(event));
+        eventsSinceSnapshot = replayed;
+        JournalPosition end = journal.open();
+        durable = end;
+
+        logger.info("Order journal recovered {} orders from snapshot at {} and {} journal events, writing at {}",
+                snapshot.map(s -> s.orders().size()).orElse(0), from, replayed, end);
+    }
+
+    /**
+     * Appends the events once the current transaction commits, or right away
+     * when there is none. The data they describe is already committed by then,
+     * so a failed append is logged and retried rather than thrown.
+     */
+    public void record(List<? extends OrderJournalEvent> events) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    append(events);
+                }
+            });
+            return;
+        }
+        append(events);
+    }
+
+    public Optional<OrderState> load(long orderId) {
+        OrderState order;
+        synchronized (this) {
+            order = orders.get(orderId);
+        }
+        if (order != null) {
+            return Optional.of(order.copy());
+        }
+        return retiredOrders.find(orderId).filter(retired -> !retired.isDeleted());
+    }
+
+    public void snapshot() {
+        JournalPosition position;
+        List<OrderState> states;
+        synchronized (this) {
+            position = journal.position();
+            states = new ArrayList<>(orders.values());
+            eventsSinceSnapshot = 0;
+        }
+        // orders left out of the snapshot because they retired must be on disk first
+        journal.force();
+        retiredOrders.force();
+        snapshotStore.write(position, states);
+        logger.info("Order journal snapshot of {} orders at {}", states.size(), position);
+    }
+
+    @Scheduled(fixedDelayString = "${orderhub.orders.journal.retry-interval-ms:1000}")
+    public void retryPending() {
+        synchronized (this) {
+            if (pending.isEmpty()) {
+                return;
+            }
+        }
+        append(List.of());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        synchronized (this) {
+            if (!pending.isEmpty() && appendPending() == null) {
+                logger.error("Order journal closed with {} committed events not written", pending.size());
+            }
+        }
+        journal.close();
+        retiredOrders.close();
+    }
+
+    private void append(List<? extends OrderJournalEvent> events) {
+        JournalPosition written;
+        boolean snapshotDue;
+        synchronized (this) {
+            pending.addAll(events);
+            written = appendPending();
+            if (written == null) {
+                return;
+            }
+            snapshotDue = eventsSinceSnapshot >= snapshotEvery;
+        }
+
+        try {
+            awaitDurable(written);
+            if (snapshotDue) {
+                snapshot();
+            }
+        } catch (RuntimeException e) {
+            logger.error("Order journal could not be forced to disk or snapshotted", e);
+        }
+    }
+
+    // returns the position after the last appended event, or null when the journal could not be written
+    private JournalPosition appendPending() {
+        try {
+            while (!pending.isEmpty()) {
+                OrderJournalEvent event = pending.peek();
+                journal.append(event);
+                pending.poll();
+                apply(event);
+                eventsSinceSnapshot++;
+            }
+            return journal.position();
+        } catch (RuntimeException e) {
+            logger.error("Order journal append failed, {} committed events queued for retry", pending.size(), e);
+            return null;
+        }
+    }
+
+    // group commit: whoever gets the lock forces everything written so far
+    private void awaitDurable(JournalPosition written) {
+        synchronized (forceLock) {
+            if (written.compareTo(durable) <= 0) {
+                return;
+            }
+            JournalPosition target = journal.position();
+            journal.force();
+            durable = target;
+        }
+    }
+
+    private void apply(OrderJournalEvent event) {
+        OrderState current = orders.get(event.orderId());
+        OrderState next = current == null ? new OrderState(event.orderId()) : current.copy();
+        next.apply(event);
+        // a deleted order may have retired already, so its tombstone shadows that copy
+        if ((next.isDeleted() || TERMINAL.contains(next.getStatus())) && retire(next)) {
+            orders.remove(event.orderId());
+            return;
+        }
+        orders.put(event.orderId(), next);
+    }
+
+    private boolean retire(OrderState order) {
+        try {
+            retiredOrders.write(order);
+            return true;
+        } catch (RuntimeException e) {
+            logger.warn("Could not move order {} out of the journal's memory", order.getOrderId(), e);
+            return false;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.core.orderhub.backend.service.journal;
+
+import com.core.orderhub.backend.domain.enums.OrderStatus;
+
+/**
+ * State changes of the order aggregate as they are written to the journal.
+ * Timestamps are epoch millis and prices are cents, so every event has a
+ * fixed binary size.
+ */
+public sealed interface OrderJournalEvent {
+
+    long orderId();
+
+    long occurredAt();
+
+    record Created(long orderId, long occurredAt, long clientId) implements OrderJournalEvent {}
+
+    record ItemAdded(long orderId, long occurredAt, long productId, int quantity, long unitPriceCents)
+            implements OrderJournalEvent {}
+
+    record ItemRemoved(long orderId, long occurredAt, long productId) implements OrderJournalEvent {}
+
+    record StatusChanged(long orderId, long occurredAt, OrderStatus status) implements OrderJournalEvent {}
+
+    record Deleted(long orderId, long occurredAt) implements OrderJournalEvent {}
+}
@@ -0,0 +1,158 @@
+package com.core.orderhub.backend.service.journal;
+
+import com.core.orderhub.backend.domain.enums.OrderStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Full copies of the rebuilt order state together with the journal position
+ * they cover. A snapshot is written to a temporary file and moved into place,
+ * and carries a trailing checksum so a damaged one is skipped on load.
+ */
+public class OrderSnapshotStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderSnapshotStore.class);
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String SNAPSHOT_SUFFIX = ".bin";
+    private static final int RETAINED_SNAPSHOTS = 2;
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+
+    private final Path directory;
+
+    public record Snapshot(JournalPosition position, Map<Long, OrderState> orders) {}
+
+    public OrderSnapshotStore(Path directory) {
+        this.directory = directory;
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void write(JournalPosition position, Collection<OrderState> orders) {
+        Path target = directory.resolve(String.format("%s%020d-%010d%s",
+                SNAPSHOT_PREFIX, position.segment(), position.offset(), SNAPSHOT_SUFFIX));
+        Path temporary = directory.resolve(target.getFileName() + ".tmp");
+
+        try {
+            CRC32C checksum = new CRC32C();
+            try (CheckedOutputStream checked = new CheckedOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temporary)), checksum);
+                 DataOutputStream output = new DataOutputStream(checked)) {
+                output.writeLong(position.segment());
+                output.writeInt(position.offset());
+                output.writeInt(orders.size());
+                for (OrderState order : orders) {
+                    writeOrder(output, order);
+                }
+                output.flush();
+                output.writeLong(checksum.getValue());
+            }
+            Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        List<Path> snapshots = snapshots();
+        for (int i = 0; i < snapshots.size() - RETAINED_SNAPSHOTS; i++) {
+            try {
+                Files.deleteIfExists(snapshots.get(i));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    public Optional<Snapshot> latest() {
+        List<Path> snapshots = snapshots();
+        for (int i = snapshots.size() - 1; i >= 0; i--) {
+            Optional<Snapshot> snapshot = read(snapshots.get(i));
+            if (snapshot.isPresent()) {
+                return snapshot;
+            }
+        }
+        return Optional.empty();
+    }
+
+    private Optional<Snapshot> read(Path path) {
+        CRC32C checksum = new CRC32C();
+        try (DataInputStream input = new DataInputStream(new CheckedInputStream(
+                new BufferedInputStream(Files.newInputStream(path)), checksum))) {
+            JournalPosition position = new JournalPosition(input.readLong(), input.readInt());
+            int count = input.readInt();
+            Map<Long, OrderState> orders = new HashMap<>();
+            for (int i = 0; i < count; i++) {
+                OrderState order = readOrder(input);
+                orders.put(order.getOrderId(), order);
+            }
+            long expected = checksum.getValue();
+            if (input.readLong() != expected) {
+                logger.warn("Ignoring order snapshot {} with a bad checksum", path.getFileName());
+                return Optional.empty();
+            }
+            return Optional.of(new Snapshot(position, orders));
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Ignoring unreadable order snapshot {}", path.getFileName(), e);
+            return Optional.empty();
+        }
+    }
+
+    private List<Path> snapshots() {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(SNAPSHOT_PREFIX) && name.endsWith(SNAPSHOT_SUFFIX);
+                    })
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static void writeOrder(DataOutputStream output, OrderState order) throws IOException {
+        output.writeLong(order.getOrderId());
+        output.writeLong(order.getClientId());
+        output.writeLong(order.getCreatedAt());
+        output.writeByte(order.getStatus() == null ? -1 : order.getStatus().ordinal());
+        output.writeInt(order.getLines().size());
+        for (Map.Entry<Long, OrderState.Line> line : order.getLines().entrySet()) {
+            output.writeLong(line.getKey());
+            output.writeInt(line.getValue().quantity());
+            output.writeLong(line.getValue().unitPriceCents());
+        }
+    }
+
+    static OrderState readOrder(DataInputStream input) throws IOException {
+        long orderId = input.readLong();
+        long clientId = input.readLong();
+        long createdAt = input.readLong();
+        byte status = input.readByte();
+        OrderState order = new OrderState(orderId, clientId, createdAt, status < 0 ? null : STATUSES[status]);
+        int lines = input.readInt();
+        for (int i = 0; i < lines; i++) {
+            order.getLines().put(input.readLong(), new OrderState.Line(input.readInt(), input.readLong()));
+        }
+        return order;
+    }
+}
@@ -0,0 +1,70 @@
+package com.core.orderhub.backend.service.journal;
+
+import com.core.orderhub.backend.domain.enums.OrderStatus;
+import lombok.Getter;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Order aggregate as rebuilt from the journal. A deleted order has no status.
+ */
+@Getter
+public class OrderState {
+
+    private final long orderId;
+    private long clientId;
+    private long createdAt;
+    private OrderStatus status;
+    private final Map<Long, Line> lines = new LinkedHashMap<>();
+
+    public record Line(int quantity, long unitPriceCents) {}
+
+    public OrderState(long orderId) {
+        this.orderId = orderId;
+    }
+
+    OrderState(long orderId, long clientId, long createdAt, OrderStatus status) {
+        this.orderId = orderId;
+        this.clientId = clientId;
+        this.createdAt = createdAt;
+        this.status = status;
+    }
+
+    public void apply(OrderJournalEvent event) {
+        switch (event) {
+            case OrderJournalEvent.Created created -> {
+                this.clientId = created.clientId();
+                this.createdAt = created.occurredAt();
+                this.status = OrderStatus.CREATED;
+            }
+            case OrderJournalEvent.ItemAdded added -> lines.merge(added.productId(),
+                    new Line(added.quantity(), added.unitPriceCents()),
+                    (existing, line) -> new Line(existing.quantity() + line.quantity(), existing.unitPriceCents()));
+            case OrderJournalEvent.ItemRemoved removed -> lines.remove(removed.productId());
+            case OrderJournalEvent.StatusChanged changed -> this.status = changed.status();
+            case OrderJournalEvent.Deleted deleted -> {
+                lines.clear();
+                this.status = null;
+            }
+        }
+    }
+
+    public boolean isDeleted() {
+        return status == null;
+    }
+
+    public long totalCents() {
+        long total = 0L;
+        for (Line line : lines.values()) {
+            total = Math.addExact(total, Math.multiplyExact(line.unitPriceCents(), (long) line.quantity()));
+        }
+        return total;
+    }
+
+    public OrderState copy() {
+        OrderState copy = new OrderState(orderId, clientId, createdAt, status);
+        copy.lines.putAll(lines);
+        return copy;
+    }
+}
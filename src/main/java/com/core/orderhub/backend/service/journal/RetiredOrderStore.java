@@ -0,0 +1,128 @@
+package com.core.orderhub.backend.service.journal;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+/**
+ * Final state of orders that reached FINISHED or CANCELED, moved out of the
+ * journal's memory. Records are appended with a length and a CRC32C, like
+ * journal frames, and a torn record at the end is cut off on open. A lookup
+ * scans the file and keeps the last record of the order, so an order retired
+ * again while the journal tail is replayed simply shadows its older copy.
+ */
+public class RetiredOrderStore implements AutoCloseable {
+
+    private static final String FILE_NAME = "retired-orders.bin";
+    private static final int FRAME_HEADER = Integer.BYTES + Integer.BYTES;
+
+    private final Path path;
+    private final FileChannel channel;
+
+    public RetiredOrderStore(Path directory) {
+        this.path = directory.resolve(FILE_NAME);
+        try {
+            Files.createDirectories(directory);
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            long end = scan(channel, order -> {
+            });
+            channel.truncate(end);
+            channel.position(end);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public synchronized void write(OrderState order) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (DataOutputStream output = new DataOutputStream(bytes)) {
+                OrderSnapshotStore.writeOrder(output, order);
+            }
+            byte[] body = bytes.toByteArray();
+            CRC32C checksum = new CRC32C();
+            checksum.update(body);
+
+            ByteBuffer frame = ByteBuffer.allocate(FRAME_HEADER + body.length);
+            frame.putInt(body.length).putInt((int) checksum.getValue()).put(body).flip();
+            while (frame.hasRemaining()) {
+                channel.write(frame);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void force() {
+        try {
+            channel.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public Optional<OrderState> find(long orderId) {
+        OrderState[] found = new OrderState[1];
+        try (FileChannel readChannel = FileChannel.open(path, StandardOpenOption.READ)) {
+            scan(readChannel, order -> {
+                if (order.getOrderId() == orderId) {
+                    found[0] = order;
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return Optional.ofNullable(found[0]);
+    }
+
+    @Override
+    public void close() {
+        try {
+            channel.force(false);
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // returns the offset after the last valid record
+    private static long scan(FileChannel file, Consumer<OrderState> consumer) throws IOException {
+        long size = file.size();
+        file.position(0);
+        // not closed: closing the stream would close the channel
+        DataInputStream input = new DataInputStream(new BufferedInputStream(Channels.newInputStream(file)));
+        CRC32C checksum = new CRC32C();
+        long offset = 0;
+        while (offset + FRAME_HEADER <= size) {
+            int length = input.readInt();
+            int expected = input.readInt();
+            if (length <= 0 || offset + FRAME_HEADER + length > size) {
+                break;
+            }
+            byte[] body = new byte[length];
+            input.readFully(body);
+            checksum.reset();
+            checksum.update(body);
+            if ((int) checksum.getValue() != expected) {
+                break;
+            }
+            consumer.accept(OrderSnapshotStore.readOrder(new DataInputStream(new ByteArrayInputStream(body))));
+            offset += FRAME_HEADER + length;
+        }
+        return offset;
+    }
+}
@@ -0,0 +1,115 @@
+package com.core.orderhub.backend.service.outbox;
+
+import com.core.orderhub.backend.domain.entity.OutboxEvent;
+import com.core.orderhub.backend.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Polls undelivered outbox rows in id order, hands each batch to the sink and
+ * marks it delivered in the same transaction. Rows are claimed with skip locked,
+ * so several instances can relay at once.
+ */
+@Component
+@ConditionalOnProperty(name = "orderhub.outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+    @Autowired
+    private OutboxSink outboxSink;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${orderhub.outbox.relay.batch-size:100}")
+    private int batchSize;
+
+    @Value("${orderhub.outbox.relay.max-batches-per-run:10}")
+    private int maxBatchesPerRun;
+
+    @Value("${orderhub.outbox.retention:PT72H}")
+    private Duration retention;
+
+    private final AtomicLong lagMillis = new AtomicLong();
+    private Counter relayedEvents;
+    private Timer batchTimer;
+
+    @PostConstruct
+    public void registerMetrics() {
+        relayedEvents = Counter.builder("orderhub.outbox.relayed")
+                .description("Outbox events handed to the sink")
+                .register(meterRegistry);
+        batchTimer = Timer.builder("orderhub.outbox.relay.batch")
+                .description("Time to claim, publish and mark one outbox batch")
+                .register(meterRegistry);
+        Gauge.builder("orderhub.outbox.lag", lagMillis, lag -> lag.get() / 1000.0)
+                .description("Age of the oldest undelivered outbox event")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("orderhub.outbox.relay.batch.size", this, relay -> relay.batchSize)
+                .description("Configured outbox relay batch size")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${orderhub.outbox.relay.interval-ms:200}")
+    public void relay() {
+        try {
+            for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+                if (relayBatch() < batchSize) {
+                    break;
+                }
+            }
+        } catch (RuntimeException e) {
+            logger.error("Outbox relay failed, the batch will be retried on the next run", e);
+        }
+        lagMillis.set(outboxEventRepository.findOldestUndeliveredCreatedAt()
+                .map(oldest -> Math.max(0L, Duration.between(oldest, Instant.now()).toMillis()))
+                .orElse(0L));
+    }
+
+    public int relayBatch() {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Integer relayed = transactionTemplate.execute(status -> {
+            List<OutboxEvent> events = outboxEventRepository.findUndelivered(PageRequest.of(0, batchSize));
+            if (events.isEmpty()) {
+                return 0;
+            }
+            outboxSink.publish(events);
+            outboxEventRepository.markDelivered(events.stream().map(OutboxEvent::getId).toList(), Instant.now());
+            return events.size();
+        });
+        sample.stop(batchTimer);
+        relayedEvents.increment(relayed);
+        return relayed;
+    }
+
+    @Scheduled(fixedDelayString = "${orderhub.outbox.purge-interval-ms:3600000}")
+    public void purgeDelivered() {
+        Integer purged = transactionTemplate.execute(status ->
+                outboxEventRepository.deleteDeliveredBefore(Instant.now().minus(retention)));
+        if (purged > 0) {
+            logger.info("Purged {} delivered outbox events", purged);
+        }
+    }
+}
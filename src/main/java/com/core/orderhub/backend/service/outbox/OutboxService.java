@@ -0,0 +1,59 @@
+package com.core.orderhub.backend.service.outbox;
+
+import com.core.orderhub.backend.domain.entity.OutboxEvent;
+import com.core.orderhub.backend.domain.event.DomainEvent;
+import com.core.orderhub.backend.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Appends domain events to the outbox table. Callers must already be inside the
+ * transaction that changes the entity, so the event is committed or rolled back
+ * together with it. Each event is also published in-process, so local read
+ * models can follow it with a {@code @TransactionalEventListener}.
+ */
+@Service
+public class OutboxService {
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(DomainEvent event) {
+        outboxEventRepository.save(toOutboxEvent(event));
+        eventPublisher.publishEvent(event);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void appendAll(Collection<? extends DomainEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        List<OutboxEvent> outboxEvents = events.stream()
+                .map(this::toOutboxEvent)
+                .toList();
+        outboxEventRepository.saveAll(outboxEvents);
+        events.forEach(eventPublisher::publishEvent);
+    }
+
+    private OutboxEvent toOutboxEvent(DomainEvent event) {
+        try {
+            return new OutboxEvent(event.aggregateType(), event.aggregateId(), event.eventType(),
+                    objectMapper.writeValueAsString(event), event.occurredAt());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize " + event.eventType(), e);
+        }
+    }
+}
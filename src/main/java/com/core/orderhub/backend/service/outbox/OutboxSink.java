@@ -0,0 +1,14 @@
+package com.core.orderhub.backend.service.outbox;
+
+import com.core.orderhub.backend.domain.entity.OutboxEvent;
+
+import java.util.List;
+
+/**
+ * Destination of relayed outbox events. A batch is marked delivered only if
+ * publish returns normally, so implementations must tolerate redelivery.
+ */
+public interface OutboxSink {
+
+    void publish(List<OutboxEvent> events);
+}
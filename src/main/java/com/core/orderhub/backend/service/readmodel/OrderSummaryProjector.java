@@ -0,0 +1,310 @@
+package com.core.orderhub.backend.service.readmodel;
+
+import com.core.orderhub.backend.domain.entity.Order;
+import com.core.orderhub.backend.domain.entity.OrderSummary;
+import com.core.orderhub.backend.domain.event.DomainEvent;
+import com.core.orderhub.backend.mapper.OrderMapper;
+import com.core.orderhub.backend.repository.OrderRepository;
+import com.core.orderhub.backend.repository.OrderSummaryRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongFunction;
+import java.util.stream.Stream;
+
+/**
+ * Keeps {@code order_summaries} in step with the order tables. Committed order
+ * events only mark the order as dirty; a single background worker re-renders
+ * dirty orders in batches, so a burst of changes to one order costs one refresh
+ * and the write path never waits on the read model. When a batch fails, its
+ * orders are refreshed one by one, and each order that still fails is marked
+ * dirty again after an exponential backoff.
+ * <p>
+ * Dirty orders are only held in memory, so on startup every order whose summary
+ * is missing or was rendered from an older version is refreshed, and orphaned
+ * summaries are removed. Until that catch-up has finished the read model is not
+ * complete and {@link #isCaughtUp()} is false.
+ */
+@Component
+public class OrderSummaryProjector {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderSummaryProjector.class);
+    private static final String ORDER_AGGREGATE = "Order";
+
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private OrderSummaryRepository orderSummaryRepository;
+    @Autowired
+    private OrderMapper orderMapper;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${orderhub.orders.read-model.batch-size:200}")
+    private int batchSize;
+
+    @Value("${orderhub.orders.read-model.retry-backoff:PT1S}")
+    private Duration retryBackoff;
+
+    @Value("${orderhub.orders.read-model.max-retry-backoff:PT5M}")
+    private Duration maxRetryBackoff;
+
+    private final Map<Long, Instant> pending = new ConcurrentHashMap<>();
+    // failed orders waiting for their retry, with the time of their oldest unapplied change
+    private final Map<Long, Instant> retrying = new ConcurrentHashMap<>();
+    // only touched on the worker thread
+    private final Map<Long, Integer> failedAttempts = new HashMap<>();
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
+    private ScheduledThreadPoolExecutor worker;
+    private Timer staleness;
+    private volatile boolean caughtUp;
+
+    @PostConstruct
+    public void start() {
+        worker = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "order-summary-projector");
+            thread.setDaemon(true);
+            return thread;
+        });
+        worker.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        staleness = Timer.builder("orderhub.orders.read-model.staleness")
+                .description("Time from an order change being committed to its summary being refreshed")
+                .register(meterRegistry);
+        Gauge.builder("orderhub.orders.read-model.pending", this, OrderSummaryProjector::pendingCount)
+                .description("Orders waiting for their summary to be refreshed")
+                .register(meterRegistry);
+        Gauge.builder("orderhub.orders.read-model.lag", this, projector -> projector.oldestPendingAge().toMillis() / 1000.0)
+                .description("Age of the oldest change not yet applied to the summaries")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        worker.shutdown();
+        worker.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void on(DomainEvent event) {
+        if (ORDER_AGGREGATE.equals(event.aggregateType())) {
+            markDirty(event.aggregateId(), event.occurredAt());
+        }
+    }
+
+    public void markDirty(Long orderId, Instant changedAt) {
+        pending.merge(orderId, changedAt, (current, next) -> current.isBefore(next) ? current : next);
+        scheduleDrain();
+    }
+
+    /**
+     * Brings the summaries up to date with the order tables after a restart,
+     * refreshing only the orders whose summary is missing or outdated. Retried
+     * after the backoff until it succeeds.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void catchUp() {
+        worker.execute(() -> {
+            try {
+                int refreshed = refreshAll(afterId -> orderSummaryRepository.findUnprojectedOrderIdsAfter(afterId,
+                        PageRequest.of(0, batchSize)));
+                Integer orphans = transactionTemplate.execute(status -> orderSummaryRepository.deleteOrphans());
+                caughtUp = true;
+                logger.info("Order summaries caught up | refreshed={} | removed={}", refreshed, orphans);
+            } catch (RuntimeException e) {
+                logger.error("Order summary catch-up failed, retrying in {}", retryBackoff, e);
+                worker.schedule(this::catchUp, retryBackoff.toMillis(), TimeUnit.MILLISECONDS);
+            }
+        });
+    }
+
+    /**
+     * Re-renders every order and drops summaries whose order is gone. Runs on
+     * the projector thread, so it never races the incremental refresh.
+     */
+    public void rebuild() {
+        worker.execute(() -> {
+            try {
+                int refreshed = refreshAll(afterId -> orderRepository.findIdsAfter(afterId,
+                        PageRequest.of(0, batchSize)));
+                Integer orphans = transactionTemplate.execute(status -> orderSummaryRepository.deleteOrphans());
+                logger.info("Order summaries rebuilt | refreshed={} | removed={}", refreshed, orphans);
+            } catch (RuntimeException e) {
+                logger.error("Order summary rebuild failed", e);
+            }
+        });
+    }
+
+    /**
+     * Whether the startup catch-up has finished. Before that, orders changed
+     * while no instance was running may be missing from the summaries.
+     */
+    public boolean isCaughtUp() {
+        return caughtUp;
+    }
+
+    public int pendingCount() {
+        return pending.size() + retrying.size();
+    }
+
+    private void scheduleDrain() {
+        if (drainScheduled.compareAndSet(false, true)) {
+            worker.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        try {
+            while (!pending.isEmpty()) {
+                Map<Long, Instant> batch = new HashMap<>();
+                for (Long orderId : new ArrayList<>(pending.keySet())) {
+                    Instant changedAt = pending.remove(orderId);
+                    if (changedAt != null) {
+                        batch.put(orderId, changedAt);
+                    }
+                    if (batch.size() == batchSize) {
+                        break;
+                    }
+                }
+                refreshOrRetry(batch);
+            }
+        } finally {
+            drainScheduled.set(false);
+            // an event may have arrived between the last empty check and the flag reset
+            if (!pending.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+    }
+
+    private void refreshOrRetry(Map<Long, Instant> batch) {
+        try {
+            refresh(batch);
+            batch.keySet().forEach(failedAttempts::remove);
+            return;
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                batch.forEach((orderId, changedAt) -> retryLater(orderId, changedAt, e));
+                return;
+            }
+            logger.warn("Order summary refresh failed for {} orders, refreshing them one by one", batch.size(), e);
+        }
+
+        // one order that cannot be rendered must not hold back the rest of its batch
+        batch.forEach((orderId, changedAt) -> {
+            try {
+                refresh(Map.of(orderId, changedAt));
+                failedAttempts.remove(orderId);
+            } catch (RuntimeException e) {
+                retryLater(orderId, changedAt, e);
+            }
+        });
+    }
+
+    private void retryLater(Long orderId, Instant changedAt, RuntimeException failure) {
+        int attempt = failedAttempts.merge(orderId, 1, Integer::sum);
+        long delayMillis = Math.min(retryBackoff.toMillis() << Math.min(attempt - 1, 20), maxRetryBackoff.toMillis());
+        logger.error("Order summary refresh failed for order {} (attempt {}), retrying in {} ms",
+                orderId, attempt, delayMillis, failure);
+
+        retrying.merge(orderId, changedAt, (current, next) -> current.isBefore(next) ? current : next);
+        worker.schedule(() -> {
+            Instant oldestChange = retrying.remove(orderId);
+            if (oldestChange != null) {
+                markDirty(orderId, oldestChange);
+            }
+        }, delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    // refreshes the orders returned page by page, each page starting after the last id of the previous one
+    private int refreshAll(LongFunction<List<Long>> nextIds) {
+        long afterId = 0L;
+        int refreshed = 0;
+        List<Long> ids;
+        do {
+            ids = nextIds.apply(afterId);
+            if (!ids.isEmpty()) {
+                Instant now = Instant.now();
+                Map<Long, Instant> batch = new HashMap<>();
+                ids.forEach(id -> batch.put(id, now));
+                refreshOrRetry(batch);
+                refreshed += ids.size();
+                afterId = ids.get(ids.size() - 1);
+            }
+        } while (ids.size() == batchSize);
+        return refreshed;
+    }
+
+    private void refresh(Map<Long, Instant> batch) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Map<Long, OrderSummary> summaries = new HashMap<>();
+            for (OrderSummary summary : orderSummaryRepository.findAllById(batch.keySet())) {
+                summaries.put(summary.getOrderId(), summary);
+            }
+
+            Instant now = Instant.now();
+            List<OrderSummary> changed = new ArrayList<>();
+            for (Order order : orderRepository.findAllWithItemsByIdIn(batch.keySet())) {
+                OrderSummary summary = summaries.remove(order.getId());
+                if (summary == null) {
+                    summary = new OrderSummary(order.getId());
+                }
+                summary.refresh(order.getClient().getId(), order.getStatus(), order.getCreatedAt(),
+                        order.getVersion(), render(order), now);
+                changed.add(summary);
+            }
+            orderSummaryRepository.saveAll(changed);
+            // whatever is left has no order row any more
+            orderSummaryRepository.deleteAllInBatch(summaries.values());
+        });
+
+        Instant appliedAt = Instant.now();
+        batch.values().forEach(changedAt -> staleness.record(Duration.between(changedAt, appliedAt)));
+    }
+
+    private String render(Order order) {
+        try {
+            return objectMapper.writeValueAsString(orderMapper.toDto(order));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not render order " + order.getId(), e);
+        }
+    }
+
+    private Duration oldestPendingAge() {
+        Instant now = Instant.now();
+        return Stream.concat(pending.values().stream(), retrying.values().stream())
+                .min(Instant::compareTo)
+                .map(oldest -> Duration.between(oldest, now))
+                .orElse(Duration.ZERO);
+    }
+}
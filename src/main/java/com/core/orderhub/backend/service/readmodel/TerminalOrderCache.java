@@ -0,0 +1,89 @@
+package com.core.orderhub.backend.service.readmodel;
+
+import com.core.orderhub.backend.domain.event.OrderDeleted;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Serialized responses of FINISHED and CANCELED orders. Those orders accept no
+ * further change, so an entry stays valid until the order is deleted; the
+ * cache is bounded by the total size of the cached bodies and evicts the least
+ * recently read order first.
+ */
+@Component
+public class TerminalOrderCache {
+
+    public record Entry(byte[] body, long version) {}
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${orderhub.orders.response-cache.max-bytes:16777216}")
+    private long maxBytes;
+
+    private final LinkedHashMap<Long, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private long bytes;
+    private Counter hits;
+    private Counter misses;
+    private Counter evictions;
+
+    @PostConstruct
+    public void init() {
+        hits = Counter.builder("orderhub.orders.response-cache.hits").register(meterRegistry);
+        misses = Counter.builder("orderhub.orders.response-cache.misses").register(meterRegistry);
+        evictions = Counter.builder("orderhub.orders.response-cache.evictions").register(meterRegistry);
+        Gauge.builder("orderhub.orders.response-cache.size", this, TerminalOrderCache::sizeInBytes)
+                .description("Bytes of cached order responses")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    public synchronized Optional<Entry> get(Long orderId) {
+        Entry entry = entries.get(orderId);
+        (entry == null ? misses : hits).increment();
+        return Optional.ofNullable(entry);
+    }
+
+    public synchronized void put(Long orderId, byte[] body, long version) {
+        if (body.length > maxBytes) {
+            return;
+        }
+        Entry previous = entries.put(orderId, new Entry(body, version));
+        bytes += body.length - (previous == null ? 0 : previous.body().length);
+
+        Iterator<Map.Entry<Long, Entry>> eldest = entries.entrySet().iterator();
+        while (bytes > maxBytes && eldest.hasNext()) {
+            bytes -= eldest.next().getValue().body().length;
+            eldest.remove();
+            evictions.increment();
+        }
+    }
+
+    public synchronized void evict(Long orderId) {
+        Entry removed = entries.remove(orderId);
+        if (removed != null) {
+            bytes -= removed.body().length;
+        }
+    }
+
+    public synchronized long sizeInBytes() {
+        return bytes;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void on(OrderDeleted event) {
+        evict(event.orderId());
+    }
+}
@@ -0,0 +1,417 @@
+package com.core.orderhub.backend.service.search;
+
+import com.core.orderhub.backend.domain.entity.Product;
+import com.core.orderhub.backend.repository.ProductRepository;
+import com.core.orderhub.backend.repository.ProductRepository.ProductText;
+import com.core.orderhub.backend.service.invalidation.EntityInvalidated;
+import com.core.orderhub.backend.service.invalidation.EntityType;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over product name and description, ranked with
+ * BM25. Every product gets a dense ordinal and every term a postings list of
+ * (ordinal, term frequency) pairs kept in ordinal order, so a query walks the
+ * postings of its terms side by side and scores each matching product once.
+ * <p>
+ * Changing a product retires its ordinal and appends it again under a new
+ * one; retired ordinals stay in the postings until enough of them pile up
+ * and the index is compacted. The index is rebuilt from the products table
+ * at startup, with id ranges read and analyzed in parallel.
+ */
+@Component
+public class ProductSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductSearchIndex.class);
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int MIN_DEAD_TO_COMPACT = 1024;
+
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${orderhub.products.search.rebuild.chunk-size:10000}")
+    private int chunkSize;
+
+    @Value("${orderhub.products.search.rebuild.parallelism:4}")
+    private int parallelism;
+
+    public record Hit(Long productId, String name, double score) {}
+
+    private record Analyzed(long productId, String name, int textHash, Map<String, Integer> frequencies, int length) {}
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Documents documents = new Documents();
+    private Timer queries;
+
+    @PostConstruct
+    public void init() {
+        queries = Timer.builder("orderhub.products.search")
+                .description("Product search query time")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        Gauge.builder("orderhub.products.search.documents", this, ProductSearchIndex::size)
+                .description("Products in the search index")
+                .register(meterRegistry);
+        rebuild();
+    }
+
+    public void rebuild() {
+        long start = System.nanoTime();
+        long maxId = productRepository.findMaxId();
+
+        List<CompletableFuture<List<Analyzed>>> ranges = new ArrayList<>();
+        try (ExecutorService pool = Executors.newFixedThreadPool(parallelism)) {
+            for (long fromId = 1; fromId <= maxId; fromId += chunkSize) {
+                long from = fromId;
+                long to = Math.min(fromId + chunkSize - 1, maxId);
+                ranges.add(CompletableFuture.supplyAsync(() -> analyzeRange(from, to), pool));
+            }
+        }
+
+        // ranges are appended in id order, so every postings list stays sorted
+        Documents rebuilt = new Documents();
+        for (CompletableFuture<List<Analyzed>> range : ranges) {
+            range.join().forEach(rebuilt::add);
+        }
+
+        lock.writeLock().lock();
+        try {
+            documents = rebuilt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Product search index rebuilt: {} products, {} terms in {} ms",
+                rebuilt.liveCount, rebuilt.terms.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    public List<Hit> search(String query, int limit) {
+        long start = System.nanoTime();
+        List<String> terms = ProductTextAnalyzer.tokens(query).stream().distinct().toList();
+
+        lock.readLock().lock();
+        try {
+            return rank(documents, terms, limit);
+        } finally {
+            lock.readLock().unlock();
+            queries.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public void put(Long productId, String name, String description) {
+        Analyzed analyzed = analyze(productId, name, description);
+        lock.writeLock().lock();
+        try {
+            documents.add(analyzed);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long productId) {
+        lock.writeLock().lock();
+        try {
+            documents.remove(productId);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Indexes the product once the current transaction commits, or right away
+     * when there is no transaction.
+     */
+    public void putAfterCommit(Long productId, String name, String description) {
+        afterCommit(() -> put(productId, name, description));
+    }
+
+    public void removeAfterCommit(Long productId) {
+        afterCommit(() -> remove(productId));
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.liveCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Follows product changes made on other nodes. Stock changes invalidate the
+     * product as well, so the row is only re-indexed when its text changed.
+     */
+    @EventListener
+    public void on(EntityInvalidated event) {
+        if (event.type() != EntityType.PRODUCT) {
+            return;
+        }
+        Product product = productRepository.findById(event.id()).orElse(null);
+        if (product == null) {
+            remove(event.id());
+            return;
+        }
+        int textHash = textHash(product.getName(), product.getDescription());
+        lock.readLock().lock();
+        try {
+            if (documents.hasText(product.getId(), textHash)) {
+                return;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        put(product.getId(), product.getName(), product.getDescription());
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+            return;
+        }
+        action.run();
+    }
+
+    private List<Analyzed> analyzeRange(long fromId, long toId) {
+        List<ProductText> rows = productRepository.findTextByIdBetween(fromId, toId);
+        List<Analyzed> analyzed = new ArrayList<>(rows.size());
+        for (ProductText row : rows) {
+            analyzed.add(analyze(row.getId(), row.getName(), row.getDescription()));
+        }
+        return analyzed;
+    }
+
+    private static Analyzed analyze(Long productId, String name, String description) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        int length = 0;
+        for (String token : ProductTextAnalyzer.tokens(name)) {
+            frequencies.merge(token, 1, Integer::sum);
+            length++;
+        }
+        for (String token : ProductTextAnalyzer.tokens(description)) {
+            frequencies.merge(token, 1, Integer::sum);
+            length++;
+        }
+        return new Analyzed(productId, name, textHash(name, description), frequencies, length);
+    }
+
+    private static int textHash(String name, String description) {
+        return Objects.hash(name, description);
+    }
+
+    private void compactIfNeeded() {
+        int dead = documents.count - documents.liveCount;
+        if (dead >= MIN_DEAD_TO_COMPACT && dead > documents.liveCount / 4) {
+            documents.compact();
+        }
+    }
+
+    private static List<Hit> rank(Documents documents, List<String> terms, int limit) {
+        if (documents.liveCount == 0 || terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        List<Postings> lists = new ArrayList<>(terms.size());
+        for (String term : terms) {
+            Postings postings = documents.terms.get(term);
+            if (postings != null) {
+                lists.add(postings);
+            }
+        }
+        if (lists.isEmpty()) {
+            return List.of();
+        }
+
+        int n = documents.liveCount;
+        double averageLength = Math.max((double) documents.liveLength / n, 1.0);
+        double[] idf = new double[lists.size()];
+        for (int i = 0; i < idf.length; i++) {
+            int df = lists.get(i).size;
+            idf[i] = Math.log(1 + (n - df + 0.5) / (df + 0.5));
+        }
+
+        int[] cursors = new int[lists.size()];
+        PriorityQueue<Hit> top = new PriorityQueue<>(limit + 1, Comparator.comparingDouble(Hit::score));
+        while (true) {
+            int ordinal = Integer.MAX_VALUE;
+            for (int i = 0; i < cursors.length; i++) {
+                Postings postings = lists.get(i);
+                if (cursors[i] < postings.size) {
+                    ordinal = Math.min(ordinal, postings.ordinals[cursors[i]]);
+                }
+            }
+            if (ordinal == Integer.MAX_VALUE) {
+                break;
+            }
+
+            boolean live = documents.live.get(ordinal);
+            double norm = K1 * (1 - B + B * documents.lengths[ordinal] / averageLength);
+            double score = 0;
+            for (int i = 0; i < cursors.length; i++) {
+                Postings postings = lists.get(i);
+                if (cursors[i] < postings.size && postings.ordinals[cursors[i]] == ordinal) {
+                    int tf = postings.frequencies[cursors[i]];
+                    score += idf[i] * tf * (K1 + 1) / (tf + norm);
+                    cursors[i]++;
+                }
+            }
+
+            if (!live) {
+                continue;
+            }
+            if (top.size() < limit) {
+                top.add(new Hit(documents.productIds[ordinal], documents.names[ordinal], score));
+            } else if (score > top.peek().score()) {
+                top.poll();
+                top.add(new Hit(documents.productIds[ordinal], documents.names[ordinal], score));
+            }
+        }
+
+        List<Hit> hits = new ArrayList<>(top);
+        hits.sort(Comparator.comparingDouble(Hit::score).reversed().thenComparing(Hit::productId));
+        return hits;
+    }
+
+    private static final class Postings {
+
+        private int[] ordinals = new int[4];
+        private int[] frequencies = new int[4];
+        private int size;
+
+        private void add(int ordinal, int frequency) {
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            ordinals[size] = ordinal;
+            frequencies[size] = frequency;
+            size++;
+        }
+
+        private int compact(int[] remap) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                int ordinal = remap[ordinals[i]];
+                if (ordinal >= 0) {
+                    ordinals[kept] = ordinal;
+                    frequencies[kept] = frequencies[i];
+                    kept++;
+                }
+            }
+            size = kept;
+            return kept;
+        }
+    }
+
+    // not thread safe, guarded by the index lock
+    private static final class Documents {
+
+        private final Map<String, Postings> terms = new HashMap<>();
+        private final Map<Long, Integer> ordinals = new HashMap<>();
+        private final BitSet live = new BitSet();
+        private long[] productIds = new long[1024];
+        private String[] names = new String[1024];
+        private int[] lengths = new int[1024];
+        private int[] textHashes = new int[1024];
+        private int count;
+        private int liveCount;
+        private long liveLength;
+
+        private void add(Analyzed document) {
+            remove(document.productId());
+
+            if (count == productIds.length) {
+                int capacity = count * 2;
+                productIds = Arrays.copyOf(productIds, capacity);
+                names = Arrays.copyOf(names, capacity);
+                lengths = Arrays.copyOf(lengths, capacity);
+                textHashes = Arrays.copyOf(textHashes, capacity);
+            }
+            int ordinal = count++;
+            productIds[ordinal] = document.productId();
+            names[ordinal] = document.name();
+            lengths[ordinal] = document.length();
+            textHashes[ordinal] = document.textHash();
+            live.set(ordinal);
+            liveCount++;
+            liveLength += document.length();
+            ordinals.put(document.productId(), ordinal);
+
+            document.frequencies().forEach((term, frequency) ->
+                    terms.computeIfAbsent(term, key -> new Postings()).add(ordinal, frequency));
+        }
+
+        private void remove(long productId) {
+            Integer ordinal = ordinals.remove(productId);
+            if (ordinal == null) {
+                return;
+            }
+            live.clear(ordinal);
+            liveCount--;
+            liveLength -= lengths[ordinal];
+            names[ordinal] = null;
+        }
+
+        private boolean hasText(long productId, int textHash) {
+            Integer ordinal = ordinals.get(productId);
+            return ordinal != null && textHashes[ordinal] == textHash;
+        }
+
+        private void compact() {
+            int[] remap = new int[count];
+            int next = 0;
+            for (int ordinal = 0; ordinal < count; ordinal++) {
+                if (!live.get(ordinal)) {
+                    remap[ordinal] = -1;
+                    continue;
+                }
+                remap[ordinal] = next;
+                productIds[next] = productIds[ordinal];
+                names[next] = names[ordinal];
+                lengths[next] = lengths[ordinal];
+                textHashes[next] = textHashes[ordinal];
+                next++;
+            }
+            Arrays.fill(names, next, count, null);
+            terms.values().removeIf(postings -> postings.compact(remap) == 0);
+            ordinals.replaceAll((productId, ordinal) -> remap[ordinal]);
+            live.clear();
+            live.set(0, next);
+            count = next;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.core.orderhub.backend.service.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Turns product text into index terms: accents are folded (the catalog accepts
+ * Latin-1 letters, so "Óculos" and "oculos" are the same term), letters are
+ * lower-cased, anything that is not a letter or a digit separates terms, and a
+ * few Portuguese function words are dropped because they appear in most
+ * descriptions and would only make queries slower.
+ */
+final class ProductTextAnalyzer {
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "o", "as", "os", "e", "de", "da", "do", "das", "dos",
+            "em", "no", "na", "nos", "nas", "um", "uma", "para", "com", "por");
+
+    private ProductTextAnalyzer() {
+    }
+
+    static List<String> tokens(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+
+        String decomposed = Normalizer.isNormalized(text, Normalizer.Form.NFD)
+                ? text
+                : Normalizer.normalize(text, Normalizer.Form.NFD);
+        StringBuilder token = new StringBuilder();
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            if (Character.isLetterOrDigit(c)) {
+                appendFolded(token, Character.toLowerCase(c));
+            } else {
+                flush(token, tokens);
+            }
+        }
+        flush(token, tokens);
+        return tokens;
+    }
+
+    // Latin-1 letters that have no decomposition
+    private static void appendFolded(StringBuilder token, char c) {
+        switch (c) {
+            case 'æ' -> token.append("ae");
+            case 'ø' -> token.append('o');
+            case 'ð' -> token.append('d');
+            case 'þ' -> token.append("th");
+            case 'ß' -> token.append("ss");
+            default -> token.append(c);
+        }
+    }
+
+    private static void flush(StringBuilder token, List<String> tokens) {
+        if (token.isEmpty()) {
+            return;
+        }
+        String term = token.toString();
+        token.setLength(0);
+        if (!STOP_WORDS.contains(term)) {
+            tokens.add(term);
+        }
+    }
+}
@@ -0,0 +1,3 @@
+-- Keyset paging of the order listing (created_at desc, id desc).
+-- Production runs with ddl-auto: validate, so apply this before deploying.
+create index if not exists idx_orders_created_at_id on orders (created_at, id);
@@ -0,0 +1,7 @@
+-- Checkpoint of the inventory journal flushed into products.quantity.
+-- Production runs with ddl-auto: validate, so apply this before deploying.
+create table if not exists inventory_checkpoints (
+    name varchar(255) not null,
+    last_segment bigint not null,
+    primary key (name)
+);
@@ -0,0 +1,12 @@
+-- Stock of hot products split across shard rows.
+-- Production runs with ddl-auto: validate, so apply this before deploying.
+-- Existing products keep stock_shards NULL and stay on the single products row.
+alter table products add column if not exists stock_shards integer;
+create table if not exists product_stock_shards (
+    id bigint generated by default as identity,
+    product_id bigint not null,
+    shard integer not null,
+    quantity integer not null,
+    primary key (id),
+    constraint uk_product_stock_shards_product_shard unique (product_id, shard)
+);
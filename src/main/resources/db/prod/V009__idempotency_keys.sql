@@ -0,0 +1,12 @@
+-- Stored responses for the Idempotency-Key header on order writes; status 0 marks
+-- a request that has claimed its key and is still running.
+-- Production runs with ddl-auto: validate, so apply this before deploying.
+create table if not exists idempotency_keys (
+    idempotency_key varchar(300) not null,
+    fingerprint varchar(64) not null,
+    status integer not null,
+    body text,
+    expires_at timestamp(6) with time zone not null,
+    primary key (idempotency_key)
+);
+create index if not exists idx_idempotency_keys_expires_at on idempotency_keys (expires_at);
@@ -0,0 +1,3 @@
+-- Set-based bulk status transitions select orders by status in id order.
+-- Production runs with ddl-auto: validate, so apply this before deploying.
+create index if not exists idx_orders_status_id on orders (status, id);
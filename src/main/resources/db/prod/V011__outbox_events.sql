@@ -0,0 +1,15 @@
+-- Transactional outbox of domain events.
+-- Production runs with ddl-auto: validate, so apply this before deploying.
+-- The sequence increment must match allocationSize of OutboxEvent.
+create sequence if not exists outbox_events_seq start with 1 increment by 50;
+create table if not exists outbox_events (
+    id bigint not null,
+    aggregate_type varchar(50) not null,
+    aggregate_id bigint not null,
+    event_type varchar(100) not null,
+    payload text not null,
+    created_at timestamp(6) with time zone not null,
+    delivered_at timestamp(6) with time zone,
+    primary key (id)
+);
+create index if not exists idx_outbox_events_delivered_at_id on outbox_events (delivered_at, id);
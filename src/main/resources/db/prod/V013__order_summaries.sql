@@ -0,0 +1,15 @@
+-- Denormalized order documents served by the query side.
+-- Production runs with ddl-auto: validate, so apply this before deploying.
+-- The table starts empty; the projector fills it at startup and the order
+-- tables serve reads until it has caught up.
+create table if not exists order_summaries (
+    order_id bigint not null,
+    client_id bigint not null,
+    status varchar(20) not null,
+    created_at timestamp(6) not null,
+    document text not null,
+    projected_at timestamp(6) with time zone not null,
+    order_version bigint not null,
+    primary key (order_id)
+);
+create index if not exists idx_order_summaries_created_at_order_id on order_summaries (created_at, order_id);
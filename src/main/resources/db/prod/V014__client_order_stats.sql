@@ -0,0 +1,29 @@
+-- Running order totals per client.
+-- Production runs with ddl-auto: validate, so apply this before deploying.
+-- Rows are seeded from the existing orders; a missing row would start at zero
+-- on the next order of the client and drift from then on.
+create table if not exists client_order_stats (
+    client_id bigint not null,
+    created_orders bigint not null,
+    paid_orders bigint not null,
+    finished_orders bigint not null,
+    canceled_orders bigint not null,
+    open_value numeric(14,2) not null,
+    lifetime_value numeric(14,2) not null,
+    last_order_at timestamp(6),
+    primary key (client_id)
+);
+insert into client_order_stats (client_id, created_orders, paid_orders, finished_orders, canceled_orders,
+                                open_value, lifetime_value, last_order_at)
+select client_id,
+       count(*) filter (where status = 'CREATED'),
+       count(*) filter (where status = 'PAID'),
+       count(*) filter (where status = 'FINISHED'),
+       count(*) filter (where status = 'CANCELED'),
+       coalesce(sum(total) filter (where status = 'CREATED'), 0),
+       coalesce(sum(total) filter (where status in ('PAID', 'FINISHED')), 0),
+       max(created_at)
+from orders
+where client_id is not null
+group by client_id
+on conflict (client_id) do nothing;
@@ -0,0 +1,5 @@
+-- Payment time of orders for the sales dashboard.
+-- Production runs with ddl-auto: validate, so apply this before deploying.
+-- Orders paid before this change keep a NULL paid_at and are left out of the rollups.
+alter table orders add column if not exists paid_at timestamp(6);
+create index if not exists idx_orders_paid_at on orders (paid_at);
@@ -0,0 +1,5 @@
+-- Last change of an order, used to expire abandoned CREATED orders.
+-- Production runs with ddl-auto: validate, so apply this before deploying.
+-- Existing orders count as last modified when they were created.
+alter table orders add column if not exists last_modified_at timestamp(6);
+update orders set last_modified_at = created_at where last_modified_at is null;
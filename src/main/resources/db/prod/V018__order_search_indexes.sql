@@ -0,0 +1,5 @@
+-- Composite indexes behind the filtered order search.
+-- Production runs with ddl-auto: validate, so apply this before deploying.
+create index if not exists idx_orders_client_created_at on orders (client_id, created_at, id);
+create index if not exists idx_orders_status_created_at on orders (status, created_at, id);
+create index if not exists idx_order_item_order_id on order_item (order_id);
@@ -0,0 +1,12 @@
+-- Totals of the orders moved to the order archive.
+-- Production runs with ddl-auto: validate, so apply this before deploying.
+create table if not exists archived_order_totals (
+    id bigint generated by default as identity,
+    client_id bigint not null,
+    status varchar(255) not null,
+    orders bigint not null,
+    total numeric(14,2) not null,
+    last_order_at timestamp(6),
+    primary key (id),
+    constraint uk_archived_order_totals_client_status unique (client_id, status)
+);
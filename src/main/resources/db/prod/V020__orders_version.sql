@@ -0,0 +1,7 @@
+-- Optimistic locking and ETags for orders (OrderDto.version).
+-- Production runs with ddl-auto: validate, so apply this before deploying.
+-- Existing orders start at version 0; a NULL version would fail every update.
+alter table orders add column if not exists version bigint;
+update orders set version = 0 where version is null;
+alter table orders alter column version set default 0;
+alter table orders alter column version set not null;
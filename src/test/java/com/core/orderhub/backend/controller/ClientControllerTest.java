@@ -1,20 +1,30 @@
 package com.core.orderhub.backend.controller;
 
 import com.core.orderhub.backend.domain.enums.ClientStatus;
+import com.core.orderhub.backend.domain.enums.OrderStatus;
 import com.core.orderhub.backend.dto.ClientDto;
+import com.core.orderhub.backend.dto.ClientOrderStatsDto;
 import com.core.orderhub.backend.dto.ClientStatusDto;
 import com.core.orderhub.backend.exception.ResourceConflictException;
 import com.core.orderhub.backend.exception.ResourceNotFoundException;
+import com.core.orderhub.backend.repository.UserRepository;
+import com.core.orderhub.backend.service.ClientOrderStatsChecker;
+import com.core.orderhub.backend.service.ClientOrderStatsService;
 import com.core.orderhub.backend.service.ClientService;
+import com.core.orderhub.backend.service.JwtService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.math.BigDecimal;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
@@ -24,6 +34,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 
 @WebMvcTest(ClientController.class)
+@AutoConfigureMockMvc(addFilters = false)
 class ClientControllerTest {
 
     @Autowired
@@ -35,6 +46,18 @@ class ClientControllerTest {
     @MockitoBean
     private ClientService clientService;
 
+    @MockitoBean
+    private ClientOrderStatsService clientOrderStatsService;
+
+    @MockitoBean
+    private ClientOrderStatsChecker clientOrderStatsChecker;
+
+    @MockitoBean
+    private JwtService jwtService;
+
+    @MockitoBean
+    private UserRepository userRepository;
+
     @Test
     void shouldReturnClientWhenIsSavedSuccessfully() throws Exception {
 
@@ -290,4 +313,29 @@ class ClientControllerTest {
 
         verify(clientService).deleteById(clientId);
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldReturnClientOrderStats() throws Exception {
+
+        Map<OrderStatus, Long> ordersByStatus = new EnumMap<>(OrderStatus.class);
+        ordersByStatus.put(OrderStatus.PAID, 2L);
+
+        when(clientOrderStatsService.findByClientId(1L))
+                .thenReturn(new ClientOrderStatsDto(1L, ordersByStatus, BigDecimal.ZERO, new BigDecimal("60.00"), null));
+
+        mockMvc.perform(get("/client/1/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.ordersByStatus.PAID").value(2))
+                .andExpect(jsonPath("$.lifetimeValue").value(60.00));
+    }
+
+    @Test
+    void shouldReturnNotFoundWhenStatsClientDoesNotExist() throws Exception {
+
+        when(clientOrderStatsService.findByClientId(99L))
+                .thenThrow(new ResourceNotFoundException("Client not found: 99"));
+
+        mockMvc.perform(get("/client/99/stats"))
+                .andExpect(status().isNotFound());
+    }
+}
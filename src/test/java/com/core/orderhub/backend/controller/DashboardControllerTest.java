@@ -0,0 +1,60 @@
+package com.core.orderhub.backend.controller;
+
+import com.core.orderhub.backend.domain.enums.OrderStatus;
+import com.core.orderhub.backend.dto.SalesDashboardDto;
+import com.core.orderhub.backend.repository.UserRepository;
+import com.core.orderhub.backend.service.JwtService;
+import com.core.orderhub.backend.service.dashboard.SalesDashboard;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(DashboardController.class)
+@AutoConfigureMockMvc(addFilters = false)
+class DashboardControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private SalesDashboard salesDashboard;
+
+    @MockitoBean
+    private JwtService jwtService;
+
+    @MockitoBean
+    private UserRepository userRepository;
+
+    @Test
+    void shouldReturnSalesSnapshot() throws Exception {
+
+        when(salesDashboard.snapshot()).thenReturn(new SalesDashboardDto(
+                LocalDateTime.now(),
+                Map.of(OrderStatus.PAID, 3L),
+                new BigDecimal("90.00"),
+                new BigDecimal("30.00"),
+                3,
+                1,
+                List.of(new SalesDashboardDto.ProductSales(7L, 1, 1, 3))));
+
+        mockMvc.perform(get("/dashboard/sales"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.ordersByStatus.PAID").value(3))
+                .andExpect(jsonPath("$.revenueToday").value(90.00))
+                .andExpect(jsonPath("$.productSales[0].productId").value(7))
+                .andExpect(jsonPath("$.productSales[0].soldLast24Hours").value(3));
+    }
+}
@@ -1,24 +1,59 @@
 package com.core.orderhub.backend.controller;
 
+import com.core.orderhub.backend.domain.enums.OrderStatus;
+import com.core.orderhub.backend.dto.AddOrderItemDto;
+import com.core.orderhub.backend.dto.CheckoutDto;
 import com.core.orderhub.backend.dto.OrderDto;
 import com.core.orderhub.backend.dto.OrderItemDto;
+import com.core.orderhub.backend.dto.OrderPageDto;
+import com.core.orderhub.backend.dto.OrderSearchCriteria;
 import com.core.orderhub.backend.exception.ResourceNotFoundException;
+import com.core.orderhub.backend.repository.UserRepository;
+import com.core.orderhub.backend.service.BulkOrderStatusService;
+import com.core.orderhub.backend.service.JwtService;
+import com.core.orderhub.backend.service.OrderExportService;
+import com.core.orderhub.backend.service.OrderQueryService;
 import com.core.orderhub.backend.service.OrderService;
+import com.core.orderhub.backend.service.idempotency.IdempotencyService;
+import com.core.orderhub.backend.service.idempotency.InMemoryIdempotencyStore;
+import com.core.orderhub.backend.service.readmodel.OrderSummaryProjector;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(OrderController.class)
+@AutoConfigureMockMvc(addFilters = false)
+@Import({IdempotencyService.class, InMemoryIdempotencyStore.class})
 class OrderControllerTest {
 
     @Autowired
@@ -30,6 +65,24 @@ class OrderControllerTest {
     @MockitoBean
     private OrderService orderService;
 
+    @MockitoBean
+    private OrderExportService orderExportService;
+
+    @MockitoBean
+    private BulkOrderStatusService bulkOrderStatusService;
+
+    @MockitoBean
+    private OrderQueryService orderQueryService;
+
+    @MockitoBean
+    private OrderSummaryProjector orderSummaryProjector;
+
+    @MockitoBean
+    private JwtService jwtService;
+
+    @MockitoBean
+    private UserRepository userRepository;
+
     @Test
     void shouldReturnOrderSuccessfullyOnSave() throws Exception {
 
@@ -47,6 +100,32 @@ class OrderControllerTest {
                 .andExpect(status().isCreated());
     }
 
+    @Test
+    void shouldReplayOrderCreationWithSameIdempotencyKey() throws Exception {
+
+        Long clientId = 1L;
+
+        OrderDto orderDto = OrderDto.builder()
+                .id(7L)
+                .clientId(clientId)
+                .build();
+
+        when(orderService.createOrder(clientId))
+                .thenReturn(orderDto);
+
+        mockMvc.perform(post("/order/client/{clientId}", clientId)
+                        .header(IdempotencyService.HEADER, "retry-1"))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(post("/order/client/{clientId}", clientId)
+                        .header(IdempotencyService.HEADER, "retry-1"))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(IdempotencyService.REPLAYED_HEADER, "true"))
+                .andExpect(jsonPath("$.id").value(7));
+
+        verify(orderService, times(1)).createOrder(clientId);
+    }
+
     @Test
     void shouldReturnNotFoundWhenClientIdNotExistsOnSaveOrder() throws Exception {
 
@@ -95,4 +174,170 @@ class OrderControllerTest {
 
         verify(orderService).addOrderItem(eq(orderId), any(), any());
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldReturnCreatedOnCheckout() throws Exception {
+
+        AddOrderItemDto item = new AddOrderItemDto();
+        item.setProductId(1L);
+        item.setQuantity(2);
+
+        CheckoutDto checkoutDto = new CheckoutDto();
+        checkoutDto.setClientId(1L);
+        checkoutDto.setItems(List.of(item));
+
+        OrderDto orderDto = OrderDto.builder()
+                .id(1L)
+                .clientId(1L)
+                .build();
+
+        when(orderService.checkout(eq(1L), any()))
+                .thenReturn(orderDto);
+
+        mockMvc.perform(post("/order/checkout")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(checkoutDto)))
+                .andExpect(status().isCreated());
+    }
+
+    @Test
+    void shouldReturnBadRequestWhenCheckoutHasNoItems() throws Exception {
+
+        CheckoutDto checkoutDto = new CheckoutDto();
+        checkoutDto.setClientId(1L);
+        checkoutDto.setItems(List.of());
+
+        mockMvc.perform(post("/order/checkout")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(checkoutDto)))
+                .andExpect(status().isBadRequest());
+
+        verify(orderService, never()).checkout(any(), any());
+    }
+
+    @Test
+    void shouldReturnPageOnFindAll() throws Exception {
+
+        OrderDto orderDto = OrderDto.builder()
+                .id(1L)
+                .clientId(1L)
+                .build();
+
+        when(orderQueryService.findPage("abc", 10))
+                .thenReturn(new OrderPageDto(List.of(orderDto), "next"));
+
+        mockMvc.perform(get("/order")
+                        .param("cursor", "abc")
+                        .param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value(1))
+                .andExpect(jsonPath("$.nextCursor").value("next"));
+    }
+
+    @Test
+    void shouldReturnOrderFromReadModelOnFindById() throws Exception {
+
+        when(orderQueryService.findVersion(1L)).thenReturn(Optional.of(3L));
+        when(orderQueryService.findResponse(1L)).thenReturn(new OrderQueryService.OrderResponse(
+                "{\"id\":1,\"clientId\":1,\"version\":3}".getBytes(StandardCharsets.UTF_8), 3L));
+
+        mockMvc.perform(get("/order/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
+                .andExpect(jsonPath("$.id").value(1));
+
+        verifyNoInteractions(orderService);
+    }
+
+    @Test
+    void shouldReturnNotModifiedWithoutLoadingOrderWhenVersionMatches() throws Exception {
+
+        when(orderQueryService.findVersion(1L)).thenReturn(Optional.of(3L));
+
+        mockMvc.perform(get("/order/1").header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""));
+
+        verify(orderQueryService, never()).findResponse(any());
+    }
+
+    @Test
+    void shouldReturnNotModifiedWhenPageIsUnchanged() throws Exception {
+
+        OrderDto orderDto = OrderDto.builder()
+                .id(1L)
+                .clientId(1L)
+                .version(2L)
+                .build();
+
+        when(orderQueryService.findPage(null, null))
+                .thenReturn(new OrderPageDto(List.of(orderDto), null));
+
+        String etag = mockMvc.perform(get("/order"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/order").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void shouldPassSearchFiltersToService() throws Exception {
+
+        when(orderService.search(any(), eq("abc"), eq(10)))
+                .thenReturn(new OrderPageDto(List.of(), null));
+
+        mockMvc.perform(get("/order/search")
+                        .param("clientId", "3")
+                        .param("status", "CREATED", "PAID")
+                        .param("createdFrom", "2026-01-01T00:00:00")
+                        .param("minTotal", "10.50")
+                        .param("cursor", "abc")
+                        .param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items").isEmpty());
+
+        verify(orderService).search(
+                new OrderSearchCriteria(3L, Set.of(OrderStatus.CREATED, OrderStatus.PAID),
+                        LocalDateTime.of(2026, 1, 1, 0, 0), null, new BigDecimal("10.50"), null),
+                "abc", 10);
+    }
+
+    @Test
+    void shouldReturnBadRequestOnUnknownSearchStatus() throws Exception {
+
+        mockMvc.perform(get("/order/search").param("status", "LOST"))
+                .andExpect(status().isBadRequest());
+
+        verify(orderService, never()).search(any(), any(), any());
+    }
+
+    @Test
+    void shouldAcceptSummaryRebuild() throws Exception {
+
+        mockMvc.perform(post("/order/summaries/rebuild"))
+                .andExpect(status().isAccepted());
+
+        verify(orderSummaryProjector).rebuild();
+    }
+
+    @Test
+    void shouldStreamTheExportWithItsOwnAsyncTimeout() throws Exception {
+        doAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(0).write("{\"id\":1}\n".getBytes(StandardCharsets.UTF_8));
+            return 1L;
+        }).when(orderExportService).exportOrders(any());
+
+        MvcResult started = mockMvc.perform(get("/order/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        assertEquals(Duration.ofHours(1).toMillis(), started.getRequest().getAsyncContext().getTimeout());
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_NDJSON_VALUE))
+                .andExpect(content().string("{\"id\":1}\n"));
+    }
+}
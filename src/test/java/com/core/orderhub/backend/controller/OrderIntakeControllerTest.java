@@ -0,0 +1,134 @@
+package com.core.orderhub.backend.controller;
+
+import com.core.orderhub.backend.dto.AddOrderItemDto;
+import com.core.orderhub.backend.dto.OrderCommandStatusDto;
+import com.core.orderhub.backend.exception.TooManyRequestsException;
+import com.core.orderhub.backend.repository.UserRepository;
+import com.core.orderhub.backend.service.JwtService;
+import com.core.orderhub.backend.service.idempotency.IdempotencyService;
+import com.core.orderhub.backend.service.idempotency.InMemoryIdempotencyStore;
+import com.core.orderhub.backend.service.intake.OrderIntake;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(OrderIntakeController.class)
+@AutoConfigureMockMvc(addFilters = false)
+@Import({IdempotencyService.class, InMemoryIdempotencyStore.class})
+class OrderIntakeControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockitoBean
+    private OrderIntake orderIntake;
+
+    @MockitoBean
+    private JwtService jwtService;
+
+    @MockitoBean
+    private UserRepository userRepository;
+
+    private OrderCommandStatusDto queued(String commandId) {
+        return new OrderCommandStatusDto(commandId, OrderCommandStatusDto.State.QUEUED,
+                null, null, null, Instant.now(), null);
+    }
+
+    @Test
+    void shouldAcceptOrderCreation() throws Exception {
+
+        when(orderIntake.submitCreateOrder(1L)).thenReturn(queued("abc"));
+
+        mockMvc.perform(post("/order/intake/client/{clientId}", 1L))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string(HttpHeaders.LOCATION, "/order/intake/abc"))
+                .andExpect(jsonPath("$.state").value("QUEUED"));
+    }
+
+    @Test
+    void shouldAcceptOrderItem() throws Exception {
+
+        AddOrderItemDto item = new AddOrderItemDto();
+        item.setProductId(2L);
+        item.setQuantity(3);
+
+        when(orderIntake.submitAddOrderItem(1L, 2L, 3)).thenReturn(queued("def"));
+
+        mockMvc.perform(post("/order/intake/{id}/items", 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(item)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string(HttpHeaders.LOCATION, "/order/intake/def"));
+    }
+
+    @Test
+    void shouldReplayAcceptedCommandWithSameIdempotencyKey() throws Exception {
+
+        when(orderIntake.submitCreateOrder(1L)).thenReturn(queued("abc"));
+
+        mockMvc.perform(post("/order/intake/client/{clientId}", 1L)
+                        .header(IdempotencyService.HEADER, "intake-1"))
+                .andExpect(status().isAccepted());
+
+        mockMvc.perform(post("/order/intake/client/{clientId}", 1L)
+                        .header(IdempotencyService.HEADER, "intake-1"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string(IdempotencyService.REPLAYED_HEADER, "true"))
+                .andExpect(header().string(HttpHeaders.LOCATION, "/order/intake/abc"));
+
+        verify(orderIntake, times(1)).submitCreateOrder(1L);
+    }
+
+    @Test
+    void shouldReturnTooManyRequestsWhenQueueIsFull() throws Exception {
+
+        when(orderIntake.submitCreateOrder(1L))
+                .thenThrow(new TooManyRequestsException("Order intake queue is full, retry later"));
+
+        mockMvc.perform(post("/order/intake/client/{clientId}", 1L))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+    }
+
+    @Test
+    void shouldReturnBadRequestWhenClientIdIsNotValid() throws Exception {
+
+        mockMvc.perform(post("/order/intake/client/{clientId}", -1L))
+                .andExpect(status().isBadRequest());
+
+        verify(orderIntake, never()).submitCreateOrder(any());
+    }
+
+    @Test
+    void shouldReturnCommandStatus() throws Exception {
+
+        when(orderIntake.findStatus("abc")).thenReturn(queued("abc"));
+
+        mockMvc.perform(get("/order/intake/{commandId}", "abc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.commandId").value("abc"));
+    }
+}
@@ -1,22 +1,29 @@
 package com.core.orderhub.backend.controller;
 
 import com.core.orderhub.backend.domain.enums.ProductStatus;
+import com.core.orderhub.backend.dto.BestSellersDto;
 import com.core.orderhub.backend.dto.ProductDto;
+import com.core.orderhub.backend.dto.ProductSearchDto;
 import com.core.orderhub.backend.dto.ProductStatusDto;
 import com.core.orderhub.backend.exception.ResourceNotFoundException;
+import com.core.orderhub.backend.repository.UserRepository;
+import com.core.orderhub.backend.service.JwtService;
 import com.core.orderhub.backend.service.ProductService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -25,6 +32,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(ProductController.class)
+@AutoConfigureMockMvc(addFilters = false)
 class ProductControllerTest {
 
     @Autowired
@@ -36,6 +44,12 @@ class ProductControllerTest {
     @MockitoBean
     private ProductService productService;
 
+    @MockitoBean
+    private JwtService jwtService;
+
+    @MockitoBean
+    private UserRepository userRepository;
+
     @Test
     void shouldReturnProductWhenIsSavedSuccessfully() throws Exception {
 
@@ -309,4 +323,43 @@ class ProductControllerTest {
 
         verify(productService).deleteById(productId);
     }
+
+    @Test
+    void shouldReturnBestSellers() throws Exception {
+
+        when(productService.findBestSellers("PT15M", 5))
+                .thenReturn(new BestSellersDto(Duration.ofMinutes(15), 3,
+                        List.of(new BestSellersDto.Entry(7L, "Fone de ouvido", 42))));
+
+        mockMvc.perform(get("/product/best-sellers")
+                        .param("window", "PT15M")
+                        .param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.products[0].productId").value(7))
+                .andExpect(jsonPath("$.products[0].estimatedQuantity").value(42));
+    }
+
+    @Test
+    void shouldReturnSearchResults() throws Exception {
+
+        when(productService.search("oculos sol", 5))
+                .thenReturn(new ProductSearchDto("oculos sol",
+                        List.of(new ProductSearchDto.Entry(2L, "Óculos de sol", 2.4))));
+
+        mockMvc.perform(get("/product/search")
+                        .param("q", "oculos sol")
+                        .param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.products[0].productId").value(2))
+                .andExpect(jsonPath("$.products[0].name").value("Óculos de sol"));
+    }
+
+    @Test
+    void shouldReturnBadRequestWhenSearchQueryIsBlank() throws Exception {
+
+        mockMvc.perform(get("/product/search").param("q", " "))
+                .andExpect(status().isBadRequest());
+
+        verify(productService, never()).search(any(), anyInt());
+    }
 }
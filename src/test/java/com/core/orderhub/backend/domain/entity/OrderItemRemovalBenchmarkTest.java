@@ -0,0 +1,70 @@
+package com.core.orderhub.backend.domain.entity;
+
+import com.core.orderhub.backend.domain.enums.ProductStatus;
+import com.core.orderhub.backend.domain.valueobject.Money;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Tag("benchmark")
+class OrderItemRemovalBenchmarkTest {
+
+    private static final int WARMUP_ROUNDS = 200;
+    private static final int MEASURED_ROUNDS = 200;
+
+    @ParameterizedTest
+    @ValueSource(ints = {10, 100, 1_000})
+    void shouldReportRemovalLatency(int lines) {
+        Random random = new Random(42);
+
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            removeAll(lines, random);
+        }
+
+        long[] nanosPerRemoval = new long[MEASURED_ROUNDS];
+        for (int round = 0; round < MEASURED_ROUNDS; round++) {
+            nanosPerRemoval[round] = removeAll(lines, random) / lines;
+        }
+        Arrays.sort(nanosPerRemoval);
+
+        System.out.printf("Order removal | lines=%d | p50=%d ns | p99=%d ns%n",
+                lines,
+                nanosPerRemoval[MEASURED_ROUNDS / 2],
+                nanosPerRemoval[MEASURED_ROUNDS * 99 / 100]);
+
+        assertTrue(nanosPerRemoval[0] > 0);
+    }
+
+    private long removeAll(int lines, Random random) {
+        Order order = new Order(new Client("Kaleb", "01234567890"));
+        List<Product> products = new ArrayList<>(lines);
+
+        for (long id = 1; id <= lines; id++) {
+            Product product = new Product(id, "Produto " + id, Money.ofCents(100),
+                    "descricao",
+                    1,
+                    ProductStatus.ACTIVE);
+            order.addItem(product, 1);
+            products.add(product);
+        }
+        Collections.shuffle(products, random);
+
+        long start = System.nanoTime();
+        for (Product product : products) {
+            order.removeItem(product.getId());
+        }
+        long elapsed = System.nanoTime() - start;
+
+        assertEquals(Money.ZERO, order.getTotal());
+        return elapsed;
+    }
+}
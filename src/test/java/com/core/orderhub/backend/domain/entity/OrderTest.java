@@ -0,0 +1,133 @@
+package com.core.orderhub.backend.domain.entity;
+
+import com.core.orderhub.backend.domain.enums.ProductStatus;
+import com.core.orderhub.backend.domain.valueobject.Money;
+import com.core.orderhub.backend.exception.BusinessException;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+class OrderTest {
+
+    private Product activeProduct(Long id, long priceInCents, int quantity) {
+        return new Product(id, "Produto " + id, Money.ofCents(priceInCents),
+                "descricao",
+                quantity,
+                ProductStatus.ACTIVE);
+    }
+
+    @Test
+    void shouldMergeDuplicateLinesForTheSameProduct() {
+        Order order = new Order(new Client("Kaleb", "01234567890"));
+        Product product = activeProduct(1L, 1000, 10);
+
+        order.addItem(product, 2);
+        order.addItem(product, 3);
+
+        assertEquals(1, order.getOrderItemList().size());
+        assertEquals(5, order.quantityOf(1L));
+        assertEquals(Money.ofCents(5000), order.getOrderItemList().get(0).getSubtotal());
+        assertEquals(Money.ofCents(5000), order.getTotal());
+    }
+
+    @Test
+    void shouldRemoveItemWithoutTouchingOtherProducts() {
+        Order order = new Order(new Client("Kaleb", "01234567890"));
+        Product first = activeProduct(1L, 1000, 10);
+        Product second = activeProduct(2L, 250, 10);
+
+        order.addItem(first, 1);
+        order.addItem(second, 4);
+
+        OrderItem remainingItem = spy(order.getOrderItemList().get(0));
+        order.getOrderItemList().set(0, remainingItem);
+
+        OrderItem removedItem = order.removeItem(2L);
+
+        verify(remainingItem, never()).getProduct();
+        assertEquals(4, removedItem.getQuantity());
+        assertEquals(0, order.quantityOf(2L));
+        assertEquals(1, order.getOrderItemList().size());
+        assertEquals(Money.ofCents(1000), order.getTotal());
+    }
+
+    @Test
+    void shouldRemoveItemByPositionWithoutScanningTheOtherLines() {
+        Order order = new Order(new Client("Kaleb", "01234567890"));
+        for (long id = 1; id <= 1000; id++) {
+            order.addItem(activeProduct(id, 100, 10), 1);
+        }
+        RemovalTrackingList items = new RemovalTrackingList(order.getOrderItemList());
+        ReflectionTestUtils.setField(order, "orderItemList", items);
+
+        order.removeItem(1L);
+        order.removeItem(500L);
+
+        // product 500 sat at 499 and moved up one slot when product 1 was removed
+        assertEquals(List.of(0, 498), items.removedPositions);
+        assertEquals(998, items.size());
+        assertEquals(0, order.quantityOf(1L));
+        assertEquals(0, order.quantityOf(500L));
+        assertEquals(1, order.quantityOf(1000L));
+        assertEquals(1, order.quantityOf(999L));
+        assertEquals(Money.ofCents(99800), order.getTotal());
+    }
+
+    @Test
+    void shouldKeepTheOrderOfTheRemainingLines() {
+        Order order = new Order(new Client("Kaleb", "01234567890"));
+        for (long id = 1; id <= 5; id++) {
+            order.addItem(activeProduct(id, 100, 10), 1);
+        }
+
+        order.removeItem(2L);
+        order.removeItem(5L);
+        order.addItem(activeProduct(6L, 100, 10), 1);
+        order.addItem(activeProduct(3L, 100, 10), 2);
+
+        assertEquals(List.of(1L, 3L, 4L, 6L),
+                order.getOrderItemList().stream().map(OrderItem::getProductId).toList());
+        assertEquals(3, order.quantityOf(3L));
+        assertEquals(1, order.quantityOf(4L));
+    }
+
+    @Test
+    void shouldThrowWhenRemovingProductNotInOrder() {
+        Order order = new Order(new Client("Kaleb", "01234567890"));
+
+        assertThrows(BusinessException.class,
+                () -> order.removeItem(1L));
+    }
+
+    private static final class RemovalTrackingList extends ArrayList<OrderItem> {
+
+        private final List<Integer> removedPositions = new ArrayList<>();
+
+        private RemovalTrackingList(List<OrderItem> items) {
+            super(items);
+        }
+
+        @Override
+        public OrderItem remove(int index) {
+            removedPositions.add(index);
+            return super.remove(index);
+        }
+
+        @Override
+        public boolean remove(Object item) {
+            throw new AssertionError("removal by value scans the list");
+        }
+
+        @Override
+        public int indexOf(Object item) {
+            throw new AssertionError("lookup by value scans the list");
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.core.orderhub.backend.domain.valueobject;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoneyTest {
+
+    @Test
+    void shouldConvertFromBigDecimalUsingCents() {
+        assertEquals(3050L, Money.of(new BigDecimal("30.5")).cents());
+        assertEquals(3001L, Money.of(new BigDecimal("30.005")).cents());
+    }
+
+    @Test
+    void shouldKeepTwoDecimalPlacesOnTheWire() {
+        assertEquals(new BigDecimal("60.00"), Money.of(BigDecimal.valueOf(30)).times(2).toBigDecimal());
+        assertEquals(new BigDecimal("0.00"), Money.ZERO.toBigDecimal());
+    }
+
+    @Test
+    void shouldAddAndSubtractAmounts() {
+        Money total = Money.ZERO
+                .plus(Money.ofCents(1999))
+                .plus(Money.ofCents(1))
+                .minus(Money.ofCents(1000));
+
+        assertEquals(Money.ofCents(1000), total);
+    }
+
+    @Test
+    void shouldThrowOnOverflow() {
+        assertThrows(ArithmeticException.class,
+                () -> Money.ofCents(Long.MAX_VALUE).times(2));
+    }
+}
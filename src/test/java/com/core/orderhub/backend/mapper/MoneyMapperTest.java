@@ -0,0 +1,27 @@
+package com.core.orderhub.backend.mapper;
+
+import com.core.orderhub.backend.domain.valueobject.Money;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoneyMapperTest {
+
+    private final MoneyMapper moneyMapper = new MoneyMapper();
+
+    @Test
+    void shouldRenderAmountsWithTwoDecimalPlaces() {
+        assertEquals("0.00", moneyMapper.toBigDecimal(Money.ZERO).toPlainString());
+        assertEquals("30.50", moneyMapper.toBigDecimal(Money.ofCents(3050)).toPlainString());
+        assertEquals("-1.00", moneyMapper.toBigDecimal(Money.ofCents(-100)).toPlainString());
+    }
+
+    @Test
+    void shouldKeepNullsAsNull() {
+        assertNull(moneyMapper.toBigDecimal(null));
+        assertNull(moneyMapper.toMoney(null));
+        assertEquals(Money.ofCents(1000), moneyMapper.toMoney(new BigDecimal("10")));
+    }
+}
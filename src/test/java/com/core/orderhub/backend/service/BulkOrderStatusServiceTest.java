@@ -0,0 +1,123 @@
+package com.core.orderhub.backend.service;
+
+import com.core.orderhub.backend.domain.entity.Client;
+import com.core.orderhub.backend.domain.entity.Order;
+import com.core.orderhub.backend.domain.enums.OrderStatus;
+import com.core.orderhub.backend.dto.BulkOrderStatusDto;
+import com.core.orderhub.backend.dto.BulkOrderStatusResultDto;
+import com.core.orderhub.backend.exception.BusinessException;
+import com.core.orderhub.backend.repository.OrderRepository;
+import com.core.orderhub.backend.repository.OutboxEventRepository;
+import com.core.orderhub.backend.service.outbox.OutboxService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({BulkOrderStatusService.class, OutboxService.class})
+class BulkOrderStatusServiceTest {
+
+    @Autowired
+    private BulkOrderStatusService bulkOrderStatusService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Long persistOrder(Client client, OrderStatus... transitions) {
+        Order order = new Order(client);
+        for (OrderStatus status : transitions) {
+            order.changeStatus(status);
+        }
+        return entityManager.persist(order).getId();
+    }
+
+    private OrderStatus statusOf(Long id) {
+        return orderRepository.findById(id).orElseThrow().getStatus();
+    }
+
+    @Test
+    void shouldAcceptOnlyOrdersInLegalSourceStatus() {
+        Client client = entityManager.persist(new Client("Kaleb", "01234567890"));
+        Long paid = persistOrder(client, OrderStatus.PAID);
+        Long created = persistOrder(client);
+        Long canceled = persistOrder(client, OrderStatus.CANCELED);
+        entityManager.flush();
+        entityManager.clear();
+
+        BulkOrderStatusDto dto = new BulkOrderStatusDto();
+        dto.setStatus(OrderStatus.FINISHED);
+        dto.setIds(List.of(canceled, paid, created, 999_999L));
+
+        BulkOrderStatusResultDto result = bulkOrderStatusService.updateStatus(dto);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(List.of(paid), result.accepted());
+        assertEquals(List.of(created, canceled, 999_999L),
+                result.rejected().stream().map(BulkOrderStatusResultDto.Rejection::id).toList());
+        assertEquals("Order not found", result.rejected().get(2).reason());
+        assertEquals(OrderStatus.FINISHED, statusOf(paid));
+        assertEquals(OrderStatus.CREATED, statusOf(created));
+        assertEquals(OrderStatus.CANCELED, statusOf(canceled));
+        assertEquals(1, outboxEventRepository.count());
+        assertEquals("OrderStatusChanged", outboxEventRepository.findAll().get(0).getEventType());
+    }
+
+    @Test
+    void shouldTransitionOrdersMatchingFilter() {
+        Client client = entityManager.persist(new Client("Kaleb", "01234567890"));
+        Long paid = persistOrder(client, OrderStatus.PAID);
+        Long created = persistOrder(client);
+        entityManager.flush();
+        entityManager.clear();
+
+        BulkOrderStatusDto.Filter filter = new BulkOrderStatusDto.Filter();
+        filter.setCurrentStatuses(Set.of(OrderStatus.PAID));
+        filter.setCreatedBefore(LocalDateTime.now().plusMinutes(1));
+
+        BulkOrderStatusDto dto = new BulkOrderStatusDto();
+        dto.setStatus(OrderStatus.CANCELED);
+        dto.setFilter(filter);
+
+        BulkOrderStatusResultDto result = bulkOrderStatusService.updateStatus(dto);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(List.of(paid), result.accepted());
+        assertTrue(result.rejected().isEmpty());
+        assertEquals(OrderStatus.CANCELED, statusOf(paid));
+        assertEquals(OrderStatus.CREATED, statusOf(created));
+    }
+
+    @Test
+    void shouldRequireEitherIdsOrFilter() {
+        BulkOrderStatusDto dto = new BulkOrderStatusDto();
+        dto.setStatus(OrderStatus.FINISHED);
+
+        assertThrows(BusinessException.class, () -> bulkOrderStatusService.updateStatus(dto));
+    }
+
+    @Test
+    void shouldDeriveLegalSourcesFromTransitionRules() {
+        assertEquals(Set.of(OrderStatus.PAID), OrderStatus.sourcesOf(OrderStatus.FINISHED));
+        assertEquals(Set.of(OrderStatus.CREATED, OrderStatus.PAID), OrderStatus.sourcesOf(OrderStatus.CANCELED));
+        assertTrue(OrderStatus.sourcesOf(OrderStatus.CREATED).isEmpty());
+    }
+}
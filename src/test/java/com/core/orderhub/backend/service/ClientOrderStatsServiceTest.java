@@ -0,0 +1,185 @@
+package com.core.orderhub.backend.service;
+
+import com.core.orderhub.backend.domain.entity.Client;
+import com.core.orderhub.backend.domain.entity.Order;
+import com.core.orderhub.backend.domain.entity.Product;
+import com.core.orderhub.backend.domain.enums.OrderStatus;
+import com.core.orderhub.backend.domain.enums.ProductStatus;
+import com.core.orderhub.backend.domain.event.OrderCreated;
+import com.core.orderhub.backend.domain.event.OrderItemAdded;
+import com.core.orderhub.backend.domain.event.OrderStatusChanged;
+import com.core.orderhub.backend.domain.valueobject.Money;
+import com.core.orderhub.backend.dto.ClientOrderStatsCheckDto;
+import com.core.orderhub.backend.dto.ClientOrderStatsDto;
+import com.core.orderhub.backend.exception.ResourceNotFoundException;
+import com.core.orderhub.backend.repository.ClientOrderStatsRepository;
+import com.core.orderhub.backend.repository.ClientRepository;
+import com.core.orderhub.backend.repository.OrderRepository;
+import com.core.orderhub.backend.repository.OutboxEventRepository;
+import com.core.orderhub.backend.repository.ProductRepository;
+import com.core.orderhub.backend.service.outbox.OutboxService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({ClientOrderStatsService.class, OutboxService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ClientOrderStatsServiceTest {
+
+    @Autowired
+    private ClientOrderStatsService clientOrderStatsService;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private ClientOrderStatsRepository clientOrderStatsRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ClientOrderStatsChecker checker;
+
+    @BeforeEach
+    void setUp() {
+        checker = new ClientOrderStatsChecker();
+        ReflectionTestUtils.setField(checker, "clientRepository", clientRepository);
+        ReflectionTestUtils.setField(checker, "clientOrderStatsRepository", clientOrderStatsRepository);
+        ReflectionTestUtils.setField(checker, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(checker, "transactionTemplate", transactionTemplate);
+        ReflectionTestUtils.setField(checker, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(checker, "chunkSize", 2);
+        ReflectionTestUtils.setField(checker, "parallelism", 2);
+        checker.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        outboxEventRepository.deleteAll();
+        clientOrderStatsRepository.deleteAll();
+        orderRepository.deleteAll();
+        productRepository.deleteAll();
+        clientRepository.deleteAll();
+    }
+
+    private Long placePaidOrder(Long clientId, Long productId, int quantity) {
+        return transactionTemplate.execute(status -> {
+            Client client = clientRepository.findById(clientId).orElseThrow();
+            Product product = productRepository.findById(productId).orElseThrow();
+
+            Order order = orderRepository.save(new Order(client));
+            outboxService.append(new OrderCreated(order.getId(), clientId, BigDecimal.ZERO, 0,
+                    order.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant()));
+
+            order.addItem(product, quantity);
+            outboxService.append(new OrderItemAdded(order.getId(), clientId, productId, quantity,
+                    order.getTotal().toBigDecimal(), order.getTotal().toBigDecimal(), Instant.now()));
+
+            order.changeStatus(OrderStatus.PAID);
+            outboxService.append(new OrderStatusChanged(order.getId(), clientId, OrderStatus.CREATED, OrderStatus.PAID,
+                    order.getTotal().toBigDecimal(), Instant.now()));
+            return order.getId();
+        });
+    }
+
+    private Long persistProduct() {
+        return productRepository.save(new Product(null, "Fone de ouvido", Money.ofCents(3000),
+                "fone sem fio", 100, ProductStatus.ACTIVE)).getId();
+    }
+
+    @Test
+    void shouldMaintainStatsFromOrderEvents() {
+        Long clientId = clientRepository.save(new Client("Kaleb", "01234567890")).getId();
+        Long productId = persistProduct();
+
+        placePaidOrder(clientId, productId, 2);
+        placePaidOrder(clientId, productId, 1);
+
+        ClientOrderStatsDto stats = clientOrderStatsService.findByClientId(clientId);
+
+        assertEquals(2L, stats.ordersByStatus().get(OrderStatus.PAID));
+        assertEquals(0L, stats.ordersByStatus().get(OrderStatus.CREATED));
+        assertEquals(0, new BigDecimal("90.00").compareTo(stats.lifetimeValue()));
+        assertEquals(0, BigDecimal.ZERO.compareTo(stats.openValue()));
+        assertNotNull(stats.lastOrderAt());
+    }
+
+    @Test
+    void shouldReturnEmptyStatsForClientWithoutOrdersAndNotFoundForUnknownClient() {
+        Long clientId = clientRepository.save(new Client("Kaleb", "01234567890")).getId();
+
+        assertEquals(0L, clientOrderStatsService.findByClientId(clientId).ordersByStatus().get(OrderStatus.PAID));
+        assertThrows(ResourceNotFoundException.class, () -> clientOrderStatsService.findByClientId(999_999L));
+    }
+
+    @Test
+    void shouldNotUpdateStatsWhenOrderTransactionRollsBack() {
+        Long clientId = clientRepository.save(new Client("Kaleb", "01234567890")).getId();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            outboxService.append(new OrderCreated(1L, clientId, BigDecimal.TEN, 0, Instant.now()));
+            status.setRollbackOnly();
+        });
+
+        assertFalse(clientOrderStatsRepository.existsById(clientId));
+    }
+
+    @Test
+    void shouldReportNoDriftWhenStatsMatchOrdersAndFlagTamperedClients() {
+        Long productId = persistProduct();
+        List<Long> clientIds = List.of(
+                clientRepository.save(new Client("Kaleb", "01234567890")).getId(),
+                clientRepository.save(new Client("César", "12345678910")).getId(),
+                clientRepository.save(new Client("Ana", "23456789011")).getId());
+        clientIds.forEach(clientId -> placePaidOrder(clientId, productId, 1));
+
+        ClientOrderStatsCheckDto consistent = checker.check();
+
+        assertEquals(3, consistent.checkedClients());
+        assertTrue(consistent.driftedClientIds().isEmpty());
+
+        jdbcTemplate.update("update client_order_stats set paid_orders = 5 where client_id = ?", clientIds.get(2));
+
+        ClientOrderStatsCheckDto drifted = checker.check();
+
+        assertEquals(List.of(clientIds.get(2)), drifted.driftedClientIds());
+        assertEquals(1.0, meterRegistry.get("orderhub.clients.stats.drift").gauge().value());
+    }
+}
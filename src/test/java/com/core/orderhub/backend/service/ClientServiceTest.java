@@ -7,6 +7,8 @@ import com.core.orderhub.backend.exception.ResourceConflictException;
 import com.core.orderhub.backend.exception.ResourceNotFoundException;
 import com.core.orderhub.backend.mapper.ClientMapper;
 import com.core.orderhub.backend.repository.ClientRepository;
+import com.core.orderhub.backend.service.invalidation.EntityType;
+import com.core.orderhub.backend.service.invalidation.InvalidationBus;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -30,6 +32,9 @@ class ClientServiceTest {
     @Mock
     private ClientMapper clientMapper;
 
+    @Mock
+    private InvalidationBus invalidationBus;
+
     @InjectMocks
     private ClientService clientService;
 
@@ -162,6 +167,7 @@ class ClientServiceTest {
         clientService.updateClientStatus(clientId, ClientStatus.INACTIVE);
 
         assertEquals(ClientStatus.INACTIVE, client.getStatus());
+        verify(invalidationBus).publishAfterCommit(EntityType.CLIENT, clientId);
     }
 
     @Test
@@ -0,0 +1,113 @@
+package com.core.orderhub.backend.service;
+
+import com.core.orderhub.backend.domain.entity.Client;
+import com.core.orderhub.backend.domain.entity.Order;
+import com.core.orderhub.backend.domain.entity.Product;
+import com.core.orderhub.backend.domain.enums.ProductStatus;
+import com.core.orderhub.backend.domain.valueobject.Money;
+import com.core.orderhub.backend.dto.OrderDto;
+import com.core.orderhub.backend.mapper.MoneyMapper;
+import com.core.orderhub.backend.mapper.OrderItemMapperImpl;
+import com.core.orderhub.backend.mapper.OrderMapperImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({OrderExportService.class, OrderMapperImpl.class, OrderItemMapperImpl.class, MoneyMapper.class})
+class OrderExportServiceTest {
+
+    @Autowired
+    private OrderExportService orderExportService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private void persistOrders(int count) {
+        Client client = entityManager.persist(new Client("Kaleb", "01234567890"));
+        Product product = entityManager.persist(new Product(null, "Fone de ouvido", Money.ofCents(3000),
+                "fone sem fio",
+                Integer.MAX_VALUE,
+                ProductStatus.ACTIVE));
+
+        for (int i = 1; i <= count; i++) {
+            Order order = new Order(client);
+            order.addItem(product, 1);
+            entityManager.persist(order);
+
+            if (i % 1_000 == 0) {
+                entityManager.flush();
+                entityManager.clear();
+                client = entityManager.find(Client.class, client.getId());
+                product = entityManager.find(Product.class, product.getId());
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void shouldExportOneJsonLinePerOrder() throws Exception {
+        persistOrders(3);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        long exported = orderExportService.exportOrders(outputStream);
+
+        List<String> lines = outputStream.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(3, exported);
+        assertEquals(3, lines.size());
+
+        OrderDto first = objectMapper.readValue(lines.get(0), OrderDto.class);
+        OrderDto last = objectMapper.readValue(lines.get(2), OrderDto.class);
+        assertEquals(1, first.getItems().size());
+        assertEquals(2, last.getId() - first.getId());
+    }
+
+    @Test
+    @Tag("benchmark")
+    void shouldReportExportThroughputAndPeakHeap() throws Exception {
+        int orders = 50_000;
+        persistOrders(orders);
+
+        List<MemoryPoolMXBean> heapPools = ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .toList();
+        System.gc();
+        heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+
+        long start = System.nanoTime();
+        long exported = orderExportService.exportOrders(OutputStream.nullOutputStream());
+        long elapsed = System.nanoTime() - start;
+
+        long peakHeap = heapPools.stream()
+                .mapToLong(pool -> pool.getPeakUsage().getUsed())
+                .sum();
+
+        System.out.printf("Order export | rows=%d | %.0f rows/s | peak heap=%d MB%n",
+                exported,
+                exported / (elapsed / 1_000_000_000.0),
+                peakHeap / (1024 * 1024));
+
+        assertEquals(orders, exported);
+    }
+}
@@ -0,0 +1,103 @@
+package com.core.orderhub.backend.service;
+
+import com.core.orderhub.backend.domain.enums.OrderStatus;
+import com.core.orderhub.backend.dto.OrderDto;
+import com.core.orderhub.backend.repository.OrderRepository;
+import com.core.orderhub.backend.repository.OrderSummaryRepository;
+import com.core.orderhub.backend.service.readmodel.OrderSummaryProjector;
+import com.core.orderhub.backend.service.readmodel.TerminalOrderCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class OrderQueryServiceTest {
+
+    private final OrderSummaryRepository orderSummaryRepository = mock(OrderSummaryRepository.class);
+    private final OrderRepository orderRepository = mock(OrderRepository.class);
+    private final OrderService orderService = mock(OrderService.class);
+    private final OrderSummaryProjector orderSummaryProjector = mock(OrderSummaryProjector.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private OrderQueryService orderQueryService;
+
+    @BeforeEach
+    void setUp() {
+        TerminalOrderCache cache = new TerminalOrderCache();
+        ReflectionTestUtils.setField(cache, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(cache, "maxBytes", 1_048_576L);
+        cache.init();
+
+        orderQueryService = new OrderQueryService();
+        ReflectionTestUtils.setField(orderQueryService, "orderSummaryRepository", orderSummaryRepository);
+        ReflectionTestUtils.setField(orderQueryService, "orderRepository", orderRepository);
+        ReflectionTestUtils.setField(orderQueryService, "orderService", orderService);
+        ReflectionTestUtils.setField(orderQueryService, "objectMapper", new ObjectMapper().findAndRegisterModules());
+        ReflectionTestUtils.setField(orderQueryService, "terminalOrderCache", cache);
+        ReflectionTestUtils.setField(orderQueryService, "orderSummaryProjector", orderSummaryProjector);
+        ReflectionTestUtils.setField(orderQueryService, "transactionTemplate", new TransactionTemplate(transactionManager));
+        orderQueryService.init();
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(orderSummaryProjector.isCaughtUp()).thenReturn(true);
+        when(orderSummaryRepository.findById(any())).thenReturn(Optional.empty());
+    }
+
+    private OrderDto order(Long id, OrderStatus status, Long version) {
+        return OrderDto.builder().id(id).clientId(1L).status(status).version(version).build();
+    }
+
+    @Test
+    void shouldServeTerminalOrdersFromCacheAfterFirstRead() {
+        when(orderService.findById(1L)).thenReturn(order(1L, OrderStatus.FINISHED, 5L));
+
+        OrderQueryService.OrderResponse first = orderQueryService.findResponse(1L);
+        OrderQueryService.OrderResponse second = orderQueryService.findResponse(1L);
+
+        assertArrayEquals(first.body(), second.body());
+        assertEquals(5L, second.version());
+        assertEquals(Optional.of(5L), orderQueryService.findVersion(1L));
+        verify(orderService, times(1)).findById(1L);
+        verifyNoInteractions(orderRepository);
+    }
+
+    @Test
+    void shouldNotOpenATransactionForCachedResponses() {
+        when(orderService.findById(4L)).thenReturn(order(4L, OrderStatus.CANCELED, 3L));
+
+        orderQueryService.findResponse(4L);
+        orderQueryService.findResponse(4L);
+        orderQueryService.findResponse(4L);
+
+        verify(transactionManager, times(1)).getTransaction(any());
+        verify(transactionManager, times(1)).commit(any());
+    }
+
+    @Test
+    void shouldReadOpenOrdersEveryTime() {
+        when(orderService.findById(2L)).thenReturn(order(2L, OrderStatus.PAID, 1L));
+        when(orderRepository.findVersionById(2L)).thenReturn(Optional.of(1L));
+
+        orderQueryService.findResponse(2L);
+        orderQueryService.findResponse(2L);
+
+        assertEquals(Optional.of(1L), orderQueryService.findVersion(2L));
+        verify(orderService, times(2)).findById(2L);
+    }
+
+    @Test
+    void shouldReadTheOrderTablesUntilTheReadModelHasCaughtUp() {
+        when(orderSummaryProjector.isCaughtUp()).thenReturn(false);
+        when(orderService.findById(3L)).thenReturn(order(3L, OrderStatus.CREATED, 2L));
+
+        assertEquals(3L, orderQueryService.findById(3L).getId());
+        verifyNoInteractions(orderSummaryRepository);
+    }
+}
@@ -0,0 +1,199 @@
+package com.core.orderhub.backend.service;
+
+import com.core.orderhub.backend.domain.entity.Client;
+import com.core.orderhub.backend.domain.entity.Order;
+import com.core.orderhub.backend.domain.entity.Product;
+import com.core.orderhub.backend.domain.enums.OrderStatus;
+import com.core.orderhub.backend.domain.enums.ProductStatus;
+import com.core.orderhub.backend.domain.valueobject.Money;
+import com.core.orderhub.backend.dto.OrderDto;
+import com.core.orderhub.backend.dto.OrderPageDto;
+import com.core.orderhub.backend.dto.OrderSearchCriteria;
+import com.core.orderhub.backend.exception.BusinessException;
+import com.core.orderhub.backend.mapper.MoneyMapper;
+import com.core.orderhub.backend.mapper.OrderItemMapperImpl;
+import com.core.orderhub.backend.mapper.OrderMapperImpl;
+import com.core.orderhub.backend.service.catalog.ProductCache;
+import com.core.orderhub.backend.service.outbox.OutboxService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({OrderService.class, OutboxService.class, ProductCache.class, SimpleMeterRegistry.class,
+        OrderMapperImpl.class, OrderItemMapperImpl.class, MoneyMapper.class})
+class OrderSearchTest {
+
+    private static final int ORDERS = 24;
+    private static final int PAGE_SIZE = 5;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @MockitoBean
+    private StockService stockService;
+
+    private Statistics statistics;
+    private Client client;
+    private Client otherClient;
+    private final LocalDateTime from = LocalDateTime.now().minusDays(1);
+    private final LocalDateTime to = LocalDateTime.now().plusDays(1);
+
+    @BeforeEach
+    void setUp() {
+        client = entityManager.persist(new Client("Kaleb", "01234567890"));
+        otherClient = entityManager.persist(new Client("Ana", "10987654321"));
+        Product product = entityManager.persist(new Product(null, "Fone de ouvido", Money.ofCents(3000),
+                "fone sem fio", Integer.MAX_VALUE, ProductStatus.ACTIVE));
+
+        for (int i = 0; i < ORDERS; i++) {
+            Order order = new Order(i % 4 == 3 ? otherClient : client);
+            order.addItem(product, 1 + i % 2);
+            if (i % 3 == 0) {
+                order.changeStatus(OrderStatus.PAID);
+            }
+            entityManager.persist(order);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private static List<OrderSearchCriteria> everyFilterCombination(Long clientId, LocalDateTime from,
+                                                                    LocalDateTime to) {
+        List<OrderSearchCriteria> combinations = new ArrayList<>();
+        for (int mask = 0; mask < 16; mask++) {
+            combinations.add(new OrderSearchCriteria(
+                    (mask & 1) != 0 ? clientId : null,
+                    (mask & 2) != 0 ? Set.of(OrderStatus.CREATED, OrderStatus.PAID) : null,
+                    (mask & 4) != 0 ? from : null,
+                    (mask & 4) != 0 ? to : null,
+                    (mask & 8) != 0 ? new BigDecimal("30.00") : null,
+                    (mask & 8) != 0 ? new BigDecimal("60.00") : null
+            ));
+        }
+        return combinations;
+    }
+
+    private long statementsFor(OrderSearchCriteria criteria, String cursor, List<OrderPageDto> pages) {
+        entityManager.clear();
+        statistics.clear();
+        pages.add(orderService.search(criteria, cursor, PAGE_SIZE));
+        return statistics.getPrepareStatementCount();
+    }
+
+    @Test
+    void shouldLoadEveryPageWithTwoStatementsForEveryFilterCombination() {
+        for (OrderSearchCriteria criteria : everyFilterCombination(client.getId(), from, to)) {
+            List<OrderPageDto> pages = new ArrayList<>();
+            String cursor = null;
+            do {
+                assertEquals(2, statementsFor(criteria, cursor, pages), "statements per page for " + criteria);
+                cursor = pages.get(pages.size() - 1).nextCursor();
+            } while (cursor != null && pages.size() < 10);
+
+            Set<Long> seen = new HashSet<>();
+            pages.forEach(page -> page.items().forEach(order -> assertTrue(seen.add(order.getId()))));
+            int expected = criteria.clientId() == null ? ORDERS : ORDERS * 3 / 4;
+            assertEquals(expected, seen.size(), "orders found for " + criteria);
+        }
+    }
+
+    @Test
+    void shouldLoadEveryKeysetPageOfTheListingWithTwoStatements() {
+        List<OrderPageDto> pages = new ArrayList<>();
+        String cursor = null;
+        do {
+            entityManager.clear();
+            statistics.clear();
+            pages.add(orderService.findPage(cursor, PAGE_SIZE));
+            assertEquals(2, statistics.getPrepareStatementCount(), "statements for page " + pages.size());
+            cursor = pages.get(pages.size() - 1).nextCursor();
+        } while (cursor != null && pages.size() < 10);
+
+        List<OrderDto> orders = pages.stream().flatMap(page -> page.items().stream()).toList();
+        assertEquals(ORDERS, orders.size());
+        assertEquals(ORDERS, orders.stream().map(OrderDto::getId).distinct().count());
+        orders.forEach(order -> assertEquals(1, order.getItems().size()));
+        List<Long> ids = orders.stream().map(OrderDto::getId).toList();
+        assertEquals(ids.stream().sorted((a, b) -> Long.compare(b, a)).toList(), ids);
+    }
+
+    @Test
+    void shouldApplyFiltersAndKeepNewestFirst() {
+        OrderSearchCriteria criteria = new OrderSearchCriteria(client.getId(), Set.of(OrderStatus.PAID), from, to,
+                new BigDecimal("60.00"), null);
+
+        OrderPageDto page = orderService.search(criteria, null, 100);
+
+        assertFalse(page.items().isEmpty());
+        assertNull(page.nextCursor());
+        for (OrderDto order : page.items()) {
+            assertEquals(client.getId(), order.getClientId());
+            assertEquals(OrderStatus.PAID, order.getStatus());
+            assertEquals(0, new BigDecimal("60.00").compareTo(order.getTotal()));
+        }
+        List<Long> ids = page.items().stream().map(OrderDto::getId).toList();
+        assertEquals(ids.stream().sorted((a, b) -> Long.compare(b, a)).toList(), ids);
+    }
+
+    @Test
+    void shouldRejectInvertedRanges() {
+        assertThrows(BusinessException.class, () -> orderService.search(
+                new OrderSearchCriteria(null, null, to, from, null, null), null, PAGE_SIZE));
+        assertThrows(BusinessException.class, () -> orderService.search(
+                new OrderSearchCriteria(null, null, null, null, BigDecimal.TEN, BigDecimal.ONE), null, PAGE_SIZE));
+    }
+
+    @Test
+    void shouldIndexEveryLeadingSearchColumn() throws Exception {
+        Set<String> leadingColumns = new HashSet<>();
+        try (Connection connection = dataSource.getConnection()) {
+            for (String table : List.of("ORDERS", "ORDER_ITEM")) {
+                try (ResultSet indexes = connection.getMetaData().getIndexInfo(null, null, table, false, false)) {
+                    while (indexes.next()) {
+                        if (indexes.getShort("ORDINAL_POSITION") == 1) {
+                            leadingColumns.add(table + "." + indexes.getString("COLUMN_NAME"));
+                        }
+                    }
+                }
+            }
+        }
+
+        assertTrue(leadingColumns.containsAll(Set.of("ORDERS.CLIENT_ID", "ORDERS.STATUS", "ORDERS.CREATED_AT",
+                "ORDER_ITEM.ORDER_ID")), leadingColumns.toString());
+    }
+}
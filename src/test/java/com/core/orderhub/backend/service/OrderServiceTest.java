@@ -6,20 +6,31 @@ import com.core.orderhub.backend.domain.entity.Product;
 import com.core.orderhub.backend.domain.enums.ClientStatus;
 import com.core.orderhub.backend.domain.enums.OrderStatus;
 import com.core.orderhub.backend.domain.enums.ProductStatus;
+import com.core.orderhub.backend.domain.event.OrderItemAdded;
+import com.core.orderhub.backend.domain.event.OrderDeleted;
+import com.core.orderhub.backend.domain.event.OrderStatusChanged;
+import com.core.orderhub.backend.domain.valueobject.Money;
+import com.core.orderhub.backend.dto.AddOrderItemDto;
 import com.core.orderhub.backend.dto.ClientDto;
 import com.core.orderhub.backend.dto.OrderDto;
 import com.core.orderhub.backend.dto.OrderItemDto;
+import com.core.orderhub.backend.dto.OrderPageDto;
 import com.core.orderhub.backend.exception.BusinessException;
 import com.core.orderhub.backend.exception.ResourceNotFoundException;
 import com.core.orderhub.backend.mapper.OrderMapper;
 import com.core.orderhub.backend.repository.ClientRepository;
 import com.core.orderhub.backend.repository.OrderRepository;
 import com.core.orderhub.backend.repository.ProductRepository;
+import com.core.orderhub.backend.service.archive.OrderArchive;
+import com.core.orderhub.backend.service.catalog.ProductCache;
+import com.core.orderhub.backend.service.outbox.OutboxService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
@@ -45,6 +56,18 @@ class OrderServiceTest {
     @Mock
     private OrderMapper orderMapper;
 
+    @Mock
+    private StockService stockService;
+
+    @Mock
+    private OutboxService outboxService;
+
+    @Mock
+    private OrderArchive orderArchive;
+
+    @Mock
+    private ProductCache productCache;
+
     @InjectMocks
     private OrderService orderService;
 
@@ -79,18 +102,26 @@ class OrderServiceTest {
                                 .unitPrice(BigDecimal.ONE)
                                 .build()
                 ),
-                OrderStatus.CREATED);
+                OrderStatus.CREATED,
+                0L);
         ReflectionTestUtils.setField(orderDto, "id", id);
         return orderDto;
     }
 
     private Product activeProduct(int quantity) {
-        return new Product(1L, "Fone de ouvido", BigDecimal.valueOf(30.0),
+        return new Product(1L, "Fone de ouvido", Money.of(BigDecimal.valueOf(30.0)),
                 "fone sem fio",
                 quantity,
                 ProductStatus.ACTIVE);
     }
 
+    private AddOrderItemDto checkoutItem(Long productId, Integer quantity) {
+        AddOrderItemDto item = new AddOrderItemDto();
+        item.setProductId(productId);
+        item.setQuantity(quantity);
+        return item;
+    }
+
     @Test
     void shouldCreateOrderSuccessfully() {
         Long clientId = 1L;
@@ -144,7 +175,7 @@ class OrderServiceTest {
 
         when(orderRepository.findById(orderId))
                 .thenReturn(Optional.of(order));
-        when(productRepository.findById(productId))
+        when(productCache.findById(productId))
                 .thenReturn(Optional.of(product));
         when(orderMapper.toDto(order))
                 .thenReturn(orderDto);
@@ -153,8 +184,11 @@ class OrderServiceTest {
 
         assertNotNull(result);
         assertEquals(1, order.getOrderItemList().size());
-        assertEquals(BigDecimal.valueOf(60.0), order.getTotal());
-        assertEquals(8, product.getQuantity());
+        assertEquals(Money.of(BigDecimal.valueOf(60.0)), order.getTotal());
+        verify(stockService).reserve(product, 2);
+        verify(outboxService).append(argThat(event -> event instanceof OrderItemAdded added
+                && added.quantity() == 2
+                && added.totalDelta().compareTo(BigDecimal.valueOf(60)) == 0));
 
         verify(orderRepository, never()).save(any());
     }
@@ -174,7 +208,7 @@ class OrderServiceTest {
 
         when(orderRepository.findById(1L))
                 .thenReturn(Optional.of(order));
-        when(productRepository.findById(1L))
+        when(productCache.findById(1L))
                 .thenReturn(Optional.empty());
 
         assertThrows(ResourceNotFoundException.class,
@@ -188,13 +222,90 @@ class OrderServiceTest {
 
         when(orderRepository.findById(1L))
                 .thenReturn(Optional.of(order));
-        when(productRepository.findById(1L))
+        when(productCache.findById(1L))
                 .thenReturn(Optional.of(product));
+        doThrow(new BusinessException("Insufficient stock"))
+                .when(stockService).reserve(product, 2);
 
         assertThrows(BusinessException.class,
                 () -> orderService.addOrderItem(1L, 1L, 2));
     }
 
+    @Test
+    void shouldKeepApplyingBatchedAdditionsWhenOneIsRejected() {
+        Order order = createdOrder(1L);
+        Product product = activeProduct(10);
+
+        when(orderRepository.findById(1L))
+                .thenReturn(Optional.of(order));
+        when(productRepository.findAllById(List.of(1L, 2L)))
+                .thenReturn(List.of(product));
+        when(stockService.tryReserve(product, 2)).thenReturn(null);
+        when(stockService.tryReserve(product, 50)).thenReturn("Insufficient stock");
+        when(stockService.tryReserve(product, 3)).thenReturn(null);
+
+        OrderService.ItemBatchResult result = orderService.addOrderItems(1L, List.of(
+                checkoutItem(1L, 2), checkoutItem(1L, 50), checkoutItem(2L, 1), checkoutItem(1L, 3)));
+
+        assertNull(result.failures().get(0));
+        assertInstanceOf(BusinessException.class, result.failures().get(1));
+        assertInstanceOf(ResourceNotFoundException.class, result.failures().get(2));
+        assertNull(result.failures().get(3));
+        assertEquals(5, order.quantityOf(1L));
+        assertEquals(Money.of(BigDecimal.valueOf(150.0)), order.getTotal());
+        verify(outboxService, times(2)).append(any(OrderItemAdded.class));
+        verify(stockService, never()).reserve(any(), any());
+    }
+
+    @Test
+    void shouldCheckoutMergingDuplicateLinesSuccessfully() {
+        Client client = activeClient();
+        Product headphone = activeProduct(10);
+        Product charger = new Product(2L, "Carregador", Money.of(BigDecimal.valueOf(10.0)),
+                "carregador usb",
+                5,
+                ProductStatus.ACTIVE);
+
+        when(clientRepository.findById(1L))
+                .thenReturn(Optional.of(client));
+        when(productRepository.findAllById(any()))
+                .thenReturn(List.of(headphone, charger));
+        when(orderRepository.save(any(Order.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        when(orderMapper.toDto(any(Order.class)))
+                .thenReturn(mock(OrderDto.class));
+
+        OrderDto result = orderService.checkout(1L, List.of(
+                checkoutItem(2L, 1),
+                checkoutItem(1L, 2),
+                checkoutItem(2L, 3)
+        ));
+
+        assertNotNull(result);
+        InOrder reservations = inOrder(stockService);
+        reservations.verify(stockService).reserve(headphone, 2);
+        reservations.verify(stockService).reserve(charger, 4);
+        verify(productRepository, times(1)).findAllById(any());
+        verify(productRepository, never()).findById(any());
+        verify(orderRepository).save(argThat(order ->
+                order.getOrderItemList().size() == 2
+                        && order.getTotal().equals(Money.of(BigDecimal.valueOf(100.0)))
+        ));
+    }
+
+    @Test
+    void shouldThrowWhenProductNotFoundOnCheckout() {
+        when(clientRepository.findById(1L))
+                .thenReturn(Optional.of(activeClient()));
+        when(productRepository.findAllById(any()))
+                .thenReturn(List.of(activeProduct(10)));
+
+        assertThrows(ResourceNotFoundException.class,
+                () -> orderService.checkout(1L, List.of(checkoutItem(1L, 1), checkoutItem(2L, 1))));
+
+        verify(orderRepository, never()).save(any());
+    }
+
     @Test
     void shouldRemoveOrderItemSuccessfully() {
         Long orderId = 1L;
@@ -207,14 +318,13 @@ class OrderServiceTest {
 
         when(orderRepository.findById(orderId))
                 .thenReturn(Optional.of(order));
-        when(productRepository.findById(productId))
-                .thenReturn(Optional.of(product));
 
         orderService.removeOrderItem(orderId, productId);
 
         assertEquals(0, order.getOrderItemList().size());
-        assertEquals(BigDecimal.ZERO, order.getTotal());
-        assertEquals(10, product.getQuantity());
+        assertEquals(Money.ZERO, order.getTotal());
+        verify(stockService).release(productId, 2);
+        verify(productRepository, never()).findById(any());
 
         verify(orderRepository, never()).save(any());
     }
@@ -229,6 +339,9 @@ class OrderServiceTest {
         orderService.updateOrderStatus(1L, OrderStatus.PAID);
 
         assertEquals(OrderStatus.PAID, order.getStatus());
+        verify(outboxService).append(argThat(event -> event instanceof OrderStatusChanged changed
+                && changed.from() == OrderStatus.CREATED
+                && changed.to() == OrderStatus.PAID));
     }
 
     @Test
@@ -241,5 +354,97 @@ class OrderServiceTest {
 
         assertThrows(BusinessException.class,
                 () -> orderService.updateOrderStatus(1L, OrderStatus.PAID));
+
+        verify(outboxService, never()).append(any());
+    }
+
+    @Test
+    void shouldDeleteOrderAndAppendDeletedEvent() {
+        Order order = createdOrder(1L);
+
+        when(orderRepository.findById(1L))
+                .thenReturn(Optional.of(order));
+
+        orderService.deleteById(1L);
+
+        verify(orderRepository).delete(order);
+        verify(outboxService).append(argThat(event -> event instanceof OrderDeleted deleted
+                && deleted.orderId().equals(1L)
+                && deleted.status() == OrderStatus.CREATED));
+    }
+
+    @Test
+    void shouldThrowWhenDeletingMissingOrder() {
+        when(orderRepository.findById(1L))
+                .thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> orderService.deleteById(1L));
+
+        verify(orderRepository, never()).delete(any());
+    }
+
+    @Test
+    void shouldReturnFirstPageInKeysetOrder() {
+        Order newer = createdOrder(2L);
+        Order older = createdOrder(1L);
+
+        when(orderRepository.findFirstPageIds(any(Pageable.class)))
+                .thenReturn(List.of(2L, 1L));
+        when(orderRepository.findAllWithItemsByIdIn(List.of(2L, 1L)))
+                .thenReturn(List.of(older, newer));
+        when(orderMapper.toDto(newer))
+                .thenReturn(createdOrderDto(2L));
+        when(orderMapper.toDto(older))
+                .thenReturn(createdOrderDto(1L));
+
+        OrderPageDto page = orderService.findPage(null, 2);
+
+        assertEquals(List.of(2L, 1L), page.items().stream().map(OrderDto::getId).toList());
+        assertNotNull(page.nextCursor());
+        verify(orderRepository, never()).findAll();
+    }
+
+    @Test
+    void shouldContinueFromCursorPosition() {
+        Order order = createdOrder(1L);
+
+        when(orderRepository.findFirstPageIds(any(Pageable.class)))
+                .thenReturn(List.of(1L));
+        when(orderRepository.findAllWithItemsByIdIn(List.of(1L)))
+                .thenReturn(List.of(order));
+        when(orderMapper.toDto(order))
+                .thenReturn(createdOrderDto(1L));
+        when(orderRepository.findPageIdsAfter(eq(order.getCreatedAt()), eq(1L), any(Pageable.class)))
+                .thenReturn(List.of());
+
+        String cursor = orderService.findPage(null, 1).nextCursor();
+        OrderPageDto nextPage = orderService.findPage(cursor, 1);
+
+        assertTrue(nextPage.items().isEmpty());
+        assertNull(nextPage.nextCursor());
+    }
+
+    @Test
+    void shouldThrowWhenCursorIsInvalid() {
+        assertThrows(BusinessException.class,
+                () -> orderService.findPage("not-a-cursor", 20));
+    }
+
+    @Test
+    void shouldFallBackToArchiveOnFindById() {
+        OrderDto archived = OrderDto.builder().id(9L).clientId(1L).status(OrderStatus.FINISHED).build();
+        when(orderRepository.findById(9L)).thenReturn(Optional.empty());
+        when(orderArchive.find(9L)).thenReturn(Optional.of(archived));
+
+        assertSame(archived, orderService.findById(9L));
+        verifyNoInteractions(orderMapper);
+    }
+
+    @Test
+    void shouldThrowNotFoundWhenOrderIsNeitherStoredNorArchived() {
+        when(orderRepository.findById(9L)).thenReturn(Optional.empty());
+        when(orderArchive.find(9L)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> orderService.findById(9L));
     }
-}
\ No newline at end of file
+}
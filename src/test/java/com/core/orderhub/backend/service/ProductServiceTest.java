@@ -2,10 +2,20 @@ package com.core.orderhub.backend.service;
 
 import com.core.orderhub.backend.domain.entity.Product;
 import com.core.orderhub.backend.domain.enums.ProductStatus;
+import com.core.orderhub.backend.domain.valueobject.Money;
+import com.core.orderhub.backend.dto.BestSellersDto;
 import com.core.orderhub.backend.dto.ProductDto;
+import com.core.orderhub.backend.dto.ProductSearchDto;
+import com.core.orderhub.backend.exception.BusinessException;
 import com.core.orderhub.backend.exception.ResourceNotFoundException;
 import com.core.orderhub.backend.mapper.ProductMapper;
 import com.core.orderhub.backend.repository.ProductRepository;
+import com.core.orderhub.backend.service.bestseller.BestSellerTracker;
+import com.core.orderhub.backend.service.catalog.ProductCache;
+import com.core.orderhub.backend.service.invalidation.EntityType;
+import com.core.orderhub.backend.service.invalidation.InvalidationBus;
+import com.core.orderhub.backend.service.outbox.OutboxService;
+import com.core.orderhub.backend.service.search.ProductSearchIndex;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -13,6 +23,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -31,6 +42,27 @@ class ProductServiceTest {
     @Mock
     private ProductMapper productMapper;
 
+    @Mock
+    private StockService stockService;
+
+    @Mock
+    private ShardedStockService shardedStockService;
+
+    @Mock
+    private OutboxService outboxService;
+
+    @Mock
+    private BestSellerTracker bestSellerTracker;
+
+    @Mock
+    private ProductCache productCache;
+
+    @Mock
+    private InvalidationBus invalidationBus;
+
+    @Mock
+    private ProductSearchIndex productSearchIndex;
+
     @InjectMocks
     private ProductService productService;
 
@@ -127,6 +159,8 @@ class ProductServiceTest {
         productService.updateProductStatus(productId, ProductStatus.INACTIVE);
 
         assertEquals(ProductStatus.INACTIVE, product.getStatus());
+        verify(productCache).evictAfterCommit(productId);
+        verify(invalidationBus).publishAfterCommit(EntityType.PRODUCT, productId);
     }
 
     @Test
@@ -143,6 +177,16 @@ class ProductServiceTest {
         );
     }
 
+    @Test
+    void shouldChangeStockShardsSuccessfully() {
+
+        productService.changeStockShards(1L, 8);
+
+        verify(shardedStockService).changeShards(1L, 8);
+        verify(productCache).evictAfterCommit(1L);
+        verify(invalidationBus).publishAfterCommit(EntityType.PRODUCT, 1L);
+    }
+
     @Test
     void shouldFindProductByIdSuccessfully() {
 
@@ -153,8 +197,8 @@ class ProductServiceTest {
         ProductDto productDto = new ProductDto();
         productDto.setId(productId);
 
-        when(productRepository.findById(productId))
-                .thenReturn(Optional.of(product));
+        when(productCache.findWithStock(productId))
+                .thenReturn(Optional.of(new ProductCache.Stocked(product, 7)));
 
         when(productMapper.toDto(product))
                 .thenReturn(productDto);
@@ -163,6 +207,7 @@ class ProductServiceTest {
 
         assertNotNull(result);
         assertEquals(productId, result.getId());
+        assertEquals(7, result.getQuantity());
     }
 
     @Test
@@ -170,7 +215,7 @@ class ProductServiceTest {
 
         Long productId = 1L;
 
-        when(productRepository.findById(productId))
+        when(productCache.findWithStock(productId))
                 .thenReturn(Optional.empty());
 
         assertThrows(
@@ -185,8 +230,8 @@ class ProductServiceTest {
         Product product = new Product();
         ProductDto dto = new ProductDto();
 
-        when(productRepository.findAll())
-                .thenReturn(List.of(product));
+        when(productCache.findAll())
+                .thenReturn(List.of(new ProductCache.Stocked(product, 0)));
 
         when(productMapper.toDto(product))
                 .thenReturn(dto);
@@ -194,12 +239,34 @@ class ProductServiceTest {
         List<ProductDto> result = productService.findAll();
 
         assertEquals(1, result.size());
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    void shouldListAvailableStockInsteadOfTheRawQuantity() {
+
+        Product product = new Product(1L, "Fone de ouvido", Money.ofCents(3000),
+                "fone sem fio",
+                0,
+                ProductStatus.ACTIVE);
+        product.redistributeStock(0, 4);
+        ProductDto dto = new ProductDto();
+        dto.setQuantity(0);
+
+        when(productCache.findAll())
+                .thenReturn(List.of(new ProductCache.Stocked(product, 12)));
+        when(productMapper.toDto(product))
+                .thenReturn(dto);
+
+        List<ProductDto> result = productService.findAll();
+
+        assertEquals(12, result.get(0).getQuantity());
     }
 
     @Test
     void shouldReturnEmptyListWhenNoProducts() {
 
-        when(productRepository.findAll())
+        when(productCache.findAll())
                 .thenReturn(Collections.emptyList());
 
         List<ProductDto> result = productService.findAll();
@@ -220,6 +287,7 @@ class ProductServiceTest {
         productService.deleteById(productId);
 
         verify(productRepository).delete(product);
+        verify(productSearchIndex).removeAfterCommit(productId);
     }
 
     @Test
@@ -237,4 +305,39 @@ class ProductServiceTest {
 
         verify(productRepository, never()).delete(any());
     }
+
+    @Test
+    void shouldAttachNamesToBestSellers() {
+        Product product = new Product(7L, "Fone de ouvido", Money.ofCents(3000), "fone sem fio", 10, ProductStatus.ACTIVE);
+
+        when(bestSellerTracker.top(Duration.ofHours(1), 5))
+                .thenReturn(new BestSellerTracker.Ranking(Duration.ofHours(1), 2,
+                        List.of(new BestSellerTracker.BestSeller(7L, 42))));
+        when(productRepository.findAllById(List.of(7L))).thenReturn(List.of(product));
+
+        BestSellersDto result = productService.findBestSellers("PT1H", 5);
+
+        assertEquals(1, result.products().size());
+        assertEquals("Fone de ouvido", result.products().get(0).name());
+        assertEquals(42L, result.products().get(0).estimatedQuantity());
+    }
+
+    @Test
+    void shouldRejectInvalidBestSellerWindow() {
+        assertThrows(BusinessException.class, () -> productService.findBestSellers("one hour", 5));
+
+        verifyNoInteractions(bestSellerTracker);
+    }
+
+    @Test
+    void shouldReturnSearchHitsInRankOrder() {
+        when(productSearchIndex.search("oculos", 10)).thenReturn(List.of(
+                new ProductSearchIndex.Hit(2L, "Óculos de sol", 1.5),
+                new ProductSearchIndex.Hit(1L, "Óculos de grau", 0.7)));
+
+        ProductSearchDto result = productService.search("oculos", 10);
+
+        assertEquals("oculos", result.query());
+        assertEquals(List.of(2L, 1L), result.products().stream().map(ProductSearchDto.Entry::productId).toList());
+    }
 }
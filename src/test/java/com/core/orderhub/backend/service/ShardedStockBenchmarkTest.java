@@ -0,0 +1,113 @@
+package com.core.orderhub.backend.service;
+
+import com.core.orderhub.backend.domain.entity.Product;
+import com.core.orderhub.backend.domain.enums.ProductStatus;
+import com.core.orderhub.backend.domain.valueobject.Money;
+import com.core.orderhub.backend.repository.ProductRepository;
+import com.core.orderhub.backend.service.outbox.OutboxService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Tag("benchmark")
+@DataJpaTest
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({StockService.class, ShardedStockService.class, OutboxService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:sharded-stock;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=30000",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+class ShardedStockBenchmarkTest {
+
+    private static final int PURCHASES_PER_BUYER = 200;
+    private static final int SHARDS = 8;
+
+    @Autowired
+    private StockService stockService;
+
+    @Autowired
+    private ShardedStockService shardedStockService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 4, 8, 16, 32})
+    void shouldScaleReservationsAcrossShards(int buyers) throws Exception {
+        int stock = buyers * PURCHASES_PER_BUYER;
+
+        Product singleRow = hotProduct(stock);
+        double singleRowRate = hammer(singleRow, buyers);
+
+        Product sharded = hotProduct(stock);
+        shardedStockService.changeShards(sharded.getId(), SHARDS);
+        sharded = productRepository.findById(sharded.getId()).orElseThrow();
+        double shardedRate = hammer(sharded, buyers);
+
+        System.out.printf("Sharded stock | buyers=%d | single row %.0f reservations/s | %d shards %.0f reservations/s%n",
+                buyers, singleRowRate, SHARDS, shardedRate);
+
+        assertEquals(0, stockService.available(productRepository.findById(singleRow.getId()).orElseThrow()));
+        assertEquals(0, stockService.available(productRepository.findById(sharded.getId()).orElseThrow()));
+    }
+
+    private Product hotProduct(int stock) {
+        return productRepository.save(new Product(null, "Produto disputado", Money.ofCents(1000),
+                "sku quente",
+                stock,
+                ProductStatus.ACTIVE));
+    }
+
+    private double hammer(Product product, int buyers) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(buyers);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> tasks = new ArrayList<>();
+
+        for (int buyer = 0; buyer < buyers; buyer++) {
+            tasks.add(executor.submit(() -> {
+                start.await();
+                for (int purchase = 0; purchase < PURCHASES_PER_BUYER; purchase++) {
+                    transactionTemplate.executeWithoutResult(status -> stockService.reserve(product, 1));
+                }
+                return null;
+            }));
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Future<?> task : tasks) {
+            task.get(5, TimeUnit.MINUTES);
+        }
+        long elapsed = System.nanoTime() - begin;
+        executor.shutdown();
+
+        return (buyers * PURCHASES_PER_BUYER) / (elapsed / 1_000_000_000.0);
+    }
+}
@@ -0,0 +1,155 @@
+package com.core.orderhub.backend.service;
+
+import com.core.orderhub.backend.domain.entity.Product;
+import com.core.orderhub.backend.domain.entity.ProductStockShard;
+import com.core.orderhub.backend.domain.enums.ProductStatus;
+import com.core.orderhub.backend.domain.valueobject.Money;
+import com.core.orderhub.backend.repository.ProductRepository;
+import com.core.orderhub.backend.repository.ProductStockShardRepository;
+import com.core.orderhub.backend.repository.ProductStockShardRepository.ShardQuantity;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ShardedStockServiceTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private ProductStockShardRepository shardRepository;
+
+    @InjectMocks
+    private ShardedStockService shardedStockService;
+
+    private Product shardedProduct(int shards) {
+        Product product = new Product(1L, "Fone de ouvido", Money.ofCents(3000),
+                "fone sem fio",
+                0,
+                ProductStatus.ACTIVE);
+        product.redistributeStock(0, shards);
+        return product;
+    }
+
+    private ShardQuantity shard(int shard, int quantity) {
+        return new ShardQuantity() {
+            @Override
+            public Integer getShard() {
+                return shard;
+            }
+
+            @Override
+            public Integer getQuantity() {
+                return quantity;
+            }
+        };
+    }
+
+    @Test
+    void shouldFallOverToSiblingShardWhenChosenOneIsDry() {
+        when(shardRepository.decreaseIfAvailable(eq(1L), anyInt(), eq(2)))
+                .thenAnswer(invocation -> invocation.<Integer>getArgument(1) == 3 ? 1 : 0);
+
+        assertTrue(shardedStockService.reserve(shardedProduct(4), 2));
+
+        verify(shardRepository).decreaseIfAvailable(1L, 3, 2);
+        verify(shardRepository, never()).findQuantitiesByProductId(any());
+    }
+
+    @Test
+    void shouldDrainAcrossShardsWhenNoSingleShardCoversTheRequest() {
+        when(shardRepository.decreaseIfAvailable(1L, 0, 5)).thenReturn(0);
+        when(shardRepository.decreaseIfAvailable(1L, 1, 5)).thenReturn(0);
+        when(shardRepository.findQuantitiesByProductId(1L))
+                .thenReturn(List.of(shard(0, 3), shard(1, 4)));
+        when(shardRepository.decreaseIfAvailable(1L, 0, 3)).thenReturn(1);
+        when(shardRepository.decreaseIfAvailable(1L, 1, 2)).thenReturn(1);
+
+        assertTrue(shardedStockService.reserve(shardedProduct(2), 5));
+    }
+
+    @Test
+    void shouldRefuseWhenShardsTogetherHaveTooLittleStock() {
+        when(shardRepository.decreaseIfAvailable(eq(1L), anyInt(), eq(10))).thenReturn(0);
+        when(shardRepository.findQuantitiesByProductId(1L))
+                .thenReturn(List.of(shard(0, 3), shard(1, 4)));
+
+        assertFalse(shardedStockService.reserve(shardedProduct(2), 10));
+    }
+
+    @Test
+    void shouldGiveBackWhatWasDrainedWhenTheRestIsTakenConcurrently() {
+        when(shardRepository.decreaseIfAvailable(1L, 0, 5)).thenReturn(0);
+        when(shardRepository.decreaseIfAvailable(1L, 1, 5)).thenReturn(0);
+        when(shardRepository.findQuantitiesByProductId(1L))
+                .thenReturn(List.of(shard(0, 3), shard(1, 4)))
+                .thenReturn(List.of(shard(0, 0), shard(1, 1)));
+        when(shardRepository.decreaseIfAvailable(1L, 0, 3)).thenReturn(1);
+        // another buyer empties shard 1 between the read and the update
+        when(shardRepository.decreaseIfAvailable(1L, 1, 2)).thenReturn(0);
+
+        assertFalse(shardedStockService.reserve(shardedProduct(2), 5));
+
+        verify(shardRepository).increase(1L, 0, 3);
+        verify(shardRepository, never()).increase(eq(1L), eq(1), anyInt());
+    }
+
+    @Test
+    void shouldGiveBackEveryDrainedShareWhenTheAttemptsRunOut() {
+        when(shardRepository.decreaseIfAvailable(1L, 0, 6)).thenReturn(0);
+        when(shardRepository.findQuantitiesByProductId(1L))
+                .thenReturn(List.of(shard(0, 2), shard(1, 4)))
+                .thenReturn(List.of(shard(0, 1), shard(1, 4)))
+                .thenReturn(List.of(shard(0, 1), shard(1, 4)));
+        when(shardRepository.decreaseIfAvailable(1L, 0, 2)).thenReturn(1);
+        when(shardRepository.decreaseIfAvailable(1L, 0, 1)).thenReturn(1);
+        when(shardRepository.decreaseIfAvailable(eq(1L), eq(1), anyInt())).thenReturn(0);
+
+        assertFalse(shardedStockService.reserve(shardedProduct(2), 6));
+
+        verify(shardRepository).increase(1L, 0, 4);
+        verify(shardRepository, times(1)).increase(anyLong(), anyInt(), anyInt());
+    }
+
+    @Test
+    void shouldSplitStockEvenlyWhenShardingIsEnabled() {
+        Product product = new Product(1L, "Fone de ouvido", Money.ofCents(3000),
+                "fone sem fio",
+                10,
+                ProductStatus.ACTIVE);
+        when(productRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(product));
+
+        shardedStockService.changeShards(1L, 3);
+
+        ArgumentCaptor<ProductStockShard> shards = ArgumentCaptor.forClass(ProductStockShard.class);
+        verify(shardRepository, times(3)).save(shards.capture());
+        assertEquals(List.of(4, 3, 3), shards.getAllValues().stream().map(ProductStockShard::getQuantity).toList());
+        assertEquals(0, product.getQuantity());
+        assertTrue(product.isStockSharded());
+    }
+
+    @Test
+    void shouldFoldShardsBackIntoProductWhenShardingIsDisabled() {
+        Product product = shardedProduct(4);
+        when(productRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(product));
+        when(shardRepository.findAllByProductIdForUpdate(1L)).thenReturn(List.of(
+                new ProductStockShard(1L, 0, 5), new ProductStockShard(1L, 1, 7)));
+
+        shardedStockService.changeShards(1L, 1);
+
+        verify(shardRepository).deleteByProductId(1L);
+        verify(shardRepository, never()).save(any());
+        assertEquals(12, product.getQuantity());
+        assertFalse(product.isStockSharded());
+    }
+}
@@ -0,0 +1,125 @@
+package com.core.orderhub.backend.service;
+
+import com.core.orderhub.backend.domain.entity.Product;
+import com.core.orderhub.backend.domain.enums.ProductStatus;
+import com.core.orderhub.backend.domain.valueobject.Money;
+import com.core.orderhub.backend.exception.BusinessException;
+import com.core.orderhub.backend.repository.ProductRepository;
+import com.core.orderhub.backend.service.outbox.OutboxService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Tag("benchmark")
+@DataJpaTest
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({StockService.class, ShardedStockService.class, OutboxService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:stock-contention-benchmark;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=30000",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+class StockContentionBenchmarkTest {
+
+    private static final int THREADS = 64;
+    private static final int ATTEMPTS_PER_THREAD = 50;
+    private static final int INITIAL_STOCK = 1_000;
+
+    @Autowired
+    private StockService stockService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Test
+    void shouldCompareConditionalUpdateWithPessimisticLock() throws Exception {
+        Product conditional = hotProduct();
+        double conditionalRate = hammer(conditional, () ->
+                transactionTemplate.executeWithoutResult(status -> stockService.reserve(conditional, 1))
+        );
+
+        Product locked = hotProduct();
+        double lockedRate = hammer(locked, () ->
+                transactionTemplate.executeWithoutResult(status -> {
+                    Product row = entityManager.find(Product.class, locked.getId(), LockModeType.PESSIMISTIC_WRITE);
+                    row.decreaseStock(1);
+                })
+        );
+
+        System.out.printf("Stock contention | threads=%d | conditional update %.0f attempts/s | pessimistic lock %.0f attempts/s%n",
+                THREADS, conditionalRate, lockedRate);
+    }
+
+    private Product hotProduct() {
+        return productRepository.save(new Product(null, "Produto disputado", Money.ofCents(1000),
+                "sku quente",
+                INITIAL_STOCK,
+                ProductStatus.ACTIVE));
+    }
+
+    private double hammer(Product product, Runnable purchase) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger sold = new AtomicInteger();
+        List<Future<?>> buyers = new ArrayList<>();
+
+        for (int thread = 0; thread < THREADS; thread++) {
+            buyers.add(executor.submit(() -> {
+                start.await();
+                for (int attempt = 0; attempt < ATTEMPTS_PER_THREAD; attempt++) {
+                    try {
+                        purchase.run();
+                        sold.incrementAndGet();
+                    } catch (BusinessException e) {
+                        // out of stock
+                    }
+                }
+                return null;
+            }));
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Future<?> buyer : buyers) {
+            buyer.get(5, TimeUnit.MINUTES);
+        }
+        long elapsed = System.nanoTime() - begin;
+        executor.shutdown();
+
+        assertEquals(INITIAL_STOCK, sold.get());
+        assertEquals(0, productRepository.findById(product.getId()).orElseThrow().getQuantity());
+        return (THREADS * ATTEMPTS_PER_THREAD) / (elapsed / 1_000_000_000.0);
+    }
+}
@@ -0,0 +1,137 @@
+package com.core.orderhub.backend.service;
+
+import com.core.orderhub.backend.domain.entity.Product;
+import com.core.orderhub.backend.domain.enums.ProductStatus;
+import com.core.orderhub.backend.domain.valueobject.Money;
+import com.core.orderhub.backend.exception.BusinessException;
+import com.core.orderhub.backend.repository.ProductRepository;
+import com.core.orderhub.backend.service.outbox.OutboxService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({StockService.class, ShardedStockService.class, OutboxService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:stock-contention;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=30000",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+class StockContentionTest {
+
+    // twice as many attempts as units, so every variant runs into the empty shelf
+    private static final int THREADS = 8;
+    private static final int ATTEMPTS_PER_THREAD = 25;
+    private static final int INITIAL_STOCK = 100;
+
+    @Autowired
+    private StockService stockService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private Product hotProduct() {
+        return productRepository.save(new Product(null, "Produto disputado", Money.ofCents(1000),
+                "sku quente",
+                INITIAL_STOCK,
+                ProductStatus.ACTIVE));
+    }
+
+    @Test
+    void shouldNeverOversellWithConditionalUpdate() throws Exception {
+        Product product = hotProduct();
+
+        int sold = hammer(() ->
+                transactionTemplate.executeWithoutResult(status -> stockService.reserve(product, 1))
+        );
+
+        assertNoOversell(product, sold);
+    }
+
+    @Test
+    void shouldNeverOversellWithPessimisticLock() throws Exception {
+        Product product = hotProduct();
+
+        int sold = hammer(() ->
+                transactionTemplate.executeWithoutResult(status -> {
+                    Product locked = entityManager.find(Product.class, product.getId(), LockModeType.PESSIMISTIC_WRITE);
+                    locked.decreaseStock(1);
+                })
+        );
+
+        assertNoOversell(product, sold);
+    }
+
+    private void assertNoOversell(Product product, int sold) {
+        int remaining = productRepository.findById(product.getId()).orElseThrow().getQuantity();
+
+        assertEquals(INITIAL_STOCK, sold);
+        assertEquals(0, remaining);
+        assertTrue(remaining >= 0);
+    }
+
+    private int hammer(Runnable purchase) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger sold = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        List<Future<?>> buyers = new ArrayList<>();
+
+        for (int thread = 0; thread < THREADS; thread++) {
+            buyers.add(executor.submit(() -> {
+                start.await();
+                for (int attempt = 0; attempt < ATTEMPTS_PER_THREAD; attempt++) {
+                    try {
+                        purchase.run();
+                        sold.incrementAndGet();
+                    } catch (BusinessException e) {
+                        rejected.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> buyer : buyers) {
+            buyer.get(2, TimeUnit.MINUTES);
+        }
+        executor.shutdown();
+
+        assertEquals(THREADS * ATTEMPTS_PER_THREAD, sold.get() + rejected.get());
+        return sold.get();
+    }
+}
@@ -0,0 +1,155 @@
+package com.core.orderhub.backend.service;
+
+import com.core.orderhub.backend.domain.entity.Product;
+import com.core.orderhub.backend.domain.event.StockChanged;
+import com.core.orderhub.backend.domain.enums.ProductStatus;
+import com.core.orderhub.backend.domain.valueobject.Money;
+import com.core.orderhub.backend.exception.BusinessException;
+import com.core.orderhub.backend.repository.ProductRepository;
+import com.core.orderhub.backend.service.inventory.InventoryLedger;
+import com.core.orderhub.backend.service.outbox.OutboxService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StockServiceTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private ShardedStockService shardedStockService;
+
+    @Mock
+    private OutboxService outboxService;
+
+    @InjectMocks
+    private StockService stockService;
+
+    private Product product(ProductStatus status) {
+        return new Product(1L, "Fone de ouvido", Money.ofCents(3000),
+                "fone sem fio",
+                10,
+                status);
+    }
+
+    @Test
+    void shouldReserveStockWithSingleConditionalUpdate() {
+        when(productRepository.decreaseStockIfAvailable(1L, 2))
+                .thenReturn(1);
+
+        stockService.reserve(product(ProductStatus.ACTIVE), 2);
+
+        verify(productRepository).decreaseStockIfAvailable(1L, 2);
+        verify(productRepository, never()).save(any());
+        verify(outboxService).append(argThat(event -> event instanceof StockChanged changed
+                && changed.productId().equals(1L)
+                && changed.delta() == -2));
+    }
+
+    @Test
+    void shouldThrowInsufficientStockWhenNoRowWasUpdated() {
+        when(productRepository.decreaseStockIfAvailable(1L, 20))
+                .thenReturn(0);
+
+        BusinessException exception = assertThrows(BusinessException.class,
+                () -> stockService.reserve(product(ProductStatus.ACTIVE), 20));
+
+        assertEquals("Insufficient stock", exception.getMessage());
+    }
+
+    @Test
+    void shouldThrowWhenProductIsNotActive() {
+        when(productRepository.decreaseStockIfAvailable(1L, 1))
+                .thenReturn(0);
+
+        BusinessException exception = assertThrows(BusinessException.class,
+                () -> stockService.reserve(product(ProductStatus.INACTIVE), 1));
+
+        assertEquals("Product is not active", exception.getMessage());
+    }
+
+    @Test
+    void shouldLeaveNoTraceWhenAReservationIsRejected() {
+        Product single = product(ProductStatus.ACTIVE);
+        Product sharded = product(ProductStatus.ACTIVE);
+        sharded.redistributeStock(0, 4);
+        when(productRepository.decreaseStockIfAvailable(1L, 20)).thenReturn(0);
+        when(shardedStockService.reserve(sharded, 20)).thenReturn(false);
+
+        assertEquals("Insufficient stock", stockService.tryReserve(single, 20));
+        assertEquals("Insufficient stock", stockService.tryReserve(sharded, 20));
+
+        InventoryLedger inventoryLedger = mock(InventoryLedger.class);
+        when(inventoryLedger.reserve(1L, 20)).thenReturn(false);
+        ReflectionTestUtils.setField(stockService, "inventoryLedger", inventoryLedger);
+
+        assertEquals("Insufficient stock", stockService.tryReserve(single, 20));
+
+        verify(productRepository).decreaseStockIfAvailable(1L, 20);
+        verify(shardedStockService).reserve(sharded, 20);
+        verify(inventoryLedger).reserve(1L, 20);
+        verifyNoMoreInteractions(productRepository, shardedStockService, inventoryLedger);
+        verifyNoInteractions(outboxService);
+    }
+
+    @Test
+    void shouldReleaseStock() {
+        when(productRepository.increaseStock(1L, 3))
+                .thenReturn(1);
+
+        stockService.release(1L, 3);
+
+        verify(productRepository).increaseStock(1L, 3);
+        verifyNoInteractions(shardedStockService);
+    }
+
+    @Test
+    void shouldReserveFromShardsWhenProductIsSharded() {
+        Product product = product(ProductStatus.ACTIVE);
+        product.redistributeStock(0, 4);
+        when(shardedStockService.reserve(product, 2))
+                .thenReturn(true);
+
+        stockService.reserve(product, 2);
+
+        verify(productRepository, never()).decreaseStockIfAvailable(any(), any());
+    }
+
+    @Test
+    void shouldReleaseIntoShardsWhenProductIsSharded() {
+        when(productRepository.increaseStock(1L, 3))
+                .thenReturn(0);
+
+        stockService.release(1L, 3);
+
+        verify(shardedStockService).release(1L, 3);
+    }
+
+    @Test
+    void shouldSumShardsOfAllShardedProductsInOneQuery() {
+        Product single = product(ProductStatus.ACTIVE);
+        Product sharded = new Product(2L, "Teclado", Money.ofCents(9000),
+                "teclado mecanico",
+                0,
+                ProductStatus.ACTIVE);
+        sharded.redistributeStock(0, 4);
+        when(shardedStockService.available(List.of(2L)))
+                .thenReturn(Map.of(2L, 17));
+
+        Map<Long, Integer> available = stockService.available(List.of(single, sharded));
+
+        assertEquals(Map.of(1L, 10, 2L, 17), available);
+        verify(shardedStockService, never()).available(anyLong());
+    }
+}
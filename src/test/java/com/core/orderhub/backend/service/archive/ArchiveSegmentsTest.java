@@ -0,0 +1,140 @@
+package com.core.orderhub.backend.service.archive;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Optional;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ArchiveSegmentsTest {
+
+    private static final long SEGMENT_SIZE = 4_096;
+
+    @TempDir
+    private Path directory;
+
+    private static SortedMap<Long, byte[]> documents(long... ids) {
+        SortedMap<Long, byte[]> documents = new TreeMap<>();
+        for (long id : ids) {
+            documents.put(id, ("{\"id\":" + id + ",\"status\":\"FINISHED\",\"items\":[]}").repeat(5)
+                    .getBytes(StandardCharsets.UTF_8));
+        }
+        return documents;
+    }
+
+    private static String read(ArchiveSegments segments, ArchiveIndex index, long id) {
+        for (ArchiveSegments.Block block : index.candidates(id)) {
+            Optional<byte[]> document = segments.read(block, id);
+            if (document.isPresent()) {
+                return new String(document.get(), StandardCharsets.UTF_8);
+            }
+        }
+        return null;
+    }
+
+    @Test
+    void shouldFindDocumentsAfterReopeningAcrossSegments() {
+        try (ArchiveSegments segments = new ArchiveSegments(directory, SEGMENT_SIZE)) {
+            segments.open();
+            for (long first = 1; first <= 400; first += 20) {
+                long[] ids = new long[20];
+                for (int i = 0; i < ids.length; i++) {
+                    ids[i] = first + i;
+                }
+                segments.append(documents(ids));
+            }
+        }
+
+        try (ArchiveSegments segments = new ArchiveSegments(directory, SEGMENT_SIZE)) {
+            ArchiveIndex index = new ArchiveIndex();
+            index.addAll(segments.open());
+
+            assertEquals(20, index.size());
+            assertTrue(index.compressedBytes() < index.rawBytes());
+            assertTrue(read(segments, index, 1).startsWith("{\"id\":1,"));
+            assertTrue(read(segments, index, 237).startsWith("{\"id\":237,"));
+            assertTrue(read(segments, index, 400).startsWith("{\"id\":400,"));
+            assertNull(read(segments, index, 401));
+        }
+    }
+
+    @Test
+    void shouldFindIdsInsideOverlappingBlocks() {
+        try (ArchiveSegments segments = new ArchiveSegments(directory, SEGMENT_SIZE)) {
+            ArchiveIndex index = new ArchiveIndex();
+            index.addAll(segments.open());
+            index.addAll(segments.append(documents(1, 5, 90)));
+            index.addAll(segments.append(documents(3, 4, 6)));
+            index.addAll(segments.append(documents(50)));
+
+            assertEquals(2, index.candidates(5).size());
+            assertEquals(2, index.candidates(50).size());
+            assertTrue(read(segments, index, 4).startsWith("{\"id\":4,"));
+            assertTrue(read(segments, index, 90).startsWith("{\"id\":90,"));
+            assertNull(read(segments, index, 2));
+        }
+    }
+
+    @Test
+    void shouldCutOffATornBlock() throws Exception {
+        try (ArchiveSegments segments = new ArchiveSegments(directory, SEGMENT_SIZE)) {
+            segments.open();
+            segments.append(documents(1, 2));
+            segments.append(documents(3, 4));
+        }
+        Path segment;
+        try (Stream<Path> files = Files.list(directory)) {
+            segment = files.filter(file -> file.getFileName().toString().endsWith(".archive"))
+                    .sorted()
+                    .reduce((first, second) -> second)
+                    .orElseThrow();
+        }
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3);
+        }
+
+        try (ArchiveSegments segments = new ArchiveSegments(directory, SEGMENT_SIZE)) {
+            ArchiveIndex index = new ArchiveIndex();
+            index.addAll(segments.open());
+            assertEquals(1, index.size());
+
+            index.addAll(segments.append(documents(3, 4)));
+            assertTrue(read(segments, index, 4).startsWith("{\"id\":4,"));
+        }
+    }
+
+    @Test
+    void shouldShareTheDirectoryBetweenInstances() {
+        try (ArchiveSegments first = new ArchiveSegments(directory, SEGMENT_SIZE);
+             ArchiveSegments second = new ArchiveSegments(directory, SEGMENT_SIZE)) {
+            ArchiveIndex firstIndex = new ArchiveIndex();
+            ArchiveIndex secondIndex = new ArchiveIndex();
+            firstIndex.addAll(first.open());
+            secondIndex.addAll(second.open());
+
+            firstIndex.addAll(first.append(documents(1, 2)));
+            List<ArchiveSegments.Block> appended = second.append(documents(3, 4));
+            secondIndex.addAll(appended);
+            firstIndex.addAll(first.refresh());
+
+            assertEquals(2, appended.size());
+            assertTrue(read(second, secondIndex, 1).startsWith("{\"id\":1,"));
+            assertTrue(read(first, firstIndex, 4).startsWith("{\"id\":4,"));
+            assertTrue(first.refresh().isEmpty());
+        }
+
+        try (ArchiveSegments segments = new ArchiveSegments(directory, SEGMENT_SIZE)) {
+            assertEquals(2, segments.open().size());
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.core.orderhub.backend.service.archive;
+
+import com.core.orderhub.backend.domain.entity.ArchivedOrderTotals;
+import com.core.orderhub.backend.domain.entity.Client;
+import com.core.orderhub.backend.domain.entity.Order;
+import com.core.orderhub.backend.domain.entity.OutboxEvent;
+import com.core.orderhub.backend.domain.entity.Product;
+import com.core.orderhub.backend.domain.enums.OrderStatus;
+import com.core.orderhub.backend.domain.enums.ProductStatus;
+import com.core.orderhub.backend.domain.valueobject.Money;
+import com.core.orderhub.backend.dto.OrderDto;
+import com.core.orderhub.backend.mapper.MoneyMapper;
+import com.core.orderhub.backend.mapper.OrderItemMapperImpl;
+import com.core.orderhub.backend.mapper.OrderMapper;
+import com.core.orderhub.backend.mapper.OrderMapperImpl;
+import com.core.orderhub.backend.repository.ArchivedOrderTotalsRepository;
+import com.core.orderhub.backend.repository.ClientRepository;
+import com.core.orderhub.backend.repository.OrderRepository;
+import com.core.orderhub.backend.repository.OutboxEventRepository;
+import com.core.orderhub.backend.repository.OrderSummaryRepository;
+import com.core.orderhub.backend.repository.ProductRepository;
+import com.core.orderhub.backend.service.outbox.OutboxService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({OrderMapperImpl.class, OrderItemMapperImpl.class, MoneyMapper.class, OutboxService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OrderArchiverTest {
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderSummaryRepository orderSummaryRepository;
+
+    @Autowired
+    private ArchivedOrderTotalsRepository archivedOrderTotalsRepository;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private OrderMapper orderMapper;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @TempDir
+    private Path directory;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private OrderArchive archive;
+    private OrderArchiver archiver;
+    private Client client;
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        client = clientRepository.save(new Client("Kaleb", "01234567890"));
+        product = productRepository.save(new Product(null, "Fone de ouvido", Money.ofCents(3000),
+                "fone sem fio", 100, ProductStatus.ACTIVE));
+        archive = openArchive();
+
+        archiver = new OrderArchiver();
+        ReflectionTestUtils.setField(archiver, "orderRepository", orderRepository);
+        ReflectionTestUtils.setField(archiver, "orderSummaryRepository", orderSummaryRepository);
+        ReflectionTestUtils.setField(archiver, "archivedOrderTotalsRepository", archivedOrderTotalsRepository);
+        ReflectionTestUtils.setField(archiver, "orderMapper", orderMapper);
+        ReflectionTestUtils.setField(archiver, "orderArchive", archive);
+        ReflectionTestUtils.setField(archiver, "outboxService", outboxService);
+        ReflectionTestUtils.setField(archiver, "transactionTemplate", transactionTemplate);
+        ReflectionTestUtils.setField(archiver, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(archiver, "retention", Duration.ofDays(90));
+        ReflectionTestUtils.setField(archiver, "chunkSize", 2);
+        archiver.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        archive.close();
+        outboxEventRepository.deleteAll();
+        archivedOrderTotalsRepository.deleteAll();
+        orderRepository.deleteAll();
+        productRepository.deleteAll();
+        clientRepository.deleteAll();
+    }
+
+    private OrderArchive openArchive() {
+        OrderArchive opened = new OrderArchive();
+        ReflectionTestUtils.setField(opened, "objectMapper", objectMapper);
+        ReflectionTestUtils.setField(opened, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(opened, "archiveDirectory", directory.toString());
+        ReflectionTestUtils.setField(opened, "segmentSize", 1_048_576L);
+        ReflectionTestUtils.setField(opened, "refreshInterval", Duration.ofSeconds(1));
+        opened.open();
+        return opened;
+    }
+
+    private Long persistOrder(int quantity, OrderStatus... path) {
+        Order order = new Order(client);
+        order.addItem(product, quantity);
+        for (OrderStatus status : path) {
+            order.changeStatus(status);
+        }
+        return orderRepository.save(order).getId();
+    }
+
+    private void runAt(Instant now) {
+        ReflectionTestUtils.setField(archiver, "clock", Clock.fixed(now, ZoneId.systemDefault()));
+    }
+
+    @Test
+    void shouldMoveOldTerminalOrdersToTheArchive() {
+        Long finished = persistOrder(2, OrderStatus.PAID, OrderStatus.FINISHED);
+        Long canceled = persistOrder(1, OrderStatus.CANCELED);
+        Long secondFinished = persistOrder(3, OrderStatus.PAID, OrderStatus.FINISHED);
+        Long paid = persistOrder(1, OrderStatus.PAID);
+        runAt(Instant.now().plus(Duration.ofDays(91)));
+
+        assertEquals(3, archiver.archive());
+
+        assertEquals(List.of(paid), orderRepository.findAll().stream().map(Order::getId).toList());
+        OrderDto archived = archive.find(finished).orElseThrow();
+        assertEquals(OrderStatus.FINISHED, archived.getStatus());
+        assertEquals(client.getId(), archived.getClientId());
+        assertEquals(2, archived.getItems().get(0).getQuantity());
+        assertEquals(OrderStatus.CANCELED, archive.find(canceled).orElseThrow().getStatus());
+        assertEquals(3, archive.find(secondFinished).orElseThrow().getItems().get(0).getQuantity());
+        assertEquals(Optional.empty(), archive.find(paid));
+        assertTrue(archive.compressionRatio() > 1.0);
+        assertEquals(3.0, meterRegistry.get("orderhub.orders.archived").counter().count());
+
+        ArchivedOrderTotals finishedTotals = archivedOrderTotalsRepository
+                .findByClientIdAndStatus(client.getId(), OrderStatus.FINISHED).orElseThrow();
+        assertEquals(2, finishedTotals.getOrders());
+        assertEquals(Money.ofCents(15000), finishedTotals.getTotal());
+
+        List<OutboxEvent> events = outboxEventRepository.findAll();
+        assertEquals(List.of("OrderArchived", "OrderArchived", "OrderArchived"),
+                events.stream().map(OutboxEvent::getEventType).toList());
+        assertEquals(List.of(finished, canceled, secondFinished),
+                events.stream().map(OutboxEvent::getAggregateId).sorted().toList());
+    }
+
+    @Test
+    void shouldKeepRecentOrdersAndServeArchivedOnesAfterReopening() {
+        Long finished = persistOrder(1, OrderStatus.PAID, OrderStatus.FINISHED);
+        runAt(Instant.now().plus(Duration.ofDays(30)));
+
+        assertEquals(0, archiver.archive());
+        assertTrue(orderRepository.existsById(finished));
+
+        runAt(Instant.now().plus(Duration.ofDays(91)));
+        assertEquals(1, archiver.archive());
+        archive.close();
+        archive = openArchive();
+
+        assertEquals(finished, archive.find(finished).orElseThrow().getId());
+    }
+}
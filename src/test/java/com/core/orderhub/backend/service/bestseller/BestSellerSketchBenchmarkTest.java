@@ -0,0 +1,84 @@
+package com.core.orderhub.backend.service.bestseller;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Tag("benchmark")
+class BestSellerSketchBenchmarkTest {
+
+    private static final int PRODUCTS = 1_000_000;
+    private static final int UPDATES = 5_000_000;
+    private static final int TOP = 20;
+    private static final int DEPTH = 4;
+    private static final int WIDTH = 2048;
+
+    private long[] zipfStream(long seed) {
+        // inverse-CDF sampling of a Zipf(s=1.1) distribution over the catalog
+        double[] cumulative = new double[PRODUCTS];
+        double sum = 0;
+        for (int rank = 0; rank < PRODUCTS; rank++) {
+            sum += 1.0 / Math.pow(rank + 1, 1.1);
+            cumulative[rank] = sum;
+        }
+        SplittableRandom random = new SplittableRandom(seed);
+        long[] stream = new long[UPDATES];
+        for (int i = 0; i < UPDATES; i++) {
+            int index = Arrays.binarySearch(cumulative, random.nextDouble() * sum);
+            stream[i] = index < 0 ? -index - 1 : index;
+        }
+        return stream;
+    }
+
+    @Test
+    void shouldReportUpdateCostAndTopNAccuracy() {
+        long[] stream = zipfStream(42L);
+        Map<Long, Long> exact = new HashMap<>();
+        for (long productId : stream) {
+            exact.merge(productId, 1L, Long::sum);
+        }
+
+        HeavyHitters heavyHitters = new HeavyHitters(DEPTH, WIDTH, 64);
+        for (int i = 0; i < 200_000; i++) {
+            heavyHitters.add(stream[i], 1);
+        }
+        heavyHitters.clear();
+
+        long start = System.nanoTime();
+        for (long productId : stream) {
+            heavyHitters.add(productId, 1);
+        }
+        long elapsed = System.nanoTime() - start;
+
+        List<Long> exactTop = exact.entrySet().stream()
+                .sorted(Map.Entry.<Long, Long>comparingByValue().reversed())
+                .limit(TOP)
+                .map(Map.Entry::getKey)
+                .toList();
+        List<Long> sketchTop = heavyHitters.candidates().stream()
+                .sorted(Comparator.comparingInt((Long id) -> heavyHitters.sketch().estimate(id)).reversed())
+                .limit(TOP)
+                .toList();
+
+        long recalled = sketchTop.stream().filter(exactTop::contains).count();
+        double maxRelativeError = exactTop.stream()
+                .mapToDouble(id -> (heavyHitters.sketch().estimate(id) - exact.get(id)) / (double) exact.get(id))
+                .max()
+                .orElse(0);
+
+        System.out.printf("Best seller sketch | %d updates over %d products | %.1f ns/update | "
+                        + "top-%d recall=%d/%d | max relative overestimate=%.3f | sketch=%d KB%n",
+                UPDATES, PRODUCTS, elapsed / (double) UPDATES,
+                TOP, recalled, TOP, maxRelativeError, DEPTH * WIDTH * Integer.BYTES / 1024);
+
+        assertTrue(recalled >= TOP * 3 / 4);
+    }
+}
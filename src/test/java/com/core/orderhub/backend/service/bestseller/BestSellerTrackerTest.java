@@ -0,0 +1,146 @@
+package com.core.orderhub.backend.service.bestseller;
+
+import com.core.orderhub.backend.domain.event.OrderItemRemoved;
+import com.core.orderhub.backend.exception.BusinessException;
+import com.core.orderhub.backend.repository.OrderRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BestSellerTrackerTest {
+
+    private static final Instant NOW = Instant.parse("2026-03-10T12:30:00Z");
+    private static final long MINUTE = 60_000L;
+
+    private final OrderRepository orderRepository = mock(OrderRepository.class);
+    private BestSellerTracker tracker;
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        tracker = new BestSellerTracker();
+        ReflectionTestUtils.setField(tracker, "orderRepository", orderRepository);
+        ReflectionTestUtils.setField(tracker, "transactionTemplate", mock(TransactionTemplate.class));
+        ReflectionTestUtils.setField(tracker, "clock", Clock.fixed(NOW, ZoneOffset.UTC));
+        ReflectionTestUtils.setField(tracker, "depth", 4);
+        ReflectionTestUtils.setField(tracker, "width", 256);
+        ReflectionTestUtils.setField(tracker, "candidates", 8);
+        tracker.rebuild();
+    }
+
+    private List<Long> ranked(Duration window) {
+        return tracker.top(window, 3).products().stream()
+                .map(BestSellerTracker.BestSeller::productId)
+                .toList();
+    }
+
+    @Test
+    void shouldRankProductsByQuantityInsideTheWindow() {
+        long now = NOW.toEpochMilli();
+        tracker.record(1L, 5, now);
+        tracker.record(2L, 9, now - MINUTE);
+        tracker.record(3L, 2, now);
+        tracker.record(3L, 20, now - 30 * MINUTE);
+
+        assertEquals(List.of(2L, 1L, 3L), ranked(Duration.ofMinutes(5)));
+        assertEquals(List.of(3L, 2L, 1L), ranked(Duration.ofHours(1)));
+        assertEquals(22L, tracker.top(Duration.ofHours(1), 1).products().get(0).estimatedQuantity());
+    }
+
+    @Test
+    void shouldSubtractRemovedQuantities() {
+        long now = NOW.toEpochMilli();
+        tracker.record(1L, 5, now);
+        tracker.record(2L, 4, now);
+        tracker.record(1L, -3, now);
+
+        assertEquals(List.of(2L, 1L), ranked(Duration.ofMinutes(1)));
+    }
+
+    @Test
+    void shouldNeverTakeMoreFromASliceThanWasCountedThere() {
+        long now = NOW.toEpochMilli();
+        tracker.record(1L, 2, now - 30 * MINUTE);
+        tracker.record(2L, 3, now);
+        tracker.record(1L, -5, now);
+        tracker.record(2L, -1, now - 45 * MINUTE);
+
+        BestSellerTracker.Ranking ranking = tracker.top(Duration.ofHours(1), 3);
+        assertEquals(List.of(new BestSellerTracker.BestSeller(2L, 3), new BestSellerTracker.BestSeller(1L, 2)),
+                ranking.products());
+    }
+
+    @Test
+    void shouldSubtractRemovalsFromTheSliceOfTheOrdersCreation() {
+        LocalDateTime createdAt = LocalDateTime.ofInstant(NOW.minus(Duration.ofMinutes(30)), ZoneOffset.UTC);
+        OrderRepository.OrderActivity order = mock(OrderRepository.OrderActivity.class);
+        when(order.getId()).thenReturn(10L);
+        when(order.getCreatedAt()).thenReturn(createdAt);
+        when(orderRepository.findActivityByIdIn(anyCollection())).thenReturn(List.of(order));
+        tracker.record(1L, 4, createdAt.toInstant(ZoneOffset.UTC).toEpochMilli());
+
+        TransactionSynchronizationManager.initSynchronization();
+        tracker.on(new OrderItemRemoved(10L, 1L, 1L, 3, BigDecimal.ONE.negate(), BigDecimal.ONE, NOW));
+        TransactionSynchronizationManager.getSynchronizations().forEach(sync -> sync.beforeCommit(false));
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        assertEquals(1L, tracker.top(Duration.ofHours(1), 1).products().get(0).estimatedQuantity());
+        assertTrue(ranked(Duration.ofMinutes(1)).isEmpty());
+    }
+
+    @Test
+    void shouldUseHourSlicesForLongWindowsAndForgetOlderSales() {
+        long now = NOW.toEpochMilli();
+        tracker.record(1L, 7, now - 5 * 60 * MINUTE);
+        tracker.record(2L, 3, now - 25 * 60 * MINUTE);
+
+        assertEquals(List.of(1L), ranked(Duration.ofHours(24)));
+        assertTrue(ranked(Duration.ofHours(1)).isEmpty());
+    }
+
+    @Test
+    void shouldRejectWindowsOutsideTheTrackedRange() {
+        assertThrows(BusinessException.class, () -> tracker.top(Duration.ofSeconds(10), 3));
+        assertThrows(BusinessException.class, () -> tracker.top(Duration.ofDays(2), 3));
+    }
+
+    @Test
+    void shouldKeepHeavyHittersWhenCandidatesOverflow() {
+        HeavyHitters heavyHitters = new HeavyHitters(4, 1024, 4);
+        for (long productId = 1; productId <= 1_000; productId++) {
+            heavyHitters.add(productId, 1);
+            if (productId % 10 == 0) {
+                heavyHitters.add(7L, 5);
+                heavyHitters.add(42L, 3);
+            }
+        }
+
+        assertTrue(heavyHitters.candidates().contains(7L));
+        assertTrue(heavyHitters.candidates().contains(42L));
+        assertEquals(4, heavyHitters.candidates().size());
+        assertTrue(heavyHitters.sketch().estimate(7L) >= 501);
+    }
+}
@@ -0,0 +1,264 @@
+package com.core.orderhub.backend.service.catalog;
+
+import com.core.orderhub.backend.domain.entity.Product;
+import com.core.orderhub.backend.domain.enums.ProductStatus;
+import com.core.orderhub.backend.domain.event.StockChanged;
+import com.core.orderhub.backend.domain.valueobject.Money;
+import com.core.orderhub.backend.repository.ProductRepository;
+import com.core.orderhub.backend.service.StockService;
+import com.core.orderhub.backend.service.invalidation.EntityInvalidated;
+import com.core.orderhub.backend.service.invalidation.EntityType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class ProductCacheTest {
+
+    private final ProductRepository productRepository = mock(ProductRepository.class);
+    private final StockService stockService = mock(StockService.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Instant start = Instant.parse("2026-01-01T00:00:00Z");
+    private ProductCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ProductCache();
+        ReflectionTestUtils.setField(cache, "productRepository", productRepository);
+        ReflectionTestUtils.setField(cache, "stockService", stockService);
+        ReflectionTestUtils.setField(cache, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(cache, "maxEntries", 2);
+        ReflectionTestUtils.setField(cache, "ttl", Duration.ofMinutes(5));
+        ReflectionTestUtils.setField(cache, "clock", Clock.fixed(start, ZoneOffset.UTC));
+        cache.init();
+
+        for (long id = 1; id <= 3; id++) {
+            when(productRepository.findById(id)).thenReturn(Optional.of(product(id)));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static Product product(Long id) {
+        return new Product(id, "Fone de ouvido", Money.ofCents(3000), "fone sem fio", 10, ProductStatus.ACTIVE);
+    }
+
+    @Test
+    void shouldServeRepeatedReadsFromMemory() {
+        Product first = cache.findById(1L).orElseThrow();
+        Product second = cache.findById(1L).orElseThrow();
+
+        assertSame(first, second);
+        verify(productRepository, times(1)).findById(1L);
+        assertEquals(1.0, meterRegistry.counter("orderhub.products.cache.hits").count());
+        assertEquals(1.0, meterRegistry.counter("orderhub.products.cache.misses").count());
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyReadProductWhenFull() {
+        cache.findById(1L);
+        cache.findById(2L);
+        cache.findById(1L);
+        cache.findById(3L);
+
+        cache.findById(1L);
+        cache.findById(2L);
+
+        assertEquals(2, cache.size());
+        verify(productRepository, times(1)).findById(1L);
+        verify(productRepository, times(2)).findById(2L);
+        assertTrue(meterRegistry.counter("orderhub.products.cache.evictions").count() >= 1.0);
+    }
+
+    @Test
+    void shouldReloadExpiredProduct() {
+        cache.findById(1L);
+        ReflectionTestUtils.setField(cache, "clock", Clock.fixed(start.plus(Duration.ofMinutes(6)), ZoneOffset.UTC));
+
+        cache.findById(1L);
+
+        verify(productRepository, times(2)).findById(1L);
+        assertEquals(1.0, meterRegistry.counter("orderhub.products.cache.evictions").count());
+    }
+
+    @Test
+    void shouldEvictOnlyAfterCommit() {
+        cache.findById(1L);
+        TransactionSynchronizationManager.initSynchronization();
+
+        cache.evictAfterCommit(1L);
+        cache.findById(1L);
+        verify(productRepository, times(1)).findById(1L);
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        cache.findById(1L);
+        verify(productRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    void shouldKeepEntryWhenTransactionRollsBack() {
+        cache.findById(1L);
+        TransactionSynchronizationManager.initSynchronization();
+
+        cache.evictAfterCommit(1L);
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        TransactionSynchronizationManager.clearSynchronization();
+
+        cache.findById(1L);
+        verify(productRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    void shouldNotCacheRowLoadedWhileAnInvalidationCommitted() {
+        when(productRepository.findById(1L)).thenAnswer(invocation -> {
+            cache.on(new StockChanged(1L, -1, Instant.now()));
+            return Optional.of(product(1L));
+        });
+
+        cache.findById(1L);
+        cache.findById(1L);
+
+        verify(productRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    void shouldEvictProductChangedOnAnotherNode() {
+        cache.findById(1L);
+
+        cache.on(new EntityInvalidated(EntityType.CLIENT, 1L, 1L));
+        cache.findById(1L);
+        cache.on(new EntityInvalidated(EntityType.PRODUCT, 1L, 2L));
+        cache.findById(1L);
+
+        verify(productRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    void shouldCacheDetachedCopies() {
+        Product loaded = product(1L);
+        when(productRepository.findById(1L)).thenReturn(Optional.of(loaded));
+
+        Product cached = cache.findById(1L).orElseThrow();
+
+        assertNotSame(loaded, cached);
+        assertEquals(loaded.getPrice(), cached.getPrice());
+    }
+
+    @Test
+    void shouldServeStockFromTheCacheUntilTheStockChanges() {
+        when(stockService.available(any(Product.class))).thenReturn(7);
+        when(stockService.currentlyAvailable(any(Product.class))).thenReturn(6);
+
+        assertEquals(7, cache.findWithStock(1L).orElseThrow().available());
+        assertEquals(7, cache.findWithStock(1L).orElseThrow().available());
+        verify(stockService, times(1)).available(any(Product.class));
+
+        cache.on(new StockChanged(1L, -1, Instant.now()));
+
+        assertEquals(6, cache.findWithStock(1L).orElseThrow().available());
+        assertEquals(6, cache.findWithStock(1L).orElseThrow().available());
+        verify(stockService, times(1)).currentlyAvailable(any(Product.class));
+        verify(productRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    void shouldKeepTheProductCachedAcrossStockChanges() {
+        Product cached = cache.findById(1L).orElseThrow();
+
+        cache.on(new StockChanged(1L, -1, Instant.now()));
+        cache.on(new StockChanged(1L, -1, Instant.now()));
+
+        assertSame(cached, cache.findById(1L).orElseThrow());
+        verify(productRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    void shouldCacheRowLoadedWhileAnotherProductWasInvalidated() {
+        when(productRepository.findById(1L)).thenAnswer(invocation -> {
+            cache.evict(2L);
+            cache.on(new StockChanged(3L, -1, Instant.now()));
+            return Optional.of(product(1L));
+        });
+
+        cache.findById(1L);
+        cache.findById(1L);
+
+        verify(productRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    void shouldReloadOnlyInvalidatedProductsOfTheListing() {
+        when(productRepository.findAll()).thenReturn(List.of(product(1L), product(2L)));
+        when(productRepository.findAllById(Set.of(2L))).thenReturn(List.of());
+        when(productRepository.findAllById(Set.of(3L))).thenReturn(List.of(product(3L)));
+        when(stockService.available(anyList())).thenAnswer(invocation -> {
+            List<Product> products = invocation.getArgument(0);
+            return products.stream().collect(Collectors.toMap(Product::getId, Product::getQuantity));
+        });
+
+        assertEquals(List.of(1L, 2L), listedIds());
+        assertEquals(List.of(1L, 2L), listedIds());
+        verify(productRepository, times(1)).findAll();
+
+        cache.evict(2L);
+        assertEquals(List.of(1L), listedIds());
+        cache.evictAfterCommit(3L);
+        assertEquals(List.of(1L, 3L), listedIds());
+
+        verify(productRepository, times(1)).findAll();
+        assertEquals(3.0, meterRegistry.counter("orderhub.products.cache.listing.reloads").count());
+        assertEquals(Map.of(1L, 10, 3L, 10), cache.findAll().stream()
+                .collect(Collectors.toMap(stocked -> stocked.product().getId(),
+                        ProductCache.Stocked::available)));
+    }
+
+    @Test
+    void shouldReloadTheWholeListingOnceItExpired() {
+        when(productRepository.findAll()).thenReturn(List.of(product(1L)));
+
+        cache.findAll();
+        ReflectionTestUtils.setField(cache, "clock", Clock.fixed(start.plus(Duration.ofMinutes(6)), ZoneOffset.UTC));
+        cache.findAll();
+
+        verify(productRepository, times(2)).findAll();
+    }
+
+    @Test
+    void shouldNotKeepAListingLargerThanTheEntryLimit() {
+        when(productRepository.findAll()).thenReturn(List.of(product(1L), product(2L), product(3L)));
+        when(stockService.available(anyList())).thenReturn(Map.of());
+
+        assertEquals(List.of(1L, 2L, 3L), listedIds());
+        assertEquals(List.of(1L, 2L, 3L), listedIds());
+
+        verify(productRepository, times(2)).findAll();
+    }
+
+    private List<Long> listedIds() {
+        return cache.findAll().stream().map(stocked -> stocked.product().getId()).toList();
+    }
+}
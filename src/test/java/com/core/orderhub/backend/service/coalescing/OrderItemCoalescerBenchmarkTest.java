@@ -0,0 +1,145 @@
+package com.core.orderhub.backend.service.coalescing;
+
+import com.core.orderhub.backend.domain.entity.Client;
+import com.core.orderhub.backend.domain.entity.Order;
+import com.core.orderhub.backend.domain.entity.Product;
+import com.core.orderhub.backend.domain.enums.ProductStatus;
+import com.core.orderhub.backend.domain.valueobject.Money;
+import com.core.orderhub.backend.mapper.MoneyMapper;
+import com.core.orderhub.backend.mapper.OrderItemMapperImpl;
+import com.core.orderhub.backend.mapper.OrderMapperImpl;
+import com.core.orderhub.backend.repository.ClientRepository;
+import com.core.orderhub.backend.repository.OrderRepository;
+import com.core.orderhub.backend.repository.ProductRepository;
+import com.core.orderhub.backend.service.OrderService;
+import com.core.orderhub.backend.service.ShardedStockService;
+import com.core.orderhub.backend.service.StockService;
+import com.core.orderhub.backend.service.catalog.ProductCache;
+import com.core.orderhub.backend.service.outbox.OutboxService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Tag("benchmark")
+@DataJpaTest
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({OrderService.class, StockService.class, ShardedStockService.class, OutboxService.class,
+        ProductCache.class, SimpleMeterRegistry.class,
+        OrderMapperImpl.class, OrderItemMapperImpl.class, MoneyMapper.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:order-coalescing;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=30000",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+class OrderItemCoalescerBenchmarkTest {
+
+    private static final int ADDITIONS_PER_WRITER = 100;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private interface Writer {
+        void addOrderItem(Long orderId, Long productId, Integer quantity);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 8, 64})
+    void shouldCompareDirectAndCoalescedItemAdditions(int writers) throws Exception {
+        OrderItemCoalescer coalescer = new OrderItemCoalescer();
+        ReflectionTestUtils.setField(coalescer, "orderService", orderService);
+        ReflectionTestUtils.setField(coalescer, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(coalescer, "window", Duration.ofMillis(2));
+        ReflectionTestUtils.setField(coalescer, "maxBatchSize", 64);
+        coalescer.init();
+
+        Client client = clientRepository.save(new Client("Kaleb", String.format("%011d", writers)));
+        Product product = productRepository.save(new Product(null, "Fone de ouvido", Money.ofCents(3000),
+                "fone sem fio", Integer.MAX_VALUE, ProductStatus.ACTIVE));
+
+        Long directOrder = orderRepository.save(new Order(client)).getId();
+        AtomicInteger conflicts = new AtomicInteger();
+        double directRate = hammer(writers, (orderId, productId, quantity) -> {
+            // what a client does on 409: retry until its addition lands
+            while (true) {
+                try {
+                    orderService.addOrderItem(orderId, productId, quantity);
+                    return;
+                } catch (ObjectOptimisticLockingFailureException e) {
+                    conflicts.incrementAndGet();
+                }
+            }
+        }, directOrder, product.getId());
+
+        Long coalescedOrder = orderRepository.save(new Order(client)).getId();
+        double coalescedRate = hammer(writers, coalescer::addOrderItem, coalescedOrder, product.getId());
+
+        System.out.printf("Order item coalescing | writers=%d | direct %.0f additions/s (%d conflicts) | coalesced %.0f additions/s%n",
+                writers, directRate, conflicts.get(), coalescedRate);
+
+        int expected = writers * ADDITIONS_PER_WRITER;
+        assertEquals(expected, orderService.findById(directOrder).getItems().get(0).getQuantity());
+        assertEquals(expected, orderService.findById(coalescedOrder).getItems().get(0).getQuantity());
+    }
+
+    private double hammer(int writers, Writer writer, Long orderId, Long productId) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> tasks = new ArrayList<>();
+
+        for (int i = 0; i < writers; i++) {
+            tasks.add(executor.submit(() -> {
+                start.await();
+                for (int addition = 0; addition < ADDITIONS_PER_WRITER; addition++) {
+                    writer.addOrderItem(orderId, productId, 1);
+                }
+                return null;
+            }));
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Future<?> task : tasks) {
+            task.get(5, TimeUnit.MINUTES);
+        }
+        long elapsed = System.nanoTime() - begin;
+        executor.shutdown();
+
+        return (writers * ADDITIONS_PER_WRITER) / (elapsed / 1_000_000_000.0);
+    }
+}
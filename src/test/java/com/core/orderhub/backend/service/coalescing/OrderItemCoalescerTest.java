@@ -0,0 +1,158 @@
+package com.core.orderhub.backend.service.coalescing;
+
+import com.core.orderhub.backend.dto.AddOrderItemDto;
+import com.core.orderhub.backend.dto.OrderDto;
+import com.core.orderhub.backend.exception.BusinessException;
+import com.core.orderhub.backend.exception.ResourceNotFoundException;
+import com.core.orderhub.backend.service.OrderService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class OrderItemCoalescerTest {
+
+    private final OrderService orderService = mock(OrderService.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private OrderItemCoalescer coalescer;
+
+    @BeforeEach
+    void setUp() {
+        coalescer = new OrderItemCoalescer();
+        ReflectionTestUtils.setField(coalescer, "orderService", orderService);
+        ReflectionTestUtils.setField(coalescer, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(coalescer, "window", Duration.ofMillis(200));
+        ReflectionTestUtils.setField(coalescer, "maxBatchSize", 4);
+        coalescer.init();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<AddOrderItemDto> additionsOf(Object argument) {
+        return (List<AddOrderItemDto>) argument;
+    }
+
+    @Test
+    void shouldCollectAdditionsToTheSameOrderWhileABatchIsInFlight() throws Exception {
+        OrderDto order = OrderDto.builder().id(1L).build();
+        CountDownLatch inFlight = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Integer> batchSizes = new ArrayList<>();
+        when(orderService.addOrderItems(eq(1L), anyList())).thenAnswer(invocation -> {
+            List<AddOrderItemDto> additions = additionsOf(invocation.getArgument(1));
+            batchSizes.add(additions.size());
+            inFlight.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            List<RuntimeException> failures = new ArrayList<>();
+            additions.forEach(addition -> failures.add(addition.getQuantity() > 10
+                    ? new BusinessException("Insufficient stock")
+                    : null));
+            return new OrderService.ItemBatchResult(order, failures);
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(5);
+        Future<OrderDto> first = executor.submit(() -> coalescer.addOrderItem(1L, 7L, 1));
+        assertTrue(inFlight.await(5, TimeUnit.SECONDS));
+
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<OrderDto>> results = new ArrayList<>();
+        for (int quantity : new int[]{1, 2, 3, 50}) {
+            results.add(executor.submit(() -> {
+                start.await();
+                return coalescer.addOrderItem(1L, 7L, quantity);
+            }));
+        }
+        start.countDown();
+        // the next batch has filled up behind the one in flight and waits for the order lock
+        Map<?, ?> orderLocks = (Map<?, ?>) ReflectionTestUtils.getField(coalescer, "orderLocks");
+        while (!Integer.valueOf(2).equals(ReflectionTestUtils.getField(orderLocks.get(1L), "users"))) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+
+        assertSame(order, first.get(5, TimeUnit.SECONDS));
+        int succeeded = 0;
+        int rejected = 0;
+        for (Future<OrderDto> result : results) {
+            try {
+                assertSame(order, result.get(5, TimeUnit.SECONDS));
+                succeeded++;
+            } catch (ExecutionException e) {
+                assertInstanceOf(BusinessException.class, e.getCause());
+                rejected++;
+            }
+        }
+        executor.shutdown();
+
+        assertEquals(3, succeeded);
+        assertEquals(1, rejected);
+        assertEquals(List.of(1, 4), batchSizes);
+        assertEquals(5.0, meterRegistry.summary("orderhub.orders.coalescing.batch-size").totalAmount());
+    }
+
+    @Test
+    void shouldApplyLoneAdditionWithoutWaitingForTheWindow() {
+        ReflectionTestUtils.setField(coalescer, "window", Duration.ofSeconds(30));
+        OrderDto order = OrderDto.builder().id(1L).build();
+        when(orderService.addOrderItems(eq(1L), anyList()))
+                .thenReturn(new OrderService.ItemBatchResult(order, Arrays.asList((RuntimeException) null)));
+
+        OrderDto result = assertTimeoutPreemptively(Duration.ofSeconds(5), () -> coalescer.addOrderItem(1L, 7L, 1));
+
+        assertSame(order, result);
+    }
+
+    @Test
+    void shouldNotSerializeBatchesOfDifferentOrders() throws Exception {
+        CountDownLatch firstInFlight = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        OrderDto first = OrderDto.builder().id(1L).build();
+        OrderDto second = OrderDto.builder().id(257L).build();
+        when(orderService.addOrderItems(eq(1L), anyList())).thenAnswer(invocation -> {
+            firstInFlight.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return new OrderService.ItemBatchResult(first, Arrays.asList((RuntimeException) null));
+        });
+        when(orderService.addOrderItems(eq(257L), anyList()))
+                .thenReturn(new OrderService.ItemBatchResult(second, Arrays.asList((RuntimeException) null)));
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<OrderDto> blocked = executor.submit(() -> coalescer.addOrderItem(1L, 7L, 1));
+        assertTrue(firstInFlight.await(5, TimeUnit.SECONDS));
+
+        OrderDto result = assertTimeoutPreemptively(Duration.ofSeconds(5), () -> coalescer.addOrderItem(257L, 7L, 1));
+        release.countDown();
+
+        assertSame(second, result);
+        assertSame(first, blocked.get(5, TimeUnit.SECONDS));
+        executor.shutdown();
+    }
+
+    @Test
+    void shouldFailEveryCallerWhenTheBatchFails() {
+        ReflectionTestUtils.setField(coalescer, "window", Duration.ofMillis(2));
+        when(orderService.addOrderItems(eq(9L), anyList()))
+                .thenThrow(new ResourceNotFoundException("Order not found: 9"));
+
+        ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class,
+                () -> coalescer.addOrderItem(9L, 7L, 1));
+
+        assertEquals("Order not found: 9", exception.getMessage());
+    }
+}
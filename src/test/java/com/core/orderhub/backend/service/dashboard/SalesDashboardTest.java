@@ -0,0 +1,179 @@
+package com.core.orderhub.backend.service.dashboard;
+
+import com.core.orderhub.backend.domain.entity.Client;
+import com.core.orderhub.backend.domain.entity.Order;
+import com.core.orderhub.backend.domain.entity.Product;
+import com.core.orderhub.backend.domain.enums.OrderStatus;
+import com.core.orderhub.backend.domain.enums.ProductStatus;
+import com.core.orderhub.backend.domain.event.OrderCreated;
+import com.core.orderhub.backend.domain.event.OrderStatusChanged;
+import com.core.orderhub.backend.domain.valueobject.Money;
+import com.core.orderhub.backend.dto.SalesDashboardDto;
+import com.core.orderhub.backend.repository.ClientRepository;
+import com.core.orderhub.backend.repository.OrderRepository;
+import com.core.orderhub.backend.repository.OutboxEventRepository;
+import com.core.orderhub.backend.repository.ProductRepository;
+import com.core.orderhub.backend.service.outbox.OutboxService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({SalesDashboard.class, OutboxService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SalesDashboardTest {
+
+    @Autowired
+    private SalesDashboard salesDashboard;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Long clientId;
+    private Long productId;
+
+    @BeforeEach
+    void setUp() {
+        clientId = clientRepository.save(new Client("Kaleb", "01234567890")).getId();
+        productId = productRepository.save(new Product(null, "Fone de ouvido", Money.ofCents(3000),
+                "fone sem fio", 100, ProductStatus.ACTIVE)).getId();
+        salesDashboard.rebuild();
+    }
+
+    @AfterEach
+    void tearDown() {
+        outboxEventRepository.deleteAll();
+        orderRepository.deleteAll();
+        productRepository.deleteAll();
+        clientRepository.deleteAll();
+    }
+
+    private Long placeOrder(int quantity) {
+        return transactionTemplate.execute(status -> {
+            Order order = new Order(clientRepository.findById(clientId).orElseThrow());
+            order.addItem(productRepository.findById(productId).orElseThrow(), quantity);
+            Order saved = orderRepository.save(order);
+            outboxService.append(new OrderCreated(saved.getId(), clientId, saved.getTotal().toBigDecimal(), 1,
+                    Instant.now()));
+            return saved.getId();
+        });
+    }
+
+    private void changeStatus(Long orderId, OrderStatus target, boolean commit) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Order order = orderRepository.findById(orderId).orElseThrow();
+            OrderStatus from = order.getStatus();
+            order.changeStatus(target);
+            outboxService.append(new OrderStatusChanged(orderId, clientId, from, target,
+                    order.getTotal().toBigDecimal(), Instant.now()));
+            if (!commit) {
+                status.setRollbackOnly();
+            }
+        });
+    }
+
+    private long sold(SalesDashboardDto dashboard) {
+        return dashboard.productSales().stream()
+                .filter(sales -> sales.productId().equals(productId))
+                .mapToLong(SalesDashboardDto.ProductSales::soldLast24Hours)
+                .sum();
+    }
+
+    @Test
+    void shouldBookRevenueWhenOrderIsPaidAndReverseItWhenCanceled() {
+        Long orderId = placeOrder(2);
+        assertEquals(1L, salesDashboard.snapshot().ordersByStatus().get(OrderStatus.CREATED));
+
+        changeStatus(orderId, OrderStatus.PAID, true);
+
+        SalesDashboardDto paid = salesDashboard.snapshot();
+        assertEquals(0L, paid.ordersByStatus().get(OrderStatus.CREATED));
+        assertEquals(1L, paid.ordersByStatus().get(OrderStatus.PAID));
+        assertEquals(0, new BigDecimal("60.00").compareTo(paid.revenueToday()));
+        assertEquals(1L, paid.paidOrdersToday());
+        assertEquals(2L, sold(paid));
+
+        changeStatus(orderId, OrderStatus.CANCELED, true);
+
+        SalesDashboardDto canceled = salesDashboard.snapshot();
+        assertEquals(1L, canceled.ordersByStatus().get(OrderStatus.CANCELED));
+        assertEquals(0, BigDecimal.ZERO.compareTo(canceled.revenueToday()));
+        assertEquals(0L, sold(canceled));
+    }
+
+    @Test
+    void shouldIgnoreChangesOfRolledBackTransactions() {
+        Long orderId = placeOrder(1);
+
+        changeStatus(orderId, OrderStatus.PAID, false);
+
+        SalesDashboardDto dashboard = salesDashboard.snapshot();
+        assertEquals(1L, dashboard.ordersByStatus().get(OrderStatus.CREATED));
+        assertEquals(0L, dashboard.ordersByStatus().get(OrderStatus.PAID));
+        assertEquals(0, BigDecimal.ZERO.compareTo(dashboard.revenueToday()));
+    }
+
+    @Test
+    void shouldRebuildTheSameCountersFromTheDatabase() {
+        changeStatus(placeOrder(2), OrderStatus.PAID, true);
+        changeStatus(placeOrder(1), OrderStatus.PAID, true);
+        placeOrder(4);
+        SalesDashboardDto live = salesDashboard.snapshot();
+
+        SalesDashboard rebuilt = new SalesDashboard();
+        ReflectionTestUtils.setField(rebuilt, "orderRepository", orderRepository);
+        ReflectionTestUtils.setField(rebuilt, "transactionTemplate", transactionTemplate);
+        rebuilt.rebuild();
+        SalesDashboardDto fromDatabase = rebuilt.snapshot();
+
+        assertEquals(live.ordersByStatus(), fromDatabase.ordersByStatus());
+        assertEquals(0, new BigDecimal("90.00").compareTo(fromDatabase.revenueToday()));
+        assertEquals(live.paidOrdersToday(), fromDatabase.paidOrdersToday());
+        assertEquals(3L, sold(fromDatabase));
+    }
+
+    @Test
+    void shouldDropBucketsOlderThanTheRing() {
+        TimeBucketRing ring = new TimeBucketRing(Duration.ofMinutes(1), 3);
+        long minute = 60_000L;
+
+        ring.add(0, 5);
+        ring.add(minute, 7);
+        ring.add(3 * minute, 11);
+        ring.add(0, 13);
+
+        assertEquals(18L, ring.sum(0, 3 * minute));
+        assertEquals(11L, ring.sum(2 * minute, 3 * minute));
+    }
+}
@@ -0,0 +1,174 @@
+package com.core.orderhub.backend.service.expiry;
+
+import com.core.orderhub.backend.domain.entity.Client;
+import com.core.orderhub.backend.domain.entity.Order;
+import com.core.orderhub.backend.domain.entity.Product;
+import com.core.orderhub.backend.domain.enums.OrderStatus;
+import com.core.orderhub.backend.domain.enums.ProductStatus;
+import com.core.orderhub.backend.domain.event.OrderStatusChanged;
+import com.core.orderhub.backend.domain.valueobject.Money;
+import com.core.orderhub.backend.repository.ClientRepository;
+import com.core.orderhub.backend.repository.OrderRepository;
+import com.core.orderhub.backend.repository.OutboxEventRepository;
+import com.core.orderhub.backend.repository.ProductRepository;
+import com.core.orderhub.backend.service.StockService;
+import com.core.orderhub.backend.service.outbox.OutboxService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@DataJpaTest
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import(OutboxService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AbandonedOrderExpiryTest {
+
+    private static final Duration TTL = Duration.ofMinutes(30);
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final StockService stockService = mock(StockService.class);
+    private final Instant start = Instant.now();
+    private AbandonedOrderExpiry expiry;
+    private Client client;
+    private Product headphones;
+    private Product charger;
+
+    @BeforeEach
+    void setUp() {
+        client = clientRepository.save(new Client("Kaleb", "01234567890"));
+        headphones = productRepository.save(new Product(null, "Fone de ouvido", Money.ofCents(3000),
+                "fone sem fio", 100, ProductStatus.ACTIVE));
+        charger = productRepository.save(new Product(null, "Carregador", Money.ofCents(5000),
+                "carregador usb-c", 100, ProductStatus.ACTIVE));
+
+        expiry = new AbandonedOrderExpiry();
+        ReflectionTestUtils.setField(expiry, "orderRepository", orderRepository);
+        ReflectionTestUtils.setField(expiry, "stockService", stockService);
+        ReflectionTestUtils.setField(expiry, "outboxService", outboxService);
+        ReflectionTestUtils.setField(expiry, "transactionTemplate", transactionTemplate);
+        ReflectionTestUtils.setField(expiry, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(expiry, "ttl", TTL);
+        ReflectionTestUtils.setField(expiry, "batchSize", 500);
+    }
+
+    @AfterEach
+    void tearDown() {
+        outboxEventRepository.deleteAll();
+        orderRepository.deleteAll();
+        productRepository.deleteAll();
+        clientRepository.deleteAll();
+    }
+
+    private Long persistOrder(Map<Product, Integer> items, OrderStatus status) {
+        Order order = new Order(client);
+        order.addItems(items);
+        if (status != OrderStatus.CREATED) {
+            order.changeStatus(status);
+        }
+        return orderRepository.save(order).getId();
+    }
+
+    private void recoverAt(Instant now) {
+        ReflectionTestUtils.setField(expiry, "clock", Clock.fixed(now, ZoneId.systemDefault()));
+        expiry.recover();
+    }
+
+    private void expireAt(Instant now) {
+        ReflectionTestUtils.setField(expiry, "clock", Clock.fixed(now, ZoneId.systemDefault()));
+        expiry.expire();
+    }
+
+    private OrderStatus statusOf(Long orderId) {
+        return orderRepository.findById(orderId).orElseThrow().getStatus();
+    }
+
+    @Test
+    void shouldCancelAbandonedOrdersAndReleaseStockOncePerProduct() {
+        Long first = persistOrder(Map.of(headphones, 2, charger, 1), OrderStatus.CREATED);
+        Long second = persistOrder(Map.of(headphones, 3), OrderStatus.CREATED);
+        Long third = persistOrder(Map.of(charger, 4), OrderStatus.CREATED);
+        Long paid = persistOrder(Map.of(headphones, 1), OrderStatus.PAID);
+
+        recoverAt(start);
+        assertEquals(3, expiry.pendingCount());
+
+        expireAt(start.plus(TTL).plusSeconds(5));
+
+        assertEquals(OrderStatus.CANCELED, statusOf(first));
+        assertEquals(OrderStatus.CANCELED, statusOf(second));
+        assertEquals(OrderStatus.CANCELED, statusOf(third));
+        assertEquals(OrderStatus.PAID, statusOf(paid));
+        assertEquals(0, expiry.pendingCount());
+        assertEquals(3, outboxEventRepository.count());
+
+        InOrder inOrder = inOrder(stockService);
+        inOrder.verify(stockService).release(headphones.getId(), 5);
+        inOrder.verify(stockService).release(charger.getId(), 5);
+        verifyNoMoreInteractions(stockService);
+    }
+
+    @Test
+    void shouldPostponeExpiryWhenOrderIsTouched() {
+        Long orderId = persistOrder(Map.of(headphones, 1), OrderStatus.CREATED);
+        recoverAt(start);
+
+        expiry.arm(orderId, start.plus(Duration.ofMinutes(20)));
+        expireAt(start.plus(TTL).plusSeconds(5));
+
+        assertEquals(OrderStatus.CREATED, statusOf(orderId));
+        assertEquals(1, expiry.pendingCount());
+        verify(stockService, never()).release(anyLong(), anyInt());
+    }
+
+    @Test
+    void shouldStopTrackingOrdersThatLeaveCreated() {
+        Long orderId = persistOrder(Map.of(headphones, 1), OrderStatus.CREATED);
+        recoverAt(start);
+
+        expiry.on(new OrderStatusChanged(orderId, client.getId(), OrderStatus.CREATED, OrderStatus.PAID,
+                headphones.getPrice().toBigDecimal(), start));
+
+        assertEquals(0, expiry.pendingCount());
+        expireAt(start.plus(TTL).plusSeconds(5));
+        verifyNoInteractions(stockService);
+    }
+}
@@ -0,0 +1,71 @@
+package com.core.orderhub.backend.service.expiry;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimingWheelTest {
+
+    @Test
+    void shouldFireTimersOnTheirDeadlineTick() {
+        TimingWheel<String> wheel = new TimingWheel<>(10L, 0L, 4, 4);
+        wheel.schedule("a", 30L);
+        wheel.schedule("b", 25L);
+        wheel.schedule("c", 70L);
+
+        assertEquals(List.of(), wheel.advance(20L));
+        assertEquals(List.of("a", "b"), wheel.advance(30L).stream().sorted().toList());
+        assertEquals(List.of(), wheel.advance(60L));
+        assertEquals(List.of("c"), wheel.advance(70L));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void shouldCascadeTimersFromHigherLevels() {
+        TimingWheel<Long> wheel = new TimingWheel<>(1L, 5L, 4, 4, 4);
+        wheel.schedule(1L, 20L);
+        wheel.schedule(2L, 50L);
+
+        assertEquals(List.of(), wheel.advance(19L));
+        assertEquals(List.of(1L), wheel.advance(20L));
+        assertEquals(List.of(), wheel.advance(49L));
+        assertEquals(List.of(2L), wheel.advance(50L));
+    }
+
+    @Test
+    void shouldParkTimersBeyondTheWheelUntilTheyFit() {
+        TimingWheel<Long> wheel = new TimingWheel<>(1L, 0L, 4, 4);
+        wheel.schedule(1L, 100L);
+
+        assertEquals(List.of(), wheel.advance(99L));
+        assertTrue(wheel.contains(1L));
+        assertEquals(List.of(1L), wheel.advance(100L));
+    }
+
+    @Test
+    void shouldCancelAndRescheduleTimers() {
+        TimingWheel<Long> wheel = new TimingWheel<>(1L, 0L, 8, 8);
+        wheel.schedule(1L, 5L);
+        wheel.schedule(2L, 5L);
+        wheel.schedule(3L, 5L);
+
+        assertTrue(wheel.cancel(2L));
+        assertFalse(wheel.cancel(2L));
+        wheel.schedule(3L, 40L);
+
+        assertEquals(List.of(1L), wheel.advance(10L));
+        assertEquals(1, wheel.size());
+        assertEquals(List.of(3L), wheel.advance(40L));
+    }
+
+    @Test
+    void shouldFireOverdueTimersOnTheNextTick() {
+        TimingWheel<Long> wheel = new TimingWheel<>(1_000L, 10_000L, 16);
+        wheel.schedule(1L, 0L);
+
+        assertEquals(List.of(), wheel.advance(10_999L));
+        assertEquals(List.of(1L), wheel.advance(11_000L));
+    }
+}
@@ -0,0 +1,195 @@
+package com.core.orderhub.backend.service.idempotency;
+
+import com.core.orderhub.backend.dto.OrderDto;
+import com.core.orderhub.backend.exception.BusinessException;
+import com.core.orderhub.backend.exception.ResourceConflictException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotencyServiceTest {
+
+    private InMemoryIdempotencyStore idempotencyStore;
+    private IdempotencyService idempotencyService;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyStore = new InMemoryIdempotencyStore(100);
+        idempotencyService = node(Duration.ofSeconds(5));
+    }
+
+    // another instance of the service sharing the same store, as a second node sharing the database
+    private IdempotencyService node(Duration inFlightTimeout) {
+        IdempotencyService service = new IdempotencyService();
+        ReflectionTestUtils.setField(service, "idempotencyStore", idempotencyStore);
+        ReflectionTestUtils.setField(service, "objectMapper", new ObjectMapper().registerModule(new JavaTimeModule()));
+        ReflectionTestUtils.setField(service, "ttl", Duration.ofHours(1));
+        ReflectionTestUtils.setField(service, "inFlightTimeout", inFlightTimeout);
+        ReflectionTestUtils.setField(service, "pollInterval", Duration.ofMillis(10));
+        return service;
+    }
+
+    private OrderDto order(Long id) {
+        return OrderDto.builder().id(id).clientId(1L).build();
+    }
+
+    @Test
+    void shouldReplayStoredResponseForRepeatedKey() {
+        AtomicInteger executions = new AtomicInteger();
+
+        ResponseEntity<OrderDto> first = idempotencyService.execute("key-1", "POST /order/client/1",
+                HttpStatus.CREATED, OrderDto.class, () -> order((long) executions.incrementAndGet()));
+        ResponseEntity<OrderDto> retry = idempotencyService.execute("key-1", "POST /order/client/1",
+                HttpStatus.CREATED, OrderDto.class, () -> order((long) executions.incrementAndGet()));
+
+        assertEquals(1, executions.get());
+        assertEquals(HttpStatus.CREATED, retry.getStatusCode());
+        assertEquals(first.getBody().getId(), retry.getBody().getId());
+        assertEquals("true", retry.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER));
+    }
+
+    @Test
+    void shouldExecuteEveryTimeWithoutKey() {
+        AtomicInteger executions = new AtomicInteger();
+
+        idempotencyService.execute(null, "POST /order/client/1", HttpStatus.CREATED, OrderDto.class,
+                () -> order((long) executions.incrementAndGet()));
+        idempotencyService.execute(null, "POST /order/client/1", HttpStatus.CREATED, OrderDto.class,
+                () -> order((long) executions.incrementAndGet()));
+
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    void shouldRejectKeyReusedForDifferentRequest() {
+        idempotencyService.execute("key-1", "POST /order/client/1", HttpStatus.CREATED, OrderDto.class,
+                () -> order(1L));
+
+        assertThrows(ResourceConflictException.class,
+                () -> idempotencyService.execute("key-1", "POST /order/client/2", HttpStatus.CREATED, OrderDto.class,
+                        () -> order(2L)));
+    }
+
+    @Test
+    void shouldNotStoreFailedExecutions() {
+        assertThrows(BusinessException.class,
+                () -> idempotencyService.execute("key-1", "POST /order/1/items", HttpStatus.OK, OrderDto.class,
+                        () -> {
+                            throw new BusinessException("Insufficient stock");
+                        }));
+
+        ResponseEntity<OrderDto> retry = idempotencyService.execute("key-1", "POST /order/1/items",
+                HttpStatus.OK, OrderDto.class, () -> order(1L));
+
+        assertNull(retry.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER));
+    }
+
+    @Test
+    void shouldWaitForInFlightOriginalInsteadOfExecutingAgain() throws Exception {
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch originalStarted = new CountDownLatch(1);
+        CountDownLatch releaseOriginal = new CountDownLatch(1);
+
+        CompletableFuture<ResponseEntity<OrderDto>> original = CompletableFuture.supplyAsync(() ->
+                idempotencyService.execute("key-1", "POST /order/client/1", HttpStatus.CREATED, OrderDto.class, () -> {
+                    executions.incrementAndGet();
+                    originalStarted.countDown();
+                    await(releaseOriginal);
+                    return order(1L);
+                }));
+        assertTrue(originalStarted.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<ResponseEntity<OrderDto>> duplicate = CompletableFuture.supplyAsync(() ->
+                idempotencyService.execute("key-1", "POST /order/client/1", HttpStatus.CREATED, OrderDto.class, () -> {
+                    executions.incrementAndGet();
+                    return order(2L);
+                }));
+
+        releaseOriginal.countDown();
+
+        assertEquals(1L, original.get(5, TimeUnit.SECONDS).getBody().getId());
+        assertEquals(1L, duplicate.get(5, TimeUnit.SECONDS).getBody().getId());
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void shouldWaitForTheOriginalRunningOnAnotherNode() throws Exception {
+        IdempotencyService otherNode = node(Duration.ofSeconds(5));
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch originalStarted = new CountDownLatch(1);
+        CountDownLatch releaseOriginal = new CountDownLatch(1);
+
+        CompletableFuture<ResponseEntity<OrderDto>> original = CompletableFuture.supplyAsync(() ->
+                idempotencyService.execute("key-1", "POST /order/client/1", HttpStatus.CREATED, OrderDto.class, () -> {
+                    executions.incrementAndGet();
+                    originalStarted.countDown();
+                    await(releaseOriginal);
+                    return order(1L);
+                }));
+        assertTrue(originalStarted.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<ResponseEntity<OrderDto>> duplicate = CompletableFuture.supplyAsync(() ->
+                otherNode.execute("key-1", "POST /order/client/1", HttpStatus.CREATED, OrderDto.class, () -> {
+                    executions.incrementAndGet();
+                    return order(2L);
+                }));
+
+        releaseOriginal.countDown();
+
+        assertEquals(1L, original.get(5, TimeUnit.SECONDS).getBody().getId());
+        ResponseEntity<OrderDto> replayed = duplicate.get(5, TimeUnit.SECONDS);
+        assertEquals(1L, replayed.getBody().getId());
+        assertEquals("true", replayed.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER));
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void shouldNotExecuteAgainWhileAnotherNodeHoldsTheClaim() {
+        // the node that claimed the key died before storing its response
+        idempotencyStore.claim("anonymous:key-1", StoredResponse.pending(
+                DigestUtils.md5DigestAsHex("POST /order/client/1".getBytes(StandardCharsets.UTF_8)),
+                Instant.now().plus(Duration.ofHours(1))));
+        IdempotencyService retryNode = node(Duration.ofMillis(50));
+        AtomicInteger executions = new AtomicInteger();
+
+        assertThrows(ResourceConflictException.class,
+                () -> retryNode.execute("key-1", "POST /order/client/1", HttpStatus.CREATED, OrderDto.class, () -> {
+                    executions.incrementAndGet();
+                    return order(1L);
+                }));
+        assertEquals(0, executions.get());
+    }
+
+    @Test
+    void shouldRejectADifferentRequestWhileTheKeyIsClaimed() {
+        idempotencyStore.claim("anonymous:key-1", StoredResponse.pending("other-fingerprint",
+                Instant.now().plus(Duration.ofHours(1))));
+
+        assertThrows(ResourceConflictException.class,
+                () -> idempotencyService.execute("key-1", "POST /order/client/1", HttpStatus.CREATED, OrderDto.class,
+                        () -> order(1L)));
+    }
+
+    private void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.core.orderhub.backend.service.idempotency;
+
+import com.core.orderhub.backend.repository.IdempotencyRecordRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "orderhub.idempotency.store=database")
+@Import(JpaIdempotencyStore.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class JpaIdempotencyStoreTest {
+
+    @Autowired
+    private JpaIdempotencyStore idempotencyStore;
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @AfterEach
+    void tearDown() {
+        idempotencyRecordRepository.deleteAll();
+    }
+
+    private StoredResponse pending(String fingerprint) {
+        return StoredResponse.pending(fingerprint, Instant.now().plus(Duration.ofHours(1)));
+    }
+
+    @Test
+    void shouldLetOnlyOneClaimWin() {
+        assertTrue(idempotencyStore.claim("user:key-1", pending("a")));
+        assertFalse(idempotencyStore.claim("user:key-1", pending("a")));
+
+        StoredResponse stored = idempotencyStore.find("user:key-1").orElseThrow();
+        assertTrue(stored.isPending());
+        assertEquals("a", stored.fingerprint());
+    }
+
+    @Test
+    void shouldStoreTheResponseOverTheClaim() {
+        idempotencyStore.claim("user:key-1", pending("a"));
+
+        idempotencyStore.save("user:key-1", new StoredResponse("a", 201, "{\"id\":1}", Instant.now().plus(Duration.ofHours(1))));
+
+        StoredResponse stored = idempotencyStore.find("user:key-1").orElseThrow();
+        assertFalse(stored.isPending());
+        assertEquals(201, stored.status());
+        assertFalse(idempotencyStore.claim("user:key-1", pending("a")));
+    }
+
+    @Test
+    void shouldLetAnExpiredKeyBeClaimedAgain() {
+        idempotencyStore.claim("user:key-1", StoredResponse.pending("a", Instant.now().minusSeconds(1)));
+
+        assertTrue(idempotencyStore.claim("user:key-1", pending("b")));
+        assertEquals("b", idempotencyStore.find("user:key-1").orElseThrow().fingerprint());
+    }
+
+    @Test
+    void shouldReleaseOnlyPendingClaims() {
+        idempotencyStore.claim("user:key-1", pending("a"));
+        idempotencyStore.release("user:key-1");
+        assertTrue(idempotencyStore.find("user:key-1").isEmpty());
+
+        idempotencyStore.claim("user:key-2", pending("a"));
+        idempotencyStore.save("user:key-2", new StoredResponse("a", 201, null, Instant.now().plus(Duration.ofHours(1))));
+        idempotencyStore.release("user:key-2");
+        assertTrue(idempotencyStore.find("user:key-2").isPresent());
+    }
+}
@@ -0,0 +1,167 @@
+package com.core.orderhub.backend.service.intake;
+
+import com.core.orderhub.backend.dto.OrderCommandStatusDto;
+import com.core.orderhub.backend.dto.OrderDto;
+import com.core.orderhub.backend.exception.BusinessException;
+import com.core.orderhub.backend.exception.ResourceNotFoundException;
+import com.core.orderhub.backend.exception.TooManyRequestsException;
+import com.core.orderhub.backend.service.OrderService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class OrderIntakeTest {
+
+    private final OrderService orderService = mock(OrderService.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private OrderIntake orderIntake;
+
+    private void start(int partitions, int queueCapacity) {
+        orderIntake = new OrderIntake();
+        ReflectionTestUtils.setField(orderIntake, "orderService", orderService);
+        ReflectionTestUtils.setField(orderIntake, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(orderIntake, "partitionCount", partitions);
+        ReflectionTestUtils.setField(orderIntake, "queueCapacity", queueCapacity);
+        ReflectionTestUtils.setField(orderIntake, "retention", Duration.ofMinutes(10));
+        ReflectionTestUtils.setField(orderIntake, "shutdownTimeout", Duration.ofSeconds(5));
+        orderIntake.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        orderIntake.stop();
+    }
+
+    private OrderCommandStatusDto awaitCompletion(String commandId) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            OrderCommandStatusDto status = orderIntake.findStatus(commandId);
+            if (status.state() == OrderCommandStatusDto.State.SUCCEEDED
+                    || status.state() == OrderCommandStatusDto.State.FAILED) {
+                return status;
+            }
+            Thread.sleep(5);
+        }
+        throw new AssertionError("Command did not complete: " + commandId);
+    }
+
+    @Test
+    void shouldExecuteCommandsForTheSameOrderInSubmissionOrder() throws Exception {
+        start(4, 1024);
+        List<Integer> executed = new CopyOnWriteArrayList<>();
+        when(orderService.addOrderItem(eq(1L), anyLong(), anyInt()))
+                .thenAnswer(invocation -> {
+                    executed.add(invocation.getArgument(2));
+                    return OrderDto.builder().id(1L).build();
+                });
+
+        OrderCommandStatusDto last = null;
+        for (int quantity = 1; quantity <= 100; quantity++) {
+            last = orderIntake.submitAddOrderItem(1L, 2L, quantity);
+        }
+        assertEquals(OrderCommandStatusDto.State.SUCCEEDED, awaitCompletion(last.commandId()).state());
+
+        assertEquals(100, executed.size());
+        for (int i = 0; i < executed.size(); i++) {
+            assertEquals(i + 1, executed.get(i));
+        }
+    }
+
+    @Test
+    void shouldRejectCommandsWhenThePartitionIsFull() throws Exception {
+        start(1, 2);
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(orderService.createOrder(1L)).thenAnswer(invocation -> {
+            blocked.countDown();
+            release.await();
+            return OrderDto.builder().id(1L).build();
+        });
+        when(orderService.createOrder(2L)).thenReturn(OrderDto.builder().id(2L).build());
+
+        OrderCommandStatusDto running = orderIntake.submitCreateOrder(1L);
+        assertTrue(blocked.await(5, TimeUnit.SECONDS));
+        orderIntake.submitCreateOrder(2L);
+        orderIntake.submitCreateOrder(2L);
+
+        assertThrows(TooManyRequestsException.class, () -> orderIntake.submitCreateOrder(2L));
+        assertEquals(2, orderIntake.depth());
+        assertEquals(1.0, meterRegistry.counter("orderhub.orders.intake.rejected").count());
+
+        release.countDown();
+        assertEquals(1L, awaitCompletion(running.commandId()).result().getId());
+    }
+
+    @Test
+    void shouldRecordFailureStatusOfRejectedCommand() throws Exception {
+        start(2, 16);
+        when(orderService.createOrder(1L)).thenThrow(new BusinessException("Client is not active"));
+        when(orderService.createOrder(2L)).thenThrow(new ResourceNotFoundException("Client not found"));
+
+        OrderCommandStatusDto inactive = awaitCompletion(orderIntake.submitCreateOrder(1L).commandId());
+        OrderCommandStatusDto missing = awaitCompletion(orderIntake.submitCreateOrder(2L).commandId());
+
+        assertEquals(OrderCommandStatusDto.State.FAILED, inactive.state());
+        assertEquals(400, inactive.errorStatus());
+        assertEquals("Client is not active", inactive.error());
+        assertEquals(404, missing.errorStatus());
+        assertNotNull(missing.completedAt());
+    }
+
+    @Test
+    void shouldKeepTheWorkerAliveWhenACommandThrowsAnError() throws Exception {
+        start(1, 16);
+        when(orderService.createOrder(1L)).thenThrow(new StackOverflowError());
+        when(orderService.createOrder(2L)).thenReturn(OrderDto.builder().id(2L).build());
+
+        OrderCommandStatusDto failed = awaitCompletion(orderIntake.submitCreateOrder(1L).commandId());
+        OrderCommandStatusDto next = awaitCompletion(orderIntake.submitCreateOrder(2L).commandId());
+
+        assertEquals(500, failed.errorStatus());
+        assertEquals(OrderCommandStatusDto.State.SUCCEEDED, next.state());
+    }
+
+    @Test
+    void shouldRunAcceptedCommandsBeforeStopping() throws Exception {
+        start(1, 16);
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(orderService.createOrder(1L)).thenAnswer(invocation -> {
+            blocked.countDown();
+            release.await();
+            return OrderDto.builder().id(1L).build();
+        });
+        when(orderService.createOrder(2L)).thenReturn(OrderDto.builder().id(2L).build());
+
+        orderIntake.submitCreateOrder(1L);
+        assertTrue(blocked.await(5, TimeUnit.SECONDS));
+        String queued = orderIntake.submitCreateOrder(2L).commandId();
+        release.countDown();
+
+        orderIntake.stop();
+
+        assertEquals(OrderCommandStatusDto.State.SUCCEEDED, orderIntake.findStatus(queued).state());
+        assertThrows(TooManyRequestsException.class, () -> orderIntake.submitCreateOrder(3L));
+    }
+
+    @Test
+    void shouldThrowNotFoundForUnknownCommand() {
+        start(1, 16);
+
+        assertThrows(ResourceNotFoundException.class, () -> orderIntake.findStatus("missing"));
+    }
+}
@@ -0,0 +1,160 @@
+package com.core.orderhub.backend.service.invalidation;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.util.TestPropertyValues;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InvalidationBusTest {
+
+    private final String channel = UUID.randomUUID().toString();
+    private final List<InvalidationBus> buses = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        buses.forEach(InvalidationBus::close);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private record Node(InvalidationBus bus, List<EntityInvalidated> applied, SimpleMeterRegistry meterRegistry) {}
+
+    private Node node(int maxBatchSize) {
+        LoopbackInvalidationTransport transport = new LoopbackInvalidationTransport();
+        ReflectionTestUtils.setField(transport, "channel", channel);
+        List<EntityInvalidated> applied = new CopyOnWriteArrayList<>();
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        InvalidationBus bus = new InvalidationBus();
+        ReflectionTestUtils.setField(bus, "transport", transport);
+        ReflectionTestUtils.setField(bus, "eventPublisher",
+                (ApplicationEventPublisher) event -> applied.add((EntityInvalidated) event));
+        ReflectionTestUtils.setField(bus, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(bus, "maxBatchSize", maxBatchSize);
+        bus.init();
+        buses.add(bus);
+        return new Node(bus, applied, meterRegistry);
+    }
+
+    @Test
+    void shouldApplyInvalidationsOnPeersOnly() {
+        Node origin = node(256);
+        Node peer = node(256);
+
+        origin.bus().publish(EntityType.PRODUCT, 7L);
+        origin.bus().flush();
+
+        assertEquals(1, peer.applied().size());
+        assertEquals(EntityType.PRODUCT, peer.applied().get(0).type());
+        assertEquals(7L, peer.applied().get(0).id());
+        assertTrue(origin.applied().isEmpty());
+        assertEquals(1, peer.meterRegistry().timer("orderhub.invalidation.lag").count());
+    }
+
+    @Test
+    void shouldCoalesceRepeatedInvalidationsOfTheSameEntity() {
+        Node origin = node(256);
+        Node peer = node(256);
+
+        origin.bus().publish(EntityType.PRODUCT, 1L);
+        origin.bus().publish(EntityType.PRODUCT, 1L);
+        origin.bus().publish(EntityType.CLIENT, 1L);
+        origin.bus().publish(EntityType.PRODUCT, 1L);
+        origin.bus().flush();
+
+        assertEquals(2, peer.applied().size());
+        EntityInvalidated product = peer.applied().stream()
+                .filter(event -> event.type() == EntityType.PRODUCT)
+                .findFirst()
+                .orElseThrow();
+        assertEquals(4, product.version());
+        assertEquals(2.0, origin.meterRegistry().counter("orderhub.invalidation.coalesced").count());
+        assertEquals(2.0, origin.meterRegistry().counter("orderhub.invalidation.sent").count());
+    }
+
+    @Test
+    void shouldSendAsSoonAsTheBatchIsFull() {
+        Node origin = node(2);
+        Node peer = node(2);
+
+        origin.bus().publish(EntityType.PRODUCT, 1L);
+        assertTrue(peer.applied().isEmpty());
+
+        origin.bus().publish(EntityType.PRODUCT, 2L);
+        assertEquals(2, peer.applied().size());
+    }
+
+    @Test
+    void shouldQueueOnlyAfterCommit() {
+        Node origin = node(256);
+        Node peer = node(256);
+        TransactionSynchronizationManager.initSynchronization();
+
+        origin.bus().publishAfterCommit(EntityType.CLIENT, 3L);
+        origin.bus().flush();
+        assertTrue(peer.applied().isEmpty());
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        origin.bus().flush();
+        assertEquals(List.of(EntityType.CLIENT), peer.applied().stream().map(EntityInvalidated::type).toList());
+    }
+
+    @Test
+    void shouldEncodeInvalidationsCompactly() {
+        InvalidationCodec.Batch batch = new InvalidationCodec.Batch(UUID.randomUUID(), 1234L, List.of(
+                new Invalidation(EntityType.PRODUCT, 1L, 10L),
+                new Invalidation(EntityType.USER, Long.MAX_VALUE, 11L)));
+
+        byte[] message = InvalidationCodec.encode(batch);
+
+        assertEquals(29, InvalidationCodec.HEADER_BYTES);
+        assertEquals(InvalidationCodec.HEADER_BYTES + 2 * InvalidationCodec.ENTRY_BYTES, message.length);
+        assertEquals(batch, InvalidationCodec.decode(message));
+    }
+
+    @Test
+    void shouldPropagateBetweenApplicationContextsThroughLoopback() {
+        try (AnnotationConfigApplicationContext first = context();
+             AnnotationConfigApplicationContext second = context()) {
+
+            first.getBean(InvalidationBus.class).publish(EntityType.PRODUCT, 42L);
+            first.getBean(InvalidationBus.class).flush();
+
+            assertEquals(List.of(42L), second.getBean(Recorder.class).ids);
+            assertTrue(first.getBean(Recorder.class).ids.isEmpty());
+        }
+    }
+
+    private AnnotationConfigApplicationContext context() {
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+        TestPropertyValues.of("orderhub.invalidation.loopback.channel=" + channel).applyTo(context);
+        context.register(SimpleMeterRegistry.class, LoopbackInvalidationTransport.class, InvalidationBus.class,
+                Recorder.class);
+        context.refresh();
+        return context;
+    }
+
+    static class Recorder {
+
+        private final List<Long> ids = new CopyOnWriteArrayList<>();
+
+        @EventListener
+        public void on(EntityInvalidated event) {
+            ids.add(event.id());
+        }
+    }
+}
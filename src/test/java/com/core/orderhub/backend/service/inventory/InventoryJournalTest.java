@@ -0,0 +1,95 @@
+package com.core.orderhub.backend.service.inventory;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InventoryJournalTest {
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void shouldSumDeltasPerProductInSegment() {
+        try (InventoryJournal journal = new InventoryJournal(directory, false)) {
+            journal.open(1);
+            journal.append(10L, -3);
+            journal.append(10L, -2);
+            journal.append(20L, 5);
+
+            assertEquals(Map.of(10L, -5L, 20L, 5L), journal.read(1));
+        }
+    }
+
+    @Test
+    void shouldRotateAndDeleteFlushedSegments() {
+        try (InventoryJournal journal = new InventoryJournal(directory, false)) {
+            journal.open(1);
+            journal.append(10L, -1);
+
+            long sealed = journal.rotate();
+            journal.append(10L, -1);
+
+            assertEquals(1L, sealed);
+            assertEquals(List.of(1L, 2L), journal.segments());
+
+            journal.deleteUpTo(sealed);
+
+            assertEquals(List.of(2L), journal.segments());
+        }
+    }
+
+    @Test
+    void shouldIgnoreTornRecordAtTheTail() throws Exception {
+        try (InventoryJournal journal = new InventoryJournal(directory, false)) {
+            journal.open(1);
+            journal.append(10L, -4);
+        }
+        Path segment = directory.resolve(String.format("segment-%020d.journal", 1));
+        Files.write(segment, new byte[]{0, 0, 0, 0, 0}, StandardOpenOption.APPEND);
+
+        try (InventoryJournal journal = new InventoryJournal(directory, false)) {
+            assertEquals(Map.of(10L, -4L), journal.read(1));
+        }
+    }
+
+    @Test
+    void shouldKeepEveryRecordWhenConcurrentAppendsShareAForce() throws Exception {
+        try (InventoryJournal journal = new InventoryJournal(directory, true)) {
+            journal.open(1);
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+            try {
+                List<Future<?>> appends = new ArrayList<>();
+                for (int i = 0; i < 200; i++) {
+                    long productId = i % 2 == 0 ? 10L : 20L;
+                    appends.add(executor.submit(() -> journal.append(productId, -1)));
+                    if (i == 100) {
+                        journal.rotate();
+                    }
+                }
+                for (Future<?> append : appends) {
+                    append.get(10, TimeUnit.SECONDS);
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+
+            Map<Long, Long> deltas = new HashMap<>(journal.read(1));
+            journal.read(2).forEach((productId, delta) -> deltas.merge(productId, delta, Long::sum));
+            assertEquals(Map.of(10L, -100L, 20L, -100L), deltas);
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.core.orderhub.backend.service.inventory;
+
+import com.core.orderhub.backend.domain.entity.Product;
+import com.core.orderhub.backend.domain.enums.ProductStatus;
+import com.core.orderhub.backend.domain.valueobject.Money;
+import com.core.orderhub.backend.repository.InventoryCheckpointRepository;
+import com.core.orderhub.backend.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class InventoryLedgerTest {
+
+    @TempDir
+    private Path journalDirectory;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private InventoryCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private InventoryLedger startLedger() {
+        InventoryLedger ledger = new InventoryLedger();
+        ReflectionTestUtils.setField(ledger, "productRepository", productRepository);
+        ReflectionTestUtils.setField(ledger, "checkpointRepository", checkpointRepository);
+        ReflectionTestUtils.setField(ledger, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(ledger, "transactionTemplate", transactionTemplate);
+        ReflectionTestUtils.setField(ledger, "journalDirectory", journalDirectory.toString());
+        ReflectionTestUtils.setField(ledger, "journalFsync", true);
+        ledger.recover();
+        return ledger;
+    }
+
+    private Product product(int quantity) {
+        return productRepository.save(new Product(null, "Fone de ouvido", Money.ofCents(3000),
+                "fone sem fio",
+                quantity,
+                ProductStatus.ACTIVE));
+    }
+
+    private int persistedQuantity(Product product) {
+        return productRepository.findQuantityById(product.getId()).orElseThrow();
+    }
+
+    @Test
+    void shouldFlushNetDeltaInBatch() {
+        Product product = product(10);
+        InventoryLedger ledger = startLedger();
+
+        assertTrue(ledger.reserve(product.getId(), 3));
+        assertTrue(ledger.reserve(product.getId(), 2));
+        ledger.release(product.getId(), 1);
+
+        assertEquals(10, persistedQuantity(product));
+
+        ledger.flush();
+
+        assertEquals(6, persistedQuantity(product));
+        assertEquals(6, ledger.available(product.getId()));
+        ledger.shutdown();
+    }
+
+    @Test
+    void shouldRefuseReservationAboveAvailableStock() {
+        Product product = product(2);
+        InventoryLedger ledger = startLedger();
+
+        assertTrue(ledger.reserve(product.getId(), 2));
+        assertFalse(ledger.reserve(product.getId(), 1));
+        assertEquals(0, ledger.available(product.getId()));
+        ledger.shutdown();
+    }
+
+    @Test
+    void shouldRecoverUnflushedReservationsAfterCrash() {
+        Product product = product(10);
+        InventoryLedger crashedLedger = startLedger();
+
+        assertTrue(crashedLedger.reserve(product.getId(), 4));
+        assertEquals(10, persistedQuantity(product));
+        // a crashed process leaves its journal file behind unflushed but no longer open
+        ((InventoryJournal) ReflectionTestUtils.getField(crashedLedger, "journal")).close();
+
+        InventoryLedger recoveredLedger = startLedger();
+
+        assertEquals(6, persistedQuantity(product));
+        assertEquals(6, recoveredLedger.available(product.getId()));
+        recoveredLedger.shutdown();
+    }
+
+    @Test
+    void shouldJournalReservationsOnlyOnceTheirTransactionCommits() {
+        Product product = product(10);
+        InventoryLedger ledger = startLedger();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            assertTrue(ledger.reserve(product.getId(), 3));
+            assertEquals(7, ledger.available(product.getId()));
+            status.setRollbackOnly();
+        });
+        assertEquals(10, ledger.available(product.getId()));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            assertTrue(ledger.reserve(product.getId(), 4));
+            // the process dies before the transaction commits
+            ((InventoryJournal) ReflectionTestUtils.getField(ledger, "journal")).close();
+        } finally {
+            endTransaction(false);
+        }
+
+        InventoryLedger recoveredLedger = startLedger();
+
+        assertEquals(10, persistedQuantity(product));
+        assertEquals(10, recoveredLedger.available(product.getId()));
+        recoveredLedger.shutdown();
+    }
+
+    @Test
+    void shouldCountACommittedReservationOnceWhenTheCounterIsReloadedMeanwhile() {
+        Product product = product(10);
+        InventoryLedger ledger = startLedger();
+
+        assertEquals(10, ledger.available(product.getId()));
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            assertTrue(ledger.reserve(product.getId(), 3));
+            // a product update reloads the counter while the reservation is still in flight
+            ReflectionTestUtils.invokeMethod(ledger, "discard", product.getId());
+            assertEquals(10, ledger.available(product.getId()));
+        } finally {
+            endTransaction(true);
+        }
+
+        assertEquals(7, ledger.available(product.getId()));
+        ledger.flush();
+        assertEquals(7, persistedQuantity(product));
+        ledger.shutdown();
+    }
+
+    // completes a transaction driven by hand, releasing the entity manager bound to it
+    private void endTransaction(boolean committed) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        if (committed) {
+            synchronizations.forEach(TransactionSynchronization::afterCommit);
+        }
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(committed
+                ? TransactionSynchronization.STATUS_COMMITTED
+                : TransactionSynchronization.STATUS_UNKNOWN));
+    }
+
+    @Test
+    void shouldRefuseASecondLedgerOnTheSameJournal() {
+        InventoryLedger ledger = startLedger();
+
+        assertThrows(IllegalStateException.class, this::startLedger);
+        ledger.shutdown();
+    }
+}
@@ -0,0 +1,132 @@
+package com.core.orderhub.backend.service.journal;
+
+import com.core.orderhub.backend.domain.enums.OrderStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedJournalTest {
+
+    private static final int SEGMENT_SIZE = 256;
+
+    @TempDir
+    private Path directory;
+
+    private List<OrderJournalEvent> replayAll() {
+        List<OrderJournalEvent> events = new ArrayList<>();
+        try (MappedJournal journal = new MappedJournal(directory, SEGMENT_SIZE)) {
+            journal.replay(JournalPosition.START, (event, position) -> events.add(event));
+        }
+        return events;
+    }
+
+    private List<OrderJournalEvent> sampleEvents(int orders) {
+        List<OrderJournalEvent> events = new ArrayList<>();
+        for (long orderId = 1; orderId <= orders; orderId++) {
+            events.add(new OrderJournalEvent.Created(orderId, 1_000L, 7L));
+            events.add(new OrderJournalEvent.ItemAdded(orderId, 1_001L, 3L, 2, 1_990L));
+            events.add(new OrderJournalEvent.ItemRemoved(orderId, 1_002L, 3L));
+            events.add(new OrderJournalEvent.StatusChanged(orderId, 1_003L, OrderStatus.CANCELED));
+        }
+        return events;
+    }
+
+    private Path lastSegment() throws Exception {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.toString().endsWith(".journal")).sorted().reduce((first, second) -> second).orElseThrow();
+        }
+    }
+
+    @Test
+    void shouldReplayEventsInOrderAcrossSegments() {
+        List<OrderJournalEvent> events = sampleEvents(10);
+        try (MappedJournal journal = new MappedJournal(directory, SEGMENT_SIZE)) {
+            journal.open();
+            events.forEach(journal::append);
+            assertTrue(journal.segments().size() > 1);
+        }
+
+        assertEquals(events, replayAll());
+    }
+
+    @Test
+    void shouldReplayOnlyEventsAfterPosition() {
+        List<OrderJournalEvent> events = sampleEvents(10);
+        JournalPosition middle;
+        try (MappedJournal journal = new MappedJournal(directory, SEGMENT_SIZE)) {
+            journal.open();
+            events.subList(0, 20).forEach(journal::append);
+            middle = journal.position();
+            events.subList(20, 40).forEach(journal::append);
+        }
+
+        List<OrderJournalEvent> tail = new ArrayList<>();
+        try (MappedJournal journal = new MappedJournal(directory, SEGMENT_SIZE)) {
+            journal.replay(middle, (event, position) -> tail.add(event));
+        }
+
+        assertEquals(events.subList(20, 40), tail);
+    }
+
+    @Test
+    void shouldDropTornFrameAndKeepAppendingAfterCrash() throws Exception {
+        List<OrderJournalEvent> events = sampleEvents(1);
+        JournalPosition end;
+        try (MappedJournal journal = new MappedJournal(directory, SEGMENT_SIZE)) {
+            journal.open();
+            events.forEach(journal::append);
+            end = journal.position();
+        }
+
+        // a frame whose length made it to disk but whose body did not
+        try (FileChannel channel = FileChannel.open(lastSegment(), StandardOpenOption.WRITE)) {
+            ByteBuffer torn = ByteBuffer.allocate(12).putInt(25).putInt(0xCAFEBABE).putInt(42).flip();
+            channel.write(torn, end.offset());
+        }
+
+        assertEquals(events, replayAll());
+
+        OrderJournalEvent afterRestart = new OrderJournalEvent.StatusChanged(1L, 2_000L, OrderStatus.PAID);
+        try (MappedJournal journal = new MappedJournal(directory, SEGMENT_SIZE)) {
+            assertEquals(end, journal.open());
+            journal.append(afterRestart);
+        }
+
+        List<OrderJournalEvent> expected = new ArrayList<>(events);
+        expected.add(afterRestart);
+        assertEquals(expected, replayAll());
+    }
+
+    @Test
+    void shouldStopAtFrameWithCorruptedBody() throws Exception {
+        List<OrderJournalEvent> events = sampleEvents(1);
+        try (MappedJournal journal = new MappedJournal(directory, SEGMENT_SIZE)) {
+            journal.open();
+            events.forEach(journal::append);
+        }
+
+        // flip a byte inside the last frame's body
+        try (FileChannel channel = FileChannel.open(lastSegment(), StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            int lastFrameBody = 0;
+            ByteBuffer header = ByteBuffer.allocate(4);
+            for (int i = 0; i < events.size() - 1; i++) {
+                header.clear();
+                channel.read(header, lastFrameBody);
+                lastFrameBody += 8 + header.flip().getInt();
+            }
+            channel.write(ByteBuffer.wrap(new byte[]{(byte) 0x7F}), lastFrameBody + 8 + 3);
+        }
+
+        assertEquals(events.subList(0, events.size() - 1), replayAll());
+    }
+}
@@ -0,0 +1,53 @@
+package com.core.orderhub.backend.service.journal;
+
+import com.core.orderhub.backend.domain.enums.OrderStatus;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Tag("benchmark")
+class OrderJournalReplayBenchmarkTest {
+
+    private static final int ORDERS = 250_000;
+    private static final int EVENTS_PER_ORDER = 4;
+    private static final int SEGMENT_SIZE = 64 * 1024 * 1024;
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void shouldReplayJournal() {
+        long appendStart = System.nanoTime();
+        try (MappedJournal journal = new MappedJournal(directory, SEGMENT_SIZE)) {
+            journal.open();
+            for (long orderId = 1; orderId <= ORDERS; orderId++) {
+                journal.append(new OrderJournalEvent.Created(orderId, orderId, 1L));
+                journal.append(new OrderJournalEvent.ItemAdded(orderId, orderId, 10L, 2, 1_990L));
+                journal.append(new OrderJournalEvent.ItemAdded(orderId, orderId, 11L, 1, 500L));
+                journal.append(new OrderJournalEvent.StatusChanged(orderId, orderId, OrderStatus.PAID));
+            }
+        }
+        long appendElapsed = System.nanoTime() - appendStart;
+
+        AtomicLong checksum = new AtomicLong();
+        long replayStart = System.nanoTime();
+        long replayed;
+        try (MappedJournal journal = new MappedJournal(directory, SEGMENT_SIZE)) {
+            replayed = journal.replay(JournalPosition.START, (event, position) -> checksum.addAndGet(event.orderId()));
+        }
+        long replayElapsed = System.nanoTime() - replayStart;
+
+        long events = (long) ORDERS * EVENTS_PER_ORDER;
+        System.out.printf("Order journal | events=%d | append %.0f events/s | replay %.0f events/s%n",
+                events,
+                events / (appendElapsed / 1_000_000_000.0),
+                events / (replayElapsed / 1_000_000_000.0));
+
+        assertEquals(events, replayed);
+    }
+}
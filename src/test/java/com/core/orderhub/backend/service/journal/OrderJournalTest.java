@@ -0,0 +1,175 @@
+package com.core.orderhub.backend.service.journal;
+
+import com.core.orderhub.backend.domain.enums.OrderStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doCallRealMethod;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.spy;
+
+class OrderJournalTest {
+
+    @TempDir
+    private Path directory;
+
+    private OrderJournal startJournal(int snapshotEvery) {
+        OrderJournal journal = new OrderJournal();
+        ReflectionTestUtils.setField(journal, "journalDirectory", directory.toString());
+        ReflectionTestUtils.setField(journal, "segmentSize", 4096);
+        ReflectionTestUtils.setField(journal, "snapshotEvery", snapshotEvery);
+        journal.recover();
+        return journal;
+    }
+
+    private void placeOrder(OrderJournal journal, long orderId) {
+        journal.record(List.of(
+                new OrderJournalEvent.Created(orderId, 1_000L, 9L),
+                new OrderJournalEvent.ItemAdded(orderId, 1_001L, 1L, 2, 1_500L),
+                new OrderJournalEvent.ItemAdded(orderId, 1_002L, 2L, 1, 999L),
+                new OrderJournalEvent.ItemAdded(orderId, 1_003L, 1L, 1, 1_500L)
+        ));
+    }
+
+    private List<Path> snapshots() throws Exception {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().startsWith("snapshot-")).sorted().toList();
+        }
+    }
+
+    @Test
+    void shouldRebuildAggregateFromEvents() {
+        OrderJournal journal = startJournal(1_000);
+
+        placeOrder(journal, 1L);
+        journal.record(List.of(new OrderJournalEvent.ItemRemoved(1L, 1_004L, 2L),
+                new OrderJournalEvent.StatusChanged(1L, 1_005L, OrderStatus.PAID)));
+
+        OrderState order = journal.load(1L).orElseThrow();
+        assertEquals(9L, order.getClientId());
+        assertEquals(OrderStatus.PAID, order.getStatus());
+        assertEquals(3, order.getLines().get(1L).quantity());
+        assertEquals(4_500L, order.totalCents());
+        journal.shutdown();
+    }
+
+    @Test
+    void shouldRecoverFromSnapshotPlusTailAfterCrash() {
+        OrderJournal journal = startJournal(10);
+        for (long orderId = 1; orderId <= 5; orderId++) {
+            placeOrder(journal, orderId);
+        }
+        journal.record(List.of(new OrderJournalEvent.StatusChanged(5L, 2_000L, OrderStatus.CANCELED)));
+        // no shutdown: the process dies with the tail only in the mapped segment
+
+        OrderJournal recovered = startJournal(10);
+
+        for (long orderId = 1; orderId <= 5; orderId++) {
+            assertEquals(journal.load(orderId).orElseThrow().totalCents(), recovered.load(orderId).orElseThrow().totalCents());
+        }
+        assertEquals(OrderStatus.CANCELED, recovered.load(5L).orElseThrow().getStatus());
+        recovered.shutdown();
+    }
+
+    @Test
+    void shouldFallBackToOlderSnapshotWhenNewestIsDamaged() throws Exception {
+        OrderJournal journal = startJournal(4);
+        placeOrder(journal, 1L);
+        placeOrder(journal, 2L);
+        journal.shutdown();
+
+        List<Path> snapshots = snapshots();
+        assertEquals(2, snapshots.size());
+        Path newest = snapshots.get(1);
+        byte[] content = Files.readAllBytes(newest);
+        content[content.length / 2] ^= 0x55;
+        Files.write(newest, content);
+
+        OrderJournal recovered = startJournal(4);
+
+        assertEquals(5_499L, recovered.load(1L).orElseThrow().totalCents());
+        assertEquals(5_499L, recovered.load(2L).orElseThrow().totalCents());
+        recovered.shutdown();
+    }
+
+    @Test
+    void shouldMoveFinishedOrdersOutOfMemory() {
+        OrderJournal journal = startJournal(1_000);
+        placeOrder(journal, 1L);
+        placeOrder(journal, 2L);
+        journal.record(List.of(new OrderJournalEvent.StatusChanged(1L, 2_000L, OrderStatus.CANCELED)));
+
+        Map<?, ?> inMemory = (Map<?, ?>) ReflectionTestUtils.getField(journal, "orders");
+        assertEquals(1, inMemory.size());
+        assertEquals(OrderStatus.CANCELED, journal.load(1L).orElseThrow().getStatus());
+        assertEquals(5_499L, journal.load(1L).orElseThrow().totalCents());
+        journal.snapshot();
+        journal.shutdown();
+
+        OrderJournal recovered = startJournal(1_000);
+
+        assertEquals(OrderStatus.CANCELED, recovered.load(1L).orElseThrow().getStatus());
+        assertEquals(OrderStatus.CREATED, recovered.load(2L).orElseThrow().getStatus());
+        recovered.shutdown();
+    }
+
+    @Test
+    void shouldForgetDeletedOrdersAcrossRestarts() {
+        OrderJournal journal = startJournal(1_000);
+        placeOrder(journal, 1L);
+        placeOrder(journal, 2L);
+        journal.record(List.of(new OrderJournalEvent.StatusChanged(2L, 2_000L, OrderStatus.FINISHED)));
+
+        journal.record(List.of(new OrderJournalEvent.Deleted(1L, 3_000L),
+                new OrderJournalEvent.Deleted(2L, 3_001L)));
+
+        Map<?, ?> inMemory = (Map<?, ?>) ReflectionTestUtils.getField(journal, "orders");
+        assertTrue(inMemory.isEmpty());
+        assertTrue(journal.load(1L).isEmpty());
+        assertTrue(journal.load(2L).isEmpty());
+        journal.shutdown();
+
+        OrderJournal recovered = startJournal(1_000);
+
+        assertTrue(recovered.load(1L).isEmpty());
+        assertTrue(recovered.load(2L).isEmpty());
+        recovered.shutdown();
+    }
+
+    @Test
+    void shouldKeepCommittedEventsWhenAppendFailsAndRetryThemInOrder() {
+        OrderJournal journal = startJournal(1_000);
+        MappedJournal failing = spy((MappedJournal) ReflectionTestUtils.getField(journal, "journal"));
+        doThrow(new UncheckedIOException(new IOException("disk full")))
+                .doThrow(new UncheckedIOException(new IOException("disk full")))
+                .doCallRealMethod()
+                .when(failing).append(any());
+        ReflectionTestUtils.setField(journal, "journal", failing);
+
+        placeOrder(journal, 1L);
+        journal.record(List.of(new OrderJournalEvent.StatusChanged(1L, 2_000L, OrderStatus.PAID)));
+
+        assertTrue(journal.load(1L).isEmpty());
+
+        journal.retryPending();
+
+        assertEquals(OrderStatus.PAID, journal.load(1L).orElseThrow().getStatus());
+        assertEquals(5_499L, journal.load(1L).orElseThrow().totalCents());
+        journal.shutdown();
+
+        OrderJournal recovered = startJournal(1_000);
+        assertEquals(OrderStatus.PAID, recovered.load(1L).orElseThrow().getStatus());
+        recovered.shutdown();
+    }
+}
@@ -0,0 +1,98 @@
+package com.core.orderhub.backend.service.outbox;
+
+import com.core.orderhub.backend.domain.entity.OutboxEvent;
+import com.core.orderhub.backend.domain.event.StockChanged;
+import com.core.orderhub.backend.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import(OutboxService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OutboxRelayTest {
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final List<OutboxEvent> published = new ArrayList<>();
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private OutboxRelay outboxRelay;
+
+    @BeforeEach
+    void setUp() {
+        outboxEventRepository.deleteAll();
+        published.clear();
+
+        outboxRelay = new OutboxRelay();
+        ReflectionTestUtils.setField(outboxRelay, "outboxEventRepository", outboxEventRepository);
+        ReflectionTestUtils.setField(outboxRelay, "outboxSink", (OutboxSink) published::addAll);
+        ReflectionTestUtils.setField(outboxRelay, "transactionTemplate", transactionTemplate);
+        ReflectionTestUtils.setField(outboxRelay, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(outboxRelay, "batchSize", 2);
+        ReflectionTestUtils.setField(outboxRelay, "maxBatchesPerRun", 10);
+        outboxRelay.registerMetrics();
+    }
+
+    private void appendStockEvents(int count) {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 1; i <= count; i++) {
+                outboxService.append(new StockChanged((long) i, -1, Instant.now()));
+            }
+        });
+    }
+
+    @Test
+    void shouldRelayAllPendingEventsInBatchesAndMarkThemDelivered() {
+        appendStockEvents(5);
+
+        outboxRelay.relay();
+
+        assertEquals(5, published.size());
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), published.stream().map(OutboxEvent::getAggregateId).toList());
+        assertTrue(outboxEventRepository.findAll().stream().allMatch(event -> event.getDeliveredAt() != null));
+        assertEquals(5.0, meterRegistry.get("orderhub.outbox.relayed").counter().count());
+        assertEquals(0.0, meterRegistry.get("orderhub.outbox.lag").gauge().value());
+    }
+
+    @Test
+    void shouldLeaveEventsPendingWhenSinkFails() {
+        appendStockEvents(1);
+        ReflectionTestUtils.setField(outboxRelay, "outboxSink", (OutboxSink) events -> {
+            throw new IllegalStateException("sink down");
+        });
+
+        outboxRelay.relay();
+
+        assertNull(outboxEventRepository.findAll().get(0).getDeliveredAt());
+    }
+
+    @Test
+    void shouldNotAppendOutsideTransaction() {
+        assertThrows(RuntimeException.class,
+                () -> outboxService.append(new StockChanged(1L, -1, Instant.now())));
+    }
+}
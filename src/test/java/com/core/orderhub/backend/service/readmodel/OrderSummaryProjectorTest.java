@@ -0,0 +1,264 @@
+package com.core.orderhub.backend.service.readmodel;
+
+import com.core.orderhub.backend.domain.entity.Client;
+import com.core.orderhub.backend.domain.entity.Order;
+import com.core.orderhub.backend.domain.entity.OrderSummary;
+import com.core.orderhub.backend.domain.entity.Product;
+import com.core.orderhub.backend.domain.enums.OrderStatus;
+import com.core.orderhub.backend.domain.enums.ProductStatus;
+import com.core.orderhub.backend.domain.event.OrderCreated;
+import com.core.orderhub.backend.domain.event.OrderDeleted;
+import com.core.orderhub.backend.domain.event.StockChanged;
+import com.core.orderhub.backend.domain.valueobject.Money;
+import com.core.orderhub.backend.dto.OrderDto;
+import com.core.orderhub.backend.dto.OrderPageDto;
+import com.core.orderhub.backend.mapper.MoneyMapper;
+import com.core.orderhub.backend.mapper.OrderItemMapperImpl;
+import com.core.orderhub.backend.mapper.OrderMapper;
+import com.core.orderhub.backend.mapper.OrderMapperImpl;
+import com.core.orderhub.backend.repository.ClientRepository;
+import com.core.orderhub.backend.repository.OrderRepository;
+import com.core.orderhub.backend.repository.OrderSummaryRepository;
+import com.core.orderhub.backend.repository.ProductRepository;
+import com.core.orderhub.backend.service.OrderQueryService;
+import com.core.orderhub.backend.service.OrderService;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DataJpaTest
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({OrderMapperImpl.class, OrderItemMapperImpl.class, MoneyMapper.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OrderSummaryProjectorTest {
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderSummaryRepository orderSummaryRepository;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OrderMapper orderMapper;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final OrderService orderService = mock(OrderService.class);
+    private OrderSummaryProjector projector;
+    private OrderQueryService orderQueryService;
+
+    @BeforeEach
+    void setUp() {
+        projector = new OrderSummaryProjector();
+        ReflectionTestUtils.setField(projector, "orderRepository", orderRepository);
+        ReflectionTestUtils.setField(projector, "orderSummaryRepository", orderSummaryRepository);
+        ReflectionTestUtils.setField(projector, "orderMapper", orderMapper);
+        ReflectionTestUtils.setField(projector, "objectMapper", objectMapper);
+        ReflectionTestUtils.setField(projector, "transactionTemplate", transactionTemplate);
+        ReflectionTestUtils.setField(projector, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(projector, "batchSize", 2);
+        ReflectionTestUtils.setField(projector, "retryBackoff", Duration.ofMillis(50));
+        ReflectionTestUtils.setField(projector, "maxRetryBackoff", Duration.ofSeconds(1));
+        projector.start();
+
+        orderQueryService = new OrderQueryService();
+        ReflectionTestUtils.setField(orderQueryService, "orderSummaryRepository", orderSummaryRepository);
+        ReflectionTestUtils.setField(orderQueryService, "orderService", orderService);
+        ReflectionTestUtils.setField(orderQueryService, "objectMapper", objectMapper);
+        ReflectionTestUtils.setField(orderQueryService, "orderSummaryProjector", projector);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        projector.shutdown();
+        orderSummaryRepository.deleteAll();
+        orderRepository.deleteAll();
+        productRepository.deleteAll();
+        clientRepository.deleteAll();
+    }
+
+    private List<Long> persistOrders(int count) {
+        return transactionTemplate.execute(status -> {
+            Client client = clientRepository.save(new Client("Kaleb", "01234567890"));
+            Product product = productRepository.save(new Product(null, "Fone de ouvido", Money.ofCents(3000),
+                    "fone sem fio", 100, ProductStatus.ACTIVE));
+            return IntStream.range(0, count)
+                    .mapToObj(i -> {
+                        Order order = new Order(client);
+                        order.addItem(product, i + 1);
+                        return orderRepository.save(order).getId();
+                    })
+                    .toList();
+        });
+    }
+
+    private void created(Long orderId) {
+        projector.on(new OrderCreated(orderId, 1L, BigDecimal.ZERO, 1, Instant.now()));
+    }
+
+    private void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "read model did not catch up");
+            Thread.sleep(10);
+        }
+    }
+
+    private void caughtUp() throws InterruptedException {
+        projector.catchUp();
+        await(projector::isCaughtUp);
+    }
+
+    @Test
+    void shouldProjectCommittedOrdersAndServeThemWithoutTouchingTheOrderTables() throws Exception {
+        caughtUp();
+        List<Long> ids = persistOrders(3);
+        ids.forEach(this::created);
+
+        await(() -> orderSummaryRepository.count() == 3);
+
+        OrderDto order = orderQueryService.findById(ids.get(1));
+        assertEquals(ids.get(1), order.getId());
+        assertEquals(1, order.getItems().size());
+        assertEquals(2, order.getItems().get(0).getQuantity());
+        assertEquals(0, new BigDecimal("60.00").compareTo(order.getTotal()));
+        verifyNoInteractions(orderService);
+        assertEquals(3, meterRegistry.get("orderhub.orders.read-model.staleness").timer().count());
+    }
+
+    @Test
+    void shouldPageSummariesNewestFirstWithCursor() throws Exception {
+        caughtUp();
+        List<Long> ids = persistOrders(3);
+        ids.forEach(this::created);
+        await(() -> orderSummaryRepository.count() == 3);
+
+        OrderPageDto first = orderQueryService.findPage(null, 2);
+        OrderPageDto second = orderQueryService.findPage(first.nextCursor(), 2);
+
+        assertEquals(List.of(ids.get(2), ids.get(1)), first.items().stream().map(OrderDto::getId).toList());
+        assertEquals(List.of(ids.get(0)), second.items().stream().map(OrderDto::getId).toList());
+        assertNull(second.nextCursor());
+    }
+
+    @Test
+    void shouldRefreshChangedOrderAndDropDeletedOrder() throws Exception {
+        caughtUp();
+        List<Long> ids = persistOrders(2);
+        ids.forEach(this::created);
+        await(() -> orderSummaryRepository.count() == 2);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            orderRepository.findById(ids.get(0)).orElseThrow().changeStatus(OrderStatus.PAID);
+            orderRepository.deleteById(ids.get(1));
+        });
+        projector.on(new OrderDeleted(ids.get(1), 1L, OrderStatus.CREATED, BigDecimal.ZERO, Instant.now()));
+        created(ids.get(0));
+
+        await(() -> orderSummaryRepository.count() == 1
+                && orderSummaryRepository.findById(ids.get(0)).orElseThrow().getStatus() == OrderStatus.PAID);
+        assertEquals(OrderStatus.PAID, orderQueryService.findById(ids.get(0)).getStatus());
+    }
+
+    @Test
+    void shouldRetryOrdersOfAFailedBatchAfterABackoff() throws Exception {
+        List<Long> ids = persistOrders(2);
+        ObjectMapper failingOnce = spy(objectMapper);
+        // fails in the batch and once more on its own, then renders on the retry
+        doThrow(new JsonMappingException(null, "render failed"))
+                .doThrow(new JsonMappingException(null, "render failed"))
+                .doCallRealMethod()
+                .when(failingOnce).writeValueAsString(argThat(dto -> dto instanceof OrderDto order
+                        && order.getId().equals(ids.get(0))));
+        ReflectionTestUtils.setField(projector, "objectMapper", failingOnce);
+
+        ids.forEach(this::created);
+
+        await(() -> orderSummaryRepository.count() == 2);
+        assertEquals(0, projector.pendingCount());
+    }
+
+    @Test
+    void shouldIgnoreNonOrderEventsAndFallBackWhenSummaryIsMissing() throws Exception {
+        caughtUp();
+        projector.on(new StockChanged(1L, -1, Instant.now()));
+        OrderDto fromTables = OrderDto.builder().id(42L).build();
+        when(orderService.findById(42L)).thenReturn(fromTables);
+
+        assertEquals(0, projector.pendingCount());
+        assertSame(fromTables, orderQueryService.findById(42L));
+    }
+
+    @Test
+    void shouldServeFromTheOrderTablesUntilCaughtUpWithChangesMissedWhileDown() throws Exception {
+        List<Long> ids = persistOrders(3);
+        // the first order's summary predates its latest change, the others were never projected
+        created(ids.get(0));
+        await(() -> orderSummaryRepository.count() == 1);
+        transactionTemplate.executeWithoutResult(status ->
+                orderRepository.findById(ids.get(0)).orElseThrow().changeStatus(OrderStatus.PAID));
+        OrderPageDto fromTables = new OrderPageDto(List.of(), null);
+        when(orderService.findPage(null, 10)).thenReturn(fromTables);
+
+        assertFalse(projector.isCaughtUp());
+        assertSame(fromTables, orderQueryService.findPage(null, 10));
+
+        caughtUp();
+
+        assertEquals(3, orderSummaryRepository.count());
+        assertEquals(OrderStatus.PAID, orderSummaryRepository.findById(ids.get(0)).orElseThrow().getStatus());
+        assertEquals(List.of(ids.get(2), ids.get(1), ids.get(0)),
+                orderQueryService.findPage(null, 10).items().stream().map(OrderDto::getId).toList());
+        verify(orderService, times(1)).findPage(null, 10);
+    }
+
+    @Test
+    void shouldRebuildAllSummariesAndRemoveOrphans() throws Exception {
+        List<Long> ids = persistOrders(5);
+        transactionTemplate.executeWithoutResult(status -> {
+            OrderSummary orphan = new OrderSummary(999_999L);
+            orphan.refresh(1L, OrderStatus.CREATED, LocalDateTime.now(), 0L, "{}", Instant.now());
+            orderSummaryRepository.save(orphan);
+        });
+
+        projector.rebuild();
+
+        await(() -> orderSummaryRepository.count() == 5 && !orderSummaryRepository.existsById(999_999L));
+        assertEquals(5, orderSummaryRepository.findAllById(ids).size());
+    }
+}
@@ -0,0 +1,65 @@
+package com.core.orderhub.backend.service.readmodel;
+
+import com.core.orderhub.backend.domain.enums.OrderStatus;
+import com.core.orderhub.backend.domain.event.OrderDeleted;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TerminalOrderCacheTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private TerminalOrderCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new TerminalOrderCache();
+        ReflectionTestUtils.setField(cache, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(cache, "maxBytes", 30L);
+        cache.init();
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyReadOrdersWhenFull() {
+        cache.put(1L, new byte[10], 1L);
+        cache.put(2L, new byte[10], 1L);
+        cache.put(3L, new byte[10], 1L);
+        assertTrue(cache.get(1L).isPresent());
+
+        cache.put(4L, new byte[10], 1L);
+
+        assertTrue(cache.get(1L).isPresent());
+        assertTrue(cache.get(2L).isEmpty());
+        assertTrue(cache.get(3L).isPresent());
+        assertEquals(30L, cache.sizeInBytes());
+        assertEquals(1.0, meterRegistry.get("orderhub.orders.response-cache.evictions").counter().count());
+        assertEquals(1.0, meterRegistry.get("orderhub.orders.response-cache.misses").counter().count());
+    }
+
+    @Test
+    void shouldNotCacheBodiesLargerThanTheWholeCache() {
+        cache.put(1L, new byte[10], 1L);
+        cache.put(2L, new byte[31], 1L);
+
+        assertTrue(cache.get(1L).isPresent());
+        assertTrue(cache.get(2L).isEmpty());
+        assertEquals(10L, cache.sizeInBytes());
+    }
+
+    @Test
+    void shouldEvictDeletedOrders() {
+        cache.put(1L, new byte[10], 4L);
+
+        cache.on(new OrderDeleted(1L, 7L, OrderStatus.FINISHED, BigDecimal.TEN, Instant.now()));
+
+        assertTrue(cache.get(1L).isEmpty());
+        assertEquals(0L, cache.sizeInBytes());
+    }
+}
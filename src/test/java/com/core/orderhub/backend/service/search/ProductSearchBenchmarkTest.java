@@ -0,0 +1,71 @@
+package com.core.orderhub.backend.service.search;
+
+import com.core.orderhub.backend.repository.ProductRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@Tag("benchmark")
+class ProductSearchBenchmarkTest {
+
+    private static final int PRODUCTS = 1_000_000;
+    private static final int VOCABULARY = 20_000;
+    private static final int QUERIES = 20_000;
+
+    @Test
+    void shouldReportQueryLatencyOnOneMillionProducts() {
+        ProductRepository productRepository = mock(ProductRepository.class);
+        when(productRepository.findMaxId()).thenReturn(0L);
+        ProductSearchIndex index = new ProductSearchIndex();
+        ReflectionTestUtils.setField(index, "productRepository", productRepository);
+        ReflectionTestUtils.setField(index, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(index, "parallelism", 1);
+        index.init();
+
+        SplittableRandom random = new SplittableRandom(42);
+        long buildStart = System.nanoTime();
+        for (long id = 1; id <= PRODUCTS; id++) {
+            index.put(id, word(random) + " " + word(random) + " " + word(random),
+                    word(random) + " " + word(random) + " " + word(random) + " " + word(random) + " " + word(random));
+        }
+        long buildMillis = (System.nanoTime() - buildStart) / 1_000_000;
+
+        for (int i = 0; i < QUERIES / 10; i++) {
+            index.search(word(random) + " " + word(random), 20);
+        }
+
+        long[] latencies = new long[QUERIES];
+        int withHits = 0;
+        for (int i = 0; i < QUERIES; i++) {
+            String query = i % 2 == 0 ? word(random) : word(random) + " " + word(random);
+            long start = System.nanoTime();
+            if (!index.search(query, 20).isEmpty()) {
+                withHits++;
+            }
+            latencies[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(latencies);
+
+        System.out.printf("Product search | products=%d | build %d ms | p50 %.3f ms | p99 %.3f ms | max %.3f ms%n",
+                PRODUCTS, buildMillis,
+                latencies[QUERIES / 2] / 1_000_000.0,
+                latencies[QUERIES * 99 / 100] / 1_000_000.0,
+                latencies[QUERIES - 1] / 1_000_000.0);
+
+        assertFalse(withHits == 0);
+    }
+
+    // Zipf-like: a few words are very common, most are rare, as in a real catalog
+    private static String word(SplittableRandom random) {
+        int rank = (int) Math.min(VOCABULARY - 1, Math.floor(Math.pow(VOCABULARY, random.nextDouble())) - 1);
+        return "termo" + rank;
+    }
+}
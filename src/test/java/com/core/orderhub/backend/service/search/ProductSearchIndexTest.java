@@ -0,0 +1,149 @@
+package com.core.orderhub.backend.service.search;
+
+import com.core.orderhub.backend.domain.entity.Product;
+import com.core.orderhub.backend.domain.enums.ProductStatus;
+import com.core.orderhub.backend.domain.valueobject.Money;
+import com.core.orderhub.backend.repository.ProductRepository;
+import com.core.orderhub.backend.repository.ProductRepository.ProductText;
+import com.core.orderhub.backend.service.invalidation.EntityInvalidated;
+import com.core.orderhub.backend.service.invalidation.EntityType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class ProductSearchIndexTest {
+
+    private final ProductRepository productRepository = mock(ProductRepository.class);
+    private ProductSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductSearchIndex();
+        ReflectionTestUtils.setField(index, "productRepository", productRepository);
+        ReflectionTestUtils.setField(index, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(index, "chunkSize", 2);
+        ReflectionTestUtils.setField(index, "parallelism", 2);
+    }
+
+    private static ProductText text(Long id, String name, String description) {
+        return new ProductText() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public String getDescription() {
+                return description;
+            }
+        };
+    }
+
+    private List<Long> ids(List<ProductSearchIndex.Hit> hits) {
+        return hits.stream().map(ProductSearchIndex.Hit::productId).toList();
+    }
+
+    @Test
+    void shouldFoldAccentsAndDropStopWords() {
+        assertEquals(List.of("oculos", "sol", "acucar", "coracao", "strasse"),
+                ProductTextAnalyzer.tokens("Óculos de SOL, açúcar e Coração  Straße"));
+        assertEquals(List.of("aeon", "ostergaard"), ProductTextAnalyzer.tokens("Æon Østergaard"));
+    }
+
+    @Test
+    void shouldRebuildFromAllIdRangesInParallel() {
+        when(productRepository.findMaxId()).thenReturn(5L);
+        when(productRepository.findTextByIdBetween(1L, 2L)).thenReturn(List.of(
+                text(1L, "Óculos de sol", "lente polarizada"),
+                text(2L, "Fone de ouvido", "fone sem fio")));
+        when(productRepository.findTextByIdBetween(3L, 4L)).thenReturn(List.of(
+                text(4L, "Oculos de grau", "armação leve")));
+        when(productRepository.findTextByIdBetween(5L, 5L)).thenReturn(List.of(
+                text(5L, "Capa", "capa para oculos")));
+
+        index.init();
+
+        assertEquals(4, index.size());
+        assertEquals(List.of(1L, 4L, 5L), ids(index.search("óculos", 10)).stream().sorted().toList());
+        verify(productRepository, times(3)).findTextByIdBetween(anyLong(), anyLong());
+    }
+
+    @Test
+    void shouldRankProductsWithRarerAndMoreFrequentTermsFirst() {
+        when(productRepository.findMaxId()).thenReturn(0L);
+        index.init();
+        index.put(1L, "Fone de ouvido", "fone sem fio bluetooth");
+        index.put(2L, "Fone de ouvido", "fone com fio");
+        index.put(3L, "Caixa de som", "som bluetooth portatil");
+        index.put(4L, "Carregador", "carregador de parede");
+
+        assertEquals(List.of(1L, 2L, 3L), ids(index.search("fone bluetooth", 10)));
+        assertEquals(List.of(1L), ids(index.search("fone bluetooth", 1)));
+        assertTrue(index.search("teclado", 10).isEmpty());
+        assertTrue(index.search("de", 10).isEmpty());
+    }
+
+    @Test
+    void shouldReplaceAndRemoveProducts() {
+        when(productRepository.findMaxId()).thenReturn(0L);
+        index.init();
+        index.put(1L, "Fone de ouvido", "fone sem fio");
+
+        index.put(1L, "Headset gamer", "headset com microfone");
+
+        assertTrue(index.search("fone", 10).isEmpty());
+        assertEquals(List.of(1L), ids(index.search("headset", 10)));
+        assertEquals("Headset gamer", index.search("headset", 10).get(0).name());
+
+        index.remove(1L);
+
+        assertTrue(index.search("headset", 10).isEmpty());
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void shouldKeepResultsAcrossCompaction() {
+        when(productRepository.findMaxId()).thenReturn(0L);
+        index.init();
+        for (long id = 1; id <= 2_000; id++) {
+            index.put(id, "Produto " + id, id % 2 == 0 ? "cabo usb" : "cabo hdmi");
+        }
+        for (long id = 1; id <= 1_500; id++) {
+            index.put(id, "Produto " + id, "cabo hdmi");
+        }
+
+        assertEquals(2_000, index.size());
+        assertEquals(List.of(1_600L), ids(index.search("usb 1600", 1)));
+        assertEquals(1_750, index.search("hdmi", 2_000).size());
+    }
+
+    @Test
+    void shouldReindexProductChangedOnAnotherNode() {
+        when(productRepository.findMaxId()).thenReturn(0L);
+        index.init();
+        index.put(1L, "Fone de ouvido", "fone sem fio");
+        when(productRepository.findById(1L)).thenReturn(Optional.of(new Product(1L, "Headset gamer",
+                Money.ofCents(3000), "headset com microfone", 10, ProductStatus.ACTIVE)));
+        when(productRepository.findById(2L)).thenReturn(Optional.empty());
+        index.put(2L, "Carregador", "carregador de parede");
+
+        index.on(new EntityInvalidated(EntityType.PRODUCT, 1L, 1L));
+        index.on(new EntityInvalidated(EntityType.PRODUCT, 2L, 2L));
+
+        assertEquals(List.of(1L), ids(index.search("headset", 10)));
+        assertTrue(index.search("carregador", 10).isEmpty());
+    }
+}